@@ -22,6 +22,9 @@
 package org.nuxeo.common.xmap;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -45,6 +48,13 @@ public class XAnnotatedObject {
 
     final Constructor<?> ctor;
 
+    /**
+     * The constructor bound to a method handle, reused for each mapped object instead of going through reflection.
+     *
+     * @since 9.10
+     */
+    final MethodHandle ctorHandle;
+
     final Path path;
 
     final List<XAnnotatedMember> members;
@@ -57,6 +67,7 @@ public class XAnnotatedObject {
             this.klass = klass;
             this.ctor = this.klass.getDeclaredConstructor();
             ctor.setAccessible(true);
+            ctorHandle = bindConstructor(ctor);
             path = new Path(xob.value());
             members = new ArrayList<XAnnotatedMember>();
             String[] order = xob.order();
@@ -70,6 +81,17 @@ public class XAnnotatedObject {
         }
     }
 
+    /**
+     * Binds the given constructor, or returns {@code null} if it cannot be, for instance for an abstract class.
+     */
+    protected static MethodHandle bindConstructor(Constructor<?> ctor) {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
     public void addMember(XAnnotatedMember member) {
         members.add(member);
     }
@@ -81,16 +103,16 @@ public class XAnnotatedObject {
     public Object newInstance(Context ctx, Element element) {
         Object ob;
         try {
-            ob = ctor.newInstance();
-        } catch (InstantiationException e) {
-            throw new IllegalArgumentException(e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(e);
+            ob = ctorHandle == null ? ctor.newInstance() : (Object) ctorHandle.invokeExact();
         } catch (InvocationTargetException e) {
             if (e.getCause() instanceof RuntimeException) {
                 throw (RuntimeException) e.getCause();
             }
             throw new IllegalArgumentException(e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalArgumentException(t);
         }
         ctx.push(ob);
 
@@ -21,18 +21,50 @@
 
 package org.nuxeo.common.xmap;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 
 /**
+ * Accessor of an annotated field.
+ * <p>
+ * The field is bound once to method handles, reused for each mapped object instead of going through reflection. Static
+ * and final fields still use reflection.
+ *
  * @author <a href="mailto:bs@nuxeo.com">Bogdan Stefanescu</a>
  */
 public class XFieldAccessor implements XAccessor {
 
+    protected static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    protected static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
     private final Field field;
 
+    private final MethodHandle setter;
+
+    private final MethodHandle getter;
+
     public XFieldAccessor(Field field) {
         this.field = field;
         this.field.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle set = null;
+        MethodHandle get = null;
+        if (!Modifier.isStatic(field.getModifiers())) {
+            try {
+                get = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                if (!Modifier.isFinal(field.getModifiers())) {
+                    set = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        setter = set;
+        getter = get;
     }
 
     public Class getType() {
@@ -41,17 +73,29 @@ public class XFieldAccessor implements XAccessor {
 
     public void setValue(Object instance, Object value) {
         try {
-            field.set(instance, value);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(e);
+            if (setter == null) {
+                field.set(instance, value);
+            } else {
+                setter.invokeExact(instance, value);
+            }
+        } catch (IllegalArgumentException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            // wrong value type, or null for a primitive field
+            throw new IllegalArgumentException(t);
         }
     }
 
     public Object getValue(Object instance) {
         try {
-            return field.get(instance);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(e);
+            if (getter == null) {
+                return field.get(instance);
+            }
+            return (Object) getter.invokeExact(instance);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalArgumentException(t);
         }
     }
 
@@ -21,16 +21,30 @@
 
 package org.nuxeo.common.xmap;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
+ * Accessor of an annotated setter method.
+ * <p>
+ * The setter is bound once to a method handle, reused for each mapped object instead of going through reflection.
+ *
  * @author <a href="mailto:bs@nuxeo.com">Bogdan Stefanescu</a>
  */
 public class XMethodAccessor implements XAccessor {
 
     private final Method setter;
 
+    private final MethodHandle setterHandle;
+
+    private final Class<?> parameterType;
+
+    private final Class<?> boxedParameterType;
+
     private final Class klass;
 
     Method getter;
@@ -38,6 +52,17 @@ public class XMethodAccessor implements XAccessor {
     public XMethodAccessor(Method method, Class klass) {
         setter = method;
         setter.setAccessible(true);
+        MethodHandle handle = null;
+        if (!Modifier.isStatic(method.getModifiers())) {
+            try {
+                handle = MethodHandles.lookup().unreflect(method).asType(XFieldAccessor.SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        setterHandle = handle;
+        parameterType = method.getParameterTypes()[0];
+        boxedParameterType = MethodType.methodType(parameterType).wrap().returnType();
         //
         this.klass = klass;
     }
@@ -47,6 +72,18 @@ public class XMethodAccessor implements XAccessor {
     }
 
     public void setValue(Object instance, Object value) {
+        if (setterHandle != null && isAssignable(instance, value)) {
+            try {
+                setterHandle.invokeExact(instance, value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable t) {
+                // thrown by the setter, wrapped as done by reflection
+                throw new IllegalArgumentException(new InvocationTargetException(t));
+            }
+            return;
+        }
+        // let reflection convert the value or report the wrong argument
         try {
             setter.invoke(instance, value);
         } catch (IllegalAccessException e) {
@@ -59,6 +96,20 @@ public class XMethodAccessor implements XAccessor {
         }
     }
 
+    /**
+     * Checks that the setter can be invoked on the instance with the value without any conversion, so that a
+     * {@link ClassCastException} thrown by the method handle comes from the setter itself.
+     */
+    protected boolean isAssignable(Object instance, Object value) {
+        if (!setter.getDeclaringClass().isInstance(instance)) {
+            return false;
+        }
+        if (value == null) {
+            return !parameterType.isPrimitive();
+        }
+        return boxedParameterType.isInstance(value);
+    }
+
     @Override
     public String toString() {
         return "XMethodSetter {method: " + setter + '}';
@@ -0,0 +1,111 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.common.xmap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+
+/**
+ * Checks that setters bound to method handles report errors like reflection.
+ *
+ * @since 9.10
+ */
+public class TestXMethodAccessor {
+
+    public static class Bean {
+
+        protected long count;
+
+        protected String name;
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public void setName(String name) throws IOException {
+            if ("cast".equals(name)) {
+                Object value = 0;
+                name = (String) value;
+            } else if ("checked".equals(name)) {
+                throw new IOException(name);
+            } else if ("runtime".equals(name)) {
+                throw new IllegalStateException(name);
+            }
+            this.name = name;
+        }
+
+    }
+
+    protected static XMethodAccessor getAccessor(String name, Class<?> type) throws ReflectiveOperationException {
+        return new XMethodAccessor(Bean.class.getMethod(name, type), Bean.class);
+    }
+
+    protected static Throwable setValue(XAccessor accessor, Object instance, Object value) {
+        try {
+            accessor.setValue(instance, value);
+        } catch (RuntimeException e) {
+            return e;
+        }
+        fail("Should have failed setting: " + value);
+        return null;
+    }
+
+    @Test
+    public void testSetValue() throws Exception {
+        Bean bean = new Bean();
+        getAccessor("setName", String.class).setValue(bean, "foo");
+        assertEquals("foo", bean.name);
+        XMethodAccessor count = getAccessor("setCount", long.class);
+        count.setValue(bean, 1L);
+        assertEquals(1, bean.count);
+        // widened by reflection
+        count.setValue(bean, 2);
+        assertEquals(2, bean.count);
+    }
+
+    @Test
+    public void testWrongArgument() throws Exception {
+        Bean bean = new Bean();
+        assertTrue(setValue(getAccessor("setName", String.class), bean, 0) instanceof IllegalArgumentException);
+        XMethodAccessor count = getAccessor("setCount", long.class);
+        assertTrue(setValue(count, bean, "foo") instanceof IllegalArgumentException);
+        assertTrue(setValue(count, bean, null) instanceof IllegalArgumentException);
+        assertTrue(setValue(count, "foo", 1L) instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testSetterException() throws Exception {
+        XMethodAccessor name = getAccessor("setName", String.class);
+        Bean bean = new Bean();
+        // not mistaken for a wrong argument
+        assertTrue(setValue(name, bean, "cast") instanceof ClassCastException);
+        assertTrue(setValue(name, bean, "runtime") instanceof IllegalStateException);
+        Throwable t = setValue(name, bean, "checked");
+        assertTrue(t instanceof IllegalArgumentException);
+        assertTrue(t.getCause() instanceof InvocationTargetException);
+        assertTrue(t.getCause().getCause() instanceof IOException);
+    }
+
+}
@@ -27,10 +27,15 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URL;
 
+import org.apache.commons.io.IOUtils;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.nuxeo.common.xmap.Author.Gender;
+import org.w3c.dom.Element;
 
 /**
  * @author <a href="mailto:bs@nuxeo.com">Bogdan Stefanescu</a>
@@ -128,4 +133,35 @@ public class XMapTest {
         }
     }
 
+    @Test
+    @Ignore("for performance testing purpose")
+    public void testMappingPerf() throws Exception {
+        XMap xmap = new XMap();
+        xmap.register(Author.class);
+        URL url = Thread.currentThread().getContextClassLoader().getResource("test-xmap.xml");
+        byte[] bytes;
+        try (InputStream in = url.openStream()) {
+            bytes = IOUtils.toByteArray(in);
+        }
+        Element root = XMap.getFactory()
+                                       .newDocumentBuilder()
+                                       .parse(new ByteArrayInputStream(bytes))
+                                       .getDocumentElement();
+        int n = 200_000;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                xmap.load(root);
+            }
+            long binding = System.nanoTime() - t0;
+            t0 = System.nanoTime();
+            for (int i = 0; i < n / 10; i++) {
+                xmap.load(new ByteArrayInputStream(bytes));
+            }
+            long parsing = System.nanoTime() - t0;
+            System.out.println(String.format("binding: %d ns/op, parsing and binding: %d ns/op", binding / n,
+                    parsing / (n / 10)));
+        }
+    }
+
 }
@@ -437,6 +437,10 @@ public class DocumentModelImpl implements DocumentModel, Cloneable {
         final Schema schemaType = typeProvider.getSchema(schema);
         DataModel dataModel = getSession().getDataModel(ref, schemaType);
         dataModels.put(schema, dataModel);
+        if (getSchemaManager().getLazyFields()) {
+            // the prefetched fields are now read from the loaded schema, where they may change
+            clearPrefetch(schema);
+        }
         return dataModel;
     }
 
@@ -1327,9 +1331,117 @@ public class DocumentModelImpl implements DocumentModel, Cloneable {
                 return value;
             }
         }
+        if (getSchemaManager().getLazyFields()) {
+            Serializable value = fetchPropertyValue(xpath);
+            if (value != NULL) {
+                return value;
+            }
+        }
         return getProperty(xpath).getValue();
     }
 
+    /**
+     * Gets the field of the given xpath if its value can be fetched alone from the session: a top-level scalar field,
+     * with a prefixed canonical xpath, of a persisted schema that is not loaded yet.
+     *
+     * @param returnSchemaName an array of length 1 where the schema name of the field is returned
+     * @return the field, or {@code null} if the value can't be fetched alone
+     * @since 9.10
+     */
+    protected Field getFetchableField(String xpath, String[] returnSchemaName) {
+        if (sid == null || ref == null) {
+            return null;
+        }
+        String cxpath = canonicalXPath(xpath);
+        if (cxpath.indexOf('/') != -1) {
+            return null;
+        }
+        String schemaName = getXPathSchemaName(cxpath, schemas, null);
+        if (schemaName == null || dataModels.containsKey(schemaName) || !schemasOrig.contains(schemaName)) {
+            return null;
+        }
+        Schema schema = getSchemaManager().getSchema(schemaName);
+        Field field = schema == null ? null : schema.getField(cxpath);
+        if (field == null || !field.getName().getPrefixedName().equals(cxpath) || !isScalarField(field)) {
+            return null;
+        }
+        returnSchemaName[0] = schemaName;
+        return field;
+    }
+
+    protected static boolean isScalarField(Field field) {
+        Type type = field.getType();
+        if (type.isComplexType()) {
+            return false;
+        }
+        return !type.isListType() || ((ListType) type).getFieldType().isSimpleType();
+    }
+
+    /**
+     * Fetches the value of the given xpath alone, if its schema is not loaded, and keeps it as prefetched.
+     *
+     * @return the value, or {@link org.apache.commons.lang.ObjectUtils#NULL NULL} if it must be read from the schema
+     * @since 9.10
+     */
+    protected Serializable fetchPropertyValue(String xpath) {
+        String[] returnSchemaName = new String[1];
+        Field field = getFetchableField(xpath, returnSchemaName);
+        if (field == null) {
+            return NULL;
+        }
+        String schemaName = returnSchemaName[0];
+        String name = field.getName().getLocalName();
+        Object[] values = getSession().getDataModelsField(new DocumentRef[] { ref }, schemaName, name);
+        putPrefetch(field, schemaName, (Serializable) values[0]);
+        return prefetch.get(field.getName().getPrefixedName());
+    }
+
+    protected void putPrefetch(Field field, String schemaName, Serializable value) {
+        if (prefetch == null) {
+            prefetch = new Prefetch();
+        }
+        prefetch.put(field.getName().getPrefixedName(), schemaName, field.getName().getLocalName(), value);
+    }
+
+    /**
+     * Prefetches the value of the given xpath for all the given documents, with one call to the session of the
+     * documents, so that reading it afterwards doesn't load its whole schema.
+     * <p>
+     * Only top-level scalar fields with a prefixed xpath are prefetched, for the documents whose schema is not loaded.
+     *
+     * @since 9.10
+     */
+    public static void prefetchPropertyValue(List<DocumentModel> docs, String xpath) {
+        Map<CoreSession, List<DocumentModelImpl>> docsBySession = new HashMap<>();
+        String schemaName = null;
+        Field field = null;
+        for (DocumentModel doc : docs) {
+            if (!(doc instanceof DocumentModelImpl) || doc.isPrefetched(xpath)) {
+                continue;
+            }
+            DocumentModelImpl docImpl = (DocumentModelImpl) doc;
+            String[] returnSchemaName = new String[1];
+            Field docField = docImpl.getFetchableField(xpath, returnSchemaName);
+            if (docField == null) {
+                continue;
+            }
+            field = docField;
+            schemaName = returnSchemaName[0];
+            docsBySession.computeIfAbsent(docImpl.getSession(), k -> new ArrayList<>()).add(docImpl);
+        }
+        for (Map.Entry<CoreSession, List<DocumentModelImpl>> entry : docsBySession.entrySet()) {
+            List<DocumentModelImpl> sessionDocs = entry.getValue();
+            DocumentRef[] refs = new DocumentRef[sessionDocs.size()];
+            for (int i = 0; i < refs.length; i++) {
+                refs[i] = sessionDocs.get(i).getRef();
+            }
+            Object[] values = entry.getKey().getDataModelsField(refs, schemaName, field.getName().getLocalName());
+            for (int i = 0; i < refs.length; i++) {
+                sessionDocs.get(i).putPrefetch(field, schemaName, (Serializable) values[i]);
+            }
+        }
+    }
+
     @Override
     public void setPropertyValue(String xpath, Serializable value) throws PropertyException {
         getProperty(xpath).setValue(value);
@@ -61,6 +61,14 @@ public interface DocumentPart extends Property {
      */
     boolean getClearComplexPropertyBeforeSet();
 
+    /**
+     * Whether or not the children of the complex properties are stored in arrays indexed by field.
+     *
+     * @return {@code true} if the complex properties use the compact storage
+     * @since 9.10
+     */
+    boolean getCompactProperties();
+
     //
     // public void setContextData(String key, Object value);
     //
@@ -52,12 +52,24 @@ public abstract class ComplexProperty extends AbstractProperty implements Map<St
 
     protected ComplexProperty(Property parent) {
         super(parent);
-        children = new HashMap<String, Property>();
+        children = newChildren();
     }
 
     protected ComplexProperty(Property parent, int flags) {
         super(parent, flags);
-        children = new HashMap<String, Property>();
+        children = newChildren();
+    }
+
+    /**
+     * Creates the map of the children, compact if the document part of this property uses the compact storage.
+     *
+     * @since 9.10
+     */
+    protected Map<String, Property> newChildren() {
+        if (parent != null && getRoot().getCompactProperties()) {
+            return new ComplexPropertyChildren(this);
+        }
+        return new HashMap<String, Property>();
     }
 
     /**
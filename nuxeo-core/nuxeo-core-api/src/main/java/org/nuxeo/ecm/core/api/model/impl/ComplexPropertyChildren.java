@@ -0,0 +1,181 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.api.model.impl;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.nuxeo.ecm.core.api.model.Property;
+
+/**
+ * Children of a complex property, stored in an array indexed by the position of their field in the type of the
+ * property.
+ * <p>
+ * The array is allocated when the first child is added, with one slot per field. It replaces the hash map, its table
+ * and its entries for each complex property. The children are iterated in field order.
+ *
+ * @since 9.10
+ */
+public class ComplexPropertyChildren extends AbstractMap<String, Property> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final ComplexProperty owner;
+
+    protected Property[] slots;
+
+    protected int size;
+
+    public ComplexPropertyChildren(ComplexProperty owner) {
+        this.owner = owner;
+    }
+
+    protected int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        return owner.getType().getFieldIndex((String) key);
+    }
+
+    @Override
+    public Property get(Object key) {
+        int index = indexOf(key);
+        if (slots == null || index < 0 || index >= slots.length) {
+            return null;
+        }
+        return slots[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Property put(String key, Property value) {
+        if (value == null) {
+            throw new NullPointerException("Null child property: " + key);
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new IllegalArgumentException("No field: " + key + " in type: " + owner.getType().getName());
+        }
+        if (slots == null) {
+            slots = new Property[Math.max(owner.getType().getFieldsCount(), index + 1)];
+        } else if (index >= slots.length) {
+            // a field was added to the type
+            Property[] newSlots = new Property[index + 1];
+            System.arraycopy(slots, 0, newSlots, 0, slots.length);
+            slots = newSlots;
+        }
+        Property previous = slots[index];
+        slots[index] = value;
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    @Override
+    public Property remove(Object key) {
+        int index = indexOf(key);
+        if (slots == null || index < 0 || index >= slots.length) {
+            return null;
+        }
+        Property previous = slots[index];
+        if (previous != null) {
+            slots[index] = null;
+            size--;
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        slots = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Property>> entrySet() {
+        return new AbstractSet<Entry<String, Property>>() {
+
+            @Override
+            public Iterator<Entry<String, Property>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    protected class EntryIterator implements Iterator<Entry<String, Property>> {
+
+        protected int next = advance(0);
+
+        protected int last = -1;
+
+        protected int advance(int index) {
+            while (slots != null && index < slots.length && slots[index] == null) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slots != null && next < slots.length;
+        }
+
+        @Override
+        public Entry<String, Property> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            Property property = slots[last];
+            return new SimpleImmutableEntry<>(property.getName(), property);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0 || slots[last] == null) {
+                throw new IllegalStateException();
+            }
+            slots[last] = null;
+            size--;
+            last = -1;
+        }
+
+    }
+
+}
@@ -46,11 +46,19 @@ public class DocumentPartImpl extends ComplexProperty implements DocumentPart {
 
     protected boolean clearComplexPropertyBeforeSet;
 
+    /** @since 9.10 */
+    protected boolean compactProperties;
+
     public DocumentPartImpl(Schema schema) {
         super(null, IS_PHANTOM); // always phantom - will be removed by setValue (createDoc) or init (readDoc)
         this.schema = schema;
         // we pre-read this flag only once to avoid looking up and calling the SchemaManager many times
-        clearComplexPropertyBeforeSet = Framework.getService(SchemaManager.class).getClearComplexPropertyBeforeSet();
+        SchemaManager schemaManager = Framework.getService(SchemaManager.class);
+        clearComplexPropertyBeforeSet = schemaManager.getClearComplexPropertyBeforeSet();
+        compactProperties = schemaManager.getCompactProperties();
+        if (compactProperties) {
+            children = new ComplexPropertyChildren(this);
+        }
     }
 
     @Override
@@ -129,6 +137,11 @@ public class DocumentPartImpl extends ComplexProperty implements DocumentPart {
         return clearComplexPropertyBeforeSet;
     }
 
+    @Override
+    public boolean getCompactProperties() {
+        return compactProperties;
+    }
+
     @Override
     public PropertyDiff exportDiff() {
         return null;
@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.api.model.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.model.Property;
+import org.nuxeo.ecm.core.schema.types.ComplexTypeImpl;
+import org.nuxeo.ecm.core.schema.types.FieldImpl;
+import org.nuxeo.ecm.core.schema.types.QName;
+import org.nuxeo.ecm.core.schema.types.SchemaImpl;
+import org.nuxeo.ecm.core.schema.types.primitives.StringType;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+
+/**
+ * @since 9.10
+ */
+@LocalDeploy("org.nuxeo.ecm.core.api.tests:OSGI-INF/test-compact-properties-contrib.xml")
+public class TestCompactProperty extends AbstractTestProperty {
+
+    @Test
+    public void testCompactChildren() {
+        ComplexProperty property = getComplexProperty();
+        assertTrue(property.getRoot().getCompactProperties());
+        assertTrue(property.children instanceof ComplexPropertyChildren);
+        assertTrue(property.isEmpty());
+
+        Map<String, Serializable> value = new HashMap<>();
+        value.put("test2", "value2");
+        property.setValue(value);
+        assertEquals("value2", property.getValue("test2"));
+        assertEquals(1, property.size());
+        assertEquals("value2", property.get((Object) "test2").getValue());
+        assertNull(property.get((Object) "test1"));
+
+        value.put("test1", "value1");
+        property.setValue(value);
+        assertEquals(2, property.size());
+        // children are iterated in field order
+        List<String> names = new ArrayList<>();
+        for (Property child : property.getChildren()) {
+            names.add(child.getName());
+        }
+        List<String> expected = new ArrayList<>();
+        property.getType().getFields().forEach(field -> expected.add(field.getName().getPrefixedName()));
+        assertEquals(expected, names);
+        assertEquals(value, property.getValue());
+
+        property.clearDirtyFlags();
+        property.setValue("test1", "other");
+        assertTrue(property.isDirty());
+        assertFalse(property.get("test2").isDirty());
+    }
+
+    protected ComplexProperty newComplexProperty(DocumentPartImpl part, ComplexTypeImpl type) {
+        return new MapProperty(part, new FieldImpl(new QName("test:complex"), part.getSchema(), type));
+    }
+
+    @Test
+    @Ignore("for performance testing purpose")
+    public void testCompactChildrenPerf() {
+        SchemaImpl schema = getSchema();
+        ComplexTypeImpl type = new ComplexTypeImpl(schema, "test", "complex");
+        for (int i = 0; i < 20; i++) {
+            type.addField("field" + i, StringType.INSTANCE, null, 0, new HashSet<>());
+        }
+        Map<String, Serializable> value = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            value.put("field" + i, "value" + i);
+        }
+        int n = 100_000;
+        for (boolean compact : new boolean[] { false, true, false, true }) {
+            DocumentPartImpl part = new DocumentPartImpl(schema);
+            part.compactProperties = compact;
+            List<ComplexProperty> properties = new ArrayList<>(n);
+            System.gc();
+            long mem0 = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                ComplexProperty property = newComplexProperty(part, type);
+                property.init((Serializable) value);
+                property.getValue();
+                properties.add(property);
+            }
+            long t = System.nanoTime() - t0;
+            System.gc();
+            long mem = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory() - mem0;
+            System.out.println(String.format("compact: %s, %d bytes/property, %d ns/property", compact,
+                    mem / properties.size(), t / n));
+        }
+    }
+
+}
@@ -58,6 +58,18 @@ public class CacheMetrics extends CacheWrapper {
 
     protected final String SIZE_NAME = nameOf("size");
 
+    /** @since 9.10 */
+    protected final String LOCAL_HIT_NAME = nameOf("local-hit-counter");
+
+    /** @since 9.10 */
+    protected final String SHARED_HIT_NAME = nameOf("shared-hit-counter");
+
+    /** @since 9.10 */
+    protected final String SHARED_MISS_NAME = nameOf("shared-miss-counter");
+
+    /** @since 9.10 */
+    protected final String COALESCED_READ_NAME = nameOf("coalesced-read-counter");
+
     protected String nameOf(String name) {
         return MetricRegistry.name("nuxeo", "cache", getName(), name);
     }
@@ -89,6 +101,27 @@ public class CacheMetrics extends CacheWrapper {
                 return Long.valueOf(getSize());
             }
         });
+        CacheManagement impl = unwrap(cache);
+        if (impl instanceof NearCacheImpl) {
+            // metrics per tier
+            NearCacheImpl nearCache = (NearCacheImpl) impl;
+            registry.register(LOCAL_HIT_NAME, (Gauge<Long>) nearCache::getLocalHits);
+            registry.register(SHARED_HIT_NAME, (Gauge<Long>) nearCache::getSharedHits);
+            registry.register(SHARED_MISS_NAME, (Gauge<Long>) nearCache::getSharedMisses);
+            registry.register(COALESCED_READ_NAME, (Gauge<Long>) nearCache::getCoalescedReads);
+        }
+    }
+
+    /**
+     * Gets the cache implementation wrapped by the given cache.
+     *
+     * @since 9.10
+     */
+    protected static CacheManagement unwrap(CacheManagement cache) {
+        while (cache instanceof CacheWrapper) {
+            cache = ((CacheWrapper) cache).cache;
+        }
+        return cache;
     }
 
     @Override
@@ -100,6 +133,10 @@ public class CacheMetrics extends CacheWrapper {
         registry.remove(WRITE_NAME);
         registry.remove(INVALIDATE_ALL_NAME);
         registry.remove(SIZE_NAME);
+        registry.remove(LOCAL_HIT_NAME);
+        registry.remove(SHARED_HIT_NAME);
+        registry.remove(SHARED_MISS_NAME);
+        registry.remove(COALESCED_READ_NAME);
     }
 
     @Override
@@ -0,0 +1,401 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.cache;
+
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_CONCURRENCY_LEVEL;
+import static org.nuxeo.ecm.core.cache.CacheDescriptor.OPTION_MAX_SIZE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.kv.KeyValueStoreProvider;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Two-tier cache: a bounded local cache in front of a shared Key/Value store.
+ * <p>
+ * The hits of the local tier don't need any network call. The shared tier holds the values put by all the nodes, and
+ * the invalidations sent by the {@link CacheInvalidator} of the other nodes when they put or invalidate a key remove
+ * it from the local tier, so that it's read again from the shared tier.
+ * <p>
+ * The entries are versioned with a counter of the shared tier, so that neither tier replaces an entry with an older
+ * one. A value read from the shared tier is not kept locally if its key was invalidated during the read, and
+ * concurrent misses of the same key share a single read of the shared tier.
+ * <p>
+ * {@link #putLocal} is used by the read-through callers to fill the cache after a miss: it also fills the shared tier
+ * if it has no entry for the key, without any invalidation sent to the other nodes.
+ * <p>
+ * The following options are available:
+ * <ul>
+ * <li>maxSize: the maximum number of entries of the local tier.
+ * <li>concurrencyLevel: the concurrency level of the local tier.
+ * <li>keyValueStore: the Key/Value store of the shared tier. The default is the one with the same name as the cache.
+ * </ul>
+ * The keys of the shared tier are prefixed with the cache name, so that several caches, or other users, can share a
+ * Key/Value store.
+ *
+ * @since 9.10
+ */
+public class NearCacheImpl extends AbstractCache {
+
+    private static final Log log = LogFactory.getLog(NearCacheImpl.class);
+
+    public static final String OPTION_KEY_VALUE_STORE = "keyValueStore";
+
+    /** Prefix of the key of the version counter in the shared tier, followed by the cache name. */
+    public static final String VERSION_KEY_PREFIX = "__version__:";
+
+    /** Number of invalidation generations, keys sharing one by their hash. */
+    protected static final int GENERATIONS = 64;
+
+    protected final Cache<String, Entry> local;
+
+    protected final String keyValueStoreName;
+
+    /** Prefix of the keys of this cache in the shared tier. */
+    protected final String keyPrefix;
+
+    protected final String versionKey;
+
+    protected volatile KeyValueStore keyValueStore;
+
+    /** Generations of the invalidations received, to detect an invalidation during a read of the shared tier. */
+    protected final AtomicLongArray generations = new AtomicLongArray(GENERATIONS);
+
+    /** Reads of the shared tier in progress. */
+    protected final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    protected final LongAdder localHits = new LongAdder();
+
+    protected final LongAdder sharedHits = new LongAdder();
+
+    protected final LongAdder sharedMisses = new LongAdder();
+
+    protected final LongAdder coalescedReads = new LongAdder();
+
+    /**
+     * A versioned value.
+     */
+    protected static class Entry {
+
+        protected final long version;
+
+        protected final Serializable value;
+
+        protected Entry(long version, Serializable value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    public NearCacheImpl(CacheDescriptor desc) {
+        super(desc);
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+        builder = builder.expireAfterWrite(desc.getTTL(), TimeUnit.MINUTES);
+        Map<String, String> options = desc.options;
+        if (options.containsKey(OPTION_CONCURRENCY_LEVEL)) {
+            builder = builder.concurrencyLevel(Integer.parseInt(options.get(OPTION_CONCURRENCY_LEVEL)));
+        }
+        if (options.containsKey(OPTION_MAX_SIZE)) {
+            builder = builder.maximumSize(Integer.parseInt(options.get(OPTION_MAX_SIZE)));
+        }
+        local = builder.build();
+        keyValueStoreName = StringUtils.defaultIfBlank(options.get(OPTION_KEY_VALUE_STORE), name);
+        keyPrefix = name + ':';
+        versionKey = VERSION_KEY_PREFIX + name;
+    }
+
+    /**
+     * Returns the key of the shared tier for the given cache key.
+     */
+    protected String sharedKey(String key) {
+        return keyPrefix + key;
+    }
+
+    protected KeyValueStore getKeyValueStore() {
+        KeyValueStore kvs = keyValueStore;
+        if (kvs == null) {
+            kvs = Framework.getService(KeyValueService.class).getKeyValueStore(keyValueStoreName);
+            keyValueStore = kvs;
+        }
+        return kvs;
+    }
+
+    @Override
+    public void stop() {
+        keyValueStore = null;
+        local.invalidateAll();
+    }
+
+    protected long getTTLSeconds() {
+        return TimeUnit.MINUTES.toSeconds(ttl);
+    }
+
+    protected static byte[] serialize(Entry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(entry.version);
+            try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(entry.value);
+            }
+        } catch (IOException e) {
+            throw new NuxeoException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    protected static long readVersion(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readLong();
+        } catch (IOException e) {
+            throw new NuxeoException(e);
+        }
+    }
+
+    protected static Entry deserialize(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            long version = in.readLong();
+            try (ObjectInputStream ois = new ObjectInputStream(in)) {
+                return new Entry(version, (Serializable) ois.readObject());
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new NuxeoException(e);
+        }
+    }
+
+    protected int generationIndex(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATIONS;
+    }
+
+    /**
+     * Keeps the entry in the local tier, unless it already has a more recent one.
+     */
+    protected void putLocalEntry(String key, Entry entry) {
+        local.asMap().merge(key, entry, (current, e) -> current.version > e.version ? current : e);
+    }
+
+    @Override
+    public Serializable get(String key) {
+        if (key == null) {
+            return null;
+        }
+        Entry entry = local.getIfPresent(key);
+        if (entry != null) {
+            localHits.increment();
+            return entry.value;
+        }
+        entry = load(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Reads the entry from the shared tier, sharing the read with the concurrent misses of the same key.
+     */
+    protected Entry load(String key) {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedReads.increment();
+            return existing.join();
+        }
+        try {
+            int index = generationIndex(key);
+            long generation = generations.get(index);
+            byte[] bytes = getKeyValueStore().get(sharedKey(key));
+            Entry entry = bytes == null ? null : deserialize(bytes);
+            if (entry == null) {
+                sharedMisses.increment();
+            } else {
+                sharedHits.increment();
+                if (generations.get(index) == generation) {
+                    putLocalEntry(key, entry);
+                }
+            }
+            future.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public boolean hasEntry(String key) {
+        if (key == null) {
+            return false;
+        }
+        return local.asMap().containsKey(key) || getKeyValueStore().get(sharedKey(key)) != null;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        KeyValueStore kvs = getKeyValueStore();
+        if (!(kvs instanceof KeyValueStoreProvider)) {
+            return local.asMap().keySet();
+        }
+        return ((KeyValueStoreProvider) kvs).keyStream(keyPrefix)
+                                            .map(key -> key.substring(keyPrefix.length()))
+                                            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void put(String key, Serializable value) {
+        if (key == null || value == null) {
+            log.warn(String.format("Can't put a null key nor a null value in the cache '%s'!", name));
+            return;
+        }
+        Entry entry = new Entry(getKeyValueStore().addAndGet(versionKey, 1), value);
+        if (putSharedEntry(key, entry)) {
+            putLocalEntry(key, entry);
+        }
+    }
+
+    /**
+     * Writes the entry to the shared tier, unless it already has a more recent one put by another node.
+     *
+     * @return {@code true} if the entry was written
+     */
+    protected boolean putSharedEntry(String key, Entry entry) {
+        KeyValueStore kvs = getKeyValueStore();
+        String sharedKey = sharedKey(key);
+        byte[] bytes = serialize(entry);
+        for (;;) {
+            byte[] current = kvs.get(sharedKey);
+            if (current != null && readVersion(current) > entry.version) {
+                return false;
+            }
+            if (kvs.compareAndSet(sharedKey, current, bytes, getTTLSeconds())) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void putLocal(String key, Serializable value) {
+        if (key == null || value == null) {
+            log.warn(String.format("Can't put a null key nor a null value in the cache '%s'!", name));
+            return;
+        }
+        int index = generationIndex(key);
+        long generation = generations.get(index);
+        KeyValueStore kvs = getKeyValueStore();
+        String sharedKey = sharedKey(key);
+        Entry entry = new Entry(kvs.addAndGet(versionKey, 1), value);
+        byte[] bytes = serialize(entry);
+        // a fill doesn't replace the entry put in the meantime by another node
+        if (!kvs.compareAndSet(sharedKey, null, bytes, getTTLSeconds())) {
+            return;
+        }
+        if (generations.get(index) != generation) {
+            // invalidated during the write, the value may be stale
+            kvs.compareAndSet(sharedKey, bytes, null);
+            return;
+        }
+        putLocalEntry(key, entry);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        if (key == null) {
+            log.warn(String.format("Can't invalidate a null key for the cache '%s'!", name));
+            return;
+        }
+        getKeyValueStore().put(sharedKey(key), (byte[]) null);
+        invalidateLocal(key);
+    }
+
+    @Override
+    public void invalidateLocal(String key) {
+        if (key == null) {
+            log.warn(String.format("Can't invalidate a null key for the cache '%s'!", name));
+            return;
+        }
+        generations.incrementAndGet(generationIndex(key));
+        local.invalidate(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        KeyValueStore kvs = getKeyValueStore();
+        if (kvs instanceof KeyValueStoreProvider) {
+            // keep the version counter, so that versions keep increasing
+            KeyValueStoreProvider provider = (KeyValueStoreProvider) kvs;
+            provider.keyStream(keyPrefix).forEach(key -> provider.put(key, (byte[]) null));
+        }
+        invalidateLocalAll();
+    }
+
+    @Override
+    public void invalidateLocalAll() {
+        for (int i = 0; i < GENERATIONS; i++) {
+            generations.incrementAndGet(i);
+        }
+        local.invalidateAll();
+    }
+
+    /**
+     * Returns the number of entries of the local tier, the size of the shared tier being too expensive to compute.
+     */
+    @Override
+    public long getSize() {
+        return local.size();
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getSharedHits() {
+        return sharedHits.sum();
+    }
+
+    public long getSharedMisses() {
+        return sharedMisses.sum();
+    }
+
+    public long getCoalescedReads() {
+        return coalescedReads.sum();
+    }
+
+}
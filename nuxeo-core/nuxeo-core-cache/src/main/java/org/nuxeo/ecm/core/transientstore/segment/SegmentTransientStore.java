@@ -0,0 +1,831 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.transientstore.segment;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.common.Environment;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.impl.blob.ByteArrayBlob;
+import org.nuxeo.ecm.core.api.impl.blob.FileBlob;
+import org.nuxeo.ecm.core.transientstore.api.MaximumTransientSpaceExceeded;
+import org.nuxeo.ecm.core.transientstore.api.TransientStoreConfig;
+import org.nuxeo.ecm.core.transientstore.api.TransientStoreProvider;
+
+/**
+ * Transient Store storing entries and small blobs in append-only memory-mapped segment files.
+ * <p>
+ * Each update of an entry appends a record holding its parameters, its completion flag and the location of its blobs
+ * to the current segment, and an in-memory index gives the location of the last record of each entry. The blobs not
+ * larger than the {@value #CONFIG_INLINE_BLOB_MAX_SIZE} property are appended to the segments too, the others are
+ * spilled to individual files.
+ * <p>
+ * The garbage collection drops the segments whose entries are all expired or removed, and compacts the segments whose
+ * live records use less than the {@value #CONFIG_COMPACTION_THRESHOLD} ratio of their size, by copying these records
+ * to the current segment. The live bytes of each segment are counted as the records are written and dropped, so that
+ * the garbage collection only reads the records it moves.
+ * <p>
+ * The index is kept in memory only, so the segments and the blobs of a previous run are deleted on startup.
+ * <p>
+ * The following properties are available:
+ * <ul>
+ * <li>segmentSizeMB: the size of a segment file, in MB (default 16).
+ * <li>inlineBlobMaxSize: the maximum size of a blob stored in a segment, in bytes (default 65536).
+ * <li>compactionThreshold: the ratio of live records below which a segment is compacted (default 0.5).
+ * </ul>
+ *
+ * @since 9.10
+ */
+public class SegmentTransientStore implements TransientStoreProvider {
+
+    private static final Log log = LogFactory.getLog(SegmentTransientStore.class);
+
+    public static final String CONFIG_SEGMENT_SIZE_MB = "segmentSizeMB";
+
+    public static final String CONFIG_INLINE_BLOB_MAX_SIZE = "inlineBlobMaxSize";
+
+    public static final String CONFIG_COMPACTION_THRESHOLD = "compactionThreshold";
+
+    public static final int DEFAULT_SEGMENT_SIZE_MB = 16;
+
+    public static final int DEFAULT_INLINE_BLOB_MAX_SIZE = 64 * 1024;
+
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    protected static final String SEGMENTS_DIR = "segments";
+
+    protected static final String BLOBS_DIR = "blobs";
+
+    protected static final String SEGMENT_SUFFIX = ".seg";
+
+    /** The length of a record, before its bytes. */
+    protected static final int RECORD_HEADER = 4;
+
+    protected String name;
+
+    /** Basic TTL for all entries, in seconds. */
+    protected int ttl;
+
+    /** TTL used to keep entries around a bit longer if there's space for them, in seconds. */
+    protected int releaseTTL;
+
+    protected long targetMaxSize;
+
+    protected long absoluteMaxSize;
+
+    protected int segmentSize;
+
+    protected int inlineBlobMaxSize;
+
+    protected double compactionThreshold;
+
+    protected File segmentsDir;
+
+    protected File blobsDir;
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Location of the last record of each entry. */
+    protected final Map<String, Location> index = new HashMap<>();
+
+    protected final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    protected Segment current;
+
+    protected long nextSegmentId;
+
+    /** Size of the spilled blobs. */
+    protected long spilledSize;
+
+    /**
+     * Location of a record in a segment.
+     */
+    protected static class Location {
+
+        protected final long segment;
+
+        protected final int offset;
+
+        protected final int length;
+
+        /** Expiration time of the entry, in milliseconds. */
+        protected final long expiration;
+
+        /** The segments of the blobs stored in segments, or {@code null} if none. */
+        protected final long[] blobSegments;
+
+        /** The lengths of the blobs stored in segments. */
+        protected final long[] blobLengths;
+
+        /** The names of the spilled files, or {@code null} if none. */
+        protected final String[] spilledFiles;
+
+        protected Location(long segment, int offset, int length, long expiration, List<BlobRef> blobs) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.expiration = expiration;
+            if (blobs == null) {
+                blobSegments = null;
+                blobLengths = null;
+                spilledFiles = null;
+            } else {
+                blobSegments = blobs.stream().filter(ref -> !ref.isSpilled()).mapToLong(ref -> ref.segment).toArray();
+                blobLengths = blobs.stream().filter(ref -> !ref.isSpilled()).mapToLong(ref -> ref.length).toArray();
+                spilledFiles = blobs.stream().filter(BlobRef::isSpilled).map(ref -> ref.file).toArray(String[]::new);
+            }
+        }
+
+        protected boolean references(Set<Long> segmentIds) {
+            if (segmentIds.contains(segment)) {
+                return true;
+            }
+            if (blobSegments != null) {
+                for (long blobSegment : blobSegments) {
+                    if (segmentIds.contains(blobSegment)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        protected boolean isExpired(long now) {
+            return expiration <= now;
+        }
+    }
+
+    /**
+     * A memory-mapped segment file, written sequentially.
+     */
+    protected static class Segment {
+
+        protected final long id;
+
+        protected final File file;
+
+        protected final MappedByteBuffer buffer;
+
+        protected int position;
+
+        /** Expiration time of the last entry referencing this segment, in milliseconds. */
+        protected long expiration;
+
+        /** The bytes of the records still referenced by the index. */
+        protected long liveBytes;
+
+        protected Segment(long id, File file, int size) throws IOException {
+            this.id = id;
+            this.file = file;
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(size);
+                // the mapping stays valid once the file is closed
+                buffer = raf.getChannel().map(MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        protected int write(byte[] bytes) {
+            int offset = position;
+            ByteBuffer buf = buffer.duplicate();
+            buf.position(offset);
+            buf.putInt(bytes.length);
+            buf.put(bytes);
+            position += RECORD_HEADER + bytes.length;
+            return offset;
+        }
+
+        protected byte[] read(int offset) {
+            ByteBuffer buf = buffer.duplicate();
+            buf.position(offset);
+            byte[] bytes = new byte[buf.getInt()];
+            buf.get(bytes);
+            return bytes;
+        }
+
+        /**
+         * Deletes the file. The mapping is released when the buffer is garbage collected.
+         */
+        protected void delete() {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+
+    /**
+     * A blob of an entry, stored in a segment or spilled to a file.
+     */
+    protected static class BlobRef implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected String filename;
+
+        protected String mimeType;
+
+        protected String encoding;
+
+        protected String digest;
+
+        protected long length;
+
+        /** The segment, or -1 if the blob is spilled to a file. */
+        protected long segment = -1;
+
+        protected int offset;
+
+        /** The name of the spilled file. */
+        protected String file;
+
+        protected boolean isSpilled() {
+            return segment < 0;
+        }
+    }
+
+    /**
+     * The content of an entry record.
+     */
+    protected static class EntryData implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected boolean completed;
+
+        protected LinkedHashMap<String, Serializable> parameters = new LinkedHashMap<>();
+
+        /** The blobs, or {@code null} if none were put. */
+        protected ArrayList<BlobRef> blobs;
+    }
+
+    // ---------- TransientStoreProvider ----------
+
+    @Override
+    public void init(TransientStoreConfig config) {
+        name = config.getName();
+        Map<String, String> properties = config.getProperties();
+        if (properties == null) {
+            properties = Collections.emptyMap();
+        }
+        ttl = config.getFirstLevelTTL() * 60;
+        releaseTTL = config.getSecondLevelTTL() * 60;
+        targetMaxSize = config.getTargetMaxSizeMB() * 1024L * 1024;
+        absoluteMaxSize = config.getAbsoluteMaxSizeMB() * 1024L * 1024;
+        int segmentSizeMB = Integer.parseInt(properties.getOrDefault(CONFIG_SEGMENT_SIZE_MB,
+                String.valueOf(DEFAULT_SEGMENT_SIZE_MB)));
+        segmentSize = segmentSizeMB * 1024 * 1024;
+        inlineBlobMaxSize = Integer.parseInt(properties.getOrDefault(CONFIG_INLINE_BLOB_MAX_SIZE,
+                String.valueOf(DEFAULT_INLINE_BLOB_MAX_SIZE)));
+        // a blob must fit in a segment with its record header
+        inlineBlobMaxSize = Math.min(inlineBlobMaxSize, segmentSize / 2);
+        compactionThreshold = Double.parseDouble(properties.getOrDefault(CONFIG_COMPACTION_THRESHOLD,
+                String.valueOf(DEFAULT_COMPACTION_THRESHOLD)));
+        File dataDir = getDataDir(config);
+        segmentsDir = new File(dataDir, SEGMENTS_DIR);
+        blobsDir = new File(dataDir, BLOBS_DIR);
+        lock.writeLock().lock();
+        try {
+            // the index is not persisted, start empty
+            FileUtils.deleteQuietly(segmentsDir);
+            FileUtils.deleteQuietly(blobsDir);
+            segmentsDir.mkdirs();
+            blobsDir.mkdirs();
+            current = newSegment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected File getDataDir(TransientStoreConfig config) {
+        String dataDirPath = config.getDataDir();
+        if (StringUtils.isBlank(dataDirPath)) {
+            File transientStoreHome = new File(Environment.getDefault().getData(), "transientstores");
+            return new File(transientStoreHome, config.getName());
+        } else {
+            return new File(dataDirPath);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            segments.values().forEach(Segment::delete);
+            segments.clear();
+            current = null;
+            FileUtils.deleteQuietly(blobsDir);
+            spilledSize = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<String> keyStream() {
+        long now = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            index.forEach((key, location) -> {
+                if (!location.isExpired(now)) {
+                    keys.add(key);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return keys.stream();
+    }
+
+    @Override
+    public long getStorageSize() {
+        lock.readLock().lock();
+        try {
+            long size = spilledSize;
+            for (Segment segment : segments.values()) {
+                size += segment.position;
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void doGC() {
+        long now = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            // drop the expired entries
+            for (Iterator<Location> it = index.values().iterator(); it.hasNext();) {
+                Location location = it.next();
+                if (location.isExpired(now)) {
+                    it.remove();
+                    dropLocation(location);
+                }
+            }
+            // drop the dead segments, find the ones to compact
+            Set<Long> compacted = new HashSet<>();
+            for (Iterator<Segment> it = segments.values().iterator(); it.hasNext();) {
+                Segment segment = it.next();
+                if (segment == current) {
+                    if (segment.liveBytes == 0) {
+                        // nothing to keep, reuse it from the start
+                        segment.position = 0;
+                    }
+                } else if (segment.liveBytes == 0 || segment.expiration <= now) {
+                    it.remove();
+                    segment.delete();
+                } else if (segment.liveBytes < segment.position * compactionThreshold) {
+                    compacted.add(segment.id);
+                }
+            }
+            if (!compacted.isEmpty()) {
+                compact(compacted);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the live records of the given segments to the current segment, then drops them.
+     */
+    protected void compact(Set<Long> compacted) {
+        List<String> keys = new ArrayList<>();
+        index.forEach((key, location) -> {
+            if (location.references(compacted)) {
+                keys.add(key);
+            }
+        });
+        for (String key : keys) {
+            Location location = index.get(key);
+            EntryData data = readEntryData(location);
+            if (data.blobs != null) {
+                for (BlobRef ref : data.blobs) {
+                    if (!ref.isSpilled() && compacted.contains(ref.segment)) {
+                        byte[] bytes = segments.get(ref.segment).read(ref.offset);
+                        ref.segment = current(bytes.length).id;
+                        ref.offset = current.write(bytes);
+                    }
+                }
+            }
+            writeEntryData(key, data, location.expiration);
+        }
+        for (Long id : compacted) {
+            segments.remove(id).delete();
+        }
+        log.debug("Compacted " + compacted.size() + " segments of transient store: " + name);
+    }
+
+    @Override
+    public void removeAll() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            segments.values().forEach(Segment::delete);
+            segments.clear();
+            FileUtils.deleteQuietly(blobsDir);
+            blobsDir.mkdirs();
+            spilledSize = 0;
+            current = newSegment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---------- segments ----------
+
+    protected Segment newSegment() {
+        long id = nextSegmentId++;
+        File file = new File(segmentsDir, id + SEGMENT_SUFFIX);
+        try {
+            Segment segment = new Segment(id, file, segmentSize);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new NuxeoException("Cannot create segment: " + file, e);
+        }
+    }
+
+    /**
+     * Gets the current segment, rolling to a new one if the given number of bytes doesn't fit in it.
+     */
+    protected Segment current(int length) {
+        int size = RECORD_HEADER + length;
+        if (size > segmentSize) {
+            throw new NuxeoException("Record of " + length + " bytes too large for the segments of transient store: "
+                    + name);
+        }
+        if (current.position + size > segmentSize) {
+            current = newSegment();
+        }
+        return current;
+    }
+
+    protected EntryData readEntryData(Location location) {
+        byte[] bytes = segments.get(location.segment).read(location.offset);
+        try (ObjectInput in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (EntryData) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new NuxeoException(e);
+        }
+    }
+
+    /**
+     * Reads the entry, under the read lock.
+     *
+     * @return the entry, or {@code null} if it doesn't exist or is expired
+     */
+    protected EntryData getEntryData(String key) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null || location.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            return readEntryData(location);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the entry to the current segment, under the write lock.
+     */
+    protected void writeEntryData(String key, EntryData data, long expiration) {
+        byte[] bytes = SerializationUtils.serialize(data);
+        Segment segment = current(bytes.length);
+        int offset = segment.write(bytes);
+        Location location = new Location(segment.id, offset, bytes.length, expiration, data.blobs);
+        Location previous = index.put(key, location);
+        if (previous != null) {
+            // the previous record is dead, its blobs are counted again below if they are kept
+            updateLiveBytes(previous, -1);
+            if (previous.spilledFiles != null) {
+                List<String> kept = location.spilledFiles == null ? Collections.emptyList()
+                        : Arrays.asList(location.spilledFiles);
+                deleteSpilledFiles(Arrays.stream(previous.spilledFiles).filter(file -> !kept.contains(file)));
+            }
+        }
+        updateLiveBytes(location, 1);
+        // the segments expire with the last entry referencing them
+        segment.expiration = Math.max(segment.expiration, expiration);
+        if (location.blobSegments != null) {
+            for (long blobSegment : location.blobSegments) {
+                Segment seg = segments.get(blobSegment);
+                seg.expiration = Math.max(seg.expiration, expiration);
+            }
+        }
+    }
+
+    /**
+     * Adds or subtracts the bytes of the record and the blobs at the given location to the live bytes of their
+     * segments.
+     */
+    protected void updateLiveBytes(Location location, int sign) {
+        addLiveBytes(location.segment, sign * (RECORD_HEADER + (long) location.length));
+        if (location.blobSegments != null) {
+            for (int i = 0; i < location.blobSegments.length; i++) {
+                addLiveBytes(location.blobSegments[i], sign * (RECORD_HEADER + location.blobLengths[i]));
+            }
+        }
+    }
+
+    protected void addLiveBytes(long segmentId, long bytes) {
+        Segment segment = segments.get(segmentId);
+        if (segment != null) {
+            segment.liveBytes += bytes;
+        }
+    }
+
+    /**
+     * Releases the records and the spilled blobs of an entry removed from the index, under the write lock.
+     */
+    protected void dropLocation(Location location) {
+        updateLiveBytes(location, -1);
+        if (location.spilledFiles != null) {
+            deleteSpilledFiles(Arrays.stream(location.spilledFiles));
+        }
+    }
+
+    protected long getExpiration(int ttl) {
+        return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl);
+    }
+
+    /**
+     * Updates the entry, creating it if needed, and resets its TTL.
+     */
+    protected void updateEntryData(String key, Consumer<EntryData> updater) {
+        lock.writeLock().lock();
+        try {
+            Location location = index.get(key);
+            EntryData data;
+            if (location == null || location.isExpired(System.currentTimeMillis())) {
+                data = new EntryData();
+            } else {
+                data = readEntryData(location);
+            }
+            updater.accept(data);
+            writeEntryData(key, data, getExpiration(ttl));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected void deleteSpilledFiles(Stream<String> filenames) {
+        filenames.forEach(filename -> {
+            File file = new File(blobsDir, filename);
+            spilledSize -= file.length();
+            FileUtils.deleteQuietly(file);
+        });
+        spilledSize = Math.max(spilledSize, 0);
+    }
+
+    // ---------- TransientStore ----------
+
+    @Override
+    public boolean exists(String key) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            return location != null && !location.isExpired(System.currentTimeMillis());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void putParameter(String key, String parameter, Serializable value) {
+        updateEntryData(key, data -> data.parameters.put(parameter, value));
+    }
+
+    @Override
+    public Serializable getParameter(String key, String parameter) {
+        EntryData data = getEntryData(key);
+        return data == null ? null : data.parameters.get(parameter);
+    }
+
+    @Override
+    public void putParameters(String key, Map<String, Serializable> parameters) {
+        updateEntryData(key, data -> data.parameters.putAll(parameters));
+    }
+
+    @Override
+    public Map<String, Serializable> getParameters(String key) {
+        EntryData data = getEntryData(key);
+        return data == null ? null : data.parameters;
+    }
+
+    @Override
+    public void putBlobs(String key, List<Blob> blobs) {
+        if (absoluteMaxSize > 0 && getStorageSize() > absoluteMaxSize) {
+            // reclaim the space of the expired and removed entries if needed
+            doGC();
+            if (getStorageSize() > absoluteMaxSize) {
+                throw new MaximumTransientSpaceExceeded();
+            }
+        }
+        // first, outside the lock, read the small blobs and spill the large ones
+        List<BlobRef> refs = new ArrayList<>();
+        List<byte[]> contents = new ArrayList<>();
+        long spilled = 0;
+        for (Blob blob : blobs) {
+            BlobRef ref = new BlobRef();
+            ref.filename = blob.getFilename();
+            ref.mimeType = blob.getMimeType();
+            ref.encoding = blob.getEncoding();
+            ref.digest = blob.getDigest();
+            long length = blob.getLength();
+            byte[] content = null;
+            try {
+                if (length >= 0 && length <= inlineBlobMaxSize) {
+                    content = blob.getByteArray();
+                    ref.length = content.length;
+                } else {
+                    ref.file = UUID.randomUUID().toString();
+                    File file = new File(blobsDir, ref.file);
+                    if (blob instanceof FileBlob && ((FileBlob) blob).isTemporary()) {
+                        ((FileBlob) blob).moveTo(file);
+                    } else {
+                        blob.transferTo(file);
+                    }
+                    ref.length = file.length();
+                    spilled += ref.length;
+                }
+            } catch (IOException e) {
+                throw new NuxeoException(e);
+            }
+            refs.add(ref);
+            contents.add(content);
+        }
+        lock.writeLock().lock();
+        try {
+            spilledSize += spilled;
+            Location location = index.get(key);
+            EntryData data;
+            if (location == null || location.isExpired(System.currentTimeMillis())) {
+                data = new EntryData();
+            } else {
+                data = readEntryData(location);
+            }
+            data.blobs = new ArrayList<>(refs);
+            try {
+                for (int i = 0; i < refs.size(); i++) {
+                    byte[] content = contents.get(i);
+                    if (content != null) {
+                        BlobRef ref = refs.get(i);
+                        ref.segment = current(content.length).id;
+                        ref.offset = current.write(content);
+                    }
+                }
+                writeEntryData(key, data, getExpiration(ttl));
+            } catch (RuntimeException e) {
+                // the spilled files are not referenced by the index
+                deleteSpilledFiles(refs.stream().filter(BlobRef::isSpilled).map(ref -> ref.file));
+                throw e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Blob> getBlobs(String key) {
+        List<Blob> blobs = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null || location.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            EntryData data = readEntryData(location);
+            if (data.blobs == null) {
+                return Collections.emptyList();
+            }
+            for (BlobRef ref : data.blobs) {
+                Blob blob;
+                if (ref.isSpilled()) {
+                    File file = new File(blobsDir, ref.file);
+                    if (!file.exists()) {
+                        log.debug("Missing blob: " + ref.digest + " for transient store: " + name);
+                        continue;
+                    }
+                    blob = new FileBlob(file, ref.mimeType, ref.encoding, ref.filename, ref.digest);
+                } else {
+                    // copied from the segment, which may be dropped once the lock is released
+                    blob = new ByteArrayBlob(segments.get(ref.segment).read(ref.offset), ref.mimeType,
+                            ref.encoding);
+                    blob.setFilename(ref.filename);
+                    blob.setDigest(ref.digest);
+                }
+                blobs.add(blob);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return blobs;
+    }
+
+    @Override
+    public long getSize(String key) {
+        EntryData data = getEntryData(key);
+        if (data == null || data.blobs == null) {
+            return -1;
+        }
+        return data.blobs.stream().mapToLong(ref -> ref.length).sum();
+    }
+
+    @Override
+    public boolean isCompleted(String key) {
+        EntryData data = getEntryData(key);
+        return data != null && data.completed;
+    }
+
+    @Override
+    public void setCompleted(String key, boolean completed) {
+        updateEntryData(key, data -> data.completed = completed);
+    }
+
+    @Override
+    public void release(String key) {
+        if (targetMaxSize > 0 && getStorageSize() > targetMaxSize) {
+            // reclaim the space of the expired and removed entries if needed
+            doGC();
+            if (getStorageSize() > targetMaxSize) {
+                remove(key);
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null || location.isExpired(System.currentTimeMillis())) {
+                return;
+            }
+            writeEntryData(key, readEntryData(location), getExpiration(releaseTTL));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Location location = index.remove(key);
+            if (location != null) {
+                // the records are dropped with their segment
+                dropLocation(location);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+}
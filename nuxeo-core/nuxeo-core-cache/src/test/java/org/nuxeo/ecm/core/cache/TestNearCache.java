@@ -0,0 +1,206 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * @since 9.10
+ */
+@RunWith(FeaturesRunner.class)
+@Features(NearCacheFeature.class)
+public class TestNearCache {
+
+    protected NearCacheImpl node1;
+
+    protected NearCacheImpl node2;
+
+    protected NearCacheImpl newNode() {
+        return newNode("near-test-cache");
+    }
+
+    protected NearCacheImpl newNode(String name) {
+        CacheDescriptor desc = new CacheDescriptor();
+        desc.name = name;
+        desc.ttl = Long.valueOf(1);
+        desc.options.put(NearCacheImpl.OPTION_KEY_VALUE_STORE, "testnear");
+        return new NearCacheImpl(desc);
+    }
+
+    @Before
+    public void setUp() {
+        node1 = newNode();
+        node2 = newNode();
+    }
+
+    @After
+    public void tearDown() {
+        node1.invalidateAll();
+        node1.stop();
+        node2.stop();
+    }
+
+    @Test
+    public void testSharedThenLocalHit() {
+        node1.put("foo", "bar");
+        assertEquals("bar", node2.get("foo"));
+        assertEquals(1, node2.getSharedHits());
+        assertEquals(0, node2.getLocalHits());
+        assertEquals("bar", node2.get("foo"));
+        assertEquals(1, node2.getSharedHits());
+        assertEquals(1, node2.getLocalHits());
+        assertNull(node2.get("nosuchkey"));
+        assertEquals(1, node2.getSharedMisses());
+    }
+
+    @Test
+    public void testLocalInvalidation() {
+        node1.put("foo", "bar");
+        assertEquals("bar", node2.get("foo"));
+        node1.put("foo", "baz");
+        // the other node keeps its local value until it receives the invalidation
+        assertEquals("bar", node2.get("foo"));
+        node2.invalidateLocal("foo");
+        assertEquals("baz", node2.get("foo"));
+        node1.invalidate("foo");
+        node2.invalidateLocal("foo");
+        assertNull(node2.get("foo"));
+        assertFalse(node2.hasEntry("foo"));
+    }
+
+    @Test
+    public void testVersions() {
+        node1.put("foo", "bar");
+        assertEquals("bar", node2.get("foo"));
+        node2.put("foo", "baz");
+        NearCacheImpl.Entry newer = node2.local.getIfPresent("foo");
+        // an older entry doesn't replace a more recent one
+        node2.putLocalEntry("foo", new NearCacheImpl.Entry(newer.version - 1, "old"));
+        assertEquals("baz", node2.get("foo"));
+        // nor does a fill of a key present in the shared tier
+        node2.putLocal("foo", "local");
+        assertEquals("baz", node2.get("foo"));
+        node1.invalidateLocal("foo");
+        assertEquals("baz", node1.get("foo"));
+    }
+
+    @Test
+    public void testSharedVersions() {
+        node1.put("foo", "bar");
+        NearCacheImpl.Entry entry = node1.local.getIfPresent("foo");
+        // an older entry doesn't replace a more recent one in the shared tier
+        assertFalse(node2.putSharedEntry("foo", new NearCacheImpl.Entry(entry.version - 1, "old")));
+        assertEquals("bar", node2.get("foo"));
+        assertTrue(node2.putSharedEntry("foo", new NearCacheImpl.Entry(entry.version + 1, "new")));
+        node1.invalidateLocal("foo");
+        assertEquals("new", node1.get("foo"));
+    }
+
+    @Test
+    public void testPutLocalFillsSharedTier() {
+        node1.putLocal("foo", "bar");
+        assertEquals("bar", node2.get("foo"));
+        assertEquals(1, node2.getSharedHits());
+        // the local entry is versioned, a more recent put replaces it
+        node2.put("foo", "baz");
+        node1.invalidateLocal("foo");
+        assertEquals("baz", node1.get("foo"));
+    }
+
+    @Test
+    public void testConcurrentMissesShareRead() throws Exception {
+        node1.put("foo", "bar");
+        // a read of the shared tier is in progress
+        CompletableFuture<NearCacheImpl.Entry> read = new CompletableFuture<>();
+        node2.loading.put("foo", read);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Serializable> value = executor.submit(() -> node2.get("foo"));
+            read.complete(new NearCacheImpl.Entry(1, "bar"));
+            assertEquals("bar", value.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, node2.getCoalescedReads());
+        assertEquals(0, node2.getSharedHits());
+        // once the read is done, the next miss reads the shared tier
+        node2.loading.remove("foo");
+        assertEquals("bar", node2.get("foo"));
+        assertEquals(1, node2.getSharedHits());
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        node1.put("foo", "bar");
+        node1.put("gee", "moo");
+        assertEquals(2, node2.keySet().size());
+        assertTrue(node2.hasEntry("gee"));
+        node1.invalidateAll();
+        assertTrue(node2.keySet().isEmpty());
+        node2.invalidateLocalAll();
+        assertNull(node2.get("foo"));
+        // versions keep increasing after an invalidation of all the keys
+        node1.put("foo", "bar2");
+        assertEquals("bar2", node2.get("foo"));
+    }
+
+    @Test
+    public void testSharedKeyValueStore() {
+        NearCacheImpl other = newNode("other-near-test-cache");
+        try {
+            node1.put("foo", "bar");
+            other.put("foo", "other");
+            other.put("gee", "moo");
+            assertEquals("bar", node2.get("foo"));
+            assertEquals("other", other.get("foo"));
+            assertEquals(Collections.singleton("foo"), node2.keySet());
+            assertEquals(new HashSet<>(Arrays.asList("foo", "gee")), other.keySet());
+            // invalidating all the keys of a cache keeps the ones of the other caches
+            node1.invalidateAll();
+            assertTrue(node2.keySet().isEmpty());
+            other.invalidateLocalAll();
+            assertEquals("other", other.get("foo"));
+            assertEquals("moo", other.get("gee"));
+        } finally {
+            other.invalidateAll();
+            other.stop();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.transientstore.segment;
+
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+import org.nuxeo.runtime.test.runner.RuntimeFeature;
+import org.nuxeo.runtime.test.runner.SimpleFeature;
+
+/**
+ * @since 9.10
+ */
+@Features(RuntimeFeature.class)
+@Deploy({ "org.nuxeo.ecm.core.cache", "org.nuxeo.ecm.core.api" })
+@LocalDeploy("org.nuxeo.ecm.core.cache.test:OSGI-INF/test-segment-ts-config.xml")
+public class SegmentTransientStoreFeature extends SimpleFeature {
+
+}
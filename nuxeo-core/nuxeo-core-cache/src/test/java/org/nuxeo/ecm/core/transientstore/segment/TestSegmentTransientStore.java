@@ -0,0 +1,326 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.transientstore.segment;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.impl.blob.StringBlob;
+import org.nuxeo.ecm.core.transientstore.api.MaximumTransientSpaceExceeded;
+import org.nuxeo.ecm.core.transientstore.api.TransientStoreService;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+/**
+ * @since 9.10
+ */
+@RunWith(FeaturesRunner.class)
+@Features(SegmentTransientStoreFeature.class)
+public class TestSegmentTransientStore {
+
+    protected static final String NAME = "testsegment";
+
+    @Inject
+    protected TransientStoreService tss;
+
+    protected SegmentTransientStore ts;
+
+    @Before
+    public void setUp() {
+        ts = (SegmentTransientStore) tss.getStore(NAME);
+    }
+
+    @After
+    public void tearDown() {
+        ts.removeAll();
+    }
+
+    protected void createBlob(String key, String content) {
+        Blob blob = new StringBlob(content);
+        blob.setFilename("fake.txt");
+        blob.setMimeType("text/plain");
+        blob.setDigest(DigestUtils.md5Hex(content));
+        ts.putBlobs(key, Collections.singletonList(blob));
+    }
+
+    protected String read(Blob blob) throws Exception {
+        try (InputStream stream = blob.getStream()) {
+            return IOUtils.toString(stream, UTF_8);
+        }
+    }
+
+    @Test
+    public void verifyStorage() throws Exception {
+        String key = "mykey";
+        String content = "FakeContentWithBinary\u00e9";
+        int contentByteLength = content.getBytes(UTF_8).length;
+        String content2 = "FakeContent2";
+        int content2ByteLength = content2.getBytes(UTF_8).length;
+
+        // start empty
+        assertEquals(0, ts.getStorageSize());
+
+        // create content
+        ts.putParameter(key, "A", "1");
+        ts.putParameter(key, "B", "b");
+        createBlob(key, content);
+
+        // check that entry is stored
+        assertTrue(ts.exists(key));
+        assertFalse(ts.isCompleted(key));
+        assertEquals(new HashSet<>(Arrays.asList(key)), ts.keySet());
+        assertEquals(contentByteLength, ts.getSize(key));
+        assertEquals("1", ts.getParameter(key, "A"));
+        assertEquals("b", ts.getParameter(key, "B"));
+        List<Blob> blobs = ts.getBlobs(key);
+        assertEquals(1, blobs.size());
+        Blob blob = blobs.get(0);
+        assertEquals("fake.txt", blob.getFilename());
+        assertEquals("text/plain", blob.getMimeType());
+        assertEquals(DigestUtils.md5Hex(content), blob.getDigest());
+        assertEquals(content, read(blob));
+        assertTrue(ts.getStorageSize() > contentByteLength);
+
+        // update the entry
+        Blob otherBlob = new StringBlob(content2);
+        otherBlob.setFilename("fake2.txt");
+        otherBlob.setMimeType("text/plain");
+        blobs.add(otherBlob);
+        ts.putBlobs(key, blobs);
+        ts.setCompleted(key, true);
+
+        // check update
+        assertTrue(ts.isCompleted(key));
+        assertEquals(contentByteLength + content2ByteLength, ts.getSize(key));
+        blobs = ts.getBlobs(key);
+        assertEquals(2, blobs.size());
+        assertEquals("fake.txt", blobs.get(0).getFilename());
+        assertEquals("fake2.txt", blobs.get(1).getFilename());
+        assertEquals(content2, read(blobs.get(1)));
+        assertEquals("1", ts.getParameter(key, "A"));
+
+        // move to deletable entries
+        // check that still here
+        ts.release(key);
+        assertTrue(ts.exists(key));
+        assertEquals(Collections.singleton(key), ts.keySet());
+
+        // check Remove
+        ts.remove(key);
+        assertFalse(ts.exists(key));
+        assertEquals(0, ts.keySet().size());
+
+        // the segments are reclaimed by the GC
+        ts.doGC();
+        assertEquals(0, ts.getStorageSize());
+    }
+
+    @Test
+    public void verifyNullCases() throws Exception {
+        // Non existing entry
+        assertFalse(ts.exists("fakeEntry"));
+        assertNull(ts.getParameters("fakeEntry"));
+        assertNull(ts.getParameter("fakeEntry", "fakeParameter"));
+        assertNull(ts.getBlobs("fakeEntry"));
+        assertEquals(-1, ts.getSize("fakeEntry"));
+        assertFalse(ts.isCompleted("fakeEntry"));
+
+        // Entry with parameters only
+        ts.putParameter("testEntry", "param1", "value");
+        assertTrue(ts.exists("testEntry"));
+        Map<String, Serializable> params = ts.getParameters("testEntry");
+        assertNotNull(params);
+        assertEquals(1, params.size());
+        assertNotNull(ts.getParameter("testEntry", "param1"));
+        assertNull(ts.getParameter("testEntry", "param2"));
+        List<Blob> blobs = ts.getBlobs("testEntry");
+        assertNotNull(blobs);
+        assertTrue(blobs.isEmpty());
+
+        // Entry with blobs only
+        ts.putBlobs("otherEntry", Collections.singletonList(new StringBlob("joe")));
+        assertTrue(ts.exists("otherEntry"));
+        params = ts.getParameters("otherEntry");
+        assertNotNull(params);
+        assertTrue(params.isEmpty());
+        blobs = ts.getBlobs("otherEntry");
+        assertNotNull(blobs);
+        assertEquals(1, blobs.size());
+    }
+
+    @Test
+    public void verifySpilledBlob() throws Exception {
+        // larger than the inline max size
+        byte[] bytes = new byte[2000];
+        Arrays.fill(bytes, (byte) 'x');
+        ts.putBlobs("foo", Collections.singletonList(Blobs.createBlob(bytes)));
+        assertEquals(1, ts.blobsDir.list().length);
+        List<Blob> blobs = ts.getBlobs("foo");
+        assertEquals(1, blobs.size());
+        assertArrayEquals(bytes, blobs.get(0).getByteArray());
+        assertEquals(2000, ts.getSize("foo"));
+
+        // replaced by a small blob
+        createBlob("foo", "small");
+        assertEquals(0, ts.blobsDir.list().length);
+        assertEquals("small", read(ts.getBlobs("foo").get(0)));
+
+        ts.putBlobs("foo", Collections.singletonList(Blobs.createBlob(bytes)));
+        ts.remove("foo");
+        assertEquals(0, ts.blobsDir.list().length);
+    }
+
+    @Test
+    public void verifyMaxSizeException() throws Exception {
+        // store is configured for 2MB max
+        byte[] bytes = new byte[2 * 1024 * 1024 + 1];
+        ts.putBlobs("foo", Collections.singletonList(Blobs.createBlob(bytes)));
+        // store another one but we've exceeded the size allowed
+        try {
+            ts.putBlobs("bar", Collections.singletonList(Blobs.createBlob("x")));
+            fail("Should have exceeded maximum transient space");
+        } catch (MaximumTransientSpaceExceeded e) {
+            assertEquals("Maximum Transient Space Exceeded", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        int ttl = ts.ttl;
+        ts.ttl = 0;
+        try {
+            createBlob("foo", "content");
+            ts.putParameter("bar", "A", "1");
+        } finally {
+            ts.ttl = ttl;
+        }
+        assertFalse(ts.exists("foo"));
+        assertNull(ts.getBlobs("foo"));
+        assertNull(ts.getParameters("bar"));
+        assertTrue(ts.keySet().isEmpty());
+        assertTrue(ts.getStorageSize() > 0);
+        ts.doGC();
+        assertEquals(0, ts.getStorageSize());
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        byte[] bytes = new byte[1000];
+        // more than one segment, below the maximum storage size
+        int n = 600;
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(bytes, (byte) i);
+            ts.putParameter("key" + i, "i", Integer.valueOf(i));
+            ts.putBlobs("key" + i, Collections.singletonList(Blobs.createBlob(bytes)));
+        }
+        assertTrue(ts.segments.size() > 1);
+        long size = ts.getStorageSize();
+        // keep one entry out of ten
+        for (int i = 0; i < n; i++) {
+            if (i % 10 != 0) {
+                ts.remove("key" + i);
+            }
+        }
+        long firstSegment = ts.segments.firstKey();
+        ts.doGC();
+        assertFalse(ts.segments.containsKey(Long.valueOf(firstSegment)));
+        assertTrue(ts.getStorageSize() < size / 2);
+        assertEquals(n / 10, ts.keySet().size());
+        for (int i = 0; i < n; i += 10) {
+            Arrays.fill(bytes, (byte) i);
+            assertEquals(Integer.valueOf(i), ts.getParameter("key" + i, "i"));
+            assertArrayEquals(bytes, ts.getBlobs("key" + i).get(0).getByteArray());
+        }
+    }
+
+    @Test
+    public void testLiveBytes() throws Exception {
+        createBlob("foo", "content");
+        ts.putParameter("foo", "A", "1");
+        ts.putParameter("bar", "A", "1");
+        long live = ts.segments.values().stream().mapToLong(segment -> segment.liveBytes).sum();
+        // the first records of foo are dead
+        assertTrue(live > 0);
+        assertTrue(live < ts.getStorageSize());
+
+        ts.remove("foo");
+        ts.remove("bar");
+        assertEquals(0, ts.segments.values().stream().mapToLong(segment -> segment.liveBytes).sum());
+        ts.doGC();
+        assertEquals(0, ts.getStorageSize());
+    }
+
+    @Test
+    @Ignore("for performance testing purpose")
+    public void testSmallBlobsThroughput() throws Exception {
+        byte[] bytes = new byte[512];
+        int n = 100_000;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                ts.putBlobs("key" + i, Collections.singletonList(Blobs.createBlob(bytes)));
+                if (i % 1000 == 999) {
+                    // keep the storage below its maximum size
+                    for (int j = i - 999; j <= i; j++) {
+                        ts.remove("key" + j);
+                    }
+                    ts.doGC();
+                }
+            }
+            long put = System.nanoTime() - t0;
+            for (int i = 0; i < 1000; i++) {
+                ts.putBlobs("key" + i, Collections.singletonList(Blobs.createBlob(bytes)));
+            }
+            t0 = System.nanoTime();
+            for (int i = 0; i < n; i++) {
+                assertEquals(1, ts.getBlobs("key" + (i % 1000)).size());
+            }
+            long get = System.nanoTime() - t0;
+            ts.removeAll();
+            System.out.println(String.format("put: %d ops/s, get: %d ops/s", n * 1_000_000_000L / put,
+                    n * 1_000_000_000L / get));
+        }
+    }
+
+}
@@ -21,7 +21,9 @@ package org.nuxeo.ecm.core.convert.cache;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.TreeMap;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.nuxeo.ecm.core.api.blobholder.BlobHolder;
 
 /**
@@ -35,18 +37,33 @@ public class CacheKeyGenerator {
     private CacheKeyGenerator() {
     }
 
+    /**
+     * Computes the cache key of a conversion from the converter name, the source digest and the parameters.
+     * <p>
+     * Parameters are sorted by name so that the same conversion always gets the same key, whatever the parameters map
+     * implementation.
+     */
     public static String computeKey(String converterName, BlobHolder blobHolder, Map<String, Serializable> parameters) {
         StringBuilder sb = new StringBuilder();
         sb.append(converterName);
         sb.append(":");
         sb.append(blobHolder.getHash());
         if (parameters != null) {
-            for (String key : parameters.keySet()) {
-                sb.append(":").append(key);
-                sb.append(":").append(String.valueOf(parameters.get(key)));
+            for (Map.Entry<String, Serializable> es : new TreeMap<>(parameters).entrySet()) {
+                sb.append(":").append(es.getKey());
+                sb.append(":").append(String.valueOf(es.getValue()));
             }
         }
         return sb.toString();
     }
 
+    /**
+     * Computes a fixed-length digest of a cache key, suitable as a key in a shared store.
+     *
+     * @since 9.10
+     */
+    public static String computeDigest(String key) {
+        return DigestUtils.sha256Hex(key);
+    }
+
 }
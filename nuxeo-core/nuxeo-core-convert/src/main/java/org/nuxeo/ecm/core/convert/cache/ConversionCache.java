@@ -0,0 +1,63 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.convert.cache;
+
+import org.nuxeo.ecm.core.api.blobholder.BlobHolder;
+import org.nuxeo.ecm.core.convert.api.ConversionService;
+
+/**
+ * Shared tier of the {@link ConversionService} cache.
+ * <p>
+ * The local tier is managed by {@link ConversionCacheHolder}, which falls back to this shared tier on local misses so
+ * that a conversion done on one cluster node can be reused by the others.
+ * <p>
+ * Implementations are thread-safe. Keys are the ones computed by {@link CacheKeyGenerator#computeKey}.
+ *
+ * @since 9.10
+ */
+public interface ConversionCache {
+
+    /**
+     * Gets the cached conversion result for the given key, or {@code null} if there is none.
+     */
+    BlobHolder get(String key);
+
+    /**
+     * Caches the conversion result for the given key.
+     */
+    void put(String key, BlobHolder result);
+
+    /**
+     * Tries to acquire, cluster-wide, the right to compute the conversion for the given key.
+     * <p>
+     * Used to coalesce identical conversions requested concurrently on several nodes: only the node that acquired the
+     * lease runs the conversion, the others wait for its result to appear in the shared tier.
+     *
+     * @param key the cache key
+     * @param ttl the lease duration, in seconds, after which it expires if not released
+     * @return {@code true} if the lease was acquired
+     */
+    boolean tryAcquireLease(String key, long ttl);
+
+    /**
+     * Releases a lease acquired with {@link #tryAcquireLease}.
+     */
+    void releaseLease(String key);
+
+}
@@ -35,7 +35,7 @@ import org.nuxeo.ecm.core.convert.api.ConversionService;
  */
 public class ConversionCacheEntry {
 
-    protected Date lastAccessTime;
+    protected volatile Date lastAccessTime;
 
     protected BlobHolder bh;
 
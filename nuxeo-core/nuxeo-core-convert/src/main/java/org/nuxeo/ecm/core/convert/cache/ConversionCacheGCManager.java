@@ -21,14 +21,10 @@
  */
 package org.nuxeo.ecm.core.convert.cache;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
+import java.util.Map.Entry;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,6 +32,9 @@ import org.nuxeo.ecm.core.convert.service.ConversionServiceImpl;
 
 /**
  * Manages GC processing to clean up disk cache.
+ * <p>
+ * Keeps the local tier of the cache under its configured size by evicting the least recently accessed entries. The
+ * shared tier, if any, is bounded by its own store configuration.
  *
  * @author tiry
  */
@@ -47,9 +46,9 @@ public class ConversionCacheGCManager {
 
     private static final Log log = LogFactory.getLog(ConversionCacheGCManager.class);
 
-    private static int gcRuns = 0;
+    private static volatile int gcRuns = 0;
 
-    private static int gcCalls = 0;
+    private static volatile int gcCalls = 0;
 
     // Utility class.
     private ConversionCacheGCManager() {
@@ -68,16 +67,7 @@ public class ConversionCacheGCManager {
     }
 
     public static long getCacheSizeInKB() {
-        long totalSize = 0;
-        Set<String> cacheKeys = ConversionCacheHolder.getCacheKeys();
-
-        for (String key : cacheKeys) {
-            ConversionCacheEntry cacheEntry = ConversionCacheHolder.getCacheEntry(key);
-            if (cacheEntry != null) {
-                totalSize += cacheEntry.getDiskSpaceUsageInKB();
-            }
-        }
-        return totalSize;
+        return ConversionCacheHolder.getCacheSizeInKB();
     }
 
     public static boolean gcIfNeeded() {
@@ -105,30 +95,23 @@ public class ConversionCacheGCManager {
         return true;
     }
 
-    public static void doGC(long deltaInKB) {
-
-        Set<String> cacheKeys = ConversionCacheHolder.getCacheKeys();
-
-        Map<Date, String> sortingMap = new HashMap<Date, String>();
-
-        for (String key : cacheKeys) {
-            ConversionCacheEntry cacheEntry = ConversionCacheHolder.getCacheEntry(key);
-            Objects.requireNonNull(cacheEntry, key);
-            sortingMap.put(cacheEntry.getLastAccessedTime(), key);
+    public static synchronized void doGC(long deltaInKB) {
+        // snapshot access times so that concurrent accesses don't break the sort
+        List<Entry<String, Long>> entries = new ArrayList<>();
+        for (Entry<String, ConversionCacheEntry> es : ConversionCacheHolder.cache.entrySet()) {
+            entries.add(new SimpleImmutableEntry<>(es.getKey(), es.getValue().getLastAccessedTime().getTime()));
         }
-
-        List<Date> accessTimeList = new ArrayList<Date>();
-        accessTimeList.addAll(sortingMap.keySet());
-        Collections.sort(accessTimeList);
+        entries.sort(Entry.comparingByValue());
 
         long deletedVolume = 0;
-        for (Date accessDate : accessTimeList) {
-            ConversionCacheEntry cacheEntry = ConversionCacheHolder.getCacheEntry(sortingMap.get(accessDate));
-
-            long deletePotential = cacheEntry.getDiskSpaceUsageInKB();
-
-            deletedVolume += deletePotential;
-            ConversionCacheHolder.removeFromCache(sortingMap.get(accessDate));
+        for (Entry<String, Long> entry : entries) {
+            ConversionCacheEntry cacheEntry = ConversionCacheHolder.getCacheEntry(entry.getKey());
+            if (cacheEntry == null) {
+                // already removed
+                continue;
+            }
+            deletedVolume += cacheEntry.getDiskSpaceUsageInKB();
+            ConversionCacheHolder.removeFromCache(entry.getKey());
 
             if (deletedVolume > deltaInKB) {
                 break;
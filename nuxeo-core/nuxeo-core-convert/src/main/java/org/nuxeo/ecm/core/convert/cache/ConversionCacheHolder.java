@@ -22,32 +22,53 @@ package org.nuxeo.ecm.core.convert.cache;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.nuxeo.common.utils.Path;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.core.api.blobholder.BlobHolder;
 import org.nuxeo.ecm.core.convert.api.ConversionService;
 import org.nuxeo.ecm.core.convert.service.ConversionServiceImpl;
 
 /**
  * Manager for the cache system of the {@link ConversionService}.
+ * <p>
+ * The local tier keeps conversion results on the local disk, indexed by a concurrent map so that inserts and lookups
+ * for different keys don't contend with each other. When a shared {@link ConversionCache} is configured, local misses
+ * fall back to it and new results are also stored in it, so that other cluster nodes can reuse them.
+ * <p>
+ * Concurrent identical conversions are coalesced: on a node only one thread runs a given conversion while the others
+ * wait for its result, and with a shared tier only one node runs it cluster-wide.
  *
  * @author tiry
  */
 public class ConversionCacheHolder {
 
-    protected static final Map<String, ConversionCacheEntry> cache = new HashMap<>();
+    protected static final ConcurrentMap<String, ConversionCacheEntry> cache = new ConcurrentHashMap<>();
 
-    protected static final ReentrantReadWriteLock cacheLock = new ReentrantReadWriteLock();
+    /** Conversions currently running on this node, used to coalesce identical concurrent conversions. */
+    protected static final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    protected static final AtomicLong cacheHits = new AtomicLong();
+
+    protected static final AtomicLong sharedCacheHits = new AtomicLong();
+
+    protected static final AtomicLong cacheSizeInKB = new AtomicLong();
+
+    protected static volatile ConversionCache sharedCache;
 
     private static final Log log = LogFactory.getLog(ConversionCacheHolder.class);
 
@@ -55,18 +76,54 @@ public class ConversionCacheHolder {
 
     public static int subPathPartSize = 2;
 
-    public static long cacheHits = 0;
+    /** Duration in seconds of the cluster-wide lease taken while running a conversion. */
+    public static long leaseTTL = 300;
+
+    /** Delay in milliseconds between two checks of the shared cache while another node runs a conversion. */
+    public static long leasePollDelay = 500;
 
     // Utility class.
     private ConversionCacheHolder() {
     }
 
     public static long getCacheHits() {
-        return cacheHits;
+        return cacheHits.get();
+    }
+
+    /**
+     * @since 9.10
+     */
+    public static long getSharedCacheHits() {
+        return sharedCacheHits.get();
     }
 
     public static int getNbCacheEntries() {
-        return cache.keySet().size();
+        return cache.size();
+    }
+
+    /**
+     * Gets the disk space used by the local tier.
+     *
+     * @since 9.10
+     */
+    public static long getCacheSizeInKB() {
+        return cacheSizeInKB.get();
+    }
+
+    /**
+     * Sets the shared tier of the cache, or {@code null} to only use the local tier.
+     *
+     * @since 9.10
+     */
+    public static void setSharedCache(ConversionCache shared) {
+        sharedCache = shared;
+    }
+
+    /**
+     * @since 9.10
+     */
+    public static ConversionCache getSharedCache() {
+        return sharedCache;
     }
 
     protected static List<String> getSubPathFromKey(String key) {
@@ -107,12 +164,15 @@ public class ConversionCacheHolder {
 
     public static void addToCache(String key, BlobHolder result) {
         Objects.requireNonNull(key);
-        cacheLock.writeLock().lock();
-        try {
-            doAddToCache(key, result);
-        } finally {
-            cacheLock.writeLock().unlock();
+        ConversionCache shared = sharedCache;
+        if (shared != null) {
+            try {
+                shared.put(key, result);
+            } catch (NuxeoException e) {
+                log.error("Error while trying to store shared cache entry", e);
+            }
         }
+        doAddToCache(key, result);
     }
 
     protected static void doAddToCache(String key, BlobHolder result) {
@@ -126,82 +186,186 @@ public class ConversionCacheHolder {
         }
 
         if (persisted) {
-            cache.put(key, cce);
+            cacheSizeInKB.addAndGet(cce.getDiskSpaceUsageInKB());
+            ConversionCacheEntry previous = cache.put(key, cce);
+            if (previous != null && previous != cce) {
+                cacheSizeInKB.addAndGet(-previous.getDiskSpaceUsageInKB());
+                if (!Objects.equals(previous.persistPath, cce.persistPath)) {
+                    previous.remove();
+                }
+            }
         }
     }
 
     public static void removeFromCache(String key) {
-        cacheLock.writeLock().lock();
-        try {
-            doRemoveFromCache(key);
-        } finally {
-            cacheLock.writeLock().unlock();
-        }
-
+        doRemoveFromCache(key);
     }
 
     protected static void doRemoveFromCache(String key) {
-        if (cache.containsKey(key)) {
-            ConversionCacheEntry cce = cache.get(key);
+        ConversionCacheEntry cce = cache.remove(key);
+        if (cce != null) {
+            cacheSizeInKB.addAndGet(-cce.getDiskSpaceUsageInKB());
             cce.remove();
-            cache.remove(key);
         }
     }
 
     public static ConversionCacheEntry getCacheEntry(String key) {
-        cacheLock.readLock().lock();
-        try {
-            return doGetCacheEntry(key);
-        } finally {
-            cacheLock.readLock().unlock();
-        }
+        return doGetCacheEntry(key);
     }
 
     protected static ConversionCacheEntry doGetCacheEntry(String key) {
         return cache.get(key);
     }
 
+    /**
+     * Gets a conversion result from the local tier, or from the shared tier if there is one.
+     * <p>
+     * The filename of the main blob of the returned result is reset as the cache only keeps a hash of it.
+     */
     public static BlobHolder getFromCache(String key) {
-        cacheLock.readLock().lock();
-        try {
-            return doGetFromCache(key);
-        } finally {
-            cacheLock.readLock().unlock();
+        BlobHolder result = doGetFromCache(key);
+        if (result == null) {
+            result = doGetFromSharedCache(key);
         }
+        if (result != null) {
+            // reset the filename because it's just a hash
+            Blob blob = result.getBlob();
+            if (blob != null) {
+                blob.setFilename(null);
+            }
+        }
+        return result;
     }
 
     protected static BlobHolder doGetFromCache(String key) {
         ConversionCacheEntry cacheEntry = cache.get(key);
         if (cacheEntry != null) {
-            if (cacheHits == Long.MAX_VALUE) {
-                cacheHits = 0;
-            } else {
-                cacheHits += 1;
+            BlobHolder result = cacheEntry.restore();
+            if (result != null) {
+                incrementHits(cacheHits);
             }
-            return cacheEntry.restore();
+            return result;
         }
         return null;
     }
 
-    public static Set<String> getCacheKeys() {
-        cacheLock.readLock().lock();
+    protected static BlobHolder doGetFromSharedCache(String key) {
+        ConversionCache shared = sharedCache;
+        if (shared == null) {
+            return null;
+        }
+        BlobHolder result;
         try {
-            return new HashSet<>(cache.keySet());
-        } finally {
-            cacheLock.readLock().unlock();
+            result = shared.get(key);
+        } catch (NuxeoException e) {
+            log.error("Error while trying to read shared cache entry", e);
+            return null;
         }
+        if (result == null) {
+            return null;
+        }
+        incrementHits(sharedCacheHits);
+        // keep a local copy for the next lookups on this node
+        doAddToCache(key, result);
+        return result;
+    }
+
+    protected static void incrementHits(AtomicLong hits) {
+        hits.updateAndGet(v -> v == Long.MAX_VALUE ? 0 : v + 1);
     }
 
     /**
-     * @since 6.0
+     * Gets the conversion result for the given key from the cache, or computes it with the given converter and caches
+     * it.
+     * <p>
+     * If the same conversion is already running on this node, waits for it to complete and reuses its result. If a
+     * shared tier is configured and the same conversion is already running on another node, waits for its result to
+     * appear in the shared tier, up to {@link #leaseTTL}.
+     *
+     * @param key the cache key
+     * @param converter the conversion to run on cache miss
+     * @return the conversion result
+     * @since 9.10
      */
-    public static void deleteCache() {
-        cacheLock.writeLock().lock();
+    public static BlobHolder getOrCompute(String key, Supplier<BlobHolder> converter) {
+        Objects.requireNonNull(key);
+        CompletableFuture<Void> ours = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(key, ours);
+        if (running != null) {
+            // same conversion already running in another thread
+            running.join();
+            BlobHolder result = getFromCache(key);
+            if (result != null) {
+                return result;
+            }
+            // the other conversion failed or its result is not cachable
+            return converter.get();
+        }
         try {
-            cache.clear();
-            new File(ConversionServiceImpl.getCacheBasePath()).delete();
+            BlobHolder result = getFromCache(key);
+            if (result != null) {
+                return result;
+            }
+            ConversionCache shared = sharedCache;
+            if (shared == null) {
+                return computeAndCache(key, converter);
+            }
+            return computeShared(shared, key, converter);
         } finally {
-            cacheLock.writeLock().unlock();
+            inFlight.remove(key, ours);
+            ours.complete(null);
         }
     }
+
+    protected static BlobHolder computeShared(ConversionCache shared, String key, Supplier<BlobHolder> converter) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(leaseTTL);
+        do {
+            if (shared.tryAcquireLease(key, leaseTTL)) {
+                try {
+                    // the node holding the previous lease may have completed in the meantime
+                    BlobHolder result = getFromCache(key);
+                    if (result != null) {
+                        return result;
+                    }
+                    return computeAndCache(key, converter);
+                } finally {
+                    shared.releaseLease(key);
+                }
+            }
+            // another node is running the same conversion
+            try {
+                Thread.sleep(leasePollDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NuxeoException(e);
+            }
+            BlobHolder result = getFromCache(key);
+            if (result != null) {
+                return result;
+            }
+        } while (System.nanoTime() < deadline);
+        log.warn("Conversion " + key + " still running on another node after " + leaseTTL + "s, converting locally");
+        return computeAndCache(key, converter);
+    }
+
+    protected static BlobHolder computeAndCache(String key, Supplier<BlobHolder> converter) {
+        BlobHolder result = converter.get();
+        if (result != null) {
+            addToCache(key, result);
+        }
+        return result;
+    }
+
+    public static Set<String> getCacheKeys() {
+        return new HashSet<>(cache.keySet());
+    }
+
+    /**
+     * @since 6.0
+     */
+    public static void deleteCache() {
+        cache.clear();
+        cacheSizeInKB.set(0);
+        new File(ConversionServiceImpl.getCacheBasePath()).delete();
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.convert.cache;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.lang.StringUtils;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.blobholder.BlobHolder;
+import org.nuxeo.ecm.core.transientstore.api.TransientStore;
+import org.nuxeo.ecm.core.transientstore.api.TransientStoreService;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.ClusterLockHelper;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+
+/**
+ * Shared conversion cache storing conversion results in a {@link TransientStore}, and coordinating concurrent
+ * conversions through leases in a {@link KeyValueStore}.
+ * <p>
+ * The transient store is responsible for the size bound of this tier (its {@code targetMaxSizeMB} and
+ * {@code absoluteMaxSizeMB} configuration), and for storing the blobs in the binary manager when it is backed by one.
+ *
+ * @since 9.10
+ */
+public class TransientStoreConversionCache implements ConversionCache {
+
+    public static final String KV_STORE_NAME = "conversionCache";
+
+    protected static final String LEASE_PREFIX = "convert.lease.";
+
+    protected final String storeName;
+
+    protected final String owner;
+
+    public TransientStoreConversionCache(String storeName) {
+        this.storeName = storeName;
+        String nodeId = Framework.getProperty(ClusterLockHelper.NODE_ID_PROP);
+        owner = StringUtils.isBlank(nodeId) ? UUID.randomUUID().toString() : nodeId.trim();
+    }
+
+    protected TransientStore getStore() {
+        return Framework.getService(TransientStoreService.class).getStore(storeName);
+    }
+
+    protected KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(KV_STORE_NAME);
+    }
+
+    protected String getEntryKey(String key) {
+        return CacheKeyGenerator.computeDigest(key);
+    }
+
+    @Override
+    public BlobHolder get(String key) {
+        String entryKey = getEntryKey(key);
+        TransientStore store = getStore();
+        if (!store.isCompleted(entryKey)) {
+            return null;
+        }
+        List<Blob> blobs = store.getBlobs(entryKey);
+        if (blobs == null || blobs.isEmpty()) {
+            return null;
+        }
+        return new SimpleCachableBlobHolder(blobs);
+    }
+
+    @Override
+    public void put(String key, BlobHolder result) {
+        List<Blob> blobs = result.getBlobs();
+        if (blobs == null || blobs.isEmpty()) {
+            return;
+        }
+        String entryKey = getEntryKey(key);
+        TransientStore store = getStore();
+        store.putBlobs(entryKey, blobs);
+        store.setCompleted(entryKey, true);
+        // let the transient store GC reclaim the entry when it needs space
+        store.release(entryKey);
+    }
+
+    @Override
+    public boolean tryAcquireLease(String key, long ttl) {
+        return getKeyValueStore().compareAndSet(LEASE_PREFIX + getEntryKey(key), null, owner, ttl);
+    }
+
+    @Override
+    public void releaseLease(String key) {
+        getKeyValueStore().compareAndSet(LEASE_PREFIX + getEntryKey(key), owner, null);
+    }
+
+}
@@ -100,6 +100,19 @@ public class GlobalConfigDescriptor implements Serializable {
         return diskCacheSize == null ? DEFAULT_DISK_CACHE_IN_KB : diskCacheSize.intValue();
     }
 
+    /**
+     * Name of the transient store used as shared conversion cache tier, or {@code null} for a local cache only.
+     *
+     * @since 9.10
+     */
+    @XNode("sharedCacheStore")
+    protected String sharedCacheStore;
+
+    /** @since 9.10 */
+    public String getSharedCacheStore() {
+        return sharedCacheStore;
+    }
+
     public void update(GlobalConfigDescriptor other) {
         if (other.enableCache != null) {
             enableCache = other.enableCache;
@@ -113,6 +126,9 @@ public class GlobalConfigDescriptor implements Serializable {
         if (other.cachingDirectory != null) {
             cachingDirectory = other.cachingDirectory;
         }
+        if (other.sharedCacheStore != null) {
+            sharedCacheStore = other.sharedCacheStore;
+        }
     }
 
 }
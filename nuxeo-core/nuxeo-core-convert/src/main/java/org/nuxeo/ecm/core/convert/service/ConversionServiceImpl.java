@@ -53,6 +53,7 @@ import org.nuxeo.ecm.core.convert.api.ConverterNotRegistered;
 import org.nuxeo.ecm.core.convert.cache.CacheKeyGenerator;
 import org.nuxeo.ecm.core.convert.cache.ConversionCacheHolder;
 import org.nuxeo.ecm.core.convert.cache.GCTask;
+import org.nuxeo.ecm.core.convert.cache.TransientStoreConversionCache;
 import org.nuxeo.ecm.core.convert.extension.ChainedConverter;
 import org.nuxeo.ecm.core.convert.extension.Converter;
 import org.nuxeo.ecm.core.convert.extension.ConverterDescriptor;
@@ -313,20 +314,15 @@ public class ConversionServiceImpl extends DefaultComponent implements Conversio
             throw new ConversionException("Converter " + converterName + " can not be found");
         }
 
-        String cacheKey = CacheKeyGenerator.computeKey(converterName, blobHolder, parameters);
-
-        BlobHolder result = ConversionCacheHolder.getFromCache(cacheKey);
-
-        if (result == null) {
-            Converter converter = desc.getConverterInstance();
-            result = converter.convert(blobHolder, parameters);
-
-            if (config.isCacheEnabled()) {
-                ConversionCacheHolder.addToCache(cacheKey, result);
-            }
+        Converter converter = desc.getConverterInstance();
+        BlobHolder result;
+        if (config.isCacheEnabled()) {
+            String cacheKey = CacheKeyGenerator.computeKey(converterName, blobHolder, parameters);
+            Map<String, Serializable> params = parameters;
+            // identical concurrent conversions are run only once
+            result = ConversionCacheHolder.getOrCompute(cacheKey, () -> converter.convert(blobHolder, params));
         } else {
-            // we need to reset the filename if result came from cache because it's just a hash
-            result.getBlob().setFilename(null);
+            result = converter.convert(blobHolder, parameters);
         }
 
         if (result != null) {
@@ -519,12 +515,17 @@ public class ConversionServiceImpl extends DefaultComponent implements Conversio
 
     @Override
     public void start(ComponentContext context) {
+        String sharedCacheStore = config.getSharedCacheStore();
+        if (config.isCacheEnabled() && StringUtils.isNotBlank(sharedCacheStore)) {
+            ConversionCacheHolder.setSharedCache(new TransientStoreConversionCache(sharedCacheStore));
+        }
         startGC();
     }
 
     @Override
     public void stop(ComponentContext context) {
         endGC();
+        ConversionCacheHolder.setSharedCache(null);
     }
 
     protected void startGC() {
@@ -0,0 +1,166 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.convert.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.api.blobholder.BlobHolder;
+import org.nuxeo.ecm.core.convert.cache.ConversionCache;
+import org.nuxeo.ecm.core.convert.cache.ConversionCacheHolder;
+import org.nuxeo.ecm.core.convert.cache.SimpleCachableBlobHolder;
+import org.nuxeo.ecm.core.convert.cache.TransientStoreConversionCache;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+import org.nuxeo.transientstore.test.InMemoryTransientStoreFeature;
+
+/**
+ * Tests the shared tier of the conversion cache, another node being simulated by a second
+ * {@link TransientStoreConversionCache} on the same stores.
+ *
+ * @since 9.10
+ */
+@RunWith(FeaturesRunner.class)
+@Features({ ConvertFeature.class, InMemoryTransientStoreFeature.class })
+@Deploy("org.nuxeo.runtime.kv")
+@LocalDeploy({ "org.nuxeo.ecm.core.convert:OSGI-INF/convert-service-config-enabled.xml",
+        "org.nuxeo.ecm.core.convert:OSGI-INF/convert-service-config-shared.xml" })
+public class TestSharedCache {
+
+    protected ConversionCache otherNode;
+
+    protected long leaseTTL;
+
+    protected long leasePollDelay;
+
+    protected AtomicInteger conversions;
+
+    @Before
+    public void setUp() {
+        assertTrue(ConversionCacheHolder.getSharedCache() instanceof TransientStoreConversionCache);
+        otherNode = new TransientStoreConversionCache("testStore");
+        leaseTTL = ConversionCacheHolder.leaseTTL;
+        leasePollDelay = ConversionCacheHolder.leasePollDelay;
+        ConversionCacheHolder.leasePollDelay = 50;
+        conversions = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        ConversionCacheHolder.leaseTTL = leaseTTL;
+        ConversionCacheHolder.leasePollDelay = leasePollDelay;
+    }
+
+    protected static String newKey(String name) {
+        return name + ':' + System.nanoTime();
+    }
+
+    protected static BlobHolder newResult(String content) {
+        Blob blob = Blobs.createBlob(content);
+        blob.setFilename("result.txt");
+        return new SimpleCachableBlobHolder(blob);
+    }
+
+    protected Supplier<BlobHolder> converter(String content) {
+        return () -> {
+            conversions.incrementAndGet();
+            return newResult(content);
+        };
+    }
+
+    @Test
+    public void testSharedHit() throws IOException {
+        String key = newKey("sharedHit");
+        long sharedHits = ConversionCacheHolder.getSharedCacheHits();
+        // converted on the other node
+        otherNode.put(key, newResult("converted"));
+        assertNull(ConversionCacheHolder.getCacheEntry(key));
+
+        BlobHolder result = ConversionCacheHolder.getOrCompute(key, converter("local"));
+        assertEquals("converted", result.getBlob().getString());
+        assertEquals(0, conversions.get());
+        assertEquals(sharedHits + 1, ConversionCacheHolder.getSharedCacheHits());
+        // kept locally for the next lookups
+        assertNotNull(ConversionCacheHolder.getCacheEntry(key));
+        ConversionCacheHolder.removeFromCache(key);
+    }
+
+    @Test
+    public void testLeaseContention() throws Exception {
+        String key = newKey("leaseContention");
+        // the other node is running the conversion
+        assertTrue(otherNode.tryAcquireLease(key, 60));
+        assertFalse(ConversionCacheHolder.getSharedCache().tryAcquireLease(key, 60));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BlobHolder> future = executor.submit(
+                    () -> ConversionCacheHolder.getOrCompute(key, converter("local")));
+            Thread.sleep(200);
+            assertFalse(future.isDone());
+            // the other node completes its conversion
+            otherNode.put(key, newResult("converted"));
+            otherNode.releaseLease(key);
+            assertEquals("converted", future.get(10, TimeUnit.SECONDS).getBlob().getString());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, conversions.get());
+        ConversionCacheHolder.removeFromCache(key);
+    }
+
+    @Test
+    public void testLeaseExpiry() throws Exception {
+        String key = newKey("leaseExpiry");
+        ConversionCacheHolder.leaseTTL = 30;
+        // the other node died while running the conversion, its lease expires
+        assertTrue(otherNode.tryAcquireLease(key, 1));
+
+        long t0 = System.nanoTime();
+        BlobHolder result = ConversionCacheHolder.getOrCompute(key, converter("local"));
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - t0);
+        assertEquals("local", result.getBlob().getString());
+        assertEquals(1, conversions.get());
+        // converted once the lease expired, not when waiting for the result timed out
+        assertTrue("Converted after " + elapsed + "s", elapsed < ConversionCacheHolder.leaseTTL);
+        // and shared with the other nodes
+        assertEquals("local", otherNode.get(key).getBlob().getString());
+        ConversionCacheHolder.removeFromCache(key);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.io.marshallers.json;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.nuxeo.ecm.core.io.registry.MarshallingConstants.ENTITY_FIELD_NAME;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.nuxeo.ecm.core.io.registry.MarshallerRegistry;
+import org.nuxeo.ecm.core.io.registry.Writer;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+
+/**
+ * Base class to stream an {@link Iterator} as json, without holding all its elements in memory.
+ * <p>
+ * It follows the format of {@link DefaultListJsonWriter}, without pagination information:
+ *
+ * <pre>
+ * {
+ *   "entity-type": "GIVEN_ENTITY_TYPE",
+ *   "entries": [
+ *     {...}, <-- A {@link Writer} must be able to manage this format.
+ *     {...},
+ *     ...
+ *     {...}
+ *   ]
+ * }
+ * </pre>
+ * <p>
+ * The elements are consumed by chunks of {@link #CHUNK_SIZE}, and the output is flushed after each chunk so that the
+ * response is sent while the iterator, for instance backed by a repository scroll or an
+ * {@link org.nuxeo.ecm.core.api.IterableQueryResult IterableQueryResult}, is still being read. The iterator is closed
+ * at the end if it is {@link AutoCloseable}.
+ * </p>
+ * <p>
+ * This writer delegates the marshalling of entries to the {@link MarshallerRegistry}. A Json {@link Writer} compatible
+ * with the required type must be registered.
+ * </p>
+ *
+ * @param <EntityType> The type of the element of this iterator.
+ * @since 9.10
+ */
+public abstract class DefaultIteratorJsonWriter<EntityType> extends AbstractJsonWriter<Iterator<EntityType>> {
+
+    public static final int CHUNK_SIZE = 100;
+
+    /**
+     * The "entity-type" of the list.
+     */
+    private final String entityType;
+
+    /**
+     * The Java type of the element of this iterator.
+     */
+    private final Class<EntityType> elClazz;
+
+    /**
+     * @param entityType The list "entity-type".
+     * @param elClazz The class of the element of the iterator.
+     */
+    public DefaultIteratorJsonWriter(String entityType, Class<EntityType> elClazz) {
+        super();
+        this.entityType = entityType;
+        this.elClazz = elClazz;
+    }
+
+    @Override
+    public void write(Iterator<EntityType> iterator, JsonGenerator jg) throws IOException {
+        try {
+            jg.writeStartObject();
+            ctx.setParameterValues(RenderingContext.RESPONSE_HEADER_ENTITY_TYPE_KEY, entityType);
+            jg.writeStringField(ENTITY_FIELD_NAME, entityType);
+            Writer<EntityType> entryWriter = registry.getWriter(ctx, elClazz, elClazz, APPLICATION_JSON_TYPE);
+            jg.writeArrayFieldStart("entries");
+            List<EntityType> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, entryWriter, jg);
+                    chunk.clear();
+                    jg.flush();
+                }
+            }
+            jg.writeEndArray();
+            jg.writeEndObject();
+        } finally {
+            if (iterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) iterator).close();
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a chunk of entries. Override this method to prepare the marshalling of many entries at once.
+     *
+     * @param chunk The entries to write, at most {@link #CHUNK_SIZE}.
+     * @param entryWriter The writer of the entries.
+     * @param jg The {@link JsonGenerator} which point inside the entries array.
+     */
+    protected void writeChunk(List<EntityType> chunk, Writer<EntityType> entryWriter, JsonGenerator jg)
+            throws IOException {
+        for (EntityType entity : chunk) {
+            entryWriter.write(entity, elClazz, elClazz, APPLICATION_JSON_TYPE, new OutputStreamWithJsonWriter(jg));
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.io.marshallers.json.document;
+
+import static org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelListJsonWriter.ENTITY_DOCUMENT_LIST;
+import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
+import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.io.marshallers.json.DefaultIteratorJsonWriter;
+import org.nuxeo.ecm.core.io.marshallers.json.enrichers.AbstractBatchJsonEnricher;
+import org.nuxeo.ecm.core.io.registry.Writer;
+import org.nuxeo.ecm.core.io.registry.reflect.Setup;
+
+/**
+ * Streams documents in the format of {@link DocumentModelListJsonWriter}, see {@link DefaultIteratorJsonWriter}.
+ * <p>
+ * The batch enrichers prefetch each chunk of documents, and their values are discarded once the chunk is written.
+ * </p>
+ *
+ * @since 9.10
+ */
+@Setup(mode = SINGLETON, priority = REFERENCE)
+public class DocumentModelIteratorJsonWriter extends DefaultIteratorJsonWriter<DocumentModel> {
+
+    public DocumentModelIteratorJsonWriter() {
+        super(ENTITY_DOCUMENT_LIST, DocumentModel.class);
+    }
+
+    @Override
+    protected void writeChunk(List<DocumentModel> chunk, Writer<DocumentModel> entryWriter, JsonGenerator jg)
+            throws IOException {
+        DocumentModelListJsonWriter.prefetchEnrichers(ctx, registry, chunk);
+        try {
+            super.writeChunk(chunk, entryWriter, jg);
+        } finally {
+            AbstractBatchJsonEnricher.clearCaches(ctx);
+        }
+    }
+
+}
@@ -19,22 +19,42 @@
 
 package org.nuxeo.ecm.core.io.marshallers.json.document;
 
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static org.nuxeo.ecm.automation.core.util.PaginableDocumentModelList.CODEC_PARAMETER_NAME;
+import static org.nuxeo.ecm.core.io.marshallers.json.enrichers.AbstractJsonEnricher.ENTITY_ENRICHER_NAME;
+import static org.nuxeo.ecm.core.io.registry.MarshallingConstants.WILDCARD_VALUE;
 import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
 import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import org.apache.commons.lang3.reflect.TypeUtils;
 import org.codehaus.jackson.JsonGenerator;
 import org.nuxeo.ecm.automation.core.util.PaginableDocumentModelList;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.impl.DocumentModelImpl;
 import org.nuxeo.ecm.core.io.marshallers.json.DefaultListJsonWriter;
+import org.nuxeo.ecm.core.io.marshallers.json.enrichers.BatchJsonEnricher;
+import org.nuxeo.ecm.core.io.marshallers.json.enrichers.Enriched;
+import org.nuxeo.ecm.core.io.registry.MarshallerRegistry;
+import org.nuxeo.ecm.core.io.registry.Writer;
+import org.nuxeo.ecm.core.io.registry.context.MaxDepthReachedException;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+import org.nuxeo.ecm.core.io.registry.context.WrappedContext;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
 
 /**
  * see {@link DefaultListJsonWriter}
+ * <p>
+ * The activated document enrichers implementing {@link BatchJsonEnricher} are given all the documents of the list
+ * before they are written.
+ * </p>
  *
  * @since 7.2
  */
@@ -43,6 +63,13 @@ public class DocumentModelListJsonWriter extends DefaultListJsonWriter<DocumentM
 
     public static final String ENTITY_DOCUMENT_LIST = "documents";
 
+    protected static final String DUBLINCORE_SCHEMA = "dublincore";
+
+    /** The fields read by {@link DocumentModelJsonWriter} for the title and the last modification date. */
+    protected static final List<String> SUMMARY_XPATHS = Arrays.asList("dc:title", "dc:modified");
+
+    private static final Type ENRICHED_DOCUMENT_TYPE = TypeUtils.parameterize(Enriched.class, DocumentModel.class);
+
     public DocumentModelListJsonWriter() {
         super(ENTITY_DOCUMENT_LIST, DocumentModel.class);
     }
@@ -53,11 +80,66 @@ public class DocumentModelListJsonWriter extends DefaultListJsonWriter<DocumentM
             PaginableDocumentModelList paginable = (PaginableDocumentModelList) docs;
             String codecName = paginable.getDocumentLinkBuilder();
             try (Closeable resource = ctx.wrap().with(CODEC_PARAMETER_NAME, codecName).open()) {
+                prefetchFields(ctx, docs);
+                prefetchEnrichers(ctx, registry, docs);
                 super.write(docs, jg);
             }
         } else {
+            prefetchFields(ctx, docs);
+            prefetchEnrichers(ctx, registry, docs);
             super.write(docs, jg);
         }
     }
 
+    /**
+     * Fetches the dublincore fields written for each document outside of its properties, for all the documents at
+     * once, so that the documents whose type doesn't prefetch them don't load their whole dublincore schema. Nothing is
+     * done if the dublincore properties are written anyway.
+     *
+     * @since 9.10
+     */
+    protected static void prefetchFields(RenderingContext ctx, List<DocumentModel> docs) {
+        Set<String> schemas = ctx.getProperties();
+        if (docs.isEmpty() || schemas.contains(WILDCARD_VALUE) || schemas.contains(DUBLINCORE_SCHEMA)) {
+            return;
+        }
+        for (String xpath : SUMMARY_XPATHS) {
+            DocumentModelImpl.prefetchPropertyValue(docs, xpath);
+        }
+    }
+
+    /**
+     * Lets the activated {@link BatchJsonEnricher}s prepare the enrichment of all the documents at once.
+     *
+     * @since 9.10
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected static void prefetchEnrichers(RenderingContext ctx, MarshallerRegistry registry, List<DocumentModel> docs)
+            throws IOException {
+        if (docs.isEmpty()) {
+            return;
+        }
+        Set<String> enrichers = ctx.getEnrichers(DocumentModelJsonWriter.ENTITY_TYPE);
+        if (enrichers.isEmpty()) {
+            return;
+        }
+        try {
+            // same depth as the one controlled when enriching each document
+            WrappedContext wrappedCtx = ctx.wrap().controlDepth();
+            for (String enricherName : enrichers) {
+                try (Closeable resource = wrappedCtx.with(ENTITY_ENRICHER_NAME, enricherName).open()) {
+                    Collection<Writer<Enriched>> writers = registry.getAllWriters(ctx, Enriched.class,
+                            ENRICHED_DOCUMENT_TYPE, APPLICATION_JSON_TYPE);
+                    for (Writer<Enriched> writer : writers) {
+                        if (writer instanceof BatchJsonEnricher) {
+                            ((BatchJsonEnricher<DocumentModel>) writer).prefetch(docs);
+                        }
+                    }
+                }
+            }
+        } catch (MaxDepthReachedException e) {
+            // documents won't be enriched
+        }
+    }
+
 }
@@ -26,6 +26,8 @@ import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.logging.Log;
@@ -136,36 +138,48 @@ public class DocumentPropertyJsonWriter extends AbstractJsonWriter<Property> {
 
     protected boolean fetchProperty(JsonGenerator jg, ObjectResolver resolver, Object value, String path)
             throws IOException {
-        if (value == null) {
+        if (value == null || resolver == null || !isFetched(path)) {
             return false;
         }
-        boolean fetched = false;
-        if (resolver != null) {
-            String genericPropertyPath = path.replaceAll("/[0-9]*/", "/*/");
-            Set<String> fetchElements = ctx.getFetched(ENTITY_TYPE);
-            boolean fetch = false;
-            for (String fetchElement : fetchElements) {
-                if ("properties".equals(fetchElement) || path.startsWith(fetchElement)
-                        || genericPropertyPath.startsWith(fetchElement)) {
-                    fetch = true;
-                    break;
-                }
-            }
-            if (fetch) {
-                Object object = resolver.fetch(value);
-                if (object != null) {
-                    try {
-                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                        writeEntity(object, baos);
-                        jg.writeRawValue(baos.toString());
-                        fetched = true;
-                    } catch (MarshallingException e) {
-                        log.error("Unable to marshall as json the entity referenced by the property " + path, e);
-                    }
-                }
+        return writeFetchedEntity(jg, resolver.fetch(value), path);
+    }
+
+    /**
+     * Checks whether the entities referenced by the property at the given path are fetched in this rendering context.
+     *
+     * @since 9.10
+     */
+    protected boolean isFetched(String path) {
+        String genericPropertyPath = path.replaceAll("/[0-9]*/", "/*/");
+        Set<String> fetchElements = ctx.getFetched(ENTITY_TYPE);
+        for (String fetchElement : fetchElements) {
+            if ("properties".equals(fetchElement) || path.startsWith(fetchElement)
+                    || genericPropertyPath.startsWith(fetchElement)) {
+                return true;
             }
         }
-        return fetched;
+        return false;
+    }
+
+    /**
+     * Writes an entity referenced by the property at the given path.
+     *
+     * @return false if there is no entity or it cannot be marshalled
+     * @since 9.10
+     */
+    protected boolean writeFetchedEntity(JsonGenerator jg, Object object, String path) throws IOException {
+        if (object == null) {
+            return false;
+        }
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            writeEntity(object, baos);
+            jg.writeRawValue(baos.toString());
+            return true;
+        } catch (MarshallingException e) {
+            log.error("Unable to marshall as json the entity referenced by the property " + path, e);
+            return false;
+        }
     }
 
     protected void writeListProperty(JsonGenerator jg, Property prop) throws IOException {
@@ -179,8 +193,14 @@ public class DocumentPropertyJsonWriter extends AbstractJsonWriter<Property> {
             Type itemType = ((ListType) prop.getType()).getFieldType();
             ObjectResolver resolver = itemType.getObjectResolver();
             String path = prop.getXPath();
-            for (Object o : ar) {
-                if (!fetchProperty(jg, resolver, o, path)) {
+            // fetch all the referenced entities at once, resolvers may do it in a single request
+            List<Object> objects = null;
+            if (resolver != null && isFetched(path)) {
+                objects = resolver.fetchAll(Arrays.asList(ar));
+            }
+            for (int i = 0; i < ar.length; i++) {
+                Object o = ar[i];
+                if (objects == null || o == null || !writeFetchedEntity(jg, objects.get(i), path)) {
                     writeScalarPropertyValue(jg, ((SimpleType) itemType).getPrimitiveType(), o);
                 }
             }
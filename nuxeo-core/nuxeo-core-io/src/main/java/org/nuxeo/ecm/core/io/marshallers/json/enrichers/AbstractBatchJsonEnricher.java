@@ -0,0 +1,130 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.io.marshallers.json.enrichers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+
+/**
+ * Base class to write an enricher computing its values for many entities at once.
+ * <p>
+ * The values are kept in the {@link RenderingContext}, so that each entity is fetched only once per rendering, whether
+ * it was prefetched as part of a list or not.
+ *
+ * @param <EntityType> The Java type whose the generated JSON will be enriched.
+ * @param <ValueType> The type of the value computed for each entity.
+ * @since 9.10
+ */
+public abstract class AbstractBatchJsonEnricher<EntityType, ValueType> extends AbstractJsonEnricher<EntityType>
+        implements BatchJsonEnricher<EntityType> {
+
+    public static final String CACHE_PARAMETER_PREFIX = "_BatchEnricherCache_";
+
+    private final String cacheParameterName;
+
+    public AbstractBatchJsonEnricher(String name) {
+        super(name);
+        cacheParameterName = CACHE_PARAMETER_PREFIX + name;
+    }
+
+    @Override
+    public void prefetch(List<EntityType> entities) throws IOException {
+        Map<String, ValueType> cache = getCache();
+        List<EntityType> missing = new ArrayList<>();
+        for (EntityType entity : entities) {
+            String key = getKey(entity);
+            if (key != null && !cache.containsKey(key)) {
+                missing.add(entity);
+            }
+        }
+        if (!missing.isEmpty()) {
+            cache.putAll(fetch(missing));
+        }
+    }
+
+    @Override
+    public void write(JsonGenerator jg, EntityType entity) throws IOException {
+        String key = getKey(entity);
+        ValueType value;
+        if (key == null) {
+            value = fetch(Collections.singletonList(entity)).get(key);
+        } else {
+            Map<String, ValueType> cache = getCache();
+            if (!cache.containsKey(key)) {
+                cache.putAll(fetch(Collections.singletonList(entity)));
+            }
+            value = cache.get(key);
+        }
+        write(jg, entity, value);
+    }
+
+    /**
+     * Discards the values kept in the given rendering context by all the batch enrichers, to bound the memory used when
+     * streaming many entities.
+     */
+    public static void clearCaches(RenderingContext ctx) {
+        for (String name : ctx.getAllParameters().keySet()) {
+            if (name.startsWith(CACHE_PARAMETER_PREFIX.toLowerCase())) {
+                ctx.setParameterValues(name);
+            }
+        }
+    }
+
+    protected Map<String, ValueType> getCache() {
+        Map<String, ValueType> cache = ctx.getParameter(cacheParameterName);
+        if (cache == null) {
+            cache = new HashMap<>();
+            ctx.setParameterValues(cacheParameterName, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the key identifying the entity in the cache.
+     *
+     * @return the key, or {@code null} if the value of this entity must not be cached
+     */
+    protected abstract String getKey(EntityType entity);
+
+    /**
+     * Computes the values of the given entities, preferably with a single query.
+     *
+     * @param entities The entities to compute the values for.
+     * @return the values keyed by entity key, including the {@code null} ones
+     */
+    protected abstract Map<String, ValueType> fetch(List<EntityType> entities) throws IOException;
+
+    /**
+     * When implementing this method, the provided {@link JsonGenerator} expect you write a field name and a field value
+     * (or many).
+     *
+     * @param jg The {@link JsonGenerator} to use.
+     * @param enriched The enriched entity.
+     * @param value The value computed for this entity.
+     */
+    protected abstract void write(JsonGenerator jg, EntityType enriched, ValueType value) throws IOException;
+
+}
@@ -0,0 +1,46 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.io.marshallers.json.enrichers;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelListJsonWriter;
+
+/**
+ * An enricher able to prepare the enrichment of a whole list of entities before they are written one by one, for
+ * instance by fetching what it needs for all of them with a single query.
+ * <p>
+ * List writers, such as {@link DocumentModelListJsonWriter}, call {@link #prefetch(List)} with all the entities of the
+ * list, then each entity is enriched as usual.
+ *
+ * @param <EntityType> The Java type whose the generated JSON will be enriched.
+ * @see AbstractBatchJsonEnricher
+ * @since 9.10
+ */
+public interface BatchJsonEnricher<EntityType> {
+
+    /**
+     * Prepares the enrichment of the given entities. The results must be kept in the current rendering context.
+     *
+     * @param entities The entities about to be written.
+     */
+    void prefetch(List<EntityType> entities) throws IOException;
+
+}
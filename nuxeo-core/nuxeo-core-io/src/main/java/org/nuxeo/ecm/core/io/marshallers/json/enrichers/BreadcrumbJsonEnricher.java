@@ -23,10 +23,20 @@ import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
 import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.codehaus.jackson.JsonGenerator;
+import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.PathRef;
 import org.nuxeo.ecm.core.api.impl.DocumentModelListImpl;
 import org.nuxeo.ecm.core.io.marshallers.json.document.DocumentModelListJsonWriter;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
@@ -55,11 +65,14 @@ import org.nuxeo.ecm.core.io.registry.reflect.Setup;
  * </pre>
  *
  * </p>
+ * <p>
+ * When a list of documents is written, the ancestors shared by its documents are fetched once, level by level.
+ * </p>
  *
  * @since 7.2
  */
 @Setup(mode = SINGLETON, priority = REFERENCE)
-public class BreadcrumbJsonEnricher extends AbstractJsonEnricher<DocumentModel> {
+public class BreadcrumbJsonEnricher extends AbstractBatchJsonEnricher<DocumentModel, List<DocumentModel>> {
 
     public static final String NAME = "breadcrumb";
 
@@ -68,11 +81,88 @@ public class BreadcrumbJsonEnricher extends AbstractJsonEnricher<DocumentModel>
     }
 
     @Override
-    public void write(JsonGenerator jg, DocumentModel document) throws IOException {
-        List<DocumentModel> parentDocuments = null;
-        try (SessionWrapper wrapper = ctx.getSession(document)) {
-            parentDocuments = wrapper.getSession().getParentDocuments(document.getRef());
+    protected String getKey(DocumentModel document) {
+        return document.getId();
+    }
+
+    @Override
+    protected Map<String, List<DocumentModel>> fetch(List<DocumentModel> documents) throws IOException {
+        Map<String, List<DocumentModel>> result = new HashMap<>();
+        Map<String, List<DocumentModel>> documentsByRepository = new LinkedHashMap<>();
+        for (DocumentModel document : documents) {
+            documentsByRepository.computeIfAbsent(document.getRepositoryName(), k -> new ArrayList<>())
+                                 .add(document);
+        }
+        for (List<DocumentModel> docs : documentsByRepository.values()) {
+            try (SessionWrapper wrapper = ctx.getSession(docs.get(0))) {
+                Map<DocumentRef, DocumentModel> fetched = fetchAncestors(wrapper.getSession(), docs);
+                for (DocumentModel document : docs) {
+                    result.put(document.getId(), getParentDocuments(document, fetched));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetches the given documents and their ancestors, with one query per level of the hierarchy. Documents which
+     * cannot be read are skipped.
+     */
+    protected Map<DocumentRef, DocumentModel> fetchAncestors(CoreSession session, List<DocumentModel> documents) {
+        Map<DocumentRef, DocumentModel> fetched = new HashMap<>();
+        Set<DocumentRef> requested = new LinkedHashSet<>();
+        Set<DocumentRef> refs = new LinkedHashSet<>();
+        for (DocumentModel document : documents) {
+            refs.add(document.getRef());
+            addParentRef(refs, document);
+        }
+        while (!refs.isEmpty()) {
+            requested.addAll(refs);
+            Set<DocumentRef> parentRefs = new LinkedHashSet<>();
+            for (DocumentModel doc : session.getDocuments(refs.toArray(new DocumentRef[refs.size()]))) {
+                fetched.put(doc.getRef(), doc);
+                if (doc.getPathAsString() != null) {
+                    fetched.put(new PathRef(doc.getPathAsString()), doc);
+                }
+                addParentRef(parentRefs, doc);
+            }
+            parentRefs.removeAll(requested);
+            parentRefs.removeAll(fetched.keySet());
+            refs = parentRefs;
         }
+        return fetched;
+    }
+
+    /**
+     * Adds the reference to the parent of the given document, unless it is the root.
+     */
+    protected void addParentRef(Set<DocumentRef> refs, DocumentModel document) {
+        String path = document.getPathAsString();
+        DocumentRef parentRef = document.getParentRef();
+        if (parentRef != null && path != null && path.lastIndexOf('/') > 0) {
+            refs.add(parentRef);
+        }
+    }
+
+    /**
+     * Gets the readable documents from the given one up to the root excluded, in the same way as
+     * {@link CoreSession#getParentDocuments(DocumentRef)}.
+     */
+    protected List<DocumentModel> getParentDocuments(DocumentModel document, Map<DocumentRef, DocumentModel> fetched) {
+        List<DocumentModel> parentDocuments = new ArrayList<>();
+        DocumentModel doc = fetched.get(document.getRef());
+        while (doc != null && !"/".equals(doc.getPathAsString())) {
+            parentDocuments.add(doc);
+            DocumentRef parentRef = doc.getParentRef();
+            doc = parentRef == null ? null : fetched.get(parentRef);
+        }
+        Collections.reverse(parentDocuments);
+        return parentDocuments;
+    }
+
+    @Override
+    protected void write(JsonGenerator jg, DocumentModel document, List<DocumentModel> parentDocuments)
+            throws IOException {
         DocumentModelListImpl documentList = new DocumentModelListImpl(parentDocuments);
         jg.writeFieldName(NAME);
         writeEntity(documentList, jg);
@@ -23,40 +23,106 @@ import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
 import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
 
 import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.codehaus.jackson.JsonGenerator;
 import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.ecm.core.api.IterableQueryResult;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext.SessionWrapper;
 import org.nuxeo.ecm.core.io.registry.reflect.Setup;
 import org.nuxeo.ecm.core.query.sql.NXQL;
 
 /**
+ * Enrich {@link DocumentModel} Json with whether the document has folderish children.
+ * <p>
+ * When a list of documents is written, the children of all its folders are looked up with a single query, a single
+ * folder only looks for its first folderish child. The batch query doesn't use {@code SELECT DISTINCT}, which DBS
+ * doesn't support, its rows are read until each folder has been found.
+ *
  * @since 8.10
  */
 @Setup(mode = SINGLETON, priority = REFERENCE)
-public class HasFolderishChildJsonEnricher extends AbstractJsonEnricher<DocumentModel> {
+public class HasFolderishChildJsonEnricher extends AbstractBatchJsonEnricher<DocumentModel, Boolean> {
 
     public static final String NAME = "hasFolderishChild";
 
+    protected static final String FOLDERISH_CHILD_CLAUSE = " FROM Document WHERE ecm:mixinType = 'Folderish'"
+            + " AND ecm:mixinType != 'HiddenInNavigation' AND ecm:currentLifeCycleState != 'deleted'";
+
+    protected static final String FOLDERISH_CHILD_QUERY = "SELECT *" + FOLDERISH_CHILD_CLAUSE
+            + " AND ecm:parentId = %s";
+
+    protected static final String FOLDERISH_CHILDREN_QUERY = "SELECT " + NXQL.ECM_PARENTID
+            + FOLDERISH_CHILD_CLAUSE + " AND ecm:parentId IN (%s)";
+
     public HasFolderishChildJsonEnricher() {
         super(NAME);
     }
 
     @Override
-    public void write(JsonGenerator jg, DocumentModel document) throws IOException {
-        if (!document.isFolder()) {
-            jg.writeBooleanField(NAME, false);
-            return;
+    protected String getKey(DocumentModel document) {
+        return document.getId();
+    }
+
+    @Override
+    protected Map<String, Boolean> fetch(List<DocumentModel> documents) throws IOException {
+        Map<String, Boolean> result = new HashMap<>();
+        Map<String, List<DocumentModel>> foldersByRepository = new LinkedHashMap<>();
+        for (DocumentModel document : documents) {
+            result.put(document.getId(), Boolean.FALSE);
+            if (document.isFolder() && document.getId() != null) {
+                foldersByRepository.computeIfAbsent(document.getRepositoryName(), k -> new ArrayList<>())
+                                   .add(document);
+            }
         }
-        try (SessionWrapper wrapper = ctx.getSession(document)) {
-            String fetchFolderishChildQuery = "SELECT * FROM Document WHERE ecm:mixinType = 'Folderish'"
-                    + " AND ecm:mixinType != 'HiddenInNavigation' AND ecm:currentLifeCycleState != 'deleted'"
-                    + " AND ecm:parentId = " + NXQL.escapeString(document.getId());
+        for (List<DocumentModel> folders : foldersByRepository.values()) {
+            if (folders.size() == 1) {
+                DocumentModel folder = folders.get(0);
+                result.put(folder.getId(), Boolean.valueOf(hasFolderishChild(folder)));
+                continue;
+            }
+            String ids = folders.stream()
+                                .map(folder -> NXQL.escapeString(folder.getId()))
+                                .collect(Collectors.joining(", "));
+            Set<String> parentIds = new HashSet<>();
+            try (SessionWrapper wrapper = ctx.getSession(folders.get(0));
+                    IterableQueryResult rows = wrapper.getSession().queryAndFetch(
+                            String.format(FOLDERISH_CHILDREN_QUERY, ids), NXQL.NXQL)) {
+                for (Map<String, Serializable> row : rows) {
+                    parentIds.add((String) row.get(NXQL.ECM_PARENTID));
+                    if (parentIds.size() == folders.size()) {
+                        break;
+                    }
+                }
+            }
+            for (DocumentModel folder : folders) {
+                result.put(folder.getId(), Boolean.valueOf(parentIds.contains(folder.getId())));
+            }
+        }
+        return result;
+    }
+
+    protected boolean hasFolderishChild(DocumentModel folder) {
+        try (SessionWrapper wrapper = ctx.getSession(folder)) {
             // Limit result set to 1 as we just want to know if there's at least one Folderish child
-            DocumentModelList children = wrapper.getSession().query(fetchFolderishChildQuery, 1);
-            jg.writeBooleanField(NAME, !children.isEmpty());
+            DocumentModelList children = wrapper.getSession().query(
+                    String.format(FOLDERISH_CHILD_QUERY, NXQL.escapeString(folder.getId())), 1);
+            return !children.isEmpty();
         }
     }
 
+    @Override
+    protected void write(JsonGenerator jg, DocumentModel document, Boolean hasFolderishChild) throws IOException {
+        jg.writeBooleanField(NAME, Boolean.TRUE.equals(hasFolderishChild));
+    }
+
 }
@@ -20,12 +20,16 @@
 package org.nuxeo.ecm.core.io.registry;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.ws.rs.core.MediaType;
 
@@ -44,6 +48,11 @@ import org.nuxeo.runtime.model.DefaultComponent;
  * This implementation is based on {@link MarshallerInspector} class which is able to create marshaller instance and
  * inject properties. This class also manage marshaller's priorities.
  * </p>
+ * <p>
+ * The marshallers whose managed Java and generic types are compatible with a requested type are cached by requested
+ * type, until the registered marshallers change. Their {@link Marshaller#accept(Class, Type, MediaType)} method is
+ * still called for each request, as it may depend on the {@link RenderingContext}.
+ * </p>
  *
  * @since 7.2
  */
@@ -76,6 +85,27 @@ public class MarshallerRegistryImpl extends DefaultComponent implements Marshall
      */
     private static final Map<Class<?>, MarshallerInspector> marshallersByType = new ConcurrentHashMap<Class<?>, MarshallerInspector>();
 
+    /**
+     * Maximum number of requested types whose compatible marshallers are cached.
+     *
+     * @since 9.10
+     */
+    protected static final int MAX_COMPATIBLES_CACHE_SIZE = 10_000;
+
+    /**
+     * {@link MarshallerInspector} compatible with a requested type, in priority order.
+     *
+     * @since 9.10
+     */
+    private static final Map<CompatiblesKey, List<MarshallerInspector>> compatiblesCache = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented each time the registered marshallers change, to avoid caching stale compatible marshallers.
+     *
+     * @since 9.10
+     */
+    private static final AtomicLong version = new AtomicLong();
+
     @Override
     public void activate(ComponentContext context) {
         super.activate(context);
@@ -151,6 +181,7 @@ public class MarshallerRegistryImpl extends DefaultComponent implements Marshall
                 inspectors.add(inspector);
             }
         }
+        invalidateCache();
     }
 
     @Override
@@ -184,6 +215,7 @@ public class MarshallerRegistryImpl extends DefaultComponent implements Marshall
                 }
             }
         }
+        invalidateCache();
     }
 
     @Override
@@ -268,23 +300,16 @@ public class MarshallerRegistryImpl extends DefaultComponent implements Marshall
     @SuppressWarnings("unchecked")
     private <T> Marshaller<T> searchCandidate(RenderingContext ctx, Class<T> marshalledClazz, Type genericType,
             MediaType mediatype, Set<MarshallerInspector> candidates, boolean forceInstantiation) {
-        for (MarshallerInspector inspector : candidates) {
-            // checks the managed class is compatible
-            if (inspector.getMarshalledType().isAssignableFrom(marshalledClazz)) {
-                // checks the generic type is compatible
-                if (genericType == null || marshalledClazz.equals(inspector.getGenericType())
-                        || TypeUtils.isAssignable(genericType, inspector.getGenericType())) {
-                    Marshaller<T> marshaller = null;
-                    if (forceInstantiation) {
-                        marshaller = (Marshaller<T>) inspector.getNewInstance(ctx, false);
-                    } else {
-                        marshaller = inspector.getInstance(ctx);
-                    }
-                    // checks the marshaller accepts the request
-                    if (marshaller.accept(marshalledClazz, genericType, mediatype)) {
-                        return marshaller;
-                    }
-                }
+        for (MarshallerInspector inspector : getCompatibles(candidates, marshalledClazz, genericType)) {
+            Marshaller<T> marshaller = null;
+            if (forceInstantiation) {
+                marshaller = (Marshaller<T>) inspector.getNewInstance(ctx, false);
+            } else {
+                marshaller = inspector.getInstance(ctx);
+            }
+            // checks the marshaller accepts the request
+            if (marshaller.accept(marshalledClazz, genericType, mediatype)) {
+                return marshaller;
             }
         }
         return null;
@@ -293,21 +318,100 @@ public class MarshallerRegistryImpl extends DefaultComponent implements Marshall
     private <T> Map<MarshallerInspector, Marshaller<T>> searchAllCandidates(RenderingContext ctx,
             Class<T> marshalledClazz, Type genericType, MediaType mediatype, Set<MarshallerInspector> candidates) {
         Map<MarshallerInspector, Marshaller<T>> result = new HashMap<MarshallerInspector, Marshaller<T>>();
+        for (MarshallerInspector inspector : getCompatibles(candidates, marshalledClazz, genericType)) {
+            // checks the marshaller accepts the request
+            Marshaller<T> marshaller = inspector.getInstance(ctx);
+            if (marshaller.accept(marshalledClazz, genericType, mediatype)) {
+                result.put(inspector, marshaller);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the candidates whose managed class and generic type are compatible with the requested ones, in priority
+     * order.
+     *
+     * @since 9.10
+     */
+    private List<MarshallerInspector> getCompatibles(Set<MarshallerInspector> candidates, Class<?> marshalledClazz,
+            Type genericType) {
+        CompatiblesKey key = new CompatiblesKey(candidates, marshalledClazz, genericType);
+        List<MarshallerInspector> compatibles = compatiblesCache.get(key);
+        if (compatibles != null) {
+            return compatibles;
+        }
+        long currentVersion = version.get();
+        compatibles = new ArrayList<>();
         for (MarshallerInspector inspector : candidates) {
             // checks the managed class is compatible
             if (inspector.getMarshalledType().isAssignableFrom(marshalledClazz)) {
                 // checks the generic type is compatible
                 if (genericType == null || marshalledClazz.equals(inspector.getGenericType())
                         || TypeUtils.isAssignable(genericType, inspector.getGenericType())) {
-                    // checks the marshaller accepts the request
-                    Marshaller<T> marshaller = inspector.getInstance(ctx);
-                    if (marshaller.accept(marshalledClazz, genericType, mediatype)) {
-                        result.put(inspector, marshaller);
-                    }
+                    compatibles.add(inspector);
                 }
             }
         }
-        return result;
+        if (compatiblesCache.size() >= MAX_COMPATIBLES_CACHE_SIZE) {
+            compatiblesCache.clear();
+        }
+        compatiblesCache.put(key, compatibles);
+        if (version.get() != currentVersion) {
+            // the registry changed meanwhile
+            compatiblesCache.remove(key);
+        }
+        return compatibles;
+    }
+
+    /**
+     * @since 9.10
+     */
+    private static void invalidateCache() {
+        version.incrementAndGet();
+        compatiblesCache.clear();
+    }
+
+    /**
+     * A requested type, for a given set of candidates.
+     *
+     * @since 9.10
+     */
+    private static final class CompatiblesKey {
+
+        private final Set<MarshallerInspector> candidates;
+
+        private final Class<?> marshalledClazz;
+
+        private final Type genericType;
+
+        private final int hashCode;
+
+        private CompatiblesKey(Set<MarshallerInspector> candidates, Class<?> marshalledClazz, Type genericType) {
+            this.candidates = candidates;
+            this.marshalledClazz = marshalledClazz;
+            this.genericType = genericType;
+            hashCode = Objects.hash(System.identityHashCode(candidates), marshalledClazz, genericType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CompatiblesKey)) {
+                return false;
+            }
+            CompatiblesKey other = (CompatiblesKey) obj;
+            // candidate sets are compared by identity, they are only replaced on registry changes
+            return candidates == other.candidates && marshalledClazz.equals(other.marshalledClazz)
+                    && Objects.equals(genericType, other.genericType);
+        }
     }
 
     @Override
@@ -337,6 +441,7 @@ public class MarshallerRegistryImpl extends DefaultComponent implements Marshall
         writers.clear();
         readersByMediaType.clear();
         readers.clear();
+        invalidateCache();
     }
 
 }
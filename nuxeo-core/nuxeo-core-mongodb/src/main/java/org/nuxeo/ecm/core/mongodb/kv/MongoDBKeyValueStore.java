@@ -21,7 +21,10 @@ package org.nuxeo.ecm.core.mongodb.kv;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.regex;
 import static com.mongodb.client.model.Projections.include;
+import static com.mongodb.client.model.Updates.inc;
 import static com.mongodb.client.model.Updates.set;
 import static com.mongodb.client.model.Updates.unset;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -42,16 +45,20 @@ import org.apache.commons.logging.LogFactory;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.Binary;
+import org.nuxeo.ecm.core.api.ConcurrentUpdateException;
 import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.kv.AbstractKeyValueStoreProvider;
 import org.nuxeo.runtime.kv.KeyValueStoreDescriptor;
 import org.nuxeo.runtime.mongodb.MongoDBConnectionService;
 
 import com.mongodb.ErrorCategory;
+import com.mongodb.MongoCommandException;
 import com.mongodb.MongoWriteException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
@@ -63,6 +70,9 @@ import com.mongodb.client.result.UpdateResult;
  * <ul>
  * <li>collection: the MongoDB collection prefix to use, the default is "kv". This will be followed by the Store name.
  * </ul>
+ * <p>
+ * The values are stored as strings, or binaries if they are not valid UTF-8, except the counters updated through
+ * {@link #addAndGet} which are stored as longs.
  *
  * @since 9.3
  */
@@ -84,6 +94,9 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
 
     public static final Double ONE = Double.valueOf(1);
 
+    // maximum number of retries in case of concurrency
+    protected static final int MAX_RETRY = 5;
+
     protected String name;
 
     protected MongoCollection<Document> coll;
@@ -113,6 +126,25 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
                             .map(doc -> doc.getString(ID_KEY));
     }
 
+    @Override
+    public Stream<String> keyStream(String prefix) {
+        // an anchored regex of literal characters is resolved with the index on the key
+        Bson filter = regex(ID_KEY, "^" + escapeRegex(prefix));
+        return StreamSupport.stream(coll.find(filter).projection(include(ID_KEY)).spliterator(), false)
+                            .map(doc -> doc.getString(ID_KEY));
+    }
+
+    protected static String escapeRegex(String string) {
+        StringBuilder sb = new StringBuilder(string.length());
+        for (char c : string.toCharArray()) {
+            if ("\\^$.|?*+()[]{}".indexOf(c) != -1) {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
     @Override
     public void close() {
         if (coll != null) {
@@ -147,6 +179,8 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
             return ((String) value).getBytes(UTF_8);
         } else if (value instanceof Binary) {
             return ((Binary) value).getData();
+        } else if (value instanceof Long) {
+            return value.toString().getBytes(UTF_8);
         }
         throw new UnsupportedOperationException(value.getClass().getName());
     }
@@ -158,6 +192,8 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
             return null;
         } else if (value instanceof String) {
             return (String) value;
+        } else if (value instanceof Long) {
+            return value.toString();
         } else if (value instanceof Binary) {
             byte[] bytes = ((Binary) value).getData();
             try {
@@ -197,6 +233,8 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
                     bytesValue = ((String) value).getBytes(UTF_8);
                 } else if (value instanceof Binary) {
                     bytesValue = ((Binary) value).getData();
+                } else if (value instanceof Long) {
+                    bytesValue = value.toString().getBytes(UTF_8);
                 } else {
                     throw new UnsupportedOperationException(String.format(
                             "Value of class %s is not supported for key: %s", value.getClass().getName(), key));
@@ -218,6 +256,8 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
                 String strValue = null;
                 if (value instanceof String) {
                     strValue = (String) value;
+                } else if (value instanceof Long) {
+                    strValue = value.toString();
                 } else if (value instanceof Binary) {
                     byte[] bytes = ((Binary) value).getData();
                     try {
@@ -349,7 +389,7 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
             return set;
         } else if (value == null) {
             // delete if previous value exists
-            filter = and(filter, eq(VALUE_KEY, expected));
+            filter = and(filter, valueFilter(expected));
             DeleteResult res = coll.deleteOne(filter);
             boolean set = res.getDeletedCount() == 1;
             if (log.isTraceEnabled()) {
@@ -362,7 +402,7 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
             return set;
         } else {
             // replace if previous value exists
-            filter = and(filter, eq(VALUE_KEY, expected));
+            filter = and(filter, valueFilter(expected));
             Document doc = new Document(VALUE_KEY, value);
             addTTL(doc, ttl);
             UpdateResult res = coll.replaceOne(filter, doc);
@@ -378,6 +418,62 @@ public class MongoDBKeyValueStore extends AbstractKeyValueStoreProvider {
         }
     }
 
+    /**
+     * Filter on the given expected value, which also matches its long form if it's a counter.
+     *
+     * @since 9.10
+     */
+    protected Bson valueFilter(Object expected) {
+        Long longValue = toLong(expected);
+        if (longValue == null) {
+            return eq(VALUE_KEY, expected);
+        }
+        return or(eq(VALUE_KEY, expected), eq(VALUE_KEY, longValue));
+    }
+
+    protected static Long toLong(Object value) {
+        if (value instanceof String) {
+            try {
+                return Long.valueOf((String) value);
+            } catch (NumberFormatException e) {
+                // not a long
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long addAndGet(String key, long delta) throws NumberFormatException {
+        Bson filter = eq(ID_KEY, key);
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().upsert(true)
+                                                                       .returnDocument(ReturnDocument.AFTER);
+        for (int retry = 0; retry < MAX_RETRY; retry++) {
+            Document doc;
+            try {
+                doc = coll.findOneAndUpdate(filter, inc(VALUE_KEY, Long.valueOf(delta)), options);
+            } catch (MongoCommandException e) {
+                // the value is not numeric yet, or a concurrent upsert created the document
+                Object current = getObject(key);
+                if (current == null || current instanceof Long) {
+                    continue;
+                }
+                // convert a long put as a string, then retry
+                Long longValue = toLong(current);
+                if (longValue == null) {
+                    throw new NumberFormatException("Value is not a long for key: " + key);
+                }
+                coll.updateOne(and(filter, eq(VALUE_KEY, current)), set(VALUE_KEY, longValue));
+                continue;
+            }
+            long result = ((Number) doc.get(VALUE_KEY)).longValue();
+            if (log.isTraceEnabled()) {
+                log.trace("MongoDB: INC " + key + " " + delta + " = " + result);
+            }
+            return result;
+        }
+        throw new ConcurrentUpdateException("Failed to do atomic addition for key: " + key);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "(" + name + ")";
@@ -22,10 +22,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.IOException;
 import java.nio.charset.CharacterCodingException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +42,11 @@ import org.nuxeo.runtime.api.Framework;
 import org.nuxeo.runtime.kv.AbstractKeyValueStoreProvider;
 import org.nuxeo.runtime.kv.KeyValueStoreDescriptor;
 
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.exceptions.JedisDataException;
+
 /**
  * Redis implementation of a Key/Value Store Provider.
  * <p>
@@ -59,6 +66,8 @@ public class RedisKeyValueStore extends AbstractKeyValueStoreProvider {
 
     protected static final Long ONE = Long.valueOf(1);
 
+    protected static final int SCAN_COUNT = 1000;
+
     protected String name;
 
     protected String namespace;
@@ -98,6 +107,53 @@ public class RedisKeyValueStore extends AbstractKeyValueStoreProvider {
         return keys.stream().map(key -> key.substring(namespaceLength));
     }
 
+    @Override
+    public Stream<String> keyStream(String prefix) {
+        RedisExecutor redisExecutor = Framework.getService(RedisExecutor.class);
+        int namespaceLength = namespace.length();
+        String pattern = namespace + escapeGlob(prefix) + "*";
+        List<String> keys = redisExecutor.execute(jedis -> scanKeys(jedis, pattern));
+        return keys.stream().map(key -> key.substring(namespaceLength));
+    }
+
+    /**
+     * Iterates with SCAN, which doesn't block the server like KEYS, but falls back on KEYS if the backend (embedded)
+     * does not support SCAN.
+     *
+     * @since 9.10
+     */
+    protected List<String> scanKeys(Jedis jedis, String pattern) {
+        ScanParams params = new ScanParams().match(pattern).count(SCAN_COUNT);
+        List<String> keys = new ArrayList<>();
+        String cursor = ScanParams.SCAN_POINTER_START;
+        try {
+            do {
+                ScanResult<String> result = jedis.scan(cursor, params);
+                keys.addAll(result.getResult());
+                cursor = result.getStringCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        } catch (Exception e) {
+            // when testing with embedded fake redis, we may get an un-declared exception
+            if (!(e.getCause() instanceof NoSuchMethodException)) {
+                throw e;
+            }
+            return new ArrayList<>(jedis.keys(pattern));
+        }
+        // SCAN may return a key more than once
+        return new ArrayList<>(new LinkedHashSet<>(keys));
+    }
+
+    protected static String escapeGlob(String string) {
+        StringBuilder sb = new StringBuilder(string.length());
+        for (char c : string.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
     @Override
     public void close() {
         log.debug("Closed");
@@ -219,6 +275,18 @@ public class RedisKeyValueStore extends AbstractKeyValueStoreProvider {
         }
     }
 
+    @Override
+    public long addAndGet(String key, long delta) throws NumberFormatException {
+        RedisExecutor redisExecutor = Framework.getService(RedisExecutor.class);
+        try {
+            return redisExecutor.execute(jedis -> jedis.incrBy(getBytes(namespace + key), delta)).longValue();
+        } catch (JedisDataException e) {
+            NumberFormatException nfe = new NumberFormatException("Value is not a long for key: " + key);
+            nfe.initCause(e);
+            throw nfe;
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "(" + name + ")";
@@ -97,4 +97,21 @@ public interface SchemaManager extends TypeProvider, PropertyCharacteristicHandl
      */
     boolean getClearComplexPropertyBeforeSet();
 
+    /**
+     * Whether or not the children of the complex properties are stored in arrays indexed by the field positions of
+     * their type, instead of hash maps keyed by field names.
+     *
+     * @return {@code true} if the complex properties use the compact storage
+     * @since 9.10
+     */
+    boolean getCompactProperties();
+
+    /**
+     * Whether or not reading a scalar field of a schema that is not loaded fetches only this field.
+     *
+     * @return {@code true} if the fields are loaded individually until their schema is loaded
+     * @since 9.10
+     */
+    boolean getLazyFields();
+
 }
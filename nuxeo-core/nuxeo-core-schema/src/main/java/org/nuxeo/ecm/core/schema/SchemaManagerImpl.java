@@ -96,6 +96,20 @@ public class SchemaManagerImpl implements SchemaManager {
     /** Effective clearComplexPropertyBeforeSet flag. */
     protected boolean clearComplexPropertyBeforeSet;
 
+    /**
+     * Effective compactProperties flag.
+     *
+     * @since 9.10
+     */
+    protected boolean compactProperties;
+
+    /**
+     * Effective lazyFields flag.
+     *
+     * @since 9.10
+     */
+    protected boolean lazyFields;
+
     /** Effective schemas. */
     protected Map<String, Schema> schemas = new HashMap<>();
 
@@ -195,6 +209,12 @@ public class SchemaManagerImpl implements SchemaManager {
         if (config.clearComplexPropertyBeforeSet != null) {
             log.info("Registered clearComplexPropertyBeforeSet: " + config.clearComplexPropertyBeforeSet);
         }
+        if (config.compactProperties != null) {
+            log.info("Registered compactProperties: " + config.compactProperties);
+        }
+        if (config.lazyFields != null) {
+            log.info("Registered lazyFields: " + config.lazyFields);
+        }
     }
 
     public synchronized void unregisterConfiguration(TypeConfiguration config) {
@@ -206,6 +226,12 @@ public class SchemaManagerImpl implements SchemaManager {
             if (config.clearComplexPropertyBeforeSet != null) {
                 log.info("Unregistered clearComplexPropertyBeforeSet: " + config.clearComplexPropertyBeforeSet);
             }
+            if (config.compactProperties != null) {
+                log.info("Unregistered compactProperties: " + config.compactProperties);
+            }
+            if (config.lazyFields != null) {
+                log.info("Unregistered lazyFields: " + config.lazyFields);
+            }
         } else {
             log.error("Unregistering unknown configuration: " + config);
         }
@@ -333,6 +359,8 @@ public class SchemaManagerImpl implements SchemaManager {
     protected void recomputeConfiguration() {
         prefetchInfo = null;
         clearComplexPropertyBeforeSet = CLEAR_COMPLEX_PROP_BEFORE_SET_DEFAULT;
+        compactProperties = false;
+        lazyFields = false;
         for (TypeConfiguration tc : allConfigurations) {
             if (isNotBlank(tc.prefetchInfo)) {
                 prefetchInfo = new PrefetchInfo(tc.prefetchInfo);
@@ -340,6 +368,12 @@ public class SchemaManagerImpl implements SchemaManager {
             if (tc.clearComplexPropertyBeforeSet != null) {
                 clearComplexPropertyBeforeSet = tc.clearComplexPropertyBeforeSet.booleanValue();
             }
+            if (tc.compactProperties != null) {
+                compactProperties = tc.compactProperties.booleanValue();
+            }
+            if (tc.lazyFields != null) {
+                lazyFields = tc.lazyFields.booleanValue();
+            }
         }
     }
 
@@ -908,6 +942,16 @@ public class SchemaManagerImpl implements SchemaManager {
         return clearComplexPropertyBeforeSet;
     }
 
+    @Override
+    public boolean getCompactProperties() {
+        return compactProperties;
+    }
+
+    @Override
+    public boolean getLazyFields() {
+        return lazyFields;
+    }
+
     /*
      * ===== Property API =====
      */
@@ -36,10 +36,19 @@ public class TypeConfiguration {
     @XNode("clearComplexPropertyBeforeSet")
     Boolean clearComplexPropertyBeforeSet;
 
+    /** @since 9.10 */
+    @XNode("compactProperties")
+    Boolean compactProperties;
+
+    /** @since 9.10 */
+    @XNode("lazyFields")
+    Boolean lazyFields;
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "(prefetchInfo=" + prefetchInfo + ", clearComplexPropertyBeforeSet="
-                + clearComplexPropertyBeforeSet + ')';
+                + clearComplexPropertyBeforeSet + ", compactProperties=" + compactProperties
+                + ", lazyFields=" + lazyFields + ')';
     }
 
 }
@@ -106,4 +106,26 @@ public interface ComplexType extends Type {
      */
     int getFieldsCount();
 
+    /**
+     * Gets the position of the field with the given name in {@link #getFields()}, to store the field values in arrays.
+     *
+     * @param name the field name, prefixed or not
+     * @return the field position, or -1 if there is no such field
+     * @since 9.10
+     */
+    default int getFieldIndex(String name) {
+        Field field = getField(name);
+        if (field == null) {
+            return -1;
+        }
+        int index = 0;
+        for (Field f : getFields()) {
+            if (f == field) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
 }
@@ -22,6 +22,7 @@ package org.nuxeo.ecm.core.schema.types;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -42,6 +43,13 @@ public class ComplexTypeImpl extends AbstractType implements ComplexType {
     /** The map of name or prefixed name to field. */
     protected volatile Map<String, Field> fieldsByName = new HashMap<String, Field>();
 
+    /**
+     * The map of name or prefixed name to field position, computed on first use.
+     *
+     * @since 9.10
+     */
+    protected volatile Map<String, Integer> fieldIndexes;
+
     protected final Namespace ns;
 
     public ComplexTypeImpl(ComplexType superType, String schema, String name, Namespace ns) {
@@ -65,6 +73,7 @@ public class ComplexTypeImpl extends AbstractType implements ComplexType {
         fields.put(name, field);
         fieldsByName.put(name.getLocalName(), field);
         fieldsByName.put(name.getPrefixedName(), field);
+        fieldIndexes = null;
     }
 
     // called by XSDLoader
@@ -96,6 +105,24 @@ public class ComplexTypeImpl extends AbstractType implements ComplexType {
         return fields.values();
     }
 
+    @Override
+    public int getFieldIndex(String name) {
+        Map<String, Integer> indexes = fieldIndexes;
+        if (indexes == null) {
+            Map<Field, Integer> positions = new IdentityHashMap<>();
+            for (Field field : fields.values()) {
+                positions.put(field, positions.size());
+            }
+            indexes = new HashMap<>();
+            for (Entry<String, Field> entry : fieldsByName.entrySet()) {
+                indexes.put(entry.getKey(), positions.get(entry.getValue()));
+            }
+            fieldIndexes = indexes;
+        }
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
     @Override
     public int getFieldsCount() {
         return fields.size();
@@ -110,6 +110,25 @@ public interface ObjectResolver extends Serializable {
      */
     <T> T fetch(Class<T> type, Object value);
 
+    /**
+     * Provides the entities referenced by several values.
+     * <p>
+     * Resolvers able to fetch several entities with a single backend request override this method, which fetches them
+     * one by one.
+     *
+     * @param values The references.
+     * @return The referenced entities, in the order of the values, with null for the values matching no entity.
+     * @throws IllegalStateException If this resolver has not been configured.
+     * @since 9.10
+     */
+    default List<Object> fetchAll(List<?> values) {
+        List<Object> entities = new ArrayList<>(values.size());
+        for (Object value : values) {
+            entities.add(value == null ? null : fetch(value));
+        }
+        return entities;
+    }
+
     /**
      * Generates a reference to an entity.
      *
@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.storage.sql.kv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+import org.nuxeo.runtime.kv.KeyValueStoreProvider;
+
+/**
+ * Runs the Key/Value store tests with write-behind, whose buffer is only written when it's full (3 puts) or by the
+ * operations that need it.
+ *
+ * @since 9.10
+ */
+public class TestSQLKeyValueStoreWriteBehind extends TestSQLKeyValueStore {
+
+    @Override
+    protected KeyValueStoreProvider newKeyValueStore() {
+        KeyValueStoreProvider store = (KeyValueStoreProvider) keyValueService.getKeyValueStore("writebehind");
+        store.clear();
+        return store;
+    }
+
+    protected int pendingSize() {
+        SQLKeyValueStore sqlStore = (SQLKeyValueStore) store;
+        synchronized (sqlStore.pending) {
+            return sqlStore.pending.size();
+        }
+    }
+
+    @Test
+    public void testWriteBehind() {
+        SQLKeyValueStore sqlStore = (SQLKeyValueStore) store;
+        store.put("foo", BAR);
+        store.put("foo", GEE);
+        store.put("bar", MOO);
+        // coalesced and not written yet, but read by this node
+        assertEquals(2, pendingSize());
+        assertEquals(GEE, store.getString("foo"));
+        assertEquals(MOO, store.getStrings(Arrays.asList("foo", "bar")).get("bar"));
+        store.put("bar", (String) null);
+        assertNull(store.getString("bar"));
+
+        sqlStore.flush();
+        assertEquals(0, pendingSize());
+        assertEquals(GEE, store.getString("foo"));
+        assertNull(store.getString("bar"));
+
+        // a full buffer is written by the put
+        store.put("k1", BAR);
+        store.put("k2", BAR);
+        assertEquals(2, pendingSize());
+        store.put("k3", BAR);
+        assertEquals(0, pendingSize());
+        assertEquals(BAR, store.getString("k3"));
+    }
+
+    @Test
+    public void testWriteBehindTTL() {
+        store.put("foo", BAR, 100);
+        // already expired
+        store.put("bar", MOO, -10);
+        assertEquals(2, pendingSize());
+        assertEquals(BAR, store.getString("foo"));
+        assertNull(store.getString("bar"));
+        Map<String, String> values = store.getStrings(Arrays.asList("foo", "bar"));
+        assertEquals(BAR, values.get("foo"));
+        assertFalse(values.containsKey("bar"));
+    }
+
+    @Test
+    public void testTTLExpirationBatches() {
+        SQLKeyValueStore sqlStore = (SQLKeyValueStore) store;
+        store.put("k1", BAR);
+        // already expired
+        for (int i = 0; i < 5; i++) {
+            store.put("exp" + i, BAR, -10);
+        }
+        sqlStore.flush();
+        sqlStore.expireTTLOnce();
+        assertEquals(BAR, store.getString("k1"));
+        for (int i = 0; i < 5; i++) {
+            assertNull(store.getString("exp" + i));
+        }
+    }
+
+}
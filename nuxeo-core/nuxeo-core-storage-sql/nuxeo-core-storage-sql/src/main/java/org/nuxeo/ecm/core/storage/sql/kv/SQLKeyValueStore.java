@@ -32,7 +32,9 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -49,11 +51,18 @@ import org.nuxeo.ecm.core.storage.sql.jdbc.db.Column;
 import org.nuxeo.ecm.core.storage.sql.jdbc.db.TableImpl;
 import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.Dialect;
 import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.DialectOracle;
+import org.nuxeo.ecm.core.storage.sql.jdbc.dialect.DialectPostgreSQL;
 import org.nuxeo.runtime.datasource.ConnectionHelper;
 import org.nuxeo.runtime.kv.AbstractKeyValueStoreProvider;
 import org.nuxeo.runtime.kv.KeyValueStoreDescriptor;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.transaction.TransactionHelper;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
 /**
  * SQL implementation of a Key/Value Store Provider.
  * <p>
@@ -61,6 +70,11 @@ import org.nuxeo.runtime.transaction.TransactionHelper;
  * <ul>
  * <li>datasource: the datasource to use.
  * <li>table: the table to use. The default is the Store name.
+ * <li>writeBehind: if {@code true}, the puts are buffered and written in batches by a background thread (since 9.10).
+ * <li>writeBehindDelay: the delay in milliseconds between two writes of the buffered puts, the default is 100.
+ * <li>writeBehindMaxSize: the maximum number of buffered puts, the default is 1000. When it is reached, the put
+ * writes the buffer itself.
+ * <li>ttlBatchSize: the maximum number of keys expired by a single DELETE query, the default is 1000 (since 9.10).
  * </ul>
  * If a namespace is specified, it is used as a table name suffix, otherwise of the store name.
  * <p>
@@ -68,7 +82,14 @@ import org.nuxeo.runtime.transaction.TransactionHelper;
  * columns is used: LONG, STRING, BYTES. If possible LONG is used, then STRING, otherwise BYTES.
  * <p>
  * The TTL is stored as an expiration time (seconds since epoch) in its own column. Expiration is done by a thread
- * running a cleanup DELETE query every 60 seconds.
+ * running every 60 seconds cleanup DELETE queries of bounded batches of expired keys, found through the TTL index.
+ * <p>
+ * With write-behind, the puts of a key are coalesced and the other nodes see them after the write delay, so it must
+ * only be enabled for stores tolerating this staleness. The node doing the puts reads its own writes, and the other
+ * operations (compare-and-set, TTL, counters, key streams) write the buffer first.
+ * <p>
+ * The write latency, the size of the written batches and the number of keys expired by each run are available in the
+ * {@code nuxeo.keyvalue.<store>.writes}, {@code batch-size} and {@code expired} metrics.
  *
  * @since 10.10
  */
@@ -97,11 +118,48 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
     /** TTL column, holding expiration date in seconds since epoch, or NULL if there is no expiration. */
     public static final String TTL_COL = "ttl";
 
+    /**
+     * Write-behind configuration property.
+     *
+     * @since 9.10
+     */
+    public static final String WRITE_BEHIND_PROP = "writeBehind";
+
+    /**
+     * Write-behind delay configuration property, in milliseconds.
+     *
+     * @since 9.10
+     */
+    public static final String WRITE_BEHIND_DELAY_PROP = "writeBehindDelay";
+
+    /**
+     * Write-behind buffer size configuration property.
+     *
+     * @since 9.10
+     */
+    public static final String WRITE_BEHIND_MAX_SIZE_PROP = "writeBehindMaxSize";
+
+    /**
+     * TTL expiration batch size configuration property.
+     *
+     * @since 9.10
+     */
+    public static final String TTL_BATCH_SIZE_PROP = "ttlBatchSize";
+
+    protected static final int WRITE_BEHIND_DELAY_DEFAULT = 100;
+
+    protected static final int WRITE_BEHIND_MAX_SIZE_DEFAULT = 1000;
+
+    protected static final int TTL_BATCH_SIZE_DEFAULT = 1000;
+
     protected static final int TTL_EXPIRATION_FREQUENCY_MS = 60_000; // 60 seconds
 
     // maximum number of retries in case of concurrency
     protected static final int MAX_RETRY = 5;
 
+    // escape character for LIKE patterns, chosen to need no escaping in SQL string literals for all databases
+    protected static final char LIKE_ESCAPE = '!';
+
     protected JDBCLogger logger;
 
     protected String name;
@@ -136,6 +194,32 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
 
     protected Thread ttlThread;
 
+    protected int ttlBatchSize;
+
+    protected boolean writeBehind;
+
+    protected int writeBehindDelay;
+
+    protected int writeBehindMaxSize;
+
+    /** The buffered puts, in their first put order. */
+    protected final Map<String, PendingWrite> pending = new LinkedHashMap<>();
+
+    /** The puts being written, still read from the buffer until they are. Guarded by {@link #pending}. */
+    protected Map<String, PendingWrite> flushing = Collections.emptyMap();
+
+    protected final Object flushLock = new Object();
+
+    protected Thread flushThread;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected Timer writeTimer;
+
+    protected Histogram batchSizeHistogram;
+
+    protected Histogram expiredHistogram;
+
     protected String getSQL;
 
     protected String getMultiSQL;
@@ -150,10 +234,20 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
 
     protected String deleteIfBytesSQL;
 
-    protected String expireSQL;
+    protected String expireSelectSQL;
+
+    protected String expireDeleteSQL;
 
     protected String keyStreamSQL;
 
+    protected String keyStreamPrefixSQL;
+
+    protected String addSQL;
+
+    protected boolean addReturns;
+
+    protected String getLongSQL;
+
     protected String setTTLSQL;
 
     protected String existsSQL;
@@ -169,6 +263,13 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         if (StringUtils.isAllBlank(dataSourceName)) {
             throw new NuxeoException("Missing " + DATASOURCE_PROP + " property in configuration");
         }
+        ttlBatchSize = getIntProperty(properties, TTL_BATCH_SIZE_PROP, TTL_BATCH_SIZE_DEFAULT);
+        writeBehind = Boolean.parseBoolean(properties.get(WRITE_BEHIND_PROP));
+        writeBehindDelay = getIntProperty(properties, WRITE_BEHIND_DELAY_PROP, WRITE_BEHIND_DELAY_DEFAULT);
+        writeBehindMaxSize = getIntProperty(properties, WRITE_BEHIND_MAX_SIZE_PROP, WRITE_BEHIND_MAX_SIZE_DEFAULT);
+        writeTimer = registry.timer(MetricRegistry.name("nuxeo", "keyvalue", name, "writes"));
+        batchSizeHistogram = registry.histogram(MetricRegistry.name("nuxeo", "keyvalue", name, "batch-size"));
+        expiredHistogram = registry.histogram(MetricRegistry.name("nuxeo", "keyvalue", name, "expired"));
         String tableProp = properties.get(TABLE_PROP);
         String tbl;
         if (isBlank(tableProp)) {
@@ -183,11 +284,27 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         });
         prepareSQL();
         startTTLThread();
+        if (writeBehind) {
+            startFlushThread();
+        }
+    }
+
+    protected static int getIntProperty(Map<String, String> properties, String prop, int defaultValue) {
+        String value = properties.get(prop);
+        if (isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new NuxeoException("Invalid " + prop + " property in configuration: " + value);
+        }
     }
 
     @Override
     public void close() {
         stopTTLThread();
+        stopFlushThread();
     }
 
     protected void getTable(Connection connection, String tbl) throws SQLException {
@@ -229,8 +346,17 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         deleteIfLongSQL = deleteSQL + " AND " + longColName + " = ?";
         deleteIfStringSQL = deleteSQL + " AND " + dialect.getQuotedNameForExpression(stringCol) + " = ?";
         deleteIfBytesSQL = deleteSQL + " AND " + bytesColName + " = ?";
-        expireSQL = "DELETE FROM " + tableName + " WHERE " + ttlColName + " < ?";
+        expireSelectSQL = "SELECT " + keyColName + " FROM " + tableName + " WHERE " + ttlColName + " < ?";
+        expireDeleteSQL = "DELETE FROM " + tableName + " WHERE " + keyColName + " IN (%s) AND " + ttlColName + " < ?";
         keyStreamSQL = "SELECT " + keyColName + " FROM " + tableName;
+        keyStreamPrefixSQL = keyStreamSQL + " WHERE " + keyColName + " LIKE ? ESCAPE '" + LIKE_ESCAPE + "'";
+        addSQL = "UPDATE " + tableName + " SET " + longColName + " = " + longColName + " + ? WHERE " + keyColName
+                + " = ? AND " + longColName + " IS NOT NULL";
+        addReturns = dialect instanceof DialectPostgreSQL;
+        if (addReturns) {
+            addSQL += " RETURNING " + longColName;
+        }
+        getLongSQL = "SELECT " + longColName + " FROM " + tableName + " WHERE " + keyColName + " = ?";
         setTTLSQL = "UPDATE " + tableName + " SET " + ttlColName + " = ? WHERE " + keyColName + " = ?";
         existsSQL = "SELECT 1 FROM " + tableName + " WHERE " + keyColName + " = ?";
         insertSQL = "INSERT INTO " + tableName + "(" + keyColName + ", " + longColName + ", " + stringColName + ", "
@@ -277,6 +403,49 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         }
     }
 
+    protected void startFlushThread() {
+        flushThread = new Thread(this::flushThread);
+        flushThread.setName("Nuxeo-Flush-KeyValueStore-" + name);
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    protected void stopFlushThread() {
+        if (flushThread == null) {
+            return;
+        }
+        flushThread.interrupt();
+        flushThread = null;
+        try {
+            flush();
+        } catch (NuxeoException e) {
+            log.error("Cannot write buffered puts of KeyValueStore: " + name, e);
+        }
+    }
+
+    /**
+     * Runs in a thread to write the buffered puts.
+     *
+     * @since 9.10
+     */
+    protected void flushThread() {
+        try {
+            for (;;) {
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                Thread.sleep(writeBehindDelay);
+                try {
+                    flush();
+                } catch (NuxeoException e) {
+                    log.error("Cannot write buffered puts of KeyValueStore: " + name, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Canonicalizes value for the database: use a String or a Long if possible.
      */
@@ -489,12 +658,38 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
 
     protected void expireTTLOnce() {
         runWithConnection(connection -> {
+            long expired = 0;
             try {
-                try (PreparedStatement ps = connection.prepareStatement(expireSQL)) {
-                    Long ttlDeadline = getTTLValue(0);
-                    setToPreparedStatement(expireSQL, ps, ttlCol, ttlDeadline);
-                    int count = ps.executeUpdate();
-                    logger.logCount(count);
+                Long ttlDeadline = getTTLValue(0);
+                // bounded batches, to avoid long locks and transaction logs
+                for (;;) {
+                    List<String> keys = new ArrayList<>();
+                    try (PreparedStatement ps = connection.prepareStatement(expireSelectSQL)) {
+                        ps.setMaxRows(ttlBatchSize);
+                        setToPreparedStatement(expireSelectSQL, ps, ttlCol, ttlDeadline);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                keys.add((String) keyCol.getFromResultSet(rs, 1));
+                            }
+                        }
+                    }
+                    if (keys.isEmpty()) {
+                        break;
+                    }
+                    String sql = String.format(expireDeleteSQL, nParams(keys.size()));
+                    List<Column> columns = new ArrayList<>(Collections.nCopies(keys.size(), keyCol));
+                    columns.add(ttlCol);
+                    List<Serializable> values = new ArrayList<>(keys);
+                    values.add(ttlDeadline);
+                    try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                        setToPreparedStatement(sql, ps, columns, values);
+                        int count = ps.executeUpdate();
+                        logger.logCount(count);
+                        expired += count;
+                    }
+                    if (keys.size() < ttlBatchSize) {
+                        break;
+                    }
                 }
             } catch (SQLException e) {
                 if (dialect.isConcurrentUpdateException(e)) {
@@ -502,12 +697,15 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
                     return;
                 }
                 log.debug("Exception during TTL expiration", e);
+            } finally {
+                expiredHistogram.update(expired);
             }
         });
     }
 
     @Override
     public void clear() {
+        flush();
         runWithConnection(connection -> {
             try (Statement st = connection.createStatement()) {
                 logger.log(deleteAllSQL);
@@ -518,6 +716,7 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
 
     @Override
     public Stream<String> keyStream() {
+        flush();
         return runWithConnection((Connection connection) -> keyStream(connection));
     }
 
@@ -534,6 +733,35 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         return keys.stream();
     }
 
+    @Override
+    public Stream<String> keyStream(String prefix) {
+        flush();
+        return runWithConnection((Connection connection) -> {
+            List<String> keys = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(keyStreamPrefixSQL)) {
+                setToPreparedStatement(keyStreamPrefixSQL, ps, keyCol, escapeLike(prefix) + "%");
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String key = (String) keyCol.getFromResultSet(rs, 1);
+                        keys.add(key);
+                    }
+                }
+            }
+            return keys.stream();
+        });
+    }
+
+    protected static String escapeLike(String string) {
+        StringBuilder sb = new StringBuilder(string.length());
+        for (char c : string.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                sb.append(LIKE_ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
     @Override
     public byte[] get(String key) {
         Object value = getObject(key);
@@ -588,6 +816,12 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
     }
 
     protected Object getObject(String key) {
+        if (writeBehind) {
+            PendingWrite write = getPending(key);
+            if (write != null) {
+                return getPendingValue(write);
+            }
+        }
         return runWithConnection(connection -> {
             try (PreparedStatement ps = connection.prepareStatement(getSQL)) {
                 setToPreparedStatement(getSQL, ps, keyCol, key);
@@ -616,7 +850,24 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         });
     }
 
-    protected void getObjects(Collection<String> keys, BiConsumer<String, Object> consumer) {
+    protected void getObjects(Collection<String> allKeys, BiConsumer<String, Object> consumer) {
+        Collection<String> keys;
+        if (writeBehind) {
+            keys = new ArrayList<>();
+            for (String key : allKeys) {
+                PendingWrite write = getPending(key);
+                if (write == null) {
+                    keys.add(key);
+                } else {
+                    Object value = getPendingValue(write);
+                    if (value != null) {
+                        consumer.accept(key, value);
+                    }
+                }
+            }
+        } else {
+            keys = allKeys;
+        }
         if (keys.isEmpty()) {
             return;
         }
@@ -694,46 +945,205 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
     }
 
     protected void put(String key, Object value, long ttl) {
-        runWithConnection((Connection connection) -> {
-            if (value == null) {
-                // delete
-                try (PreparedStatement ps = connection.prepareStatement(deleteSQL)) {
-                    setToPreparedStatement(deleteSQL, ps, keyCol, key);
-                    ps.execute();
+        Long ttlValue = ttlToStorage(ttl);
+        if (writeBehind) {
+            boolean full;
+            synchronized (pending) {
+                Object copy = value instanceof byte[] ? ((byte[]) value).clone() : value;
+                pending.put(key, new PendingWrite(copy, ttlValue));
+                full = pending.size() >= writeBehindMaxSize;
+            }
+            if (full) {
+                // the buffer is bounded, the writer waits for it to be written
+                flush();
+            }
+            return;
+        }
+        Timer.Context timerContext = writeTimer.time();
+        try {
+            runWithConnection(connection -> {
+                put(connection, key, value, ttlValue);
+            });
+        } finally {
+            timerContext.stop();
+        }
+    }
+
+    protected void put(Connection connection, String key, Object value, Long ttlValue) throws SQLException {
+        if (value == null) {
+            // delete
+            try (PreparedStatement ps = connection.prepareStatement(deleteSQL)) {
+                setToPreparedStatement(deleteSQL, ps, keyCol, key);
+                ps.execute();
+            }
+        } else {
+            // upsert (update or insert)
+            List<Column> psColumns = new ArrayList<>();
+            List<Serializable> psValues = new ArrayList<>();
+            String sql = getUpsertSql(key, value, ttlValue, psColumns, psValues);
+            for (int retry = 0; retry < MAX_RETRY; retry++) {
+                try {
+                    try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                        setToPreparedStatement(sql, ps, psColumns, psValues);
+                        ps.execute();
+                    }
+                    return;
+                } catch (SQLException e) {
+                    if (!dialect.isConcurrentUpdateException(e)) {
+                        throw e;
+                    }
+                    // Oracle MERGE can throw DUP_VAL_ON_INDEX (ORA-0001) or NO_DATA_FOUND (ORA-01403)
+                    // in that case retry a few times
                 }
+                sleepBeforeRetry();
+            }
+            throw new ConcurrentUpdateException("Failed to do atomic put for key: " + key);
+        }
+    }
+
+    protected String getUpsertSql(String key, Object value, Long ttlValue, List<Column> psColumns,
+            List<Serializable> psValues) {
+        Long longValue = value instanceof Long ? (Long) value : null;
+        String stringValue = value instanceof String ? (String) value : null;
+        byte[] bytesValue = value instanceof byte[] ? (byte[]) value : null;
+        return dialect.getUpsertSql(Arrays.asList(keyCol, longCol, stringCol, bytesCol, ttlCol),
+                Arrays.asList(key, longValue, stringValue, bytesValue, ttlValue), psColumns, psValues);
+    }
+
+    /**
+     * A buffered put.
+     *
+     * @since 9.10
+     */
+    protected static class PendingWrite {
+
+        /** The value in storage form, or {@code null} for a delete. */
+        protected final Object value;
+
+        protected final Long ttlValue;
+
+        protected PendingWrite(Object value, Long ttlValue) {
+            this.value = value;
+            this.ttlValue = ttlValue;
+        }
+    }
+
+    protected PendingWrite getPending(String key) {
+        synchronized (pending) {
+            PendingWrite write = pending.get(key);
+            return write == null ? flushing.get(key) : write;
+        }
+    }
+
+    /**
+     * Gets the value of a buffered put as it would be read once written, or {@code null} if its TTL has expired.
+     *
+     * @since 9.10
+     */
+    protected Object getPendingValue(PendingWrite write) {
+        if (write.ttlValue != null && write.ttlValue.longValue() < getTTLValue(0).longValue()) {
+            return null;
+        }
+        return write.value instanceof byte[] ? ((byte[]) write.value).clone() : write.value;
+    }
+
+    /**
+     * Writes the buffered puts, in batches. Does nothing if the store does not write behind.
+     *
+     * @since 9.10
+     */
+    public void flush() {
+        if (!writeBehind) {
+            return;
+        }
+        synchronized (flushLock) {
+            Map<String, PendingWrite> writes;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                writes = new LinkedHashMap<>(pending);
+                pending.clear();
+                flushing = writes;
+            }
+            Timer.Context timerContext = writeTimer.time();
+            try {
+                runWithConnection(connection -> {
+                    writeBatch(connection, writes);
+                });
+                batchSizeHistogram.update(writes.size());
+            } catch (NuxeoException e) {
+                // keep the puts not superseded meanwhile for the next write
+                synchronized (pending) {
+                    writes.forEach(pending::putIfAbsent);
+                }
+                throw e;
+            } finally {
+                timerContext.stop();
+                synchronized (pending) {
+                    flushing = Collections.emptyMap();
+                }
+            }
+        }
+    }
+
+    protected void writeBatch(Connection connection, Map<String, PendingWrite> writes) throws SQLException {
+        List<String> deletes = new ArrayList<>();
+        Map<String, PendingWrite> upserts = new LinkedHashMap<>();
+        writes.forEach((key, write) -> {
+            if (write.value == null) {
+                deletes.add(key);
             } else {
-                // upsert (update or insert)
-                Long longValue = value instanceof Long ? (Long) value : null;
-                String stringValue = value instanceof String ? (String) value : null;
-                byte[] bytesValue = value instanceof byte[] ? (byte[]) value : null;
-                Long ttlValue = ttlToStorage(ttl);
+                upserts.put(key, write);
+            }
+        });
+        if (!deletes.isEmpty()) {
+            try (PreparedStatement ps = connection.prepareStatement(deleteSQL)) {
+                for (String key : deletes) {
+                    setToPreparedStatement(deleteSQL, ps, keyCol, key);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        if (upserts.isEmpty()) {
+            return;
+        }
+        // the upsert SQL doesn't depend on the values
+        String sql = null;
+        PreparedStatement ps = null;
+        try {
+            for (Map.Entry<String, PendingWrite> entry : upserts.entrySet()) {
+                PendingWrite write = entry.getValue();
                 List<Column> psColumns = new ArrayList<>();
                 List<Serializable> psValues = new ArrayList<>();
-                String sql = dialect.getUpsertSql(Arrays.asList(keyCol, longCol, stringCol, bytesCol, ttlCol),
-                        Arrays.asList(key, longValue, stringValue, bytesValue, ttlValue), psColumns, psValues);
-                for (int retry = 0; retry < MAX_RETRY; retry++) {
-                    try {
-                        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                            setToPreparedStatement(sql, ps, psColumns, psValues);
-                            ps.execute();
-                        }
-                        return;
-                    } catch (SQLException e) {
-                        if (!dialect.isConcurrentUpdateException(e)) {
-                            throw e;
-                        }
-                        // Oracle MERGE can throw DUP_VAL_ON_INDEX (ORA-0001) or NO_DATA_FOUND (ORA-01403)
-                        // in that case retry a few times
-                    }
-                    sleepBeforeRetry();
+                String upsertSql = getUpsertSql(entry.getKey(), write.value, write.ttlValue, psColumns, psValues);
+                if (ps == null) {
+                    sql = upsertSql;
+                    ps = connection.prepareStatement(sql);
                 }
-                throw new ConcurrentUpdateException("Failed to do atomic put for key: " + key);
+                setToPreparedStatement(sql, ps, psColumns, psValues);
+                ps.addBatch();
             }
-        });
+            ps.executeBatch();
+        } catch (SQLException e) {
+            if (!dialect.isConcurrentUpdateException(e)) {
+                throw e;
+            }
+            // Oracle MERGE can fail with concurrent inserts of the same key, write them one by one with retries
+            for (Map.Entry<String, PendingWrite> entry : upserts.entrySet()) {
+                put(connection, entry.getKey(), entry.getValue().value, entry.getValue().ttlValue);
+            }
+        } finally {
+            if (ps != null) {
+                ps.close();
+            }
+        }
     }
 
     @Override
     public boolean setTTL(String key, long ttl) {
+        flush();
         return runWithConnection((Connection connection) -> {
             try (PreparedStatement ps = connection.prepareStatement(setTTLSQL)) {
                 setToPreparedStatement(setTTLSQL, ps, ttlCol, ttlToStorage(ttl), keyCol, key);
@@ -755,6 +1165,7 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
     }
 
     protected boolean compareAndSet(String key, Object expected, Object value, long ttl) {
+        flush();
         return runWithConnection((Connection connection) -> {
             if (expected == null && value == null) {
                 // check that document doesn't exist
@@ -840,6 +1251,93 @@ public class SQLKeyValueStore extends AbstractKeyValueStoreProvider {
         }).booleanValue();
     }
 
+    @Override
+    public long addAndGet(String key, long delta) throws NumberFormatException {
+        flush();
+        return runWithConnection((Connection connection) -> {
+            for (int retry = 0; retry < MAX_RETRY; retry++) {
+                Long result = add(connection, key, delta);
+                if (result != null) {
+                    return result;
+                }
+                // no long value yet, insert the delta
+                try (PreparedStatement ps = connection.prepareStatement(insertSQL)) {
+                    setToPreparedStatement(insertSQL, ps, Arrays.asList(keyCol, longCol, stringCol, bytesCol, ttlCol),
+                            Arrays.asList(key, Long.valueOf(delta), null, null, null));
+                    ps.executeUpdate();
+                    return Long.valueOf(delta);
+                } catch (SQLException e) {
+                    if (!dialect.isConcurrentUpdateException(e)) {
+                        throw e;
+                    }
+                }
+                // a value exists, retry unless it's not a long
+                checkLong(connection, key);
+                sleepBeforeRetry();
+            }
+            throw new ConcurrentUpdateException("Failed to do atomic addition for key: " + key);
+        }).longValue();
+    }
+
+    /**
+     * Adds the delta to the long value of the key, if any, with a single statement.
+     *
+     * @return the new value, or {@code null} if there is no long value
+     */
+    protected Long add(Connection connection, String key, long delta) throws SQLException {
+        if (addReturns) {
+            try (PreparedStatement ps = connection.prepareStatement(addSQL)) {
+                setToPreparedStatement(addSQL, ps, longCol, Long.valueOf(delta), keyCol, key);
+                try (ResultSet rs = ps.executeQuery()) {
+                    Long result = rs.next() ? (Long) longCol.getFromResultSet(rs, 1) : null;
+                    if (logger.isLogEnabled()) {
+                        logger.log("  -> " + result);
+                    }
+                    return result;
+                }
+            }
+        }
+        // the row lock taken by the update makes the read return our own addition
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            Long result = null;
+            try (PreparedStatement ps = connection.prepareStatement(addSQL)) {
+                setToPreparedStatement(addSQL, ps, longCol, Long.valueOf(delta), keyCol, key);
+                int count = ps.executeUpdate();
+                logger.logCount(count);
+                if (count == 1) {
+                    try (PreparedStatement ps2 = connection.prepareStatement(getLongSQL)) {
+                        setToPreparedStatement(getLongSQL, ps2, keyCol, key);
+                        try (ResultSet rs = ps2.executeQuery()) {
+                            if (rs.next()) {
+                                result = (Long) longCol.getFromResultSet(rs, 1);
+                            }
+                        }
+                    }
+                }
+            }
+            connection.commit();
+            return result;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    protected void checkLong(Connection connection, String key) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(getSQL)) {
+            setToPreparedStatement(getSQL, ps, keyCol, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next() && longCol.getFromResultSet(rs, 1) == null) {
+                    throw new NumberFormatException("Value is not a long for key: " + key);
+                }
+            }
+        }
+    }
+
     protected void sleepBeforeRetry() {
         try {
             Thread.sleep(5);
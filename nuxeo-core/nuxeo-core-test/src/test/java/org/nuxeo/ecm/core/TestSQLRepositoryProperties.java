@@ -1250,6 +1250,49 @@ public class TestSQLRepositoryProperties {
         assertEquals("myicon", doc.getProperty("common", "icon"));
     }
 
+    @Test
+    public void testLazyFields() throws Exception {
+        deployer.deploy("org.nuxeo.ecm.core.test.tests:OSGI-INF/test-lazy-fields-contrib.xml");
+        assertTrue(schemaManager.getLazyFields());
+
+        List<DocumentModel> docs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DocumentModel d = session.createDocumentModel("/", "doc" + i, "TestDocument2");
+            d.setPropertyValue("dc:title", "title" + i);
+            d.setPropertyValue("dc:description", "desc" + i);
+            docs.add(session.createDocument(d));
+        }
+        session.save();
+
+        // a field read alone doesn't load its schema
+        doc = session.getDocument(docs.get(0).getRef());
+        assertFalse(doc.isPrefetched("dc:title"));
+        assertEquals("title0", doc.getPropertyValue("dc:title"));
+        assertTrue(doc.isPrefetched("dc:title"));
+        assertFalse(doc.isPrefetched("dc:description"));
+        assertFalse(((DocumentModelImpl) doc).isSchemaLoaded("dublincore"));
+
+        // a complex field loads the schema, which is then the reference
+        assertNotNull(doc.getProperty("dc:contributors"));
+        assertTrue(((DocumentModelImpl) doc).isSchemaLoaded("dublincore"));
+        assertFalse(doc.isPrefetched("dc:title"));
+        doc.setPropertyValue("dc:title", "foo");
+        assertEquals("foo", doc.getPropertyValue("dc:title"));
+
+        // a field prefetched for several documents at once
+        List<DocumentModel> reloaded = new ArrayList<>();
+        for (DocumentModel d : docs) {
+            reloaded.add(session.getDocument(d.getRef()));
+        }
+        DocumentModelImpl.prefetchPropertyValue(reloaded, "dc:description");
+        for (int i = 0; i < reloaded.size(); i++) {
+            DocumentModel d = reloaded.get(i);
+            assertTrue(d.isPrefetched("dc:description"));
+            assertEquals("desc" + i, d.getPropertyValue("dc:description"));
+            assertFalse(((DocumentModelImpl) d).isSchemaLoaded("dublincore"));
+        }
+    }
+
     @Test
     public void testPrefetchComplexProperty() throws Exception {
         doc = session.createDocumentModel("/", "doc2", "MyDocType");
@@ -0,0 +1,102 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.core.io.marshallers.json.document;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.apache.commons.lang3.reflect.TypeUtils;
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.io.marshallers.json.AbstractJsonWriterTest;
+import org.nuxeo.ecm.core.io.marshallers.json.DefaultIteratorJsonWriter;
+import org.nuxeo.ecm.core.io.marshallers.json.JsonAssert;
+import org.nuxeo.ecm.core.io.marshallers.json.enrichers.BreadcrumbJsonEnricher;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext.CtxBuilder;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+
+@LocalDeploy("org.nuxeo.ecm.core.io:OSGI-INF/doc-type-contrib.xml")
+public class DocumentModelIteratorJsonWriterTest extends
+        AbstractJsonWriterTest.Local<DocumentModelIteratorJsonWriter, Iterator<DocumentModel>> {
+
+    public DocumentModelIteratorJsonWriterTest() {
+        super(DocumentModelIteratorJsonWriter.class, Iterator.class,
+                TypeUtils.parameterize(Iterator.class, DocumentModel.class));
+    }
+
+    @Inject
+    private CoreSession session;
+
+    protected static class CloseableIterator<T> implements Iterator<T>, AutoCloseable {
+
+        protected final Iterator<T> iterator;
+
+        protected boolean closed;
+
+        protected CloseableIterator(Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    public void test() throws Exception {
+        session.createDocument(session.createDocumentModel("/", "folder", "MyFolder"));
+        // more than one chunk
+        int count = DefaultIteratorJsonWriter.CHUNK_SIZE + 10;
+        List<DocumentModel> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            documents.add(session.createDocument(session.createDocumentModel("/folder", "doc" + i, "RefDoc")));
+        }
+        CloseableIterator<DocumentModel> iterator = new CloseableIterator<>(documents.iterator());
+
+        JsonAssert json = jsonAssert(iterator, CtxBuilder.enrichDoc(BreadcrumbJsonEnricher.NAME).get());
+        json.isObject();
+        json.properties(2);
+        json.has("entity-type").isEquals("documents");
+        json = json.has("entries").length(count);
+        for (int i = 0; i < count; i++) {
+            JsonAssert doc = json.has(i);
+            doc.has("title").isEquals("doc" + i);
+            doc.has("contextParameters").has(BreadcrumbJsonEnricher.NAME).has("entries").length(2);
+        }
+        assertTrue(iterator.closed);
+    }
+
+}
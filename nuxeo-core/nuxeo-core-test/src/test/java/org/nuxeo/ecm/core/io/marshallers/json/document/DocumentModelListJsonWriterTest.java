@@ -19,6 +19,10 @@
 
 package org.nuxeo.ecm.core.io.marshallers.json.document;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,9 +32,15 @@ import org.apache.commons.lang3.reflect.TypeUtils;
 import org.junit.Test;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.impl.DocumentModelImpl;
 import org.nuxeo.ecm.core.io.marshallers.json.AbstractJsonWriterTest;
 import org.nuxeo.ecm.core.io.marshallers.json.JsonAssert;
+import org.nuxeo.ecm.core.io.marshallers.json.enrichers.BreadcrumbJsonEnricher;
+import org.nuxeo.ecm.core.io.marshallers.json.enrichers.HasFolderishChildJsonEnricher;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
+import org.nuxeo.ecm.core.io.registry.context.RenderingContext.CtxBuilder;
 import org.nuxeo.runtime.test.runner.LocalDeploy;
+import org.nuxeo.runtime.transaction.TransactionHelper;
 
 @LocalDeploy("org.nuxeo.ecm.core.io:OSGI-INF/doc-type-contrib.xml")
 public class DocumentModelListJsonWriterTest extends
@@ -65,4 +75,85 @@ public class DocumentModelListJsonWriterTest extends
         json.childrenContains("title", "myDoc1", "myDoc2", "myDoc3");
     }
 
+    @Test
+    public void testBatchEnrichers() throws Exception {
+        DocumentModel folder1 = session.createDocument(session.createDocumentModel("/", "folder1", "MyFolder"));
+        DocumentModel folder2 = session.createDocument(session.createDocumentModel("/", "folder2", "MyFolder"));
+        DocumentModel sub = session.createDocument(session.createDocumentModel("/folder1", "sub", "MyFolder"));
+        DocumentModel doc = session.createDocument(session.createDocumentModel("/folder1/sub", "doc", "RefDoc"));
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+
+        RenderingContext ctx = CtxBuilder.enrichDoc(BreadcrumbJsonEnricher.NAME, HasFolderishChildJsonEnricher.NAME)
+                                         .get();
+        JsonAssert json = jsonAssert(Arrays.asList(folder1, folder2, sub, doc), ctx);
+        json = json.has("entries").length(4);
+        boolean[] hasFolderishChild = { true, false, false, false };
+        int[] breadcrumbLength = { 1, 1, 2, 3 };
+        for (int i = 0; i < 4; i++) {
+            JsonAssert enrichers = json.has(i).has("contextParameters").isObject();
+            enrichers.properties(2);
+            enrichers.has(HasFolderishChildJsonEnricher.NAME).isBool().isEquals(hasFolderishChild[i]);
+            enrichers.has(BreadcrumbJsonEnricher.NAME).has("entries").length(breadcrumbLength[i]);
+        }
+        JsonAssert breadcrumb = json.has(3).has("contextParameters").has(BreadcrumbJsonEnricher.NAME).has("entries");
+        breadcrumb.childrenContains("title", "folder1", "sub", "doc");
+    }
+
+    @Test
+    public void testHasFolderishChildBatch() throws Exception {
+        // the batch query also runs on DBS (-Dnuxeo.test.core=mem), which doesn't support SELECT DISTINCT
+        DocumentModel folder1 = session.createDocument(session.createDocumentModel("/", "folder1", "MyFolder"));
+        DocumentModel folder2 = session.createDocument(session.createDocumentModel("/", "folder2", "MyFolder"));
+        DocumentModel folder3 = session.createDocument(session.createDocumentModel("/", "folder3", "MyFolder"));
+        for (int i = 0; i < 3; i++) {
+            session.createDocument(session.createDocumentModel("/folder1", "sub" + i, "MyFolder"));
+            session.createDocument(session.createDocumentModel("/folder2", "doc" + i, "RefDoc"));
+        }
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+
+        RenderingContext ctx = CtxBuilder.enrichDoc(HasFolderishChildJsonEnricher.NAME).get();
+        JsonAssert json = jsonAssert(Arrays.asList(folder1, folder2, folder3), ctx);
+        json = json.has("entries").length(3);
+        boolean[] hasFolderishChild = { true, false, false };
+        for (int i = 0; i < 3; i++) {
+            JsonAssert enrichers = json.has(i).has("contextParameters").isObject();
+            enrichers.has(HasFolderishChildJsonEnricher.NAME).isBool().isEquals(hasFolderishChild[i]);
+        }
+    }
+
+    @Test
+    public void testPrefetchSummaryFields() throws Exception {
+        List<DocumentModel> docs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DocumentModel doc = session.createDocumentModel("/", "doc" + i, "NoPrefetchDoc");
+            doc.setPropertyValue("dc:title", "title" + i);
+            docs.add(session.createDocument(doc));
+        }
+        TransactionHelper.commitOrRollbackTransaction();
+        TransactionHelper.startTransaction();
+        List<DocumentModel> reloaded = new ArrayList<>();
+        for (DocumentModel doc : docs) {
+            reloaded.add(session.getDocument(doc.getRef()));
+        }
+
+        JsonAssert json = jsonAssert(reloaded);
+        json = json.has("entries").length(3);
+        json.childrenContains("title", "title0", "title1", "title2");
+        for (DocumentModel doc : reloaded) {
+            // the title and the modification date are fetched for the whole list, without the rest of the schema
+            assertTrue(doc.isPrefetched("dc:title"));
+            assertTrue(doc.isPrefetched("dc:modified"));
+            assertFalse(((DocumentModelImpl) doc).isSchemaLoaded("dublincore"));
+        }
+
+        // not needed when the dublincore properties are written
+        reloaded.set(0, session.getDocument(docs.get(0).getRef()));
+        RenderingContext ctx = CtxBuilder.properties("dublincore").get();
+        json = jsonAssert(reloaded.subList(0, 1), ctx);
+        json.has("entries").has(0).has("properties").has("dc:title").isEquals("title0");
+        assertFalse(reloaded.get(0).isPrefetched("dc:title"));
+    }
+
 }
@@ -42,6 +42,7 @@ import javax.inject.Inject;
 import javax.ws.rs.core.MediaType;
 
 import org.junit.Before;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.nuxeo.ecm.core.io.registry.context.RenderingContext;
@@ -169,6 +170,38 @@ public class TestWriterRegistry {
         assertEquals(DefaultNumberWriter.class, writer.getClass());
     }
 
+    @Test
+    public void resolutionFollowsRegistryChanges() throws Exception {
+        registry.register(DefaultNumberWriter.class);
+        registry.register(HigherPriorityWriter.class);
+        Writer<?> writer = registry.getWriter(ctx, Integer.class, null, APPLICATION_JSON_TYPE);
+        assertEquals(HigherPriorityWriter.class, writer.getClass());
+        registry.deregister(HigherPriorityWriter.class);
+        writer = registry.getWriter(ctx, Integer.class, null, APPLICATION_JSON_TYPE);
+        assertEquals(DefaultNumberWriter.class, writer.getClass());
+        registry.clear();
+        writer = registry.getWriter(ctx, Integer.class, null, APPLICATION_JSON_TYPE);
+        assertNull(writer);
+    }
+
+    @Ignore("for performance testing purpose")
+    @Test
+    public void resolutionPerf() throws Exception {
+        registry.register(AnyTypeWriter.class);
+        registry.register(XmlWriter.class);
+        registry.register(DefaultNumberWriter.class);
+        registry.register(LowerPriorityWriter.class);
+        registry.register(SingletonStateWriter.class);
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            for (int j = 0; j < 100_000; j++) {
+                registry.getWriter(ctx, Integer.class, null, APPLICATION_JSON_TYPE);
+            }
+            long elapsed = System.nanoTime() - start;
+            System.err.println("100k writer resolutions: " + elapsed / 1_000_000 + " ms");
+        }
+    }
+
     @SuppressWarnings("unused")
     private Map<String, List<Integer>> listIntegerMapProperty = null;
 
@@ -80,6 +80,15 @@ public class CommandLineDescriptor implements Serializable {
     @XNode("installationDirective")
     protected String installationDirective;
 
+    /**
+     * Maximum number of processes of this command line allowed to run at the same time on this node, {@code 0} for no
+     * limit.
+     *
+     * @since 9.10
+     */
+    @XNode("maxConcurrency")
+    protected int maxConcurrency;
+
     protected String installErrorMessage;
 
     public String getInstallErrorMessage() {
@@ -145,6 +154,13 @@ public class CommandLineDescriptor implements Serializable {
         return testParameterString;
     }
 
+    /**
+     * @since 9.10
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
     public String getExecutor() {
         return CommandLineExecutorComponent.DEFAULT_EXECUTOR;
     }
@@ -24,11 +24,16 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.nuxeo.common.Environment;
+import org.nuxeo.common.utils.ExceptionUtils;
 import org.nuxeo.ecm.platform.commandline.executor.api.CmdParameters;
 import org.nuxeo.ecm.platform.commandline.executor.api.CommandAvailability;
 import org.nuxeo.ecm.platform.commandline.executor.api.CommandLineExecutorService;
@@ -38,10 +43,14 @@ import org.nuxeo.ecm.platform.commandline.executor.service.cmdtesters.CommandTes
 import org.nuxeo.ecm.platform.commandline.executor.service.cmdtesters.CommandTester;
 import org.nuxeo.ecm.platform.commandline.executor.service.executors.Executor;
 import org.nuxeo.ecm.platform.commandline.executor.service.executors.ShellExecutor;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.model.ComponentContext;
 import org.nuxeo.runtime.model.ComponentInstance;
 import org.nuxeo.runtime.model.DefaultComponent;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 /**
  * POJO implementation of the {@link CommandLineExecutorService} interface. Also handles the Extension Point logic.
  *
@@ -69,6 +78,17 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
 
     protected static Map<String, Executor> executors = new HashMap<>();
 
+    /** Last contributed descriptor of the commands with a {@code maxConcurrency}, by command name. */
+    protected static Map<String, CommandLineDescriptor> concurrencyDescriptors = new ConcurrentHashMap<>();
+
+    /** Maximum number of concurrent processes per command line, from the commands' {@code maxConcurrency}. */
+    protected static Map<String, Integer> concurrencyLimits = new ConcurrentHashMap<>();
+
+    /** Permits bounding the concurrent processes per command line, created on first use. */
+    protected static Map<String, ConcurrencyPermits> concurrencyPermits = new ConcurrentHashMap<>();
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
     private static final Log log = LogFactory.getLog(CommandLineExecutorComponent.class);
 
     @Override
@@ -78,6 +98,9 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
         testers = new HashMap<>();
         executors = new HashMap<>();
         executors.put(DEFAULT_EXECUTOR, new ShellExecutor());
+        concurrencyDescriptors = new ConcurrentHashMap<>();
+        concurrencyLimits = new ConcurrentHashMap<>();
+        concurrencyPermits = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -86,6 +109,9 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
         env = null;
         testers = null;
         executors = null;
+        concurrencyDescriptors = null;
+        concurrencyLimits = null;
+        concurrencyPermits = null;
     }
 
     @Override
@@ -112,6 +138,7 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
 
             if (!desc.isEnabled()) {
                 commandDescriptors.remove(name);
+                unregisterConcurrencyLimit(name, null);
                 log.info("Command configured to not be enabled: " + name);
                 return;
             }
@@ -140,6 +167,12 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
             }
             desc.setAvailable(cmdAvailable);
             commandDescriptors.put(name, desc);
+            // the last contribution wins, an override without maxConcurrency removes the limit
+            unregisterConcurrencyLimit(name, null);
+            if (desc.getMaxConcurrency() > 0) {
+                concurrencyDescriptors.put(name, desc);
+                updateConcurrencyLimit(desc.getCommand());
+            }
         } else if (EP_CMDTESTER.equals(extensionPoint)) {
             CommandTesterDescriptor desc = (CommandTesterDescriptor) contribution;
             CommandTester tester;
@@ -154,6 +187,47 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
 
     @Override
     public void unregisterContribution(Object contribution, String extensionPoint, ComponentInstance contributor) {
+        if (EP_CMD.equals(extensionPoint)) {
+            CommandLineDescriptor desc = (CommandLineDescriptor) contribution;
+            unregisterConcurrencyLimit(desc.getName(), desc);
+        }
+    }
+
+    /**
+     * Removes the concurrency limit contributed for a command, only if it comes from the given descriptor when not
+     * {@code null}.
+     *
+     * @since 9.10
+     */
+    protected void unregisterConcurrencyLimit(String name, CommandLineDescriptor desc) {
+        CommandLineDescriptor previous = concurrencyDescriptors.get(name);
+        if (previous == null || (desc != null && previous != desc)) {
+            return;
+        }
+        concurrencyDescriptors.remove(name);
+        updateConcurrencyLimit(previous.getCommand());
+    }
+
+    /**
+     * Recomputes the concurrency limit of a command line from the commands using it, resizing its permits if they are
+     * already in use.
+     *
+     * @since 9.10
+     */
+    protected void updateConcurrencyLimit(String commandLine) {
+        // several commands may use the same command line, keep the lowest limit
+        OptionalInt limit = concurrencyDescriptors.values()
+                                                  .stream()
+                                                  .filter(d -> commandLine.equals(d.getCommand()))
+                                                  .mapToInt(CommandLineDescriptor::getMaxConcurrency)
+                                                  .min();
+        if (limit.isPresent()) {
+            concurrencyLimits.put(commandLine, Integer.valueOf(limit.getAsInt()));
+            concurrencyPermits.computeIfPresent(commandLine, (k, permits) -> permits.resize(limit.getAsInt()));
+        } else {
+            // the permits are kept, so that a limit set again accounts for the processes still holding them
+            concurrencyLimits.remove(commandLine);
+        }
     }
 
     /*
@@ -170,7 +244,80 @@ public class CommandLineExecutorComponent extends DefaultComponent implements Co
         Executor executor = executors.get(cmdDesc.getExecutor());
         EnvironmentDescriptor environment = new EnvironmentDescriptor().merge(env).merge(
                 envDescriptors.getOrDefault(commandName, envDescriptors.get(cmdDesc.getCommand())));
-        return executor.exec(cmdDesc, params, environment);
+        Semaphore permits = getConcurrencyPermits(cmdDesc);
+        if (permits == null) {
+            return timedExec(executor, cmdDesc, params, environment);
+        }
+        long t0 = System.nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            ExceptionUtils.checkInterrupt(e);
+            return new ExecResult(cmdDesc.getCommand(), e);
+        }
+        try {
+            registry.timer(MetricRegistry.name("nuxeo", "commandline", commandName, "queue"))
+                    .update(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+            return timedExec(executor, cmdDesc, params, environment);
+        } finally {
+            permits.release();
+        }
+    }
+
+    protected ExecResult timedExec(Executor executor, CommandLineDescriptor cmdDesc, CmdParameters params,
+            EnvironmentDescriptor environment) {
+        long t0 = System.nanoTime();
+        try {
+            return executor.exec(cmdDesc, params, environment);
+        } finally {
+            registry.timer(MetricRegistry.name("nuxeo", "commandline", cmdDesc.getName(), "exec"))
+                    .update(System.nanoTime() - t0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the permits bounding the number of concurrent processes for the command line of a command, or {@code null}
+     * if it is not bounded.
+     *
+     * @since 9.10
+     */
+    protected Semaphore getConcurrencyPermits(CommandLineDescriptor cmdDesc) {
+        Integer limit = concurrencyLimits.get(cmdDesc.getCommand());
+        if (limit == null) {
+            return null;
+        }
+        // read the limit again once the key is locked, a concurrent update resizes the permits only if present
+        return concurrencyPermits.computeIfAbsent(cmdDesc.getCommand(),
+                k -> new ConcurrencyPermits(concurrencyLimits.getOrDefault(k, limit).intValue()));
+    }
+
+    /**
+     * Fair semaphore whose number of permits can be changed while some of them are held.
+     *
+     * @since 9.10
+     */
+    protected static class ConcurrencyPermits extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        protected int limit;
+
+        protected ConcurrencyPermits(int limit) {
+            super(limit, true);
+            this.limit = limit;
+        }
+
+        protected synchronized ConcurrencyPermits resize(int newLimit) {
+            if (newLimit > limit) {
+                release(newLimit - limit);
+            } else if (newLimit < limit) {
+                // running processes keep their permits, new ones wait until enough are released
+                reducePermits(limit - newLimit);
+            }
+            limit = newLimit;
+            return this;
+        }
+
     }
 
     @Override
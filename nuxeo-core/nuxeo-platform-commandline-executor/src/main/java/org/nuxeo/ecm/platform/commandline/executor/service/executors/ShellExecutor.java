@@ -36,7 +36,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -67,6 +69,9 @@ public class ShellExecutor implements Executor {
 
     protected static final AtomicInteger PIPE_COUNT = new AtomicInteger();
 
+    /** Absolute paths of the commands found on the PATH, to avoid looking them up on each exec. */
+    protected static final Map<String, String> COMMAND_PATHS = new ConcurrentHashMap<>();
+
     /** Used to split the contributed command, NOT the passed parameter values. */
     protected static final Pattern COMMAND_SPLIT = Pattern.compile("\"([^\"]*)\"|'([^']*)'|[^\\s]+");
 
@@ -243,6 +248,18 @@ public class ShellExecutor implements Executor {
         if (Paths.get(command).isAbsolute()) {
             return command;
         }
+        String path = COMMAND_PATHS.get(command);
+        if (path == null) {
+            path = lookupCommandAbsolutePath(command);
+            if (!path.equals(command)) {
+                // only cache commands found, they may be installed later
+                COMMAND_PATHS.put(command, path);
+            }
+        }
+        return path;
+    }
+
+    protected static String lookupCommandAbsolutePath(String command) {
         List<String> extensions = Arrays.asList("", ".exe");
         // lookup for "command" or "command.exe" in the PATH
         String[] systemPaths = System.getenv("PATH").split(File.pathSeparator);
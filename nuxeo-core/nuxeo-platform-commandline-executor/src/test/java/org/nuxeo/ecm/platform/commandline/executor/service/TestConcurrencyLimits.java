@@ -0,0 +1,92 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.commandline.executor.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.nuxeo.runtime.test.NXRuntimeTestCase;
+
+/**
+ * Tests the contribution of the commands' {@code maxConcurrency}.
+ *
+ * @since 9.10
+ */
+public class TestConcurrencyLimits extends NXRuntimeTestCase {
+
+    protected static final String BUNDLE = "org.nuxeo.ecm.platform.commandline.executor";
+
+    protected static final String CONCURRENCY_CONTRIB = BUNDLE
+            + ":OSGI-INF/commandline-concurrency-test-contrib.xml";
+
+    @Override
+    public void setUp() throws Exception {
+        deployBundle(BUNDLE);
+    }
+
+    @Test
+    public void testOverrideRaisesLimit() throws Exception {
+        pushInlineDeployments(CONCURRENCY_CONTRIB);
+        assertEquals(Integer.valueOf(2), CommandLineExecutorComponent.concurrencyLimits.get("sh"));
+
+        pushInlineDeployments(BUNDLE + ":OSGI-INF/commandline-concurrency-override-test-contrib.xml");
+        assertEquals(Integer.valueOf(4), CommandLineExecutorComponent.concurrencyLimits.get("sh"));
+    }
+
+    @Test
+    public void testOverrideRemovesLimit() throws Exception {
+        pushInlineDeployments(CONCURRENCY_CONTRIB,
+                BUNDLE + ":OSGI-INF/commandline-concurrency-unbounded-test-contrib.xml");
+        assertNull(CommandLineExecutorComponent.concurrencyLimits.get("sh"));
+    }
+
+    @Test
+    public void testUnregisterRemovesLimit() throws Exception {
+        pushInlineDeployments(CONCURRENCY_CONTRIB);
+        assertEquals(Integer.valueOf(2), CommandLineExecutorComponent.concurrencyLimits.get("sh"));
+
+        undeployContrib(CONCURRENCY_CONTRIB);
+        assertNull(CommandLineExecutorComponent.concurrencyLimits.get("sh"));
+    }
+
+    @Test
+    public void testResizeHeldPermits() throws Exception {
+        CommandLineExecutorComponent.ConcurrencyPermits permits = new CommandLineExecutorComponent.ConcurrencyPermits(
+                2);
+        permits.acquire(2);
+
+        // lowering the limit while the permits are held
+        permits.resize(1);
+        permits.release(2);
+        assertEquals(1, permits.availablePermits());
+
+        // raising it while one permit is held
+        assertTrue(permits.tryAcquire());
+        permits.resize(3);
+        assertEquals(2, permits.availablePermits());
+        permits.release();
+        assertEquals(3, permits.availablePermits());
+        assertTrue(permits.tryAcquire(3));
+        assertFalse(permits.tryAcquire());
+    }
+
+}
@@ -22,12 +22,19 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.junit.Test;
 import org.nuxeo.common.Environment;
@@ -36,8 +43,12 @@ import org.nuxeo.ecm.platform.commandline.executor.api.CommandLineExecutorServic
 import org.nuxeo.ecm.platform.commandline.executor.api.ExecResult;
 import org.nuxeo.ecm.platform.commandline.executor.service.executors.ShellExecutor;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.test.NXRuntimeTestCase;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 /**
  * Tests commands parsing.
  *
@@ -119,4 +130,45 @@ public class TestCommands extends NXRuntimeTestCase {
         assertEquals(expected, line);
     }
 
+    @Test
+    public void testCmdConcurrencyLimit() throws Exception {
+        assumeFalse("The counting command uses a POSIX shell", SystemUtils.IS_OS_WINDOWS);
+        CommandLineExecutorService cles = Framework.getService(CommandLineExecutorService.class);
+
+        pushInlineDeployments(
+                "org.nuxeo.ecm.platform.commandline.executor:OSGI-INF/commandline-concurrency-test-contrib.xml");
+
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        String queueTimer = MetricRegistry.name("nuxeo", "commandline", "boundedCount", "queue");
+        String execTimer = MetricRegistry.name("nuxeo", "commandline", "boundedCount", "exec");
+        long queued = registry.timer(queueTimer).getCount();
+        long executed = registry.timer(execTimer).getCount();
+
+        // each process outputs the number of processes running when it starts
+        File dir = Framework.createTempDirectory("testCmdConcurrencyLimit").toFile();
+        int maxConcurrency = 2;
+        int nbThreads = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            CmdParameters params = cles.getDefaultCmdParameters();
+            params.addNamedParameter("dir", dir);
+            List<Future<ExecResult>> futures = new ArrayList<>();
+            for (int i = 0; i < nbThreads; i++) {
+                futures.add(executor.submit(() -> cles.execCommand("boundedCount", params)));
+            }
+            int max = 0;
+            for (Future<ExecResult> future : futures) {
+                ExecResult result = future.get(30, TimeUnit.SECONDS);
+                assertTrue(result.isSuccessful());
+                max = Math.max(max, Integer.parseInt(String.join("", result.getOutput()).trim()));
+            }
+            assertTrue("Observed " + max + " concurrent processes", max >= 1 && max <= maxConcurrency);
+        } finally {
+            executor.shutdownNow();
+            FileUtils.deleteQuietly(dir);
+        }
+        assertEquals(queued + nbThreads, registry.timer(queueTimer).getCount());
+        assertEquals(executed + nbThreads, registry.timer(execTimer).getCount());
+    }
+
 }
@@ -18,8 +18,12 @@
  */
 package org.nuxeo.ecm.automation.core.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Map;
 
@@ -57,6 +61,13 @@ public class InvokableMethod implements Comparable<InvokableMethod> {
 
     protected Method method;
 
+    /**
+     * The method as a handle taking the target and, if any, the input as objects.
+     *
+     * @since 9.10
+     */
+    protected final MethodHandle handle;
+
     protected Class<?> produce;
 
     protected Class<?> consume;
@@ -76,6 +87,7 @@ public class InvokableMethod implements Comparable<InvokableMethod> {
         // }
         this.op = op;
         this.method = method;
+        handle = unreflect(method);
         priority = anno.priority();
         if (priority > 0) {
             priority += USER_PRIORITY;
@@ -91,6 +103,7 @@ public class InvokableMethod implements Comparable<InvokableMethod> {
         }
         this.op = op;
         this.method = method;
+        handle = unreflect(method);
         if (priority > 0) {
             priority += USER_PRIORITY;
         }
@@ -118,6 +131,27 @@ public class InvokableMethod implements Comparable<InvokableMethod> {
         }
     }
 
+    /**
+     * Builds a handle for the given method taking the target and its parameters as objects, so that it can be invoked
+     * without the access checks and argument array of {@link Method#invoke}.
+     *
+     * @since 9.10
+     */
+    protected static MethodHandle unreflect(Method method) {
+        MethodHandle mh;
+        try {
+            method.setAccessible(true);
+            mh = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new IllegalArgumentException("Cannot access operation method: " + method, e);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            // the target is ignored, as with Method#invoke
+            mh = MethodHandles.dropArguments(mh, 0, Object.class);
+        }
+        return mh.asType(MethodType.genericMethodType(mh.type().parameterCount()));
+    }
+
     public boolean isIterable() {
         return false;
     }
@@ -163,14 +197,23 @@ public class InvokableMethod implements Comparable<InvokableMethod> {
         Object input = ctx.getInput();
         if (consume == Void.TYPE) {
             // preserve last output for void methods
-            Object out = method.invoke(target);
+            Object out;
+            try {
+                out = handle.invokeExact(target);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
             return produce == Void.TYPE ? input : out;
         }
         if (input == null || !consume.isAssignableFrom(input.getClass())) {
             // try to adapt
             input = op.getService().getAdaptedValue(ctx, input, consume);
         }
-        return method.invoke(target, input);
+        try {
+            return handle.invokeExact(target, input);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
     }
 
     public Object invoke(OperationContext ctx, Map<String, Object> args) throws OperationException {
@@ -18,6 +18,9 @@
  */
 package org.nuxeo.ecm.automation.core.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URL;
@@ -93,6 +96,27 @@ public class OperationTypeImpl implements OperationType {
      */
     protected List<Field> injectableFields;
 
+    /**
+     * Injectors of the parameters, built once from the {@link #params} fields.
+     *
+     * @since 9.10
+     */
+    protected List<ParamInjector> paramInjectors;
+
+    /**
+     * Injectors of the context fields, built once from the {@link #injectableFields}.
+     *
+     * @since 9.10
+     */
+    protected List<FieldInjector> contextInjectors;
+
+    /**
+     * The no-argument constructor of the operation type, {@code null} if it cannot be accessed.
+     *
+     * @since 9.10
+     */
+    protected MethodHandle constructor;
+
     /**
      * The input type of a chain/operation. If set, the following input types {"document", "documents", "blob", "blobs"}
      * for all 'run method(s)' will handled. Other values will be adapted as java.lang.Object. If not set, Automation
@@ -133,8 +157,70 @@ public class OperationTypeImpl implements OperationType {
         params = new HashMap<>();
         methods = new ArrayList<>();
         injectableFields = new ArrayList<>();
+        paramInjectors = new ArrayList<>();
+        contextInjectors = new ArrayList<>();
         initMethods();
         initFields();
+        initConstructor();
+    }
+
+    /**
+     * Sets a field of an operation instance through a method handle resolved once.
+     *
+     * @since 9.10
+     */
+    protected static class FieldInjector {
+
+        protected final Field field;
+
+        protected final Class<?> type;
+
+        protected final MethodHandle setter;
+
+        protected FieldInjector(Field field) {
+            this.field = field;
+            type = field.getType();
+            try {
+                setter = MethodHandles.lookup()
+                                      .unreflectSetter(field)
+                                      .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot access operation field: " + field, e);
+            }
+        }
+
+        protected void set(Object target, Object value) throws OperationException {
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                // a setter only throws unchecked exceptions
+                throw new OperationException(t);
+            }
+        }
+    }
+
+    /**
+     * Injects a {@link Param} field, with its annotation attributes read once.
+     *
+     * @since 9.10
+     */
+    protected static class ParamInjector extends FieldInjector {
+
+        protected final String name;
+
+        protected final String[] aliases;
+
+        protected final boolean required;
+
+        protected ParamInjector(String name, Field field) {
+            super(field);
+            this.name = name;
+            Param param = field.getAnnotation(Param.class);
+            aliases = param.alias();
+            required = param.required();
+        }
     }
 
     static class Match implements Comparable<Match> {
@@ -209,20 +295,38 @@ public class OperationTypeImpl implements OperationType {
             if (param != null) {
                 field.setAccessible(true);
                 params.put(param.name(), field);
+                paramInjectors.add(new ParamInjector(param.name(), field));
             } else if (field.isAnnotationPresent(Context.class)) {
                 field.setAccessible(true);
                 injectableFields.add(field);
+                contextInjectors.add(new FieldInjector(field));
             }
         }
     }
 
+    /**
+     * @since 9.10
+     */
+    protected void initConstructor() {
+        try {
+            constructor = MethodHandles.lookup()
+                                       .findConstructor(type, MethodType.methodType(void.class))
+                                       .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            // not accessible, errors are reported by Class#newInstance at invocation time
+            constructor = null;
+        }
+    }
+
     @Override
     public Object newInstance(OperationContext ctx, Map<String, Object> args) throws OperationException {
         Object obj;
         try {
-            obj = type.newInstance();
-        } catch (ReflectiveOperationException e) {
-            throw new OperationException(e);
+            obj = constructor == null ? type.newInstance() : (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new OperationException(t);
         }
         inject(ctx, args, obj);
         return obj;
@@ -240,47 +344,33 @@ public class OperationTypeImpl implements OperationType {
     }
 
     public void inject(OperationContext ctx, Map<String, ?> args, Object target) throws OperationException {
-        for (Map.Entry<String, Field> entry : params.entrySet()) {
-            Object obj = resolveObject(ctx, entry.getKey(), args);
+        for (ParamInjector injector : paramInjectors) {
+            Object obj = resolveObject(ctx, injector.name, args);
             if (obj == null) {
                 // We did not resolve object according to its param name, let's
                 // check with potential alias
-                String[] entryAliases = entry.getValue().getAnnotation(Param.class).alias();
-                if (entryAliases != null) {
-                    for (String alias : entry.getValue().getAnnotation(Param.class).alias()) {
-                        obj = resolveObject(ctx, alias, args);
-                        if (obj != null) {
-                            break;
-                        }
+                for (String alias : injector.aliases) {
+                    obj = resolveObject(ctx, alias, args);
+                    if (obj != null) {
+                        break;
                     }
                 }
             }
             if (obj == null) {
-                if (entry.getValue().getAnnotation(Param.class).required()) {
-                    throw new OperationException("Failed to inject parameter '" + entry.getKey()
+                if (injector.required) {
+                    throw new OperationException("Failed to inject parameter '" + injector.name
                             + "'. Seems it is missing from the context. Operation: " + getId());
                 } // else do nothing
             } else {
-                Field field = entry.getValue();
-                Class<?> cl = obj.getClass();
-                if (!field.getType().isAssignableFrom(cl)) {
+                if (!injector.type.isAssignableFrom(obj.getClass())) {
                     // try to adapt
-                    obj = service.getAdaptedValue(ctx, obj, field.getType());
-                }
-                try {
-                    field.set(target, obj);
-                } catch (ReflectiveOperationException e) {
-                    throw new OperationException(e);
+                    obj = service.getAdaptedValue(ctx, obj, injector.type);
                 }
+                injector.set(target, obj);
             }
         }
-        for (Field field : injectableFields) {
-            Object obj = ctx.getAdapter(field.getType());
-            try {
-                field.set(target, obj);
-            } catch (ReflectiveOperationException e) {
-                throw new OperationException(e);
-            }
+        for (FieldInjector injector : contextInjectors) {
+            injector.set(target, ctx.getAdapter(injector.type));
         }
     }
 
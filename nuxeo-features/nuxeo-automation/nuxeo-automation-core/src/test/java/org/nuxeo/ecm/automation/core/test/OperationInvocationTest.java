@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.automation.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Inject;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.automation.AutomationService;
+import org.nuxeo.ecm.automation.OperationChain;
+import org.nuxeo.ecm.automation.OperationContext;
+import org.nuxeo.ecm.automation.core.impl.adapters.DocRefToDocModel;
+import org.nuxeo.ecm.automation.core.operations.document.SetDocumentProperty;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelList;
+import org.nuxeo.ecm.core.api.DocumentRefList;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.impl.DocumentModelListImpl;
+import org.nuxeo.ecm.core.api.impl.DocumentRefListImpl;
+import org.nuxeo.ecm.core.test.CoreFeature;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+@RunWith(FeaturesRunner.class)
+@Features(CoreFeature.class)
+@Deploy("org.nuxeo.ecm.automation.core")
+public class OperationInvocationTest {
+
+    protected static final String[] XPATHS = { "dc:title", "dc:description", "dc:source", "dc:rights", "dc:format" };
+
+    @Inject
+    AutomationService service;
+
+    @Inject
+    CoreSession session;
+
+    protected DocumentModelList createDocuments(int count) {
+        DocumentModelList docs = new DocumentModelListImpl();
+        for (int i = 0; i < count; i++) {
+            docs.add(session.createDocumentModel("/", "doc" + i, "File"));
+        }
+        return docs;
+    }
+
+    protected OperationChain createChain() {
+        OperationChain chain = new OperationChain("testChain");
+        for (String xpath : XPATHS) {
+            // save is adapted from a string to a primitive boolean
+            chain.add(SetDocumentProperty.ID).set("xpath", xpath).set("value", xpath).set("save", "false");
+        }
+        return chain;
+    }
+
+    @Test
+    public void testChainOverDocuments() throws Exception {
+        OperationContext ctx = new OperationContext(session);
+        ctx.setInput(createDocuments(10));
+        DocumentModelList out = (DocumentModelList) service.run(ctx, createChain());
+        assertEquals(10, out.size());
+        for (DocumentModel doc : out) {
+            for (String xpath : XPATHS) {
+                assertEquals(xpath, doc.getPropertyValue(xpath));
+            }
+        }
+    }
+
+    @Test
+    public void testInputAdapter() throws Exception {
+        DocumentModel doc = session.createDocument(session.createDocumentModel("/", "doc", "File"));
+        DocumentRefList refs = new DocumentRefListImpl();
+        refs.add(doc.getRef());
+        OperationContext ctx = new OperationContext(session);
+        ctx.setInput(refs);
+        OperationChain chain = new OperationChain("testChain");
+        chain.add(SetDocumentProperty.ID).set("xpath", "dc:title").set("value", "adapted");
+        DocumentModelList out = (DocumentModelList) service.run(ctx, chain);
+        assertEquals("adapted", out.get(0).getPropertyValue("dc:title"));
+
+        // the document references are adapted through the cached lookup of the adapter registry
+        assertTrue(service.getTypeAdapter(IdRef.class, DocumentModel.class) instanceof DocRefToDocModel);
+        assertNull(service.getTypeAdapter(Integer.class, DocumentModel.class));
+    }
+
+    @Ignore("for performance testing purpose")
+    @Test
+    public void testChainOverDocumentsPerf() throws Exception {
+        DocumentModelList docs = createDocuments(10_000);
+        OperationChain chain = createChain();
+        for (int i = 0; i < 10; i++) {
+            OperationContext ctx = new OperationContext(session);
+            ctx.setInput(docs);
+            long start = System.nanoTime();
+            service.run(ctx, chain);
+            long elapsed = System.nanoTime() - start;
+            System.err.println("5 steps chain over 10k documents: " + elapsed / 1_000_000 + " ms");
+        }
+    }
+
+}
@@ -47,12 +47,40 @@ public class AutomationScriptingComponent extends DefaultComponent {
         registry.scripting = service;
     }
 
+    /**
+     * @since 9.10
+     */
+    public static final String ENGINE_POOL_SIZE_PROPERTY = "nuxeo.automation.scripting.engine.pool.size";
+
+    /**
+     * @since 9.10
+     */
+    public static final String SCRIPT_CACHE_SIZE_PROPERTY = "nuxeo.automation.scripting.script.cache.size";
+
     @Override
     public void start(ComponentContext context) {
-        boolean inlinedContext = Framework.getService(ConfigurationService.class)
-                                          .isBooleanPropertyTrue("nuxeo.automation.scripting.inline-context-in-params");
+        ConfigurationService configurationService = Framework.getService(ConfigurationService.class);
+        boolean inlinedContext = configurationService.isBooleanPropertyTrue(
+                "nuxeo.automation.scripting.inline-context-in-params");
 
         service.paramsInjector = AutomationScriptingParamsInjector.newInstance(inlinedContext);
+        service.enginePoolSize = getIntProperty(configurationService, ENGINE_POOL_SIZE_PROPERTY,
+                AutomationScriptingServiceImpl.DEFAULT_ENGINE_POOL_SIZE);
+        service.scriptCacheSize = getIntProperty(configurationService, SCRIPT_CACHE_SIZE_PROPERTY,
+                AutomationScriptingServiceImpl.DEFAULT_SCRIPT_CACHE_SIZE);
+    }
+
+    protected int getIntProperty(ConfigurationService configurationService, String key, int defaultValue) {
+        String value = configurationService.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.error("Invalid value for " + key + ": " + value + ", using " + defaultValue);
+            return defaultValue;
+        }
     }
 
     @Override
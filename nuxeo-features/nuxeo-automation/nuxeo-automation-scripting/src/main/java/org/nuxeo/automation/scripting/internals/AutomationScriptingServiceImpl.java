@@ -25,11 +25,17 @@ import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.NA
 import static org.nuxeo.automation.scripting.api.AutomationScriptingConstants.NASHORN_WARN_CLASS_FILTER;
 import static org.nuxeo.launcher.config.ConfigurationGenerator.checkJavaVersion;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.script.Compilable;
@@ -38,6 +44,9 @@ import javax.script.Invocable;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.nuxeo.automation.scripting.api.AutomationScriptingService;
@@ -45,16 +54,66 @@ import org.nuxeo.ecm.automation.OperationContext;
 import org.nuxeo.ecm.core.api.CoreSession;
 import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
 import jdk.nashorn.api.scripting.ClassFilter;
 import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
 import jdk.nashorn.api.scripting.ScriptObjectMirror;
 
 public class AutomationScriptingServiceImpl implements AutomationScriptingService {
 
+    /**
+     * Default maximum number of idle script engines kept for reuse.
+     *
+     * @since 9.10
+     */
+    public static final int DEFAULT_ENGINE_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Default maximum number of compiled scripts kept by each script engine.
+     *
+     * @since 9.10
+     */
+    public static final int DEFAULT_SCRIPT_CACHE_SIZE = 200;
+
     private final Supplier<ScriptEngine> supplier = new Factory().supplier;
 
     protected AutomationScriptingParamsInjector paramsInjector;
 
+    /**
+     * @since 9.10
+     */
+    protected int enginePoolSize = DEFAULT_ENGINE_POOL_SIZE;
+
+    /**
+     * @since 9.10
+     */
+    protected int scriptCacheSize = DEFAULT_SCRIPT_CACHE_SIZE;
+
+    /**
+     * Idle script engines, each one being used by a single session at a time.
+     *
+     * @since 9.10
+     */
+    protected final Deque<PooledEngine> idleEngines = new ConcurrentLinkedDeque<>();
+
+    protected final AtomicInteger idleEngineCount = new AtomicInteger();
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final Timer compileTimer = registry.timer(
+            MetricRegistry.name("nuxeo", "automation", "scripting", "compile"));
+
+    protected final Timer evalTimer = registry.timer(MetricRegistry.name("nuxeo", "automation", "scripting", "eval"));
+
+    protected final Counter engineCounter = registry.counter(
+            MetricRegistry.name("nuxeo", "automation", "scripting", "engines"));
+
     @Override
     public Session get(CoreSession session) {
         return get(new OperationContext(session));
@@ -65,18 +124,96 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
         return new Bridge(context);
     }
 
+    protected PooledEngine borrowEngine() {
+        PooledEngine engine = idleEngines.pollFirst();
+        if (engine == null) {
+            engineCounter.inc();
+            return new PooledEngine(supplier.get());
+        }
+        idleEngineCount.decrementAndGet();
+        return engine;
+    }
+
+    protected void returnEngine(PooledEngine engine) {
+        if (idleEngineCount.incrementAndGet() > enginePoolSize) {
+            idleEngineCount.decrementAndGet();
+            return;
+        }
+        idleEngines.offerFirst(engine);
+    }
+
+    /**
+     * A script engine with the scripts it already compiled.
+     *
+     * @since 9.10
+     */
+    class PooledEngine {
+
+        final ScriptEngine engine;
+
+        final Map<String, CompiledScript> scripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                return size() > scriptCacheSize;
+            }
+        };
+
+        String mapperSource;
+
+        CompiledScript mapperScript;
+
+        PooledEngine(ScriptEngine engine) {
+            this.engine = engine;
+        }
+
+        /**
+         * Gets the mapper script, compiled again only when the registered operations have changed.
+         */
+        CompiledScript getMapperScript() {
+            String source = new AutomationMapper.ScriptBuilder().source();
+            if (!source.equals(mapperSource)) {
+                try {
+                    mapperScript = compile(source);
+                } catch (ScriptException cause) {
+                    throw new NuxeoException("Cannot compile mapper initialization script", cause);
+                }
+                mapperSource = source;
+            }
+            return mapperScript;
+        }
+
+        /**
+         * Gets the compiled version of the given script, keyed by its content.
+         */
+        CompiledScript getScript(String source) throws ScriptException {
+            CompiledScript script = scripts.get(source);
+            if (script == null) {
+                script = compile(source);
+                scripts.put(source, script);
+            }
+            return script;
+        }
 
-    final ScriptEngine engine = supplier.get();
+        CompiledScript compile(String source) throws ScriptException {
+            try (Timer.Context ignored = compileTimer.time()) {
+                return ((Compilable) engine).compile(source);
+            }
+        }
+    }
 
     class Bridge implements Session {
 
-        final CompiledScript mapperScript = AutomationMapper.compile((Compilable) engine);
+        final PooledEngine pooledEngine = borrowEngine();
+
+        final ScriptEngine engine = pooledEngine.engine;
 
         final Compilable compilable = ((Compilable) engine);
 
         final Invocable invocable = ((Invocable) engine);
 
-        final ScriptContext scriptContext = engine.getContext();
+        final ScriptContext scriptContext = new SimpleScriptContext();
 
         final AutomationMapper mapper;
 
@@ -84,12 +221,17 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
 
         Bridge(OperationContext operationContext) {
             mapper = new AutomationMapper(operationContext);
-            try {
+            CompiledScript mapperScript = pooledEngine.getMapperScript();
+            try (Timer.Context ignored = evalTimer.time()) {
                 mapperScript.eval(mapper);
             } catch (ScriptException cause) {
                 throw new NuxeoException("Cannot execute mapper " + mapperScript, cause);
             }
             global = (ScriptObjectMirror) mapper.get("nashorn.global");
+            // each session has its own context instead of changing the one of the engine
+            ScriptContext engineContext = engine.getContext();
+            scriptContext.setBindings(engineContext.getBindings(ScriptContext.GLOBAL_SCOPE),
+                    ScriptContext.GLOBAL_SCOPE);
             scriptContext.setBindings(mapper, ScriptContext.ENGINE_SCOPE);
         }
 
@@ -105,7 +247,10 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
 
                         @Override
                         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                            return mapper.unwrap(method.invoke(handle, mapper.wrap(args[0]), mapper.wrap(args[1])));
+                            try (Timer.Context ignored = evalTimer.time()) {
+                                return mapper.unwrap(
+                                        method.invoke(handle, mapper.wrap(args[0]), mapper.wrap(args[1])));
+                            }
                         }
                     }));
         }
@@ -113,8 +258,11 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
         @Override
         public Object run(InputStream input) {
             try {
-                return mapper.unwrap(engine.eval(new InputStreamReader(input), mapper));
-            } catch (ScriptException cause) {
+                CompiledScript script = pooledEngine.getScript(IOUtils.toString(input, StandardCharsets.UTF_8));
+                try (Timer.Context ignored = evalTimer.time()) {
+                    return mapper.unwrap(script.eval(scriptContext));
+                }
+            } catch (ScriptException | IOException cause) {
                 throw new NuxeoException("Cannot evaluate automation script", cause);
             }
         }
@@ -139,7 +287,11 @@ public class AutomationScriptingServiceImpl implements AutomationScriptingServic
 
         @Override
         public void close() throws Exception {
-            mapper.flush();
+            try {
+                mapper.flush();
+            } finally {
+                returnEngine(pooledEngine);
+            }
         }
     }
 
@@ -0,0 +1,100 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.automation.scripting.internals;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import javax.inject.Inject;
+import javax.script.ScriptEngine;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.automation.scripting.AutomationScriptingFeature;
+import org.nuxeo.automation.scripting.api.AutomationScriptingService;
+import org.nuxeo.automation.scripting.api.AutomationScriptingService.Session;
+import org.nuxeo.ecm.automation.AutomationService;
+import org.nuxeo.ecm.automation.OperationContext;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+
+@RunWith(FeaturesRunner.class)
+@Features(AutomationScriptingFeature.class)
+public class TestScriptingEnginePool {
+
+    @Inject
+    protected CoreSession session;
+
+    @Inject
+    protected AutomationScriptingService scripting;
+
+    @Inject
+    protected AutomationService automationService;
+
+    protected static InputStream toStream(String script) {
+        return new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEnginesAndScriptsAreReused() throws Exception {
+        AutomationScriptingServiceImpl service = (AutomationScriptingServiceImpl) scripting;
+        String script = "var answer = 'forty' + 'two'; answer;";
+
+        ScriptEngine engine;
+        try (Session first = scripting.get(session)) {
+            engine = first.adapt(ScriptEngine.class);
+            assertEquals("fortytwo", first.run(toStream(script)));
+            // concurrent sessions don't share their engine
+            try (Session second = scripting.get(session)) {
+                assertNotSame(engine, second.adapt(ScriptEngine.class));
+            }
+        }
+
+        long compiled = service.compileTimer.getCount();
+        try (Session session2 = scripting.get(session)) {
+            assertSame(engine, session2.adapt(ScriptEngine.class));
+            assertEquals("fortytwo", session2.run(toStream(script)));
+        }
+        // neither the mapper nor the script were compiled again
+        assertEquals(compiled, service.compileTimer.getCount());
+    }
+
+    @Ignore("for performance testing purpose")
+    @Test
+    public void testScriptedOperationPerf() throws Exception {
+        OperationContext ctx = new OperationContext(session);
+        int iterations = 100_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            ctx.setInput("John");
+            automationService.run(ctx, "Scripting.HelloWorld", Collections.singletonMap("lang", "en"));
+        }
+        long elapsed = System.nanoTime() - start;
+        System.err.println("Scripted operation: " + elapsed / iterations + " ns/op");
+    }
+
+}
@@ -24,6 +24,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -264,10 +267,12 @@ public class BatchFileEntry {
                 BatchManager bm = Framework.getService(BatchManager.class);
                 // Sort chunk indexes and concatenate them to build the entire blob
                 List<Integer> sortedChunkIndexes = getOrderedChunkIndexes();
-                for (int index : sortedChunkIndexes) {
-                    Blob chunk = getChunk(transientStore, chunks.get(index));
-                    if (chunk != null) {
-                        transferTo(chunk, tmpChunkedFile);
+                try (FileChannel out = FileChannel.open(tmpChunkedFile.toPath(), StandardOpenOption.WRITE)) {
+                    for (int index : sortedChunkIndexes) {
+                        Blob chunk = getChunk(transientStore, chunks.get(index));
+                        if (chunk != null) {
+                            transferTo(chunk, out);
+                        }
                     }
                 }
                 // Store tmpChunkedFile as a parameter for later deletion
@@ -295,9 +300,37 @@ public class BatchFileEntry {
         return blobs.get(0);
     }
 
+    /**
+     * Appends the given blob to the given channel, at its current position.
+     * <p>
+     * When the blob is backed by a file, the bytes are transferred by the file system without being copied through
+     * the heap.
+     *
+     * @since 9.10
+     */
+    protected void transferTo(Blob blob, FileChannel out) throws IOException {
+        File file = blob.getFile();
+        if (file == null) {
+            try (InputStream in = blob.getStream()) {
+                IOUtils.copy(in, Channels.newOutputStream(out));
+            }
+            return;
+        }
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
     /**
      * Appends the given blob to the given file.
+     *
+     * @deprecated since 9.10, use {@link #transferTo(Blob, FileChannel)} instead
      */
+    @Deprecated
     protected void transferTo(Blob blob, File file) throws IOException {
         try (OutputStream out = new FileOutputStream(file, true)) {
             try (InputStream in = blob.getStream()) {
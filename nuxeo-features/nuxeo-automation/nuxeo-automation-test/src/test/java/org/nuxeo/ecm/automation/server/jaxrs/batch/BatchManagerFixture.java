@@ -41,7 +41,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.collections.ListUtils;
+import org.apache.commons.io.input.NullInputStream;
 import org.junit.Assert;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.nuxeo.ecm.core.api.Blob;
@@ -257,6 +259,29 @@ public class BatchManagerFixture {
         assertEquals(0, tsm.getStorageSize());
     }
 
+    @Ignore("for performance testing purpose")
+    @Test
+    public void testAddChunkStreamPerf() throws IOException {
+        BatchManager bm = Framework.getService(BatchManager.class);
+        String batchId = bm.initBatch();
+        // 5 GB in 50 chunks
+        int chunkCount = 50;
+        long chunkSize = 100L * 1024 * 1024;
+        long fileSize = chunkCount * chunkSize;
+        long start = System.nanoTime();
+        for (int i = 0; i < chunkCount; i++) {
+            bm.addStream(batchId, "0", new NullInputStream(chunkSize), chunkCount, i, "big.bin",
+                    "application/octet-stream", fileSize);
+        }
+        long uploaded = System.nanoTime();
+        Blob blob = bm.getBlob(batchId, "0");
+        long assembled = System.nanoTime();
+        assertEquals(fileSize, blob.getLength());
+        System.err.println(String.format("Upload: %d MB/s, assembly: %d MB/s",
+                fileSize * 1000 / (uploaded - start), fileSize * 1000 / (assembled - uploaded)));
+        bm.clean(batchId);
+    }
+
     @Test
     public void testBatchCleanup() throws IOException {
         BatchManager bm = Framework.getService(BatchManager.class);
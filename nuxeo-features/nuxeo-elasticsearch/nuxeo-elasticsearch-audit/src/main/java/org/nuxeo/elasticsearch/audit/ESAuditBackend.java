@@ -129,6 +129,11 @@ public class ESAuditBackend extends AbstractAuditBackend implements AuditBackend
 
     public static final int MIGRATION_DEFAULT_BACTH_SIZE = 1000;
 
+    /**
+     * @since 9.10
+     */
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     protected CursorService<Iterator<SearchHit>, SearchHit, String> cursorService;
 
     public ESAuditBackend(NXAuditEventsService component, AuditBackendDescriptor config) {
@@ -337,10 +342,9 @@ public class ESAuditBackend extends AbstractAuditBackend implements AuditBackend
 
     protected List<LogEntry> buildLogEntries(SearchResponse searchResponse) {
         List<LogEntry> entries = new ArrayList<>(searchResponse.getHits().getHits().length);
-        ObjectMapper mapper = new ObjectMapper();
         for (SearchHit hit : searchResponse.getHits()) {
             try {
-                entries.add(mapper.readValue(hit.getSourceAsString(), LogEntryImpl.class));
+                entries.add(OBJECT_MAPPER.readValue(hit.getSourceAsString(), LogEntryImpl.class));
             } catch (IOException e) {
                 log.error("Error while reading Audit Entry from ES", e);
             }
@@ -361,7 +365,7 @@ public class ESAuditBackend extends AbstractAuditBackend implements AuditBackend
             return null;
         }
         try {
-            return new ObjectMapper().readValue(ret.getSourceAsString(), LogEntryImpl.class);
+            return OBJECT_MAPPER.readValue(ret.getSourceAsString(), LogEntryImpl.class);
         } catch (IOException e) {
             throw new NuxeoException("Unable to read Entry for id " + id, e);
         }
@@ -478,7 +482,7 @@ public class ESAuditBackend extends AbstractAuditBackend implements AuditBackend
         }
 
         BulkRequest bulkRequest = new BulkRequest();
-        JsonFactory factory = new JsonFactory();
+        JsonFactory factory = OBJECT_MAPPER.getFactory();
 
         UIDGeneratorService uidGeneratorService = Framework.getService(UIDGeneratorService.class);
         UIDSequencer seq = uidGeneratorService.getSequencer();
@@ -494,8 +498,7 @@ public class ESAuditBackend extends AbstractAuditBackend implements AuditBackend
                 OutputStream out = new BytesStreamOutput();
                 JsonGenerator jsonGen = factory.createGenerator(out);
                 XContentBuilder builder = jsonBuilder(out);
-                ObjectMapper mapper = new ObjectMapper();
-                mapper.writeValue(jsonGen, entry);
+                OBJECT_MAPPER.writeValue(jsonGen, entry);
                 bulkRequest.add(new IndexRequest(getESIndexName(), ElasticSearchConstants.ENTRY_TYPE,
                         String.valueOf(entry.getId())).source(builder));
             }
@@ -108,6 +108,9 @@ public class LogEntryImpl implements LogEntry {
     private Map<String, ExtendedInfoImpl> extendedInfos = new HashMap<String, ExtendedInfoImpl>();
 
     /**
+     * The identifier is generated by the database. With an identity column (MySQL, SQL Server), Hibernate cannot batch
+     * the inserts of the log entries and ignores {@code hibernate.jdbc.batch_size}.
+     *
      * @return the log identifier
      */
     @Override
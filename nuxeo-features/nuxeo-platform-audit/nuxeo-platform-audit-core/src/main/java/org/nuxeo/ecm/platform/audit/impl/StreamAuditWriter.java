@@ -18,14 +18,15 @@
  */
 package org.nuxeo.ecm.platform.audit.impl;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.nuxeo.ecm.platform.audit.listener.StreamAuditEventListener.STREAM_NAME;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,13 +37,24 @@ import org.nuxeo.lib.stream.computation.AbstractComputation;
 import org.nuxeo.lib.stream.computation.ComputationContext;
 import org.nuxeo.lib.stream.computation.Record;
 import org.nuxeo.lib.stream.computation.Topology;
+import org.nuxeo.lib.stream.computation.Watermark;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.stream.StreamProcessorTopology;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 /**
  * Computation that consumes a stream of log entries and write them to the audit backend.
+ * <p>
+ * Entries are written by batches, a batch being flushed when it reaches {@value #BATCH_SIZE_OPT} entries or
+ * {@value #BATCH_SIZE_BYTES_OPT} bytes, or when its oldest entry has been waiting for {@value #BATCH_THRESHOLD_MS_OPT}
+ * milliseconds. The time between an event and the persistence of its entry is reported by the
+ * {@code nuxeo.audit.stream.lag} timer.
  *
  * @since 9.3
  */
@@ -53,41 +65,77 @@ public class StreamAuditWriter implements StreamProcessorTopology {
 
     public static final String BATCH_SIZE_OPT = "batchSize";
 
+    /**
+     * @since 9.10
+     */
+    public static final String BATCH_SIZE_BYTES_OPT = "batchSizeBytes";
+
     public static final String BATCH_THRESHOLD_MS_OPT = "batchThresholdMs";
 
-    public static final int DEFAULT_BATCH_SIZE = 10;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * @since 9.10
+     */
+    public static final int DEFAULT_BATCH_SIZE_BYTES = 1024 * 1024;
 
     public static final int DEFAULT_BATCH_THRESHOLD_MS = 200;
 
+    protected static final ObjectReader LOG_ENTRY_READER = new ObjectMapper().readerFor(LogEntryImpl.class);
+
     @Override
     public Topology getTopology(Map<String, String> options) {
         int batchSize = getOptionAsInteger(options, BATCH_SIZE_OPT, DEFAULT_BATCH_SIZE);
+        int batchSizeBytes = getOptionAsInteger(options, BATCH_SIZE_BYTES_OPT, DEFAULT_BATCH_SIZE_BYTES);
         int batchThresholdMs = getOptionAsInteger(options, BATCH_THRESHOLD_MS_OPT, DEFAULT_BATCH_THRESHOLD_MS);
         return Topology.builder()
-                       .addComputation(
-                               () -> new AuditLogWriterComputation(COMPUTATION_NAME, batchSize, batchThresholdMs),
-                               Collections.singletonList("i1:" + STREAM_NAME))
+                       .addComputation(() -> new AuditLogWriterComputation(COMPUTATION_NAME, batchSize,
+                               batchSizeBytes, batchThresholdMs), Collections.singletonList("i1:" + STREAM_NAME))
                        .build();
     }
 
     public static class AuditLogWriterComputation extends AbstractComputation {
         protected final int batchSize;
 
+        protected final int batchSizeBytes;
+
         protected final int batchThresholdMs;
 
         protected final List<LogEntry> logEntries;
 
+        protected final List<Long> eventTimestamps;
+
+        protected int batchBytes;
+
+        protected long batchStart;
+
+        protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+        protected final Timer lagTimer = registry.timer(MetricRegistry.name("nuxeo", "audit", "stream", "lag"));
+
+        protected final Timer writeTimer = registry.timer(MetricRegistry.name("nuxeo", "audit", "stream", "write"));
+
         public AuditLogWriterComputation(String name, int batchSize, int batchThresholdMs) {
+            this(name, batchSize, DEFAULT_BATCH_SIZE_BYTES, batchThresholdMs);
+        }
+
+        /**
+         * @since 9.10
+         */
+        public AuditLogWriterComputation(String name, int batchSize, int batchSizeBytes, int batchThresholdMs) {
             super(name, 1, 0);
             this.batchSize = batchSize;
+            this.batchSizeBytes = batchSizeBytes;
             this.batchThresholdMs = batchThresholdMs;
             logEntries = new ArrayList<>(batchSize);
+            eventTimestamps = new ArrayList<>(batchSize);
         }
 
         @Override
         public void init(ComputationContext context) {
-            log.debug(String.format("Starting computation: %s reading on: %s, batch size: %d, threshold: %dms",
-                    COMPUTATION_NAME, STREAM_NAME, batchSize, batchThresholdMs));
+            log.debug(String.format(
+                    "Starting computation: %s reading on: %s, batch size: %d, batch bytes: %d, threshold: %dms",
+                    COMPUTATION_NAME, STREAM_NAME, batchSize, batchSizeBytes, batchThresholdMs));
             context.setTimer("batch", System.currentTimeMillis() + batchThresholdMs);
         }
 
@@ -105,7 +153,13 @@ public class StreamAuditWriter implements StreamProcessorTopology {
                 log.error("Discard invalid record: " + record, e);
                 return;
             }
-            if (logEntries.size() >= batchSize) {
+            eventTimestamps.add(Long.valueOf(Watermark.ofValue(record.watermark).getTimestamp()));
+            if (logEntries.size() == 1) {
+                batchStart = System.currentTimeMillis();
+            }
+            batchBytes += record.data.length;
+            if (logEntries.size() >= batchSize || batchBytes >= batchSizeBytes
+                    || System.currentTimeMillis() - batchStart >= batchThresholdMs) {
                 writeEntriesToAudit(context);
             }
         }
@@ -121,24 +175,28 @@ public class StreamAuditWriter implements StreamProcessorTopology {
                 return;
             }
             if (log.isDebugEnabled()) {
-                log.debug(String.format("Writing %d log entries to audit backend.", logEntries.size()));
+                log.debug(String.format("Writing %d log entries (%d bytes) to audit backend.", logEntries.size(),
+                        batchBytes));
             }
             AuditLogger logger = Framework.getService(AuditLogger.class);
-            logger.addLogEntries(logEntries);
+            try (Timer.Context ignored = writeTimer.time()) {
+                logger.addLogEntries(logEntries);
+            }
+            long now = System.currentTimeMillis();
+            for (Long timestamp : eventTimestamps) {
+                lagTimer.update(Math.max(0, now - timestamp.longValue()), TimeUnit.MILLISECONDS);
+            }
             logEntries.clear();
+            eventTimestamps.clear();
+            batchBytes = 0;
             context.askForCheckpoint();
         }
 
         protected LogEntry getLogEntryFromJson(byte[] data) {
-            String json = "";
             try {
-                json = new String(data, "UTF-8");
-                ObjectMapper mapper = new ObjectMapper();
-                return mapper.readValue(json, LogEntryImpl.class);
-            } catch (UnsupportedEncodingException e) {
-                throw new NuxeoException("Discard log entry, invalid byte array", e);
+                return LOG_ENTRY_READER.readValue(data);
             } catch (IOException e) {
-                throw new NuxeoException("Invalid json logEntry" + json, e);
+                throw new NuxeoException("Invalid json logEntry" + new String(data, UTF_8), e);
             }
         }
     }
@@ -0,0 +1,40 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.audit.io;
+
+import static org.nuxeo.ecm.core.io.registry.reflect.Instantiations.SINGLETON;
+import static org.nuxeo.ecm.core.io.registry.reflect.Priorities.REFERENCE;
+
+import org.nuxeo.ecm.core.io.marshallers.json.DefaultIteratorJsonWriter;
+import org.nuxeo.ecm.core.io.registry.reflect.Setup;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+
+/**
+ * Streams log entries in the format of {@link LogEntryListJsonWriter}, see {@link DefaultIteratorJsonWriter}.
+ *
+ * @since 9.10
+ */
+@Setup(mode = SINGLETON, priority = REFERENCE)
+public class LogEntryIteratorJsonWriter extends DefaultIteratorJsonWriter<LogEntry> {
+
+    public LogEntryIteratorJsonWriter() {
+        super(LogEntryListJsonWriter.ENTITY_TYPE, LogEntry.class);
+    }
+
+}
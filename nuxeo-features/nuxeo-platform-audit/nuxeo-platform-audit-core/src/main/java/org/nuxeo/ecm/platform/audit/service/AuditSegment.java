@@ -0,0 +1,524 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.audit.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_DOC_UUID;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_EVENT_DATE;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_EVENT_ID;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_ID;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.Blob;
+import org.nuxeo.ecm.core.api.Blobs;
+import org.nuxeo.ecm.core.blob.BlobInfo;
+import org.nuxeo.ecm.core.blob.BlobManager;
+import org.nuxeo.ecm.core.blob.BlobProvider;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+import org.nuxeo.ecm.platform.audit.impl.LogEntryImpl;
+import org.nuxeo.runtime.api.Framework;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Append-only segment of a {@link SegmentAuditBackend}, holding the audit entries of one time partition.
+ * <p>
+ * Entries are stored as GZIP compressed JSON lines, each append being written as a new GZIP member at the end of the
+ * file so that existing data is never rewritten. The segment index keeps the event date and id ranges, and the
+ * document ids and event ids present in the segment, so that queries can skip the segments that cannot match.
+ * <p>
+ * A segment can be archived to a blob provider, in which case its local data file is removed and its entries are read
+ * back from the blob. Entries appended afterwards go to a new local data file, read after the archived ones.
+ * <p>
+ * The index is guarded by the segment monitor, like the writes that update it. Reads only hold it to open the data,
+ * bounded to its current length, so that entries are decoded without blocking the appends.
+ *
+ * @since 9.10
+ */
+public class AuditSegment {
+
+    private static final Log log = LogFactory.getLog(AuditSegment.class);
+
+    public static final String DATA_SUFFIX = ".log.gz";
+
+    public static final String INDEX_SUFFIX = ".idx";
+
+    protected static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    protected final String partition;
+
+    protected final Path dataFile;
+
+    protected final Path indexFile;
+
+    protected long count;
+
+    protected long minEventDate = Long.MAX_VALUE;
+
+    protected long maxEventDate = Long.MIN_VALUE;
+
+    protected long minId = Long.MAX_VALUE;
+
+    protected long maxId = Long.MIN_VALUE;
+
+    protected final Set<String> docUUIDs = new HashSet<>();
+
+    protected final Set<String> eventIds = new HashSet<>();
+
+    protected String archiveProvider;
+
+    protected String archiveKey;
+
+    protected boolean dirty;
+
+    public AuditSegment(Path directory, String partition) {
+        this.partition = partition;
+        dataFile = directory.resolve(partition + DATA_SUFFIX);
+        indexFile = directory.resolve(partition + INDEX_SUFFIX);
+    }
+
+    /**
+     * Loads the segment of the given partition, from its index file if it is up to date, otherwise by scanning its
+     * entries.
+     */
+    public static AuditSegment load(Path directory, String partition) throws IOException {
+        AuditSegment segment = new AuditSegment(directory, partition);
+        if (Files.exists(segment.indexFile)) {
+            segment.readIndex();
+        }
+        if (Files.exists(segment.dataFile) && (!Files.exists(segment.indexFile)
+                || Files.getLastModifiedTime(segment.dataFile).compareTo(
+                        Files.getLastModifiedTime(segment.indexFile)) > 0)) {
+            // index is missing or stale, the node was not stopped cleanly
+            segment.reindex();
+        }
+        return segment;
+    }
+
+    public String getPartition() {
+        return partition;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getMaxId() {
+        return maxId;
+    }
+
+    public synchronized boolean isArchived() {
+        return archiveKey != null;
+    }
+
+    public boolean hasLocalData() {
+        return Files.exists(dataFile);
+    }
+
+    public synchronized boolean containsEventId(String eventId) {
+        return eventIds.contains(eventId);
+    }
+
+    /**
+     * Appends the given entries at the end of the segment.
+     */
+    public synchronized void append(Collection<LogEntry> entries) throws IOException {
+        try (OutputStream out = Files.newOutputStream(dataFile, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            write(entries, out);
+        }
+        entries.forEach(this::index);
+        dirty = true;
+    }
+
+    /**
+     * Reads all the entries of the segment, archived ones first.
+     */
+    public List<LogEntry> read() throws IOException {
+        try (Stream<LogEntry> entries = stream()) {
+            return entries.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams the entries of the segment, archived ones first, as they are decoded.
+     * <p>
+     * The stream reads the segment data as it was when this method was called and must be closed.
+     */
+    public Stream<LogEntry> stream() throws IOException {
+        InputStream in;
+        synchronized (this) {
+            in = openStream();
+        }
+        if (in == null) {
+            return Stream.empty();
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+        Iterator<LogEntry> iterator = new EntryIterator(reader);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                            .onClose(() -> {
+                                try {
+                                    reader.close();
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+    }
+
+    /**
+     * Removes the entries matching the given filter, rewriting the segment locally.
+     *
+     * @return the number of removed entries
+     */
+    public synchronized int remove(java.util.function.Predicate<LogEntry> filter) throws IOException {
+        List<LogEntry> entries = read();
+        List<LogEntry> kept = new ArrayList<>(entries.size());
+        for (LogEntry entry : entries) {
+            if (!filter.test(entry)) {
+                kept.add(entry);
+            }
+        }
+        int removed = entries.size() - kept.size();
+        if (removed == 0) {
+            return 0;
+        }
+        Path tmp = Files.createTempFile(dataFile.getParent(), partition, DATA_SUFFIX);
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            write(kept, out);
+        }
+        Files.move(tmp, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // the previous archive, if any, is left to the blob garbage collection
+        archiveProvider = null;
+        archiveKey = null;
+        clearIndex();
+        kept.forEach(this::index);
+        dirty = true;
+        saveIndex();
+        return removed;
+    }
+
+    /**
+     * Moves the segment data to the given blob provider and removes the local data file.
+     */
+    public synchronized void archive(String providerId) throws IOException {
+        BlobProvider provider = getBlobProvider(providerId);
+        Path tmp = Files.createTempFile(dataFile.getParent(), partition, DATA_SUFFIX);
+        try {
+            // re-encode the entries as a single GZIP member, blob streams may not detect the following members
+            try (Stream<LogEntry> entries = stream(); OutputStream out = Files.newOutputStream(tmp)) {
+                write(entries::iterator, out);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Blob blob = Blobs.createBlob(tmp.toFile(), "application/gzip", null, partition + DATA_SUFFIX);
+            archiveKey = provider.writeBlob(blob);
+            archiveProvider = providerId;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        dirty = true;
+        saveIndex();
+        Files.deleteIfExists(dataFile);
+    }
+
+    /**
+     * Checks whether an entry of this segment may match the given condition, using the segment index.
+     *
+     * @param name the entry field name
+     * @param operator the condition operator
+     * @param value the normalized condition value, see {@link SegmentAuditBackend#normalize}
+     */
+    public synchronized boolean mayMatch(String name, Operator operator, Object value) {
+        if (count == 0) {
+            return false;
+        }
+        switch (name) {
+        case LOG_EVENT_DATE:
+            return mayMatchRange(minEventDate, maxEventDate, operator, value);
+        case LOG_ID:
+            return mayMatchRange(minId, maxId, operator, value);
+        case LOG_DOC_UUID:
+            return mayContain(docUUIDs, operator, value);
+        case LOG_EVENT_ID:
+            return mayContain(eventIds, operator, value);
+        default:
+            return true;
+        }
+    }
+
+    protected static boolean mayMatchRange(long min, long max, Operator operator, Object value) {
+        if (Operator.IN.equals(operator) && value instanceof List) {
+            return ((List<?>) value).stream().anyMatch(v -> mayMatchRange(min, max, Operator.EQ, v));
+        }
+        if (!(value instanceof Long)) {
+            return true;
+        }
+        long v = ((Long) value).longValue();
+        if (min > max) {
+            // no value in this segment
+            return Operator.NOTEQ.equals(operator);
+        } else if (Operator.EQ.equals(operator)) {
+            return min <= v && v <= max;
+        } else if (Operator.LT.equals(operator)) {
+            return min < v;
+        } else if (Operator.LTEQ.equals(operator)) {
+            return min <= v;
+        } else if (Operator.GT.equals(operator)) {
+            return max > v;
+        } else if (Operator.GTEQ.equals(operator)) {
+            return max >= v;
+        }
+        return true;
+    }
+
+    protected static boolean mayContain(Set<String> values, Operator operator, Object value) {
+        if (Operator.EQ.equals(operator)) {
+            return values.contains(String.valueOf(value));
+        } else if (Operator.IN.equals(operator) && value instanceof List) {
+            return ((List<?>) value).stream().map(String::valueOf).anyMatch(values::contains);
+        }
+        return true;
+    }
+
+    protected void index(LogEntry entry) {
+        count++;
+        if (entry.getEventDate() != null) {
+            long time = entry.getEventDate().getTime();
+            minEventDate = Math.min(minEventDate, time);
+            maxEventDate = Math.max(maxEventDate, time);
+        }
+        minId = Math.min(minId, entry.getId());
+        maxId = Math.max(maxId, entry.getId());
+        if (entry.getDocUUID() != null) {
+            docUUIDs.add(entry.getDocUUID());
+        }
+        if (entry.getEventId() != null) {
+            eventIds.add(entry.getEventId());
+        }
+    }
+
+    protected void clearIndex() {
+        count = 0;
+        minEventDate = Long.MAX_VALUE;
+        maxEventDate = Long.MIN_VALUE;
+        minId = Long.MAX_VALUE;
+        maxId = Long.MIN_VALUE;
+        docUUIDs.clear();
+        eventIds.clear();
+    }
+
+    protected synchronized void reindex() throws IOException {
+        List<LogEntry> entries = read();
+        clearIndex();
+        entries.forEach(this::index);
+        dirty = true;
+    }
+
+    protected void readIndex() throws IOException {
+        JsonNode node = OBJECT_MAPPER.readTree(indexFile.toFile());
+        count = node.get("count").asLong();
+        minEventDate = node.get("minEventDate").asLong();
+        maxEventDate = node.get("maxEventDate").asLong();
+        minId = node.get("minId").asLong();
+        maxId = node.get("maxId").asLong();
+        node.get("docUUIDs").forEach(n -> docUUIDs.add(n.asText()));
+        node.get("eventIds").forEach(n -> eventIds.add(n.asText()));
+        if (node.hasNonNull("archiveKey")) {
+            archiveProvider = node.get("archiveProvider").asText();
+            archiveKey = node.get("archiveKey").asText();
+        }
+    }
+
+    /**
+     * Persists the segment index if it changed since it was last saved.
+     */
+    public synchronized void saveIndex() throws IOException {
+        if (!dirty) {
+            return;
+        }
+        ObjectNode node = OBJECT_MAPPER.createObjectNode();
+        node.put("count", count);
+        node.put("minEventDate", minEventDate);
+        node.put("maxEventDate", maxEventDate);
+        node.put("minId", minId);
+        node.put("maxId", maxId);
+        docUUIDs.forEach(node.putArray("docUUIDs")::add);
+        eventIds.forEach(node.putArray("eventIds")::add);
+        node.put("archiveProvider", archiveProvider);
+        node.put("archiveKey", archiveKey);
+        Path tmp = Files.createTempFile(indexFile.getParent(), partition, INDEX_SUFFIX);
+        OBJECT_MAPPER.writeValue(tmp.toFile(), node);
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dirty = false;
+    }
+
+    /**
+     * Opens the decoded stream of the segment, archived data first, or returns {@code null} if there is no data.
+     * <p>
+     * The archived and local data are decoded separately, as a GZIP stream stops at the end of its input, and the
+     * local data is bounded to its current length so that it can be read while entries are appended.
+     */
+    protected InputStream openStream() throws IOException {
+        InputStream archived = null;
+        if (archiveKey != null) {
+            BlobInfo blobInfo = new BlobInfo();
+            blobInfo.key = archiveKey;
+            archived = getBlobProvider(archiveProvider).readBlob(blobInfo).getStream();
+        }
+        InputStream local = null;
+        if (Files.exists(dataFile)) {
+            local = new BoundedInputStream(Files.newInputStream(dataFile), Files.size(dataFile));
+        }
+        try {
+            archived = archived == null ? null : new GZIPInputStream(archived);
+            local = local == null ? null : new GZIPInputStream(local);
+        } catch (IOException e) {
+            closeQuietly(archived);
+            closeQuietly(local);
+            throw e;
+        }
+        if (archived != null && local != null) {
+            return new SequenceInputStream(archived, local);
+        }
+        return archived != null ? archived : local;
+    }
+
+    protected static void closeQuietly(InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.debug(e, e);
+            }
+        }
+    }
+
+    protected static BlobProvider getBlobProvider(String providerId) throws IOException {
+        BlobProvider provider = Framework.getService(BlobManager.class).getBlobProvider(providerId);
+        if (provider == null) {
+            throw new IOException("Unknown blob provider: " + providerId);
+        }
+        return provider;
+    }
+
+    protected static void write(Iterable<LogEntry> entries, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, UTF_8));
+        for (LogEntry entry : entries) {
+            writer.write(OBJECT_MAPPER.writeValueAsString(entry));
+            writer.write('\n');
+        }
+        writer.flush();
+        gzip.finish();
+    }
+
+    /**
+     * Iterates over the JSON lines of a decoded segment, stopping at a truncated last append.
+     */
+    protected class EntryIterator implements Iterator<LogEntry> {
+
+        protected final BufferedReader reader;
+
+        protected LogEntry next;
+
+        protected long read;
+
+        protected boolean done;
+
+        protected EntryIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        next = OBJECT_MAPPER.readValue(line, LogEntryImpl.class);
+                        read++;
+                        return true;
+                    }
+                }
+            } catch (EOFException e) {
+                // last append was interrupted, keep what was fully written
+                log.warn("Truncated audit segment: " + partition + ", read " + read + " entries");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            done = true;
+            return false;
+        }
+
+        @Override
+        public LogEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LogEntry entry = next;
+            next = null;
+            return entry;
+        }
+
+    }
+
+}
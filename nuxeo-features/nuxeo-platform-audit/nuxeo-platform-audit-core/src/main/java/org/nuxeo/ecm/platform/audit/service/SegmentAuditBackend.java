@@ -0,0 +1,595 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.audit.service;
+
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_CATEGORY;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_COMMENT;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_DOC_LIFE_CYCLE;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_DOC_PATH;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_DOC_TYPE;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_DOC_UUID;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_EVENT_DATE;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_EVENT_ID;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_EXTENDED;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_ID;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_LOG_DATE;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_PRINCIPAL_NAME;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_REPOSITORY_ID;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.common.Environment;
+import org.nuxeo.ecm.core.api.CursorService;
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.api.ScrollResult;
+import org.nuxeo.ecm.core.query.sql.model.Literals;
+import org.nuxeo.ecm.core.query.sql.model.MultiExpression;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.core.query.sql.model.OrderByExpr;
+import org.nuxeo.ecm.core.query.sql.model.OrderByList;
+import org.nuxeo.ecm.core.query.sql.model.Predicate;
+import org.nuxeo.ecm.core.query.sql.model.Reference;
+import org.nuxeo.ecm.platform.audit.api.AuditQueryBuilder;
+import org.nuxeo.ecm.platform.audit.api.ExtendedInfo;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+import org.nuxeo.ecm.platform.audit.api.Predicates;
+import org.nuxeo.ecm.platform.audit.impl.ExtendedInfoImpl;
+import org.nuxeo.ecm.platform.audit.impl.LogEntryImpl;
+import org.nuxeo.ecm.platform.audit.service.extension.AuditBackendDescriptor;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.model.DefaultComponent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Implementation of the {@link AuditBackend} interface storing entries in time partitioned, append-only
+ * {@link AuditSegment} files on the local filesystem.
+ * <p>
+ * Entries are partitioned on their event date. Queries are evaluated in memory on the segments whose index may match
+ * the query predicates, so that queries on a date range, a document or an event id only read the relevant segments.
+ * Old segments can be archived to a blob provider with {@link #archiveSegments}.
+ * <p>
+ * As segments are local files, this backend is meant for single node deployments.
+ *
+ * @since 9.10
+ */
+public class SegmentAuditBackend extends AbstractAuditBackend implements AuditBackend {
+
+    private static final Log log = LogFactory.getLog(SegmentAuditBackend.class);
+
+    public static final String DIRECTORY_PROPERTY = "nuxeo.audit.segment.directory";
+
+    public static final String DEFAULT_DIRECTORY = "audit";
+
+    /**
+     * {@link DateTimeFormatter} pattern of the partitions, in UTC. Partition names must sort chronologically.
+     */
+    public static final String PARTITION_PATTERN_PROPERTY = "nuxeo.audit.segment.partition.pattern";
+
+    public static final String DEFAULT_PARTITION_PATTERN = "yyyy-MM-dd";
+
+    /**
+     * Number of days after which segments are archived on startup, archiving is disabled when not set.
+     */
+    public static final String ARCHIVE_DAYS_PROPERTY = "nuxeo.audit.segment.archive.days";
+
+    public static final String ARCHIVE_PROVIDER_PROPERTY = "nuxeo.audit.segment.archive.provider";
+
+    public static final String DEFAULT_ARCHIVE_PROVIDER = "default";
+
+    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    protected final ConcurrentNavigableMap<String, AuditSegment> segments = new ConcurrentSkipListMap<>();
+
+    protected final AtomicLong sequence = new AtomicLong();
+
+    protected Path directory;
+
+    protected DateTimeFormatter partitionFormatter;
+
+    protected SegmentLogEntryProvider provider = new SegmentLogEntryProvider();
+
+    protected CursorService<Iterator<LogEntry>, LogEntry, String> cursorService;
+
+    public SegmentAuditBackend(NXAuditEventsService component, AuditBackendDescriptor config) {
+        super(component, config);
+    }
+
+    public SegmentAuditBackend() {
+        super();
+    }
+
+    @Override
+    public int getApplicationStartedOrder() {
+        // archived segments are read from the blob providers
+        DefaultComponent component = (DefaultComponent) Framework.getRuntime().getComponent(
+                "org.nuxeo.ecm.core.blob.BlobManager");
+        return component.getApplicationStartedOrder() + 1;
+    }
+
+    @Override
+    public void onApplicationStarted() {
+        log.info("Activate segment backend for Audit");
+        String dir = Framework.getProperty(DIRECTORY_PROPERTY);
+        directory = StringUtils.isBlank(dir) ? Environment.getDefault().getData().toPath().resolve(DEFAULT_DIRECTORY)
+                : Paths.get(dir);
+        partitionFormatter = DateTimeFormatter.ofPattern(
+                Framework.getProperty(PARTITION_PATTERN_PROPERTY, DEFAULT_PARTITION_PATTERN)).withZone(ZoneOffset.UTC);
+        try {
+            Files.createDirectories(directory);
+            loadSegments();
+        } catch (IOException e) {
+            throw new NuxeoException("Unable to load audit segments from: " + directory, e);
+        }
+        cursorService = new CursorService<>(entry -> {
+            try {
+                return OBJECT_MAPPER.writeValueAsString(entry);
+            } catch (IOException e) {
+                throw new NuxeoException("Unable to serialize entry", e);
+            }
+        });
+        String archiveDays = Framework.getProperty(ARCHIVE_DAYS_PROPERTY);
+        if (StringUtils.isNotBlank(archiveDays)) {
+            Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(Long.parseLong(archiveDays)));
+            archiveSegments(before, Framework.getProperty(ARCHIVE_PROVIDER_PROPERTY, DEFAULT_ARCHIVE_PROVIDER));
+        }
+    }
+
+    @Override
+    public void onApplicationStopped() {
+        try {
+            for (AuditSegment segment : segments.values()) {
+                segment.saveIndex();
+            }
+        } catch (IOException e) {
+            log.error("Unable to save audit segment indexes, they will be rebuilt on next startup", e);
+        } finally {
+            segments.clear();
+            cursorService.clear();
+            cursorService = null;
+        }
+    }
+
+    protected void loadSegments() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                String partition;
+                if (name.endsWith(AuditSegment.INDEX_SUFFIX)) {
+                    partition = StringUtils.removeEnd(name, AuditSegment.INDEX_SUFFIX);
+                } else if (name.endsWith(AuditSegment.DATA_SUFFIX)) {
+                    partition = StringUtils.removeEnd(name, AuditSegment.DATA_SUFFIX);
+                } else {
+                    continue;
+                }
+                if (!segments.containsKey(partition)) {
+                    AuditSegment segment = AuditSegment.load(directory, partition);
+                    segments.put(partition, segment);
+                    sequence.accumulateAndGet(segment.getMaxId(), Math::max);
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded " + segments.size() + " audit segments, last id: " + sequence.get());
+        }
+    }
+
+    /**
+     * Returns the partition of the given entry, based on its event date.
+     */
+    protected String getPartition(LogEntry entry) {
+        Date date = entry.getEventDate() != null ? entry.getEventDate() : entry.getLogDate();
+        return getPartition(date != null ? date : new Date());
+    }
+
+    protected String getPartition(Date date) {
+        return partitionFormatter.format(date.toInstant());
+    }
+
+    /**
+     * Archives to the given blob provider the segments of the partitions before the one of the given date.
+     *
+     * @return the number of archived segments
+     */
+    public int archiveSegments(Date before, String blobProviderId) {
+        String partition = getPartition(before);
+        int archived = 0;
+        for (AuditSegment segment : segments.headMap(partition).values()) {
+            if (!segment.hasLocalData()) {
+                continue;
+            }
+            try {
+                segment.archive(blobProviderId);
+                archived++;
+            } catch (IOException e) {
+                throw new NuxeoException("Unable to archive audit segment: " + segment.getPartition(), e);
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived " + archived + " audit segments before partition " + partition);
+        }
+        return archived;
+    }
+
+    protected void write(List<LogEntry> entries) {
+        Map<String, List<LogEntry>> partitions = entries.stream()
+                                                        .collect(Collectors.groupingBy(this::getPartition,
+                                                                LinkedHashMap::new, Collectors.toList()));
+        for (Entry<String, List<LogEntry>> es : partitions.entrySet()) {
+            AuditSegment segment = segments.computeIfAbsent(es.getKey(), p -> new AuditSegment(directory, p));
+            try {
+                segment.append(es.getValue());
+            } catch (IOException e) {
+                throw new NuxeoException("Unable to write audit segment: " + segment.getPartition(), e);
+            }
+        }
+    }
+
+    @Override
+    public void addLogEntries(List<LogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Date logDate = new Date();
+        for (LogEntry entry : entries) {
+            entry.setId(sequence.incrementAndGet());
+            entry.setLogDate(logDate);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Appending log entry Id: %s, with eventDate : %s, for docUUID: %s ",
+                        Long.valueOf(entry.getId()), entry.getEventDate(), entry.getDocUUID()));
+            }
+        }
+        write(entries);
+    }
+
+    @Override
+    public void append(List<String> jsonEntries) {
+        List<LogEntry> entries = jsonEntries.stream().map(json -> {
+            try {
+                LogEntryImpl entry = OBJECT_MAPPER.readValue(json, LogEntryImpl.class);
+                if (entry.getId() == 0) {
+                    throw new NuxeoException("A json entry has an empty id. entry=" + json);
+                }
+                sequence.accumulateAndGet(entry.getId(), Math::max);
+                return entry;
+            } catch (IOException e) {
+                throw new NuxeoException("Unable to deserialize json entry=" + json, e);
+            }
+        }).collect(Collectors.toList());
+        write(entries);
+    }
+
+    @Override
+    public List<LogEntry> queryLogs(AuditQueryBuilder builder) {
+        Stream<LogEntry> stream = stream(builder).skip(builder.offset());
+        if (builder.limit() > 0) {
+            stream = stream.limit(builder.limit());
+        }
+        return stream.collect(Collectors.toList());
+    }
+
+    /**
+     * Streams the entries matching the given query, reading only the segments whose index may match.
+     */
+    protected Stream<LogEntry> stream(AuditQueryBuilder builder) {
+        // current implementation only support a MultiExpression with AND operator
+        @SuppressWarnings("unchecked")
+        List<Predicate> predicates = (List<Predicate>) ((List<?>) ((MultiExpression) builder.predicate()).values);
+        List<Condition> conditions = predicates.stream().map(Condition::new).collect(Collectors.toList());
+        Stream<LogEntry> stream = segments.values()
+                                          .stream()
+                                          .filter(segment -> conditions.stream().allMatch(c -> c.mayMatch(segment)))
+                                          .flatMap(this::read)
+                                          .filter(entry -> conditions.stream().allMatch(c -> c.matches(entry)));
+        OrderByList orders = builder.orders();
+        if (!orders.isEmpty()) {
+            stream = stream.sorted(getComparator(orders));
+        }
+        return stream;
+    }
+
+    /**
+     * Streams the entries of the given segment as they are decoded, the stream is closed by the enclosing flatMap.
+     */
+    protected Stream<LogEntry> read(AuditSegment segment) {
+        try {
+            return segment.stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read audit segment: " + segment.getPartition(), e);
+        }
+    }
+
+    protected Comparator<LogEntry> getComparator(OrderByList orders) {
+        Comparator<LogEntry> comparator = null;
+        for (OrderByExpr order : orders) {
+            String name = order.reference.name;
+            Comparator<LogEntry> c = Comparator.comparing(entry -> normalize(getValue(entry, name)),
+                    Comparator.nullsFirst(SegmentAuditBackend::compare));
+            if (order.isDescending) {
+                c = c.reversed();
+            }
+            comparator = comparator == null ? c : comparator.thenComparing(c);
+        }
+        return comparator;
+    }
+
+    protected static Object getValue(LogEntry entry, String name) {
+        switch (name) {
+        case LOG_ID:
+            return Long.valueOf(entry.getId());
+        case LOG_CATEGORY:
+            return entry.getCategory();
+        case LOG_COMMENT:
+            return entry.getComment();
+        case LOG_EVENT_ID:
+            return entry.getEventId();
+        case LOG_EVENT_DATE:
+            return entry.getEventDate();
+        case LOG_DOC_LIFE_CYCLE:
+            return entry.getDocLifeCycle();
+        case LOG_DOC_PATH:
+            return entry.getDocPath();
+        case LOG_DOC_TYPE:
+            return entry.getDocType();
+        case LOG_DOC_UUID:
+            return entry.getDocUUID();
+        case LOG_LOG_DATE:
+            return entry.getLogDate();
+        case LOG_PRINCIPAL_NAME:
+            return entry.getPrincipalName();
+        case LOG_REPOSITORY_ID:
+            return entry.getRepositoryId();
+        default:
+            if (name.startsWith(LOG_EXTENDED + '.')) {
+                ExtendedInfo info = entry.getExtendedInfos().get(name.substring(LOG_EXTENDED.length() + 1));
+                return info == null ? null : info.getSerializableValue();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Normalizes entry and query values so that they can be compared: dates become epoch milliseconds and integral
+     * numbers become {@link Long}.
+     */
+    protected static Object normalize(Object value) {
+        if (value instanceof Date) {
+            return Long.valueOf(((Date) value).getTime());
+        } else if (value instanceof Calendar) {
+            return Long.valueOf(((Calendar) value).getTimeInMillis());
+        } else if (value instanceof ZonedDateTime) {
+            return Long.valueOf(((ZonedDateTime) value).toInstant().toEpochMilli());
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return Long.valueOf(((Number) value).longValue());
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(SegmentAuditBackend::normalize).collect(Collectors.toList());
+        }
+        return value;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected static int compare(Object v1, Object v2) {
+        if (v1 instanceof Number && v2 instanceof Number) {
+            if (v1 instanceof Long && v2 instanceof Long) {
+                return ((Long) v1).compareTo((Long) v2);
+            }
+            return Double.compare(((Number) v1).doubleValue(), ((Number) v2).doubleValue());
+        } else if (v1 instanceof Comparable && v1.getClass().equals(v2.getClass())) {
+            return ((Comparable) v1).compareTo(v2);
+        }
+        return String.valueOf(v1).compareTo(String.valueOf(v2));
+    }
+
+    /**
+     * A query predicate with its value normalized once for all the entries.
+     */
+    protected static class Condition {
+
+        protected final String name;
+
+        protected final Operator operator;
+
+        protected final Object value;
+
+        protected final Pattern pattern;
+
+        protected Condition(Predicate predicate) {
+            // current implementation only use Predicate with a simple Reference for left
+            this(((Reference) predicate.lvalue).name, predicate.operator, Literals.valueOf(predicate.rvalue));
+        }
+
+        protected Condition(String name, Operator operator, Object value) {
+            this.name = name;
+            this.operator = operator;
+            this.value = normalize(value);
+            pattern = Operator.LIKE.equals(operator) ? toPattern(String.valueOf(value)) : null;
+        }
+
+        /**
+         * Converts a SQL LIKE pattern to a regular expression.
+         */
+        protected static Pattern toPattern(String like) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (char c : like.toCharArray()) {
+                if (c == '%' || c == '_') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '%' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            return Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+
+        protected boolean mayMatch(AuditSegment segment) {
+            return segment.mayMatch(name, operator, value);
+        }
+
+        protected boolean matches(LogEntry entry) {
+            Object actual = normalize(getValue(entry, name));
+            if (Operator.EQ.equals(operator)) {
+                return actual != null && compare(actual, value) == 0;
+            } else if (Operator.NOTEQ.equals(operator)) {
+                return actual == null || compare(actual, value) != 0;
+            } else if (Operator.LT.equals(operator)) {
+                return actual != null && compare(actual, value) < 0;
+            } else if (Operator.LTEQ.equals(operator)) {
+                return actual != null && compare(actual, value) <= 0;
+            } else if (Operator.GTEQ.equals(operator)) {
+                return actual != null && compare(actual, value) >= 0;
+            } else if (Operator.GT.equals(operator)) {
+                return actual != null && compare(actual, value) > 0;
+            } else if (Operator.IN.equals(operator)) {
+                return actual != null && ((List<?>) value).stream().anyMatch(v -> compare(actual, v) == 0);
+            } else if (Operator.STARTSWITH.equals(operator)) {
+                return actual != null && actual.toString().startsWith(String.valueOf(value));
+            } else if (Operator.LIKE.equals(operator)) {
+                return actual != null && pattern.matcher(actual.toString()).matches();
+            } else if (Operator.ISNULL.equals(operator)) {
+                return actual == null;
+            } else if (Operator.ISNOTNULL.equals(operator)) {
+                return actual != null;
+            }
+            throw new NuxeoException(String.format("Audit backend search doesn't handle '%s' operator", operator));
+        }
+
+    }
+
+    @Override
+    public LogEntry getLogEntryByID(long id) {
+        AuditQueryBuilder builder = new AuditQueryBuilder().predicates(Predicates.eq(LOG_ID, Long.valueOf(id)));
+        return stream(builder).findFirst().orElse(null);
+    }
+
+    @Override
+    public List<?> nativeQuery(String query, Map<String, Object> params, int pageNb, int pageSize) {
+        SegmentAuditQuery auditQuery = SegmentAuditQuery.parse(query, params);
+        Stream<LogEntry> stream = segments.values()
+                                          .stream()
+                                          .filter(auditQuery::mayMatch)
+                                          .flatMap(this::read)
+                                          .filter(auditQuery::matches);
+        if (auditQuery.isCount()) {
+            return Collections.singletonList(Long.valueOf(stream.count()));
+        }
+        OrderByList orders = auditQuery.getOrders();
+        if (orders != null) {
+            stream = stream.sorted(getComparator(orders));
+        }
+        // same paging as the JPA backend: pages start at 1
+        if (pageSize <= 0) {
+            pageSize = 1000;
+        }
+        if (pageNb > 1) {
+            stream = stream.skip((long) (pageNb - 1) * pageSize);
+        }
+        return stream.limit(pageSize).collect(Collectors.toList());
+    }
+
+    @Override
+    public Long getEventsCount(String eventId) {
+        AuditQueryBuilder builder = new AuditQueryBuilder().predicates(Predicates.eq(LOG_EVENT_ID, eventId));
+        return Long.valueOf(stream(builder).count());
+    }
+
+    @Override
+    public long syncLogCreationEntries(String repoId, String path, Boolean recurs) {
+        return syncLogCreationEntries(provider, repoId, path, recurs);
+    }
+
+    @Override
+    public ExtendedInfo newExtendedInfo(Serializable value) {
+        return ExtendedInfoImpl.createExtendedInfo(value);
+    }
+
+    @Override
+    public ScrollResult<String> scroll(AuditQueryBuilder builder, int batchSize, int keepAliveSeconds) {
+        String scrollId = cursorService.registerCursor(stream(builder).iterator(), batchSize, keepAliveSeconds);
+        return scroll(scrollId);
+    }
+
+    @Override
+    public ScrollResult<String> scroll(String scrollId) {
+        return cursorService.scroll(scrollId);
+    }
+
+    public class SegmentLogEntryProvider implements BaseLogEntryProvider {
+
+        @Override
+        public int removeEntries(String eventId, String pathPattern) {
+            int removed = 0;
+            for (AuditSegment segment : segments.values()) {
+                if (!segment.containsEventId(eventId)) {
+                    continue;
+                }
+                try {
+                    removed += segment.remove(entry -> eventId.equals(entry.getEventId()) && (pathPattern == null
+                            || Objects.toString(entry.getDocPath(), "").startsWith(pathPattern)));
+                } catch (IOException e) {
+                    throw new NuxeoException("Unable to rewrite audit segment: " + segment.getPartition(), e);
+                }
+            }
+            return removed;
+        }
+
+        @Override
+        public void addLogEntry(LogEntry logEntry) {
+            addLogEntries(Collections.singletonList(logEntry));
+        }
+
+    }
+
+}
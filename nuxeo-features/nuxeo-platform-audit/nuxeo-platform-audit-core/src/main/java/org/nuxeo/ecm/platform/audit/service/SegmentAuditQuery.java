@@ -0,0 +1,465 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.audit.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.nuxeo.ecm.core.api.NuxeoException;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.core.query.sql.model.OrderByExpr;
+import org.nuxeo.ecm.core.query.sql.model.OrderByList;
+import org.nuxeo.ecm.core.query.sql.model.Reference;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+import org.nuxeo.ecm.platform.audit.service.SegmentAuditBackend.Condition;
+
+/**
+ * Native query of a {@link SegmentAuditBackend}, parsed from the JPQL subset used by the audit page providers and
+ * helpers:
+ *
+ * <pre>
+ * [SELECT COUNT(log.id)] FROM LogEntry log [WHERE ...] [ORDER BY log.eventDate DESC, ...]
+ * </pre>
+ *
+ * The WHERE clause accepts AND, OR, NOT and parentheses over comparisons (=, &lt;&gt;, !=, &lt;, &lt;=, &gt;, &gt;=),
+ * [NOT] IN, [NOT] BETWEEN, [NOT] LIKE and IS [NOT] NULL, with string, number or boolean literals and named
+ * {@code :param} parameters.
+ *
+ * @since 9.10
+ */
+public class SegmentAuditQuery {
+
+    /**
+     * A node of the WHERE clause, matching both the segment index and the entries.
+     */
+    protected interface Filter {
+
+        boolean mayMatch(AuditSegment segment);
+
+        boolean matches(LogEntry entry);
+
+    }
+
+    protected static final Filter ALL = new Filter() {
+
+        @Override
+        public boolean mayMatch(AuditSegment segment) {
+            return true;
+        }
+
+        @Override
+        public boolean matches(LogEntry entry) {
+            return true;
+        }
+
+    };
+
+    protected final boolean count;
+
+    protected final Filter filter;
+
+    protected final OrderByList orders;
+
+    protected SegmentAuditQuery(boolean count, Filter filter, OrderByList orders) {
+        this.count = count;
+        this.filter = filter;
+        this.orders = orders;
+    }
+
+    public boolean isCount() {
+        return count;
+    }
+
+    public boolean mayMatch(AuditSegment segment) {
+        return filter.mayMatch(segment);
+    }
+
+    public boolean matches(LogEntry entry) {
+        return filter.matches(entry);
+    }
+
+    /**
+     * Returns the order of the query, or {@code null} if the query is not ordered.
+     */
+    public OrderByList getOrders() {
+        return orders;
+    }
+
+    /**
+     * Parses the given query.
+     *
+     * @throws NuxeoException if the query is not supported by the segment backend
+     */
+    public static SegmentAuditQuery parse(String query, Map<String, Object> params) {
+        return new Parser(query, params == null ? Collections.emptyMap() : params).parse();
+    }
+
+    protected static class And implements Filter {
+
+        protected final List<Filter> filters;
+
+        protected And(List<Filter> filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public boolean mayMatch(AuditSegment segment) {
+            return filters.stream().allMatch(f -> f.mayMatch(segment));
+        }
+
+        @Override
+        public boolean matches(LogEntry entry) {
+            return filters.stream().allMatch(f -> f.matches(entry));
+        }
+
+    }
+
+    protected static class Or implements Filter {
+
+        protected final List<Filter> filters;
+
+        protected Or(List<Filter> filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public boolean mayMatch(AuditSegment segment) {
+            return filters.stream().anyMatch(f -> f.mayMatch(segment));
+        }
+
+        @Override
+        public boolean matches(LogEntry entry) {
+            return filters.stream().anyMatch(f -> f.matches(entry));
+        }
+
+    }
+
+    protected static class Not implements Filter {
+
+        protected final Filter filter;
+
+        protected Not(Filter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean mayMatch(AuditSegment segment) {
+            // the index cannot tell that all the entries of a segment match
+            return true;
+        }
+
+        @Override
+        public boolean matches(LogEntry entry) {
+            return !filter.matches(entry);
+        }
+
+    }
+
+    protected static class Leaf implements Filter {
+
+        protected final Condition condition;
+
+        protected Leaf(String name, Operator operator, Object value) {
+            condition = new Condition(name, operator, value);
+        }
+
+        @Override
+        public boolean mayMatch(AuditSegment segment) {
+            return condition.mayMatch(segment);
+        }
+
+        @Override
+        public boolean matches(LogEntry entry) {
+            return condition.matches(entry);
+        }
+
+    }
+
+    /**
+     * Recursive descent parser of the query, working on a list of tokens.
+     */
+    protected static class Parser {
+
+        protected final String query;
+
+        protected final Map<String, Object> params;
+
+        protected final List<String> tokens;
+
+        protected int pos;
+
+        protected String alias;
+
+        protected Parser(String query, Map<String, Object> params) {
+            this.query = query;
+            this.params = params;
+            tokens = tokenize(query);
+        }
+
+        protected SegmentAuditQuery parse() {
+            boolean count = false;
+            if (accept("SELECT")) {
+                expect("COUNT");
+                expect("(");
+                while (!accept(")")) {
+                    next();
+                }
+                count = true;
+            }
+            expect("FROM");
+            expect("LogEntry");
+            if (pos < tokens.size() && !isKeyword(peek(), "WHERE") && !isKeyword(peek(), "ORDER")) {
+                alias = next();
+            }
+            Filter filter = ALL;
+            if (accept("WHERE")) {
+                filter = parseOr();
+            }
+            OrderByList orders = null;
+            if (accept("ORDER")) {
+                expect("BY");
+                do {
+                    String name = parseReference();
+                    boolean desc = accept("DESC");
+                    if (!desc) {
+                        accept("ASC");
+                    }
+                    OrderByExpr order = new OrderByExpr(new Reference(name), desc);
+                    if (orders == null) {
+                        orders = new OrderByList(order);
+                    } else {
+                        orders.add(order);
+                    }
+                } while (accept(","));
+            }
+            if (pos < tokens.size()) {
+                throw error("Unexpected token: " + peek());
+            }
+            return new SegmentAuditQuery(count, filter, orders);
+        }
+
+        protected Filter parseOr() {
+            List<Filter> filters = new ArrayList<>();
+            filters.add(parseAnd());
+            while (accept("OR")) {
+                filters.add(parseAnd());
+            }
+            return filters.size() == 1 ? filters.get(0) : new Or(filters);
+        }
+
+        protected Filter parseAnd() {
+            List<Filter> filters = new ArrayList<>();
+            filters.add(parseNot());
+            while (accept("AND")) {
+                filters.add(parseNot());
+            }
+            return filters.size() == 1 ? filters.get(0) : new And(filters);
+        }
+
+        protected Filter parseNot() {
+            if (accept("NOT")) {
+                return new Not(parseNot());
+            }
+            if (accept("(")) {
+                Filter filter = parseOr();
+                expect(")");
+                return filter;
+            }
+            return parseComparison();
+        }
+
+        protected Filter parseComparison() {
+            String name = parseReference();
+            if (accept("IS")) {
+                boolean not = accept("NOT");
+                expect("NULL");
+                return new Leaf(name, not ? Operator.ISNOTNULL : Operator.ISNULL, null);
+            }
+            boolean not = accept("NOT");
+            Filter filter;
+            if (accept("IN")) {
+                expect("(");
+                List<Object> values = new ArrayList<>();
+                do {
+                    Object value = parseValue();
+                    if (value instanceof Collection) {
+                        // a collection parameter is expanded like in JPQL
+                        values.addAll((Collection<?>) value);
+                    } else {
+                        values.add(value);
+                    }
+                } while (accept(","));
+                expect(")");
+                filter = new Leaf(name, Operator.IN, values);
+            } else if (accept("BETWEEN")) {
+                Object min = parseValue();
+                expect("AND");
+                Object max = parseValue();
+                List<Filter> range = new ArrayList<>();
+                range.add(new Leaf(name, Operator.GTEQ, min));
+                range.add(new Leaf(name, Operator.LTEQ, max));
+                filter = new And(range);
+            } else if (accept("LIKE")) {
+                filter = new Leaf(name, Operator.LIKE, parseValue());
+            } else if (!not) {
+                return new Leaf(name, parseOperator(), parseValue());
+            } else {
+                throw error("Expected IN, BETWEEN or LIKE after NOT");
+            }
+            return not ? new Not(filter) : filter;
+        }
+
+        protected Operator parseOperator() {
+            String token = next();
+            switch (token) {
+            case "=":
+                return Operator.EQ;
+            case "<>":
+            case "!=":
+                return Operator.NOTEQ;
+            case "<":
+                return Operator.LT;
+            case "<=":
+                return Operator.LTEQ;
+            case ">":
+                return Operator.GT;
+            case ">=":
+                return Operator.GTEQ;
+            default:
+                throw error("Unsupported operator: " + token);
+            }
+        }
+
+        protected String parseReference() {
+            String name = next();
+            if (alias != null && name.startsWith(alias + '.')) {
+                name = name.substring(alias.length() + 1);
+            }
+            return name;
+        }
+
+        protected Object parseValue() {
+            String token = next();
+            if (token.startsWith(":")) {
+                String param = token.substring(1);
+                if (!params.containsKey(param)) {
+                    throw error("Missing parameter: " + param);
+                }
+                return params.get(param);
+            } else if (token.startsWith("'")) {
+                return token.substring(1, token.length() - 1).replace("''", "'");
+            } else if ("TRUE".equalsIgnoreCase(token) || "FALSE".equalsIgnoreCase(token)) {
+                return Boolean.valueOf(token);
+            }
+            try {
+                if (token.contains(".")) {
+                    return Double.valueOf(token);
+                }
+                return Long.valueOf(token);
+            } catch (NumberFormatException e) {
+                throw error("Unsupported value: " + token);
+            }
+        }
+
+        protected String peek() {
+            return tokens.get(pos);
+        }
+
+        protected String next() {
+            if (pos >= tokens.size()) {
+                throw error("Unexpected end of query");
+            }
+            return tokens.get(pos++);
+        }
+
+        protected boolean accept(String keyword) {
+            if (pos < tokens.size() && isKeyword(peek(), keyword)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        protected void expect(String keyword) {
+            if (!accept(keyword)) {
+                throw error("Expected " + keyword + (pos < tokens.size() ? " instead of: " + peek() : ""));
+            }
+        }
+
+        protected static boolean isKeyword(String token, String keyword) {
+            return token.equalsIgnoreCase(keyword);
+        }
+
+        protected NuxeoException error(String message) {
+            return new NuxeoException(message + ", unsupported audit query: " + query);
+        }
+
+        protected List<String> tokenize(String query) {
+            List<String> result = new ArrayList<>();
+            int i = 0;
+            int length = query.length();
+            while (i < length) {
+                char c = query.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '\'') {
+                    // quotes are escaped by doubling them
+                    int end = i + 1;
+                    while (true) {
+                        end = query.indexOf('\'', end);
+                        if (end < 0) {
+                            throw error("Unterminated string literal");
+                        }
+                        if (end + 1 < length && query.charAt(end + 1) == '\'') {
+                            end += 2;
+                        } else {
+                            break;
+                        }
+                    }
+                    result.add(query.substring(i, end + 1));
+                    i = end + 1;
+                } else if (c == '(' || c == ')' || c == ',' || c == '=') {
+                    result.add(String.valueOf(c));
+                    i++;
+                } else if (c == '<' || c == '>' || c == '!') {
+                    int end = i + 1;
+                    if (end < length && (query.charAt(end) == '=' || c == '<' && query.charAt(end) == '>')) {
+                        end++;
+                    }
+                    result.add(query.substring(i, end));
+                    i = end;
+                } else {
+                    int end = i;
+                    while (end < length && !Character.isWhitespace(query.charAt(end))
+                            && "'(),=<>!".indexOf(query.charAt(end)) < 0) {
+                        end++;
+                    }
+                    result.add(query.substring(i, end));
+                    i = end;
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_DOC_UUID;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_EVENT_DATE;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_EVENT_ID;
+import static org.nuxeo.ecm.platform.audit.api.BuiltinLogEntryData.LOG_ID;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.query.sql.model.Operator;
+import org.nuxeo.ecm.platform.audit.api.AuditQueryBuilder;
+import org.nuxeo.ecm.platform.audit.api.LogEntry;
+import org.nuxeo.ecm.platform.audit.api.OrderByExprs;
+import org.nuxeo.ecm.platform.audit.api.Predicates;
+import org.nuxeo.ecm.platform.audit.service.AuditSegment;
+import org.nuxeo.ecm.platform.audit.service.SegmentAuditBackend;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+
+/**
+ * @since 9.10
+ */
+@RunWith(FeaturesRunner.class)
+@Features(AuditFeature.class)
+@LocalDeploy("org.nuxeo.ecm.platform.audit:test-segment-audit-contrib.xml")
+public class TestSegmentAuditBackend extends AbstractAuditStorageTest {
+
+    protected static final String SEGMENT_EVENT_ID = "segmentTestEvent";
+
+    protected static final String ARCHIVE_EVENT_ID = "archiveTestEvent";
+
+    protected static final String NATIVE_EVENT_ID = "nativeTestEvent";
+
+    @Inject
+    protected CoreSession session;
+
+    @Override
+    protected void flush() throws Exception {
+        // segment writes are synchronous
+    }
+
+    protected SegmentAuditBackend getBackend() {
+        return (SegmentAuditBackend) auditBackend;
+    }
+
+    /**
+     * Logs one entry per day for the given number of days before now, for two documents.
+     */
+    protected void logDailyEntries(String eventId, int days) {
+        long now = System.currentTimeMillis();
+        List<LogEntry> entries = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            LogEntry entry = auditBackend.newLogEntry();
+            entry.setEventId(eventId);
+            entry.setEventDate(new Date(now - TimeUnit.DAYS.toMillis(i)));
+            entry.setDocUUID(i % 2 == 0 ? "even-doc" : "odd-doc");
+            entries.add(entry);
+        }
+        auditBackend.addLogEntries(entries);
+    }
+
+    @Test
+    public void testTimeRangeQuery() {
+        logDailyEntries(SEGMENT_EVENT_ID, 10);
+
+        Date threeDaysAgo = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(3) - 1000);
+        List<LogEntry> entries = auditBackend.queryLogs(new AuditQueryBuilder().predicates(
+                Predicates.eq(LOG_EVENT_ID, SEGMENT_EVENT_ID), Predicates.gte(LOG_EVENT_DATE, threeDaysAgo))
+                                                                               .order(OrderByExprs.desc(
+                                                                                       LOG_EVENT_DATE)));
+        assertEquals(4, entries.size());
+        for (int i = 1; i < entries.size(); i++) {
+            assertTrue(entries.get(i - 1).getEventDate().after(entries.get(i).getEventDate()));
+        }
+
+        entries = auditBackend.queryLogs(new AuditQueryBuilder().predicates(
+                Predicates.eq(LOG_EVENT_ID, SEGMENT_EVENT_ID), Predicates.eq(LOG_DOC_UUID, "odd-doc")));
+        assertEquals(5, entries.size());
+
+        entries = auditBackend.queryLogs(new AuditQueryBuilder().predicates(Predicates.eq(LOG_DOC_UUID, "no-doc")));
+        assertTrue(entries.isEmpty());
+
+        assertEquals(10, auditBackend.getEventsCount(SEGMENT_EVENT_ID).longValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNativeQuery() {
+        logDailyEntries(NATIVE_EVENT_ID, 10);
+
+        // query of the JobHistoryHelper
+        List<LogEntry> entries = (List<LogEntry>) auditBackend.nativeQuery("from LogEntry log where log.eventId='"
+                + NATIVE_EVENT_ID + "' AND log.docUUID='odd-doc'  ORDER BY log.eventDate DESC", 1, 1);
+        assertEquals(1, entries.size());
+        assertEquals("odd-doc", entries.get(0).getDocUUID());
+
+        // query of the DocumentHistoryPageProvider
+        Map<String, Object> params = new HashMap<>();
+        params.put("eventId", NATIVE_EVENT_ID);
+        params.put("param0", "even-doc");
+        params.put("param1", "odd-doc");
+        params.put("param2", new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(3) - 1000));
+        String query = "from LogEntry log  where log.eventId = :eventId"
+                + " AND ( log.docUUID = :param0 OR (log.docUUID = :param1 AND log.eventDate <= :param2) ) "
+                + " ORDER BY log.eventDate DESC , log.id DESC ";
+        entries = (List<LogEntry>) auditBackend.nativeQuery(query, params, 1, 20);
+        // 5 even entries and the 3 odd entries older than 3 days
+        assertEquals(8, entries.size());
+        for (int i = 1; i < entries.size(); i++) {
+            assertFalse(entries.get(i - 1).getEventDate().before(entries.get(i).getEventDate()));
+        }
+        List<Long> count = (List<Long>) auditBackend.nativeQuery("select count(log.id) " + query, params, 1, 20);
+        assertEquals(Long.valueOf(8), count.get(0));
+
+        // pages start at 1
+        entries = (List<LogEntry>) auditBackend.nativeQuery(query, params, 2, 5);
+        assertEquals(3, entries.size());
+
+        params.clear();
+        params.put("ids", NATIVE_EVENT_ID);
+        entries = (List<LogEntry>) auditBackend.nativeQuery("FROM LogEntry log WHERE log.eventId IN (:ids, 'other')"
+                + " AND log.docUUID LIKE 'odd%' AND NOT log.docUUID = 'even-doc' AND log.comment IS NULL", params,
+                1, 20);
+        assertEquals(5, entries.size());
+
+        // collection parameters are expanded in the IN list
+        params.put("ids", Arrays.asList("other", NATIVE_EVENT_ID));
+        entries = (List<LogEntry>) auditBackend.nativeQuery("FROM LogEntry log WHERE log.eventId IN (:ids)", params,
+                1, 20);
+        assertEquals(10, entries.size());
+    }
+
+    @Test
+    public void testSegmentIndex() throws Exception {
+        Path directory = Files.createTempDirectory("audit");
+        AuditSegment segment = new AuditSegment(directory, "2017-01-01");
+        assertFalse(segment.mayMatch(LOG_DOC_UUID, Operator.EQ, "doc"));
+
+        LogEntry entry = auditBackend.newLogEntry();
+        entry.setId(42);
+        entry.setEventId(SEGMENT_EVENT_ID);
+        entry.setEventDate(new Date(1000));
+        entry.setDocUUID("doc");
+        segment.append(Collections.singletonList(entry));
+
+        assertTrue(segment.mayMatch(LOG_DOC_UUID, Operator.EQ, "doc"));
+        assertFalse(segment.mayMatch(LOG_DOC_UUID, Operator.EQ, "other-doc"));
+        assertTrue(segment.mayMatch(LOG_EVENT_ID, Operator.IN, Arrays.asList("other", SEGMENT_EVENT_ID)));
+        assertTrue(segment.mayMatch(LOG_EVENT_DATE, Operator.LTEQ, Long.valueOf(1000)));
+        assertFalse(segment.mayMatch(LOG_EVENT_DATE, Operator.GT, Long.valueOf(1000)));
+        assertFalse(segment.mayMatch(LOG_ID, Operator.EQ, Long.valueOf(43)));
+
+        // index survives a reload
+        segment.saveIndex();
+        segment = AuditSegment.load(directory, "2017-01-01");
+        assertEquals(1, segment.getCount());
+        assertEquals(42, segment.getMaxId());
+        assertFalse(segment.mayMatch(LOG_DOC_UUID, Operator.EQ, "other-doc"));
+        assertEquals("doc", segment.read().get(0).getDocUUID());
+    }
+
+    @Test
+    public void testArchiveSegments() {
+        logDailyEntries(ARCHIVE_EVENT_ID, 5);
+        Date yesterday = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+
+        int archived = getBackend().archiveSegments(yesterday, session.getRepositoryName());
+        assertTrue(archived > 0);
+
+        // archived entries are still readable
+        List<LogEntry> entries = auditBackend.queryLogs(
+                new AuditQueryBuilder().predicates(Predicates.eq(LOG_EVENT_ID, ARCHIVE_EVENT_ID)));
+        assertEquals(5, entries.size());
+
+        // and archived segments still accept late entries
+        logDailyEntries(ARCHIVE_EVENT_ID, 5);
+        entries = auditBackend.queryLogs(
+                new AuditQueryBuilder().predicates(Predicates.eq(LOG_EVENT_ID, ARCHIVE_EVENT_ID)));
+        assertEquals(10, entries.size());
+    }
+
+    @Test
+    public void testRemoveAfterArchive() throws Exception {
+        Path directory = Files.createTempDirectory("audit");
+        AuditSegment segment = new AuditSegment(directory, "2017-01-02");
+        segment.append(newSegmentEntries(1, 3));
+        segment.archive(session.getRepositoryName());
+        assertFalse(segment.hasLocalData());
+
+        // entries appended after archiving are read after the archived ones, each append being a new GZIP member
+        segment.append(newSegmentEntries(4, 5));
+        segment.append(newSegmentEntries(6, 6));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L), getIds(segment.read()));
+
+        // removal rewrites the segment with all the kept entries
+        assertEquals(1, segment.remove(entry -> entry.getId() == 2));
+        assertFalse(segment.isArchived());
+        assertEquals(Arrays.asList(1L, 3L, 4L, 5L, 6L), getIds(segment.read()));
+        assertEquals(5, AuditSegment.load(directory, "2017-01-02").getCount());
+    }
+
+    @Test
+    public void testStreamDoesNotBlockAppends() throws Exception {
+        Path directory = Files.createTempDirectory("audit");
+        AuditSegment segment = new AuditSegment(directory, "2017-01-03");
+        segment.append(newSegmentEntries(1, 3));
+        try (Stream<LogEntry> entries = segment.stream()) {
+            // the stream reads the data as it was when opened
+            segment.append(newSegmentEntries(4, 4));
+            assertEquals(3, entries.count());
+        }
+        assertEquals(4, segment.read().size());
+    }
+
+    protected List<LogEntry> newSegmentEntries(long firstId, long lastId) {
+        List<LogEntry> entries = new ArrayList<>();
+        for (long id = firstId; id <= lastId; id++) {
+            LogEntry entry = auditBackend.newLogEntry();
+            entry.setId(id);
+            entry.setEventId(SEGMENT_EVENT_ID);
+            entry.setEventDate(new Date(id * 1000));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    protected static List<Long> getIds(List<LogEntry> entries) {
+        return entries.stream().map(entry -> Long.valueOf(entry.getId())).collect(Collectors.toList());
+    }
+
+}
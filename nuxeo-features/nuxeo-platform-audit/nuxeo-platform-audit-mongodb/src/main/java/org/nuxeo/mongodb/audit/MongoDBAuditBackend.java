@@ -83,6 +83,7 @@ import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.model.Sorts;
 import com.mongodb.util.JSON;
 
@@ -105,6 +106,11 @@ public class MongoDBAuditBackend extends AbstractAuditBackend implements AuditBa
 
     public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    /**
+     * @since 9.10
+     */
+    protected static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
     protected MongoCollection<Document> collection;
 
     protected MongoDBLogEntryProvider provider = new MongoDBLogEntryProvider();
@@ -346,7 +352,8 @@ public class MongoDBAuditBackend extends AbstractAuditBackend implements AuditBa
             }
             documents.add(MongoDBAuditEntryWriter.asDocument(entry));
         }
-        collection.insertMany(documents);
+        // entries have their own ids, they don't need to be inserted in order
+        collection.insertMany(documents, UNORDERED);
     }
 
     @Override
@@ -398,7 +405,7 @@ public class MongoDBAuditBackend extends AbstractAuditBackend implements AuditBa
                 throw new NuxeoException("Unable to deserialize json entry=" + json, e);
             }
         }
-        collection.insertMany(entries);
+        collection.insertMany(entries, UNORDERED);
     }
 
     @Override
@@ -32,7 +32,9 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -83,6 +85,22 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
 
     public static final String PICTURE_CONVERSIONS_EP = "pictureConversions";
 
+    /**
+     * Configuration parameter enabling the pyramid generation of picture views: views are computed from the largest
+     * to the smallest, and each view using the default resize chain is derived from the previous, larger view instead
+     * of the original picture, which is then decoded only once.
+     *
+     * @since 9.10
+     */
+    public static final String PYRAMID_VIEWS_GENERATION = "pyramidViewsGeneration";
+
+    /**
+     * Chain doing a plain resize, whose views can be derived from a larger view.
+     *
+     * @since 9.10
+     */
+    public static final String RESIZE_CHAIN_ID = "Image.Blob.Resize";
+
     protected Map<String, String> configurationParameters = new HashMap<>();
 
     protected PictureConversionRegistry pictureConversionRegistry = new PictureConversionRegistry();
@@ -262,19 +280,68 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         if (imageInfo == null) {
             imageInfo = getImageInfo(blob);
         }
-        List<PictureView> views = new ArrayList<PictureView>();
-        for (PictureConversion pictureConversion : pictureConversions) {
+        return computeViews(null, blob, pictureConversions, imageInfo, convert);
+    }
+
+    /**
+     * Computes the views for the given picture conversions, in the order of the conversions.
+     * <p>
+     * In pyramid mode, see {@link #PYRAMID_VIEWS_GENERATION}, the resize views with a max size are computed from the
+     * largest to the smallest: only the largest one is computed from the picture, and each other one is derived from
+     * the previous, smallest sufficient, view. Views without a max size keep the full resolution and are always
+     * computed from the picture, as deriving the other views from them would decode a full resolution image again.
+     *
+     * @since 9.10
+     */
+    protected List<PictureView> computeViews(DocumentModel doc, Blob blob, List<PictureConversion> pictureConversions,
+            ImageInfo imageInfo, boolean convert) throws IOException {
+        List<PictureConversion> ordered = pictureConversions;
+        boolean pyramid = convert && isPyramidViewsGeneration();
+        if (pyramid) {
+            ordered = new ArrayList<>(pictureConversions);
+            // original size first, then by decreasing size
+            ordered.sort(Comparator.comparingInt(ImagingComponent::getMaxSizeOrOriginal).reversed());
+        }
+        Map<PictureConversion, PictureView> computed = new IdentityHashMap<>();
+        Blob source = blob;
+        for (PictureConversion pictureConversion : ordered) {
             try {
-                views.add(computeView(blob, pictureConversion, imageInfo, convert));
+                PictureView view;
+                if (pyramid && RESIZE_CHAIN_ID.equals(pictureConversion.getChainId())
+                        && pictureConversion.getMaxSize() != null) {
+                    view = computeView(doc, blob, source, pictureConversion, imageInfo);
+                    if (view.getBlob() != null) {
+                        source = view.getBlob();
+                    }
+                } else {
+                    view = computeView(doc, blob, pictureConversion, imageInfo, convert);
+                }
+                computed.put(pictureConversion, view);
             } catch (NuxeoException e) {
-                log.warn(String.format("Unable to compute view: %s exception message: %s", pictureConversion.getId(),
-                        e.getMessage()));
+                log.warn(String.format("Unable to compute view: %s for document: %s exception message: %s",
+                        pictureConversion.getId(), doc, e.getMessage()));
                 log.debug(e, e);
             }
         }
+        List<PictureView> views = new ArrayList<>(computed.size());
+        for (PictureConversion pictureConversion : pictureConversions) {
+            PictureView view = computed.get(pictureConversion);
+            if (view != null) {
+                views.add(view);
+            }
+        }
         return views;
     }
 
+    protected static int getMaxSizeOrOriginal(PictureConversion pictureConversion) {
+        Integer maxSize = pictureConversion.getMaxSize();
+        return maxSize == null ? Integer.MAX_VALUE : maxSize.intValue();
+    }
+
+    protected boolean isPyramidViewsGeneration() {
+        return Boolean.parseBoolean(getConfigurationValue(PYRAMID_VIEWS_GENERATION));
+    }
+
     protected PictureView computeView(Blob blob, PictureConversion pictureConversion, ImageInfo imageInfo,
             boolean convert) throws IOException {
         return computeView(null, blob, pictureConversion, imageInfo, convert);
@@ -379,6 +446,17 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
 
     protected PictureView computeView(DocumentModel doc, Blob blob, PictureConversion pictureConversion,
             ImageInfo imageInfo) {
+        return computeView(doc, blob, blob, pictureConversion, imageInfo);
+    }
+
+    /**
+     * Computes a view of the picture {@code blob}, running the conversion chain on {@code source}, which is either the
+     * picture itself or a larger view of it.
+     *
+     * @since 9.10
+     */
+    protected PictureView computeView(DocumentModel doc, Blob blob, Blob source, PictureConversion pictureConversion,
+            ImageInfo imageInfo) {
 
         String title = pictureConversion.getId();
 
@@ -403,7 +481,7 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
         // Use the registered conversion format
         String conversionFormat = getConfigurationValue(CONVERSION_FORMAT, JPEG_CONVERSATION_FORMAT);
 
-        Blob viewBlob = callPictureConversionChain(doc, blob, pictureConversion, imageInfo, size, conversionFormat);
+        Blob viewBlob = callPictureConversionChain(doc, source, pictureConversion, imageInfo, size, conversionFormat);
 
         // If the extension of the generated binary is empty, it's fetched from the mimetype
         String extension = FilenameUtils.getExtension(viewBlob.getFilename());
@@ -474,23 +552,13 @@ public class ImagingComponent extends DefaultComponent implements ImagingService
     @Override
     public List<PictureView> computeViewsFor(DocumentModel doc, Blob blob, ImageInfo imageInfo, boolean convert)
             throws IOException {
-        List<PictureConversion> pictureConversions = getPictureConversions();
-        List<PictureView> pictureViews = new ArrayList<>(pictureConversions.size());
-
-        for (PictureConversion pictureConversion : pictureConversions) {
+        List<PictureConversion> pictureConversions = new ArrayList<>();
+        for (PictureConversion pictureConversion : getPictureConversions()) {
             if (canApplyPictureConversion(pictureConversion, doc)) {
-                try {
-                    PictureView pictureView = computeView(doc, blob, pictureConversion, imageInfo, convert);
-                    pictureViews.add(pictureView);
-                } catch (NuxeoException e) {
-                    log.warn(String.format("Unable to compute view: %s for document: %s exception message: %s",
-                            pictureConversion.getId(), doc, e.getMessage()));
-                    log.debug(e, e);
-                }
+                pictureConversions.add(pictureConversion);
             }
         }
-
-        return pictureViews;
+        return computeViews(doc, blob, pictureConversions, imageInfo, convert);
     }
 
     protected boolean canApplyPictureConversion(PictureConversion pictureConversion, DocumentModel doc) {
@@ -22,7 +22,9 @@ import static org.nuxeo.ecm.core.api.CoreSession.ALLOW_VERSION_WRITE;
 import static org.nuxeo.ecm.platform.picture.listener.PictureViewsGenerationListener.DISABLE_PICTURE_VIEWS_GENERATION_LISTENER;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 import org.nuxeo.ecm.core.api.Blob;
 import org.nuxeo.ecm.core.api.DocumentModel;
@@ -35,8 +37,15 @@ import org.nuxeo.ecm.core.event.impl.DocumentEventContext;
 import org.nuxeo.ecm.core.versioning.VersioningService;
 import org.nuxeo.ecm.core.work.AbstractWork;
 import org.nuxeo.ecm.core.work.api.WorkManager;
+import org.nuxeo.ecm.platform.picture.api.PictureView;
+import org.nuxeo.ecm.platform.picture.api.adapters.AbstractPictureAdapter;
 import org.nuxeo.ecm.platform.picture.api.adapters.PictureResourceAdapter;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
 
 /**
  * Work generating the different picture views for a Picture.
@@ -51,6 +60,21 @@ public class PictureViewsGenerationWork extends AbstractWork {
 
     public static final String PICTURE_VIEWS_GENERATION_DONE_EVENT = "pictureViewsGenerationDone";
 
+    /** @since 9.10 */
+    public static final String GENERATION_TIMER_NAME = MetricRegistry.name("nuxeo", "picture", "views", "generation");
+
+    /**
+     * Histogram of the estimated memory needed to hold the decoded pixels of each generated view, in bytes. The estimate
+     * is computed from the view dimensions, it is not a measure of the memory used by the converters.
+     *
+     * @since 9.10
+     */
+    public static final String VIEW_MEMORY_ESTIMATE_HISTOGRAM_NAME = MetricRegistry.name("nuxeo", "picture", "views",
+            "memoryEstimate");
+
+    // 4 bytes per pixel for a decoded RGBA image
+    protected static final int BYTES_PER_PIXEL = 4;
+
     protected final String xpath;
 
     public PictureViewsGenerationWork(String repositoryName, String docId, String xpath) {
@@ -101,7 +125,8 @@ public class PictureViewsGenerationWork extends AbstractWork {
 
         String title = workingDocument.getTitle();
         setStatus("Generating views");
-        try {
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        try (Timer.Context ignored = registry.timer(GENERATION_TIMER_NAME).time()) {
             PictureResourceAdapter picture = workingDocument.getAdapter(PictureResourceAdapter.class);
             picture.fillPictureViews(blob, blob.getFilename(), title, null);
         } catch (DocumentNotFoundException e) {
@@ -112,6 +137,8 @@ public class PictureViewsGenerationWork extends AbstractWork {
             throw new RuntimeException(e);
         }
 
+        updateViewMemoryEstimateMetrics(registry, workingDocument);
+
         if (!session.exists(new IdRef(docId))) {
             setStatus("Nothing to process");
             return;
@@ -131,6 +158,28 @@ public class PictureViewsGenerationWork extends AbstractWork {
         setStatus("Done");
     }
 
+    /**
+     * Records the estimated memory needed to hold the decoded pixels of each generated view.
+     *
+     * @since 9.10
+     */
+    @SuppressWarnings("unchecked")
+    protected void updateViewMemoryEstimateMetrics(MetricRegistry registry, DocumentModel doc) {
+        List<Map<String, Serializable>> views = (List<Map<String, Serializable>>) doc.getPropertyValue(
+                AbstractPictureAdapter.VIEWS_PROPERTY);
+        if (views == null) {
+            return;
+        }
+        for (Map<String, Serializable> view : views) {
+            Serializable width = view.get(PictureView.FIELD_WIDTH);
+            Serializable height = view.get(PictureView.FIELD_HEIGHT);
+            if (width instanceof Number && height instanceof Number) {
+                long pixels = ((Number) width).longValue() * ((Number) height).longValue();
+                registry.histogram(VIEW_MEMORY_ESTIMATE_HISTOGRAM_NAME).update(pixels * BYTES_PER_PIXEL);
+            }
+        }
+    }
+
     /**
      * Fire a {@code PICTURE_VIEWS_GENERATION_DONE_EVENT} event when no other PictureViewsGenerationWork is scheduled
      * for this document.
@@ -45,6 +45,7 @@ import org.nuxeo.ecm.core.api.DocumentModel;
 import org.nuxeo.ecm.core.event.EventService;
 import org.nuxeo.ecm.core.test.CoreFeature;
 import org.nuxeo.ecm.core.test.TransactionalFeature;
+import org.nuxeo.ecm.platform.picture.ImagingComponent;
 import org.nuxeo.ecm.platform.picture.api.ImageInfo;
 import org.nuxeo.ecm.platform.picture.api.ImagingService;
 import org.nuxeo.ecm.platform.picture.api.PictureConversion;
@@ -265,4 +266,42 @@ public class TestPictureConversions {
         }
     }
 
+    @Test
+    public void testPyramidViewsGeneration() throws IOException {
+        Blob blob = Blobs.createBlob(FileUtils.getResourceFileFromContext("images/test.jpg"));
+        blob.setFilename("MyTest.jpg");
+        blob.setMimeType("image/jpeg");
+        List<PictureConversion> pictureConversions = imagingService.getPictureConversions();
+
+        List<PictureView> views = imagingService.computeViewsFor(blob, pictureConversions, true);
+        imagingService.setConfigurationValue(ImagingComponent.PYRAMID_VIEWS_GENERATION, "true");
+        List<PictureView> pyramidViews;
+        try {
+            pyramidViews = imagingService.computeViewsFor(blob, pictureConversions, true);
+        } finally {
+            imagingService.setConfigurationValue(ImagingComponent.PYRAMID_VIEWS_GENERATION, "false");
+        }
+
+        // same views, in the same order, with the same sizes
+        assertEquals(views.size(), pyramidViews.size());
+        for (int i = 0; i < views.size(); i++) {
+            PictureView view = views.get(i);
+            PictureView pyramidView = pyramidViews.get(i);
+            assertEquals(view.getTitle(), pyramidView.getTitle());
+            assertEquals(view.getFilename(), pyramidView.getFilename());
+            assertEquals(view.getWidth(), pyramidView.getWidth());
+            assertEquals(view.getHeight(), pyramidView.getHeight());
+            // the generated blobs have the same format, and the same size up to the rounding of a derived resize
+            ImageInfo info = imagingService.getImageInfo(view.getBlob());
+            ImageInfo pyramidInfo = imagingService.getImageInfo(pyramidView.getBlob());
+            assertEquals(info.getFormat(), pyramidInfo.getFormat());
+            assertEquals(info.getWidth(), pyramidInfo.getWidth(), 1);
+            assertEquals(info.getHeight(), pyramidInfo.getHeight(), 1);
+            assertTrue(pyramidInfo.getWidth() <= pyramidView.getWidth());
+            assertTrue(pyramidInfo.getHeight() <= pyramidView.getHeight());
+            assertEquals(pyramidInfo.getWidth(), pyramidView.getImageInfo().getWidth());
+            assertEquals(pyramidInfo.getHeight(), pyramidView.getImageInfo().getHeight());
+        }
+    }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.restapi.server.jaxrs;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.nuxeo.ecm.core.api.CoreSession;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelIterator;
+import org.nuxeo.ecm.core.api.DocumentRef;
+import org.nuxeo.ecm.core.api.IdRef;
+import org.nuxeo.ecm.core.api.IterableQueryResult;
+import org.nuxeo.ecm.core.query.sql.NXQL;
+
+/**
+ * Iterator over the documents matching a NXQL query, reading the ids from the query cursor and fetching the documents
+ * by batches, so that the whole result is never held in memory.
+ * <p>
+ * The query is a {@code SELECT * FROM ...} query, whose cursor returns the document ids. The iterator must be closed
+ * to release the cursor.
+ *
+ * @since 9.10
+ */
+public class DocumentModelQueryIterator implements DocumentModelIterator, AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    protected final CoreSession session;
+
+    protected final int batchSize;
+
+    protected final IterableQueryResult result;
+
+    protected final Iterator<Map<String, Serializable>> it;
+
+    protected Iterator<DocumentModel> batch;
+
+    public DocumentModelQueryIterator(CoreSession session, String query, Object... params) {
+        this(session, DEFAULT_BATCH_SIZE, query, params);
+    }
+
+    public DocumentModelQueryIterator(CoreSession session, int batchSize, String query, Object... params) {
+        this.session = session;
+        this.batchSize = batchSize;
+        result = session.queryAndFetch(query, NXQL.NXQL, true, params);
+        it = result.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        // documents that are no longer readable are skipped by getDocuments, so a batch may be empty
+        while (batch == null || !batch.hasNext()) {
+            if (!it.hasNext()) {
+                return false;
+            }
+            List<DocumentRef> refs = new ArrayList<>(batchSize);
+            while (refs.size() < batchSize && it.hasNext()) {
+                refs.add(new IdRef((String) it.next().get(NXQL.ECM_UUID)));
+            }
+            batch = session.getDocuments(refs.toArray(new DocumentRef[refs.size()])).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public DocumentModel next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.next();
+    }
+
+    @Override
+    public Iterator<DocumentModel> iterator() {
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return UNKNOWN_SIZE;
+    }
+
+    @Override
+    public void close() {
+        result.close();
+    }
+
+}
@@ -48,6 +48,9 @@ import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.core.api.SortInfo;
 import org.nuxeo.ecm.core.api.impl.SimpleDocumentModel;
 import org.nuxeo.ecm.core.api.model.PropertyNotFoundException;
+import org.nuxeo.ecm.core.query.QueryParseException;
+import org.nuxeo.ecm.core.query.sql.SQLQueryParser;
+import org.nuxeo.ecm.core.query.sql.model.SQLQuery;
 import org.nuxeo.ecm.platform.query.api.PageProvider;
 import org.nuxeo.ecm.platform.query.api.PageProviderDefinition;
 import org.nuxeo.ecm.platform.query.api.PageProviderService;
@@ -83,6 +86,11 @@ public class QueryObject extends AbstractResource<ResourceTypeImpl> {
 
     public static final String ORDERED_PARAMS = "queryParams";
 
+    /**
+     * @since 9.10
+     */
+    public static final String STREAM = "stream";
+
     public static final String CURRENT_USERID_PATTERN = "$currentUser";
 
     public static final String CURRENT_REPO_PATTERN = "$currentRepository";
@@ -173,19 +181,7 @@ public class QueryObject extends AbstractResource<ResourceTypeImpl> {
         }
 
         // Ordered Parameters
-        Object[] parameters = null;
-        if (orderedParams != null && !orderedParams.isEmpty()) {
-            parameters = orderedParams.toArray(new String[orderedParams.size()]);
-            // expand specific parameters
-            for (int idx = 0; idx < parameters.length; idx++) {
-                String value = (String) parameters[idx];
-                if (value.equals(CURRENT_USERID_PATTERN)) {
-                    parameters[idx] = ctx.getCoreSession().getPrincipal().getName();
-                } else if (value.equals(CURRENT_REPO_PATTERN)) {
-                    parameters[idx] = ctx.getCoreSession().getRepositoryName();
-                }
-            }
-        }
+        Object[] parameters = getOrderedParameters(orderedParams);
 
         Map<String, Serializable> props = new HashMap<String, Serializable>();
         props.put(CoreQueryDocumentPageProvider.CORE_SESSION_PROPERTY, (Serializable) ctx.getCoreSession());
@@ -253,6 +249,29 @@ public class QueryObject extends AbstractResource<ResourceTypeImpl> {
         return res;
     }
 
+    /**
+     * Returns the ordered parameters of the query, with the specific parameters expanded, or {@code null} if there is
+     * none.
+     *
+     * @since 9.10
+     */
+    protected Object[] getOrderedParameters(List<String> orderedParams) {
+        if (orderedParams == null || orderedParams.isEmpty()) {
+            return null;
+        }
+        Object[] parameters = orderedParams.toArray(new String[orderedParams.size()]);
+        // expand specific parameters
+        for (int idx = 0; idx < parameters.length; idx++) {
+            String value = (String) parameters[idx];
+            if (value.equals(CURRENT_USERID_PATTERN)) {
+                parameters[idx] = ctx.getCoreSession().getPrincipal().getName();
+            } else if (value.equals(CURRENT_REPO_PATTERN)) {
+                parameters[idx] = ctx.getCoreSession().getRepositoryName();
+            }
+        }
+        return parameters;
+    }
+
     protected DocumentModel getSearchDocumentModel(CoreSession session, PageProviderService pps, String providerName,
             Properties namedParameters) {
         // generate search document model if type specified on the definition
@@ -327,6 +346,37 @@ public class QueryObject extends AbstractResource<ResourceTypeImpl> {
         return getQuery(uriInfo, langOrProviderName);
     }
 
+    /**
+     * Streams all the documents matching a NXQL {@code SELECT * FROM ...} query, without pagination.
+     * <p>
+     * The documents are read from the query cursor and written by chunks, so that large results are not held in memory.
+     *
+     * @param uriInfo Query parameters, only {@link #QUERY} and {@link #ORDERED_PARAMS} are used
+     * @return Document Listing
+     * @since 9.10
+     */
+    @GET
+    @Path(STREAM)
+    public Object doStreamQuery(@Context UriInfo uriInfo) {
+        MultivaluedMap<String, String> queryParams = uriInfo.getQueryParameters();
+        String query = queryParams.getFirst(QUERY);
+        if (query == null) {
+            query = "SELECT * from Document";
+        }
+        SQLQuery sqlQuery;
+        try {
+            sqlQuery = SQLQueryParser.parse(query);
+        } catch (QueryParseException e) {
+            throw new NuxeoException(e.getMessage(), SC_BAD_REQUEST);
+        }
+        if (!sqlQuery.getSelectClause().isEmpty()) {
+            throw new NuxeoException("Only SELECT * queries can be streamed: " + query, SC_BAD_REQUEST);
+        }
+        Object[] parameters = getOrderedParameters(queryParams.get(ORDERED_PARAMS));
+        return new DocumentModelQueryIterator(ctx.getCoreSession(), query,
+                parameters == null ? new Object[0] : parameters);
+    }
+
     public enum QueryParams {
         PAGE_SIZE, CURRENT_PAGE_INDEX, MAX_RESULTS, SORT_BY, SORT_ORDER, ORDERED_PARAMS, QUERY, QUICK_FILTERS
     }
@@ -21,8 +21,11 @@ package org.nuxeo.ecm.restapi.server.jaxrs.adapters;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Iterator;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
@@ -64,12 +67,28 @@ public class AuditAdapter extends PaginableAdapter<LogEntry> {
 
     public static final String END_EVENT_DATE_PARAMETER_NAME = "endEventDate";
 
+    /**
+     * @since 9.10
+     */
+    public static final String STREAM = "stream";
+
     @Override
     protected PageProviderDefinition getPageProviderDefinition() {
         PageProviderService ppService = Framework.getService(PageProviderService.class);
         return ppService.getPageProviderDefinition(PAGE_PROVIDER_NAME);
     }
 
+    /**
+     * Streams the log entries from the requested page to the last one, without pagination information.
+     *
+     * @since 9.10
+     */
+    @GET
+    @Path(STREAM)
+    public Iterator<LogEntry> getStreamedEntries() {
+        return new PageProviderIterator<>(getPageProvider());
+    }
+
     @Override
     protected Object[] getParams() {
         return new Object[] { getTarget().getAdapter(DocumentModel.class) };
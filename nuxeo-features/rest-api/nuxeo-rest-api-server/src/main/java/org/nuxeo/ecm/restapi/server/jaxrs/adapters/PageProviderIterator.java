@@ -0,0 +1,60 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.restapi.server.jaxrs.adapters;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.nuxeo.ecm.platform.query.api.PageProvider;
+
+/**
+ * Iterates over the entries of a {@link PageProvider}, from its current page to its last one, reading one page at a
+ * time.
+ *
+ * @since 9.10
+ */
+public class PageProviderIterator<T> implements Iterator<T> {
+
+    protected final PageProvider<T> pageProvider;
+
+    protected Iterator<T> page;
+
+    public PageProviderIterator(PageProvider<T> pageProvider) {
+        this.pageProvider = pageProvider;
+        page = pageProvider.getCurrentPage().iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!page.hasNext() && pageProvider.isNextPageAvailable()) {
+            pageProvider.nextPage();
+            page = pageProvider.getCurrentPage().iterator();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+}
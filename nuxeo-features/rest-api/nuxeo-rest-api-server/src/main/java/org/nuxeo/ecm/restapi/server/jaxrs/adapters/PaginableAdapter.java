@@ -111,9 +111,18 @@ public abstract class PaginableAdapter<T> extends DefaultAdapter {
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     @GET
     public Paginable<T> getPaginableEntries() {
+        return getPaginableEntries(getPageProvider());
+    }
+
+    /**
+     * Gets the page provider of this adapter, at the requested page and with the requested sort.
+     *
+     * @since 9.10
+     */
+    @SuppressWarnings("unchecked")
+    protected PageProvider<T> getPageProvider() {
         PageProviderDefinition ppDefinition = getPageProviderDefinition();
         if (ppDefinition == null) {
             throw new NuxeoException("Page provider given not found");
@@ -141,7 +150,7 @@ public abstract class PaginableAdapter<T> extends DefaultAdapter {
                 }
             }
         }
-        return getPaginableEntries(pp);
+        return pp;
     }
 
     protected Paginable<T> getPaginableEntries(PageProvider<T> pageProvider) {
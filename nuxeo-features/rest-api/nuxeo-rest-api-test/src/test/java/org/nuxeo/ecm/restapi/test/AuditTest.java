@@ -20,6 +20,7 @@
 package org.nuxeo.ecm.restapi.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -87,6 +88,27 @@ public class AuditTest extends BaseTest {
         }
     }
 
+    @Test
+    public void shouldStreamLogEntries() throws Exception {
+        DocumentModel doc = RestServerInit.getFile(1, session);
+
+        // pages of one entry are read while streaming
+        MultivaluedMap<String, String> queryParams = new MultivaluedMapImpl();
+        queryParams.putSingle("pageSize", "1");
+        try (CloseableClientResponse response = getResponse(BaseTest.RequestType.GET,
+                "id/" + doc.getId() + "/@" + AuditAdapter.NAME + "/" + AuditAdapter.STREAM, queryParams)) {
+
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            JsonNode node = mapper.readTree(response.getEntityInputStream());
+            assertEquals("logEntries", node.get("entity-type").getValueAsText());
+            assertFalse(node.has("totalSize"));
+            List<JsonNode> nodes = getLogEntries(node);
+            assertEquals(2, nodes.size());
+            assertEquals("documentModified", nodes.get(0).get("eventId").getValueAsText());
+            assertEquals("documentCreated", nodes.get(1).get("eventId").getValueAsText());
+        }
+    }
+
     @Test
     public void shouldFilterLogEntriesOnEventId() throws Exception {
         DocumentModel doc = RestServerInit.getFile(1, session);
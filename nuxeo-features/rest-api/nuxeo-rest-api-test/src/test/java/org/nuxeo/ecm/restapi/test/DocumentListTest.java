@@ -20,6 +20,7 @@ package org.nuxeo.ecm.restapi.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -151,6 +152,49 @@ public class DocumentListTest extends BaseTest {
         }
     }
 
+    @Test
+    public void iCanStreamQueriesOnRepository() throws IOException {
+        // Given a repository with more documents than a page
+        int count = session.query("SELECT * FROM Document").size();
+        assertTrue(count > 20);
+
+        // When I stream a query in NXQL on it
+        MultivaluedMap<String, String> queryParams = new MultivaluedMapImpl();
+        queryParams.putSingle("query", "SELECT * FROM Document");
+        try (CloseableClientResponse response = getResponse(RequestType.GET,
+                QueryObject.PATH + "/" + QueryObject.STREAM, queryParams)) {
+
+            // Then I get all the documents without pagination
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            assertTrue(response.getHeaders().getFirst("Content-Type").endsWith("nuxeo-entity=documents"));
+            JsonNode node = mapper.readTree(response.getEntityInputStream());
+            assertEquals("documents", node.get("entity-type").getValueAsText());
+            assertFalse(node.has("totalSize"));
+            assertEquals(count, getLogEntries(node).size());
+        }
+
+        // Given ordered parameters
+        queryParams.clear();
+        queryParams.add("queryParams", "$currentUser");
+        queryParams.add("query", "SELECT * FROM Document WHERE dc:creator = ?");
+        int creatorCount = session.query("SELECT * FROM Document WHERE dc:creator = '"
+                + session.getPrincipal().getName() + "'").size();
+        try (CloseableClientResponse response = getResponse(RequestType.GET,
+                QueryObject.PATH + "/" + QueryObject.STREAM, queryParams)) {
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            JsonNode node = mapper.readTree(response.getEntityInputStream());
+            assertEquals(creatorCount, getLogEntries(node).size());
+        }
+
+        // Only the documents can be streamed
+        queryParams.clear();
+        queryParams.add("query", "SELECT dc:title FROM Document");
+        try (CloseableClientResponse response = getResponse(RequestType.GET,
+                QueryObject.PATH + "/" + QueryObject.STREAM, queryParams)) {
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        }
+    }
+
     @Test
     public void iCanPerformQueriesWithNamedParametersOnRepository() throws IOException {
         // Given a repository and named parameters, when I perform a query in
@@ -27,6 +27,7 @@ import java.nio.charset.CodingErrorAction;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Key/Value Store common methods.
@@ -127,4 +128,28 @@ public abstract class AbstractKeyValueStoreProvider implements KeyValueStoreProv
         return compareAndSet(key, stringToBytes(expected), stringToBytes(value), ttl);
     }
 
+    /*
+     * This default implementation reads all the keys. It is expected that underlying storage implementations will
+     * only read the matching keys.
+     */
+    @Override
+    public Stream<String> keyStream(String prefix) {
+        return keyStream().filter(key -> key.startsWith(prefix));
+    }
+
+    /*
+     * This default implementation retries a compare-and-set until it succeeds, which doesn't scale under contention.
+     * It is expected that underlying storage implementations will do the addition atomically.
+     */
+    @Override
+    public long addAndGet(String key, long delta) throws NumberFormatException {
+        for (;;) {
+            String current = getString(key);
+            long result = (current == null ? 0 : Long.parseLong(current)) + delta;
+            if (compareAndSet(key, current, Long.toString(result))) {
+                return result;
+            }
+        }
+    }
+
 }
@@ -171,4 +171,18 @@ public interface KeyValueStore {
      */
     boolean compareAndSet(String key, String expected, String value, long ttl);
 
+    /**
+     * Atomically adds the delta to the value associated to the key, interpreted as a long, or to 0 if there is no
+     * value.
+     * <p>
+     * The value is stored as the decimal representation of the long, and can be read with {@link #getString}.
+     *
+     * @param key the key
+     * @param delta the delta to add
+     * @return the value after the addition
+     * @throws NumberFormatException if the current value is not a long
+     * @since 9.10
+     */
+    long addAndGet(String key, long delta) throws NumberFormatException;
+
 }
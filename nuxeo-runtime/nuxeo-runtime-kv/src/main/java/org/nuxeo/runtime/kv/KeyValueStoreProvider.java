@@ -44,6 +44,17 @@ public interface KeyValueStoreProvider extends KeyValueStore {
      */
     Stream<String> keyStream();
 
+    /**
+     * Returns a {@link Stream} of the keys with the given prefix contained in this Key/Value store provider.
+     * <p>
+     * Contrary to {@link #keyStream()}, the storage is expected to only read the matching keys.
+     *
+     * @param prefix the prefix
+     * @return the stream of keys
+     * @since 9.10
+     */
+    Stream<String> keyStream(String prefix);
+
     /**
      * Closes this Key/Value store provider.
      */
@@ -18,6 +18,8 @@
  */
 package org.nuxeo.runtime.kv;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -143,6 +145,22 @@ public class MemKeyValueStore extends AbstractKeyValueStoreProvider {
         }
     }
 
+    @Override
+    public long addAndGet(String key, long delta) throws NumberFormatException {
+        Objects.requireNonNull(key);
+        // a single read-modify-write under the lock, instead of compare-and-set retries
+        writeLock.lock();
+        try {
+            byte[] current = map.get(key);
+            long result = (current == null ? 0 : Long.parseLong(new String(current, UTF_8))) + delta;
+            // an existing entry keeps its expiration
+            map.put(key, Long.toString(result).getBytes(UTF_8));
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "(" + name + ")";
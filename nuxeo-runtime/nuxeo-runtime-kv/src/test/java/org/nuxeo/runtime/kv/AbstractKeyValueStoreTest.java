@@ -31,16 +31,22 @@ import java.nio.ByteBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.nuxeo.runtime.test.runner.Deploy;
@@ -243,6 +249,78 @@ public abstract class AbstractKeyValueStoreTest {
         assertTrue(store.compareAndSet(key, "1".getBytes(), "2".getBytes()));
     }
 
+    @Test
+    public void testAddAndGet() {
+        String key = "foo";
+
+        assertEquals(5, store.addAndGet(key, 5));
+        assertEquals("5", store.getString(key));
+        assertEquals(3, store.addAndGet(key, -2));
+        assertEquals("3", store.getString(key));
+        assertTrue(store.compareAndSet(key, "3", "10"));
+        assertEquals(11, store.addAndGet(key, 1));
+
+        // a long put as a string or as bytes
+        store.put(key, "100");
+        assertEquals(101, store.addAndGet(key, 1));
+        store.put(key, "200".getBytes());
+        assertEquals(200, store.addAndGet(key, 0));
+
+        store.put(key, BAR);
+        try {
+            store.addAndGet(key, 1);
+            fail("should fail to add to a String");
+        } catch (NumberFormatException e) {
+            // ok
+        }
+        assertEquals(BAR, store.getString(key));
+    }
+
+    @Test
+    public void testKeyStreamPrefix() {
+        store.put("foo1", BAR);
+        store.put("foo2", BAR);
+        store.put("fo", BAR);
+        store.put("bar", BAR);
+        // characters that are special in patterns
+        store.put("f_o%*?[.]1", BAR);
+        store.put("fxo%*?[.]2", BAR);
+        assertEquals(new HashSet<>(Arrays.asList("foo1", "foo2")),
+                store.keyStream("foo").collect(Collectors.toSet()));
+        assertEquals(Collections.singleton("f_o%*?[.]1"), store.keyStream("f_o%*?[.]").collect(Collectors.toSet()));
+        assertEquals(Collections.emptySet(), store.keyStream("zzz").collect(Collectors.toSet()));
+        assertEquals(storeKeys(), store.keyStream("").collect(Collectors.toSet()));
+    }
+
+    @Test
+    @Ignore("for performance testing purpose")
+    public void testAddAndGetContention() throws Exception {
+        String key = "counter";
+        int nThreads = 64;
+        int n = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            long t0 = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < nThreads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int k = 0; k < n; k++) {
+                        store.addAndGet(key, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long t1 = System.nanoTime();
+            assertEquals(String.valueOf(nThreads * n), store.getString(key));
+            System.out.println(String.format("%s: %d additions by %d threads in %d ms", store, nThreads * n, nThreads,
+                    (t1 - t0) / 1_000_000));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testBinaryValuesAreAccepted() {
         String key = "foo";
@@ -18,11 +18,19 @@
  */
 package org.nuxeo.runtime.pubsub;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.nuxeo.runtime.api.Framework;
 
 /**
  * Encapsulates invalidations management through the {@link PubSubService}.
+ * <p>
+ * When the {@value #SEND_DELAY_PROP} property is set, the invalidations sent during this delay, in milliseconds, are
+ * merged and sent as a single message.
  *
  * @since 9.3
  */
@@ -31,19 +39,46 @@ public abstract class AbstractPubSubInvalidationsAccumulator<T extends Serializa
 
     private static final Log log = LogFactory.getLog(AbstractPubSubInvalidationsAccumulator.class);
 
+    /**
+     * Property for the delay during which the sent invalidations are merged, in milliseconds.
+     *
+     * @since 9.10
+     */
+    public static final String SEND_DELAY_PROP = "org.nuxeo.runtime.pubsub.invalidations.delay";
+
     protected volatile T bufferedInvalidations;
 
+    /** @since 9.10 */
+    protected long sendDelay;
+
+    /** Invalidations waiting for the end of the send delay, or {@code null}. */
+    protected T pendingInvalidations;
+
+    protected final Object pendingLock = new Object();
+
+    /** Lazy holder of the thread sending the merged invalidations. */
+    protected static class Sender {
+
+        protected static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Nuxeo-PubSub-Invalidations");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
     /** Constructs new empty invalidations, of type {@link T}. */
     public abstract T newInvalidations();
 
     @Override
     public void initialize(String topic, String discriminator) {
         bufferedInvalidations = newInvalidations();
+        sendDelay = Long.parseLong(Framework.getProperty(SEND_DELAY_PROP, "0"));
         super.initialize(topic, discriminator);
     }
 
     @Override
     public void close() {
+        sendPendingInvalidations();
         super.close();
         // not null to avoid crashing subscriber thread still in flight
         bufferedInvalidations = newInvalidations();
@@ -53,7 +88,39 @@ public abstract class AbstractPubSubInvalidationsAccumulator<T extends Serializa
      * Sends invalidations to other nodes.
      */
     public void sendInvalidations(T invalidations) {
-        sendMessage(invalidations);
+        if (sendDelay <= 0) {
+            sendMessage(invalidations);
+            return;
+        }
+        synchronized (pendingLock) {
+            if (pendingInvalidations == null) {
+                pendingInvalidations = newInvalidations();
+                Sender.EXECUTOR.schedule(this::sendPendingInvalidations, sendDelay, TimeUnit.MILLISECONDS);
+            }
+            pendingInvalidations.add(invalidations);
+        }
+    }
+
+    /**
+     * Sends the merged invalidations waiting for the end of the send delay, if any.
+     *
+     * @since 9.10
+     */
+    public void sendPendingInvalidations() {
+        T invalidations;
+        synchronized (pendingLock) {
+            invalidations = pendingInvalidations;
+            pendingInvalidations = null;
+        }
+        if (invalidations == null || invalidations.isEmpty()) {
+            return;
+        }
+        try {
+            sendMessage(invalidations);
+        } catch (RuntimeException e) {
+            // don't kill the sender thread
+            log.error("Failed to send invalidations", e);
+        }
     }
 
     @Override
@@ -18,25 +18,52 @@
  */
 package org.nuxeo.runtime.pubsub;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.nuxeo.lib.stream.computation.Record;
+import org.nuxeo.lib.stream.computation.Record.Flag;
 import org.nuxeo.lib.stream.computation.Watermark;
 import org.nuxeo.lib.stream.log.LogAppender;
 import org.nuxeo.lib.stream.log.LogRecord;
 import org.nuxeo.lib.stream.log.LogTailer;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.stream.StreamService;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
 /**
  * A Pub/Sub provider based on Nuxeo Stream.
+ * <p>
+ * When the {@value #BATCH_WINDOW_OPT} option is set, the messages published to a topic during this window, in
+ * milliseconds, are appended to the stream as a single record, which is compressed if it's larger than the
+ * {@value #COMPRESS_THRESHOLD_OPT} option, in bytes. The subscribers receive the messages one by one as usual.
+ * <p>
+ * The published messages, the size of the batches and the lag of the subscriber are measured per topic.
  *
  * @since 10.1
  */
@@ -53,8 +80,64 @@ public class StreamPubSubProvider extends AbstractPubSubProvider {
 
     protected static final String LOG_NAME_OPT = "logName";
 
+    /** @since 9.10 */
+    protected static final String BATCH_WINDOW_OPT = "batchWindow";
+
+    /** @since 9.10 */
+    protected static final String BATCH_MAX_SIZE_OPT = "batchMaxSize";
+
+    /** @since 9.10 */
+    protected static final String COMPRESS_THRESHOLD_OPT = "compressThreshold";
+
+    /** @since 9.10 */
+    protected static final int DEFAULT_BATCH_MAX_SIZE = 100;
+
+    /** Flag of a record holding several messages. */
+    protected static final Flag BATCH_FLAG = Flag.USER1;
+
+    /** Flag of a compressed record. */
+    protected static final Flag COMPRESSED_FLAG = Flag.USER2;
+
     protected static final Random RANDOM = new Random();
 
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected long batchWindow;
+
+    protected int batchMaxSize;
+
+    protected int compressThreshold;
+
+    /**
+     * Messages waiting for the end of the batch window, per topic. The list of a topic is also the lock under which its
+     * batches are appended, so that they are appended in order.
+     */
+    protected final Map<String, List<byte[]>> pending = new ConcurrentHashMap<>();
+
+    protected ScheduledExecutorService batchExecutor;
+
+    protected final Map<String, TopicMetrics> topicMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * Metrics of a topic.
+     *
+     * @since 9.10
+     */
+    protected class TopicMetrics {
+
+        protected final Meter published;
+
+        protected final Histogram batchSize;
+
+        protected final Histogram lag;
+
+        protected TopicMetrics(String topic) {
+            published = registry.meter(MetricRegistry.name("nuxeo", "pubsub", topic, "published"));
+            batchSize = registry.histogram(MetricRegistry.name("nuxeo", "pubsub", topic, "batch-size"));
+            lag = registry.histogram(MetricRegistry.name("nuxeo", "pubsub", topic, "lag"));
+        }
+    }
+
     protected String logConfig;
 
     protected String logName;
@@ -72,7 +155,19 @@ public class StreamPubSubProvider extends AbstractPubSubProvider {
         if (StringUtils.isBlank(logName)) {
             throw new IllegalArgumentException("Missing option logName in StreamPubSubProviderDescriptor");
         }
+        batchWindow = Long.parseLong(options.getOrDefault(BATCH_WINDOW_OPT, "0"));
+        batchMaxSize = Integer.parseInt(
+                options.getOrDefault(BATCH_MAX_SIZE_OPT, String.valueOf(DEFAULT_BATCH_MAX_SIZE)));
+        compressThreshold = Integer.parseInt(options.getOrDefault(COMPRESS_THRESHOLD_OPT, "0"));
         appender = Framework.getService(StreamService.class).getLogManager(logConfig).getAppender(logName);
+        if (batchWindow > 0) {
+            batchExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "Nuxeo-PubSub-Stream-Batch");
+                t.setDaemon(true);
+                return t;
+            });
+            batchExecutor.scheduleWithFixedDelay(this::flush, batchWindow, batchWindow, TimeUnit.MILLISECONDS);
+        }
         startConsumerThread();
         log.debug("Initialized");
     }
@@ -86,13 +181,159 @@ public class StreamPubSubProvider extends AbstractPubSubProvider {
         thread.start();
     }
 
+    protected TopicMetrics getTopicMetrics(String topic) {
+        return topicMetrics.computeIfAbsent(topic, TopicMetrics::new);
+    }
+
     @Override
     public void publish(String topic, byte[] message) {
-        appender.append(topic, Record.of(topic, message));
+        getTopicMetrics(topic).published.mark();
+        if (batchExecutor == null) {
+            append(topic, Record.of(topic, message));
+            return;
+        }
+        List<byte[]> messages = pending.computeIfAbsent(topic, k -> new ArrayList<>());
+        synchronized (messages) {
+            messages.add(message);
+            if (messages.size() >= batchMaxSize) {
+                appendPending(topic, messages);
+            }
+        }
+    }
+
+    /**
+     * Appends the messages waiting for the end of the batch window.
+     *
+     * @since 9.10
+     */
+    public void flush() {
+        try {
+            pending.forEach((topic, messages) -> {
+                synchronized (messages) {
+                    if (!messages.isEmpty()) {
+                        appendPending(topic, messages);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // don't kill the scheduled flush
+            log.error("Failed to publish messages", e);
+        }
+    }
+
+    /**
+     * Appends the pending messages of a topic as a batch, the caller holding the lock of the messages.
+     *
+     * @since 9.10
+     */
+    protected void appendPending(String topic, List<byte[]> messages) {
+        try {
+            appendBatch(topic, messages);
+        } finally {
+            messages.clear();
+        }
+    }
+
+    protected void appendBatch(String topic, List<byte[]> messages) {
+        getTopicMetrics(topic).batchSize.update(messages.size());
+        if (messages.size() == 1) {
+            append(topic, Record.of(topic, messages.get(0)));
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(messages.size());
+            for (byte[] message : messages) {
+                out.writeInt(message.length);
+                out.write(message);
+            }
+        } catch (IOException e) { // cannot happen, ByteArrayOutputStream.write doesn't throw
+            throw new IllegalStateException(e);
+        }
+        append(topic, new Record(topic, bytes.toByteArray(), 0, EnumSet.of(BATCH_FLAG)));
+    }
+
+    protected void append(String topic, Record record) {
+        LogAppender<Record> appender = this.appender;
+        if (appender == null) {
+            // closed
+            return;
+        }
+        if (compressThreshold > 0 && record.data != null && record.data.length >= compressThreshold) {
+            record.data = compress(record.data);
+            record.flags.add(COMPRESSED_FLAG);
+        }
+        record.watermark = Watermark.ofNow().getValue();
+        appender.append(topic, record);
+    }
+
+    protected static byte[] compress(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 2);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_SPEED))) {
+            out.write(data);
+        } catch (IOException e) { // cannot happen, ByteArrayOutputStream.write doesn't throw
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    protected static byte[] decompress(byte[] data) throws IOException {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length * 2);
+            byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                bytes.write(buf, 0, n);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Delivers the messages of a record to the local subscribers.
+     *
+     * @since 9.10
+     */
+    protected void receive(Record record) {
+        String topic = record.key;
+        if (record.watermark > 0) {
+            long lag = System.currentTimeMillis() - Watermark.ofValue(record.watermark).getTimestamp();
+            getTopicMetrics(topic).lag.update(Math.max(lag, 0));
+        }
+        byte[] data = record.data;
+        if (record.flags == null || !record.flags.contains(BATCH_FLAG) && !record.flags.contains(COMPRESSED_FLAG)) {
+            localPublish(topic, data);
+            return;
+        }
+        try {
+            if (record.flags.contains(COMPRESSED_FLAG)) {
+                data = decompress(data);
+            }
+            if (!record.flags.contains(BATCH_FLAG)) {
+                localPublish(topic, data);
+                return;
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    byte[] message = new byte[in.readInt()];
+                    in.readFully(message);
+                    localPublish(topic, message);
+                }
+            }
+        } catch (IOException e) {
+            // don't crash the subscriber thread for this
+            log.error("Failed to read record: " + record, e);
+        }
     }
 
     @Override
     public void close() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdownNow();
+            batchExecutor = null;
+            flush();
+        }
         appender = null;
         if (thread != null) {
             thread.interrupt();
@@ -118,8 +359,7 @@ public class StreamPubSubProvider extends AbstractPubSubProvider {
                     if (logRecord == null) {
                         continue;
                     }
-                    Record record = logRecord.message();
-                    localPublish(record.key, record.data);
+                    receive(logRecord.message());
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     log.debug("Subscriber thread interrupted, exiting");
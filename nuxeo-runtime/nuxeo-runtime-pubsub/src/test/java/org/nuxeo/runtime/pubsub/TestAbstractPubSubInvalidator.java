@@ -24,7 +24,11 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -182,4 +186,23 @@ public class TestAbstractPubSubInvalidator {
         assertTrue(invals.isEmpty());
     }
 
+    @Test
+    public void testMergedInvalidations() throws Exception {
+        DummyInvalidator invalidator = new DummyInvalidator();
+        invalidator.initialize("topic", "d");
+        // not reached by the test
+        invalidator.sendDelay = 60_000;
+        for (int i = 0; i < 3; i++) {
+            DummyInvalidations invals = new DummyInvalidations();
+            invals.inval();
+            invalidator.sendInvalidations(invals);
+        }
+        verify(pubSubService, never()).publish(anyString(), any());
+        invalidator.sendPendingInvalidations();
+        // merged into a single message
+        verify(pubSubService, times(1)).publish(eq("topic"), any());
+        invalidator.sendPendingInvalidations();
+        verify(pubSubService, times(1)).publish(eq("topic"), any());
+    }
+
 }
@@ -0,0 +1,89 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.runtime.pubsub;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.nuxeo.runtime.metrics.MetricsService;
+import org.nuxeo.runtime.test.runner.Deploy;
+import org.nuxeo.runtime.test.runner.Features;
+import org.nuxeo.runtime.test.runner.FeaturesRunner;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+import org.nuxeo.runtime.test.runner.RuntimeFeature;
+
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * @since 9.10
+ */
+@RunWith(FeaturesRunner.class)
+@Features({ RuntimeFeature.class })
+@Deploy({ "org.nuxeo.runtime.stream", "org.nuxeo.runtime.pubsub" })
+@LocalDeploy({ "org.nuxeo.runtime.stream:test-stream-contrib.xml",
+        "org.nuxeo.runtime.stream:test-stream-pubsub-batch-contrib.xml" })
+public class TestStreamPubSubProviderBatch extends TestMemPubSubProvider {
+
+    @Test
+    public void testService() {
+        PubSubProvider provider = ((PubSubServiceImpl) pubSubService).provider;
+        assertTrue(provider instanceof StreamPubSubProvider);
+        assertEquals(50, ((StreamPubSubProvider) provider).batchWindow);
+    }
+
+    @Test
+    public void testPublishBatches() throws Exception {
+        int n = 95;
+        messageReceivedLatch = new CountDownLatch(n);
+        pubSubService.registerSubscriber("topicBatch", this::subscriber);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            // the batches of these messages are larger than the compression threshold
+            String message = "message-" + i;
+            pubSubService.publish("topicBatch", message.getBytes(UTF_8));
+            expected.add("topicBatch=" + message);
+        }
+        if (!messageReceivedLatch.await(5, TimeUnit.SECONDS)) {
+            fail("messages not received in 5s");
+        }
+        // received one by one, in order
+        assertEquals(expected, messages);
+        assertEquals(n, SharedMetricRegistries.getOrCreate(MetricsService.class.getName())
+                                              .meter("nuxeo.pubsub.topicBatch.published")
+                                              .getCount());
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        byte[] data = new byte[1000];
+        byte[] compressed = StreamPubSubProvider.compress(data);
+        assertTrue(compressed.length < data.length);
+        assertEquals(data.length, StreamPubSubProvider.decompress(compressed).length);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.runtime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.nuxeo.common.Environment;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.model.Extension;
+import org.nuxeo.runtime.model.ExtensionPoint;
+import org.nuxeo.runtime.model.impl.ComponentDescriptorSnapshot;
+import org.nuxeo.runtime.model.impl.DefaultRuntimeContext;
+import org.nuxeo.runtime.model.impl.RegistrationInfoImpl;
+import org.nuxeo.runtime.test.NXRuntimeTestCase;
+
+/**
+ * @since 9.10
+ */
+public class TestComponentDescriptorSnapshot extends NXRuntimeTestCase {
+
+    protected String read(String name) throws IOException {
+        URL url = getClass().getClassLoader().getResource(name);
+        return IOUtils.toString(url, StandardCharsets.UTF_8);
+    }
+
+    protected RegistrationInfoImpl parse(String xml) throws IOException {
+        DefaultRuntimeContext ctx = (DefaultRuntimeContext) Framework.getRuntime().getContext();
+        return ctx.createRegistrationInfo(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    protected File getSnapshotFile() {
+        return new File(Environment.getDefault().getTemp(), "test-" + ComponentDescriptorSnapshot.FILE_NAME);
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws Exception {
+        File file = getSnapshotFile();
+        file.delete();
+        String xml3 = read("MyComp3.xml");
+        String xml4 = read("MyComp4.xml");
+        String key3 = ComponentDescriptorSnapshot.getKey(xml3);
+        String key4 = ComponentDescriptorSnapshot.getKey(xml4);
+        ComponentDescriptorSnapshot snapshot = new ComponentDescriptorSnapshot(file);
+        snapshot.load();
+        assertNull(snapshot.get(key3, Framework.getRuntime().getContext()));
+        RegistrationInfoImpl parsed3 = parse(xml3);
+        RegistrationInfoImpl parsed4 = parse(xml4);
+        snapshot.put(key3, parsed3);
+        snapshot.put(key4, parsed4);
+        snapshot.save();
+
+        // next start
+        snapshot = new ComponentDescriptorSnapshot(file);
+        snapshot.load();
+        RegistrationInfoImpl restored3 = snapshot.get(key3, Framework.getRuntime().getContext());
+        RegistrationInfoImpl restored4 = snapshot.get(key4, Framework.getRuntime().getContext());
+        assertNotNull(restored3);
+        assertNotNull(restored4);
+        assertEquals(parsed3.getName(), restored3.getName());
+        assertEquals(parsed3.getAliases(), restored3.getAliases());
+        assertEquals(parsed3.getImplementation(), restored3.getImplementation());
+        ExtensionPoint[] xps = restored3.getExtensionPoints();
+        assertEquals(1, xps.length);
+        assertArrayEquals(new Class<?>[] { DummyContribution.class }, xps[0].getContributions());
+        assertEquals(parsed4.getRequiredComponents(), restored4.getRequiredComponents());
+        Extension[] extensions = restored4.getExtensions();
+        assertEquals(3, extensions.length);
+        for (int i = 0; i < extensions.length; i++) {
+            Extension parsed = parsed4.getExtensions()[i];
+            assertEquals(parsed.getTargetComponent(), extensions[i].getTargetComponent());
+            assertEquals(parsed.getExtensionPoint(), extensions[i].getExtensionPoint());
+            assertEquals(parsed.toXML(), extensions[i].toXML());
+        }
+
+        // a descriptor that changed is not found
+        assertNull(snapshot.get(ComponentDescriptorSnapshot.getKey(xml3 + " "), Framework.getRuntime().getContext()));
+    }
+
+    @Test
+    @Ignore("for performance testing purpose")
+    public void testSnapshotPerf() throws Exception {
+        String[] names = { "MyComp1.xml", "MyComp2.xml", "MyComp3.xml", "MyComp4.xml", "BaseXPoint.xml",
+                "OverridingXPoint.xml", "management-tests-service.xml", "management-tests-contrib.xml" };
+        String[] xmls = new String[names.length];
+        String[] keys = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            xmls[i] = read(names[i]);
+            keys[i] = ComponentDescriptorSnapshot.getKey(xmls[i]);
+        }
+        File file = getSnapshotFile();
+        file.delete();
+        ComponentDescriptorSnapshot snapshot = new ComponentDescriptorSnapshot(file);
+        for (int i = 0; i < names.length; i++) {
+            snapshot.put(keys[i], parse(xmls[i]));
+        }
+        snapshot.save();
+        int n = 2000;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            for (int k = 0; k < n; k++) {
+                for (String xml : xmls) {
+                    parse(xml);
+                }
+            }
+            long cold = System.nanoTime() - t0;
+            t0 = System.nanoTime();
+            for (int k = 0; k < n; k++) {
+                snapshot = new ComponentDescriptorSnapshot(file);
+                snapshot.load();
+                for (String key : keys) {
+                    assertNotNull(snapshot.get(key, Framework.getRuntime().getContext()));
+                }
+            }
+            long warm = System.nanoTime() - t0;
+            System.out.println(String.format("cold (parsing): %d ms, warm (snapshot): %d ms", cold / 1_000_000,
+                    warm / 1_000_000));
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.model.ComponentName;
+import org.nuxeo.runtime.model.RegistrationInfo;
+import org.nuxeo.runtime.model.impl.ComponentManagerImpl;
+import org.nuxeo.runtime.model.impl.ParallelLifecycle;
+import org.nuxeo.runtime.test.NXRuntimeTestCase;
+
+/**
+ * @since 9.10
+ */
+public class TestParallelLifecycle extends NXRuntimeTestCase {
+
+    protected int indexOf(List<RegistrationInfo> ris, String name) {
+        for (int i = 0; i < ris.size(); i++) {
+            if (ris.get(i).getName().equals(new ComponentName(name))) {
+                return i;
+            }
+        }
+        throw new AssertionError("Component not found: " + name);
+    }
+
+    @Test
+    public void testActivationDependencies() throws Exception {
+        pushInlineDeployments("org.nuxeo.runtime.test.tests:MyComp4.xml", "org.nuxeo.runtime.test.tests:MyComp3.xml");
+        ComponentManagerImpl mgr = (ComponentManagerImpl) Framework.getRuntime().getComponentManager();
+        List<RegistrationInfo> ris = new ArrayList<>(mgr.getRegistry().getResolvedRegistrationInfo());
+        List<Set<Integer>> dependencies = ParallelLifecycle.getActivationDependencies(ris);
+        int comp3 = indexOf(ris, "my.comp3");
+        int comp4 = indexOf(ris, "my.comp4");
+        // my.comp4 requires and contributes to my.comp3, through its aliases
+        assertTrue(comp3 < comp4);
+        assertTrue(dependencies.get(comp4).contains(comp3));
+        for (int i = 0; i < ris.size(); i++) {
+            for (int dep : dependencies.get(i)) {
+                assertTrue(dep < i);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelRestart() throws Exception {
+        pushInlineDeployments("org.nuxeo.runtime.test.tests:MyComp4.xml", "org.nuxeo.runtime.test.tests:MyComp3.xml");
+        ComponentManagerImpl mgr = (ComponentManagerImpl) Framework.getRuntime().getComponentManager();
+        Framework.getProperties().setProperty(ParallelLifecycle.PARALLEL_PROPERTY, "true");
+        Framework.getProperties().setProperty(ParallelLifecycle.PARALLELISM_PROPERTY, "4");
+        try {
+            mgr.restart(false);
+            assertTrue(mgr.isStarted());
+            assertTrue(mgr.getActivatingRegistrations().isEmpty());
+            ComponentWithXPoint c = (ComponentWithXPoint) Framework.getRuntime().getComponent(
+                    new ComponentName("my.comp3"));
+            DummyContribution[] contribs = c.getContributions();
+            assertEquals(3, contribs.length);
+            // contributions are registered in the same order as sequentially
+            assertEquals("Using Canonical", contribs[0].message);
+            assertEquals("Using Alias", contribs[1].message);
+            assertEquals("Using Alias 2", contribs[2].message);
+        } finally {
+            Framework.getProperties().remove(ParallelLifecycle.PARALLEL_PROPERTY);
+            Framework.getProperties().remove(ParallelLifecycle.PARALLELISM_PROPERTY);
+        }
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.runtime.model.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.common.Environment;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.model.RuntimeContext;
+
+/**
+ * Snapshot of the parsed component descriptors, saved when the component manager starts and reused by the next
+ * starts instead of binding the descriptors with XMap again.
+ * <p>
+ * The descriptors are keyed by the digest of their content after the expansion of the variables, so that a descriptor
+ * which changed, in a bundle or through the framework properties, is parsed again. A descriptor that cannot be
+ * serialized or deserialized is parsed as usual, and the descriptors not deployed by a start are dropped from the
+ * snapshot it saves.
+ *
+ * @since 9.10
+ */
+public class ComponentDescriptorSnapshot {
+
+    private static final Log log = LogFactory.getLog(ComponentDescriptorSnapshot.class);
+
+    /**
+     * Property enabling the component descriptor snapshot.
+     */
+    public static final String SNAPSHOT_PROPERTY = "org.nuxeo.runtime.component.snapshot";
+
+    public static final String FILE_NAME = "component-snapshot.bin";
+
+    protected static final int FORMAT_VERSION = 1;
+
+    protected static volatile ComponentDescriptorSnapshot instance;
+
+    protected final File file;
+
+    /** The serialized descriptors loaded from the file. */
+    protected final Map<String, byte[]> loaded = new ConcurrentHashMap<>();
+
+    /** The serialized descriptors deployed since the load, to save. */
+    protected final Map<String, byte[]> used = new ConcurrentHashMap<>();
+
+    protected volatile boolean changed;
+
+    public ComponentDescriptorSnapshot(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the snapshot of the runtime, loading it if needed.
+     *
+     * @return the snapshot, or {@code null} if it is not enabled
+     */
+    public static ComponentDescriptorSnapshot getInstance() {
+        if (!Framework.isBooleanPropertyTrue(SNAPSHOT_PROPERTY)) {
+            return null;
+        }
+        if (instance == null) {
+            synchronized (ComponentDescriptorSnapshot.class) {
+                if (instance == null) {
+                    Environment env = Environment.getDefault();
+                    File dir = env.getData() == null ? env.getTemp() : env.getData();
+                    ComponentDescriptorSnapshot snapshot = new ComponentDescriptorSnapshot(new File(dir, FILE_NAME));
+                    snapshot.load();
+                    instance = snapshot;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static String getKey(String expandedSource) {
+        return DigestUtils.md5Hex(expandedSource);
+    }
+
+    /**
+     * Gets the descriptor with the given key.
+     *
+     * @param context the context parsing the descriptor, loading the contribution classes of its extension points
+     * @return the descriptor, or {@code null} if it must be parsed
+     */
+    public RegistrationInfoImpl get(String key, RuntimeContext context) {
+        byte[] bytes = loaded.get(key);
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            RegistrationInfoImpl ri = (RegistrationInfoImpl) in.readObject();
+            XMapContext xmapContext = new XMapContext(context);
+            for (ExtensionPointImpl xp : ri.extensionPoints) {
+                xp.loadContributionClasses(xmapContext, ri);
+            }
+            used.put(key, bytes);
+            return ri;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.debug("Cannot restore component descriptor from snapshot, parsing it", e);
+            loaded.remove(key);
+            changed = true;
+            return null;
+        }
+    }
+
+    /**
+     * Records the given descriptor, just parsed, to save it with the snapshot.
+     */
+    public void put(String key, RegistrationInfoImpl ri) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ri);
+        } catch (IOException e) {
+            log.debug("Cannot serialize component descriptor: " + ri.getName(), e);
+            return;
+        }
+        used.put(key, bytes.toByteArray());
+        changed = true;
+    }
+
+    /**
+     * Loads the descriptors saved in the file, if any.
+     */
+    public void load() {
+        if (!file.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                log.info("Ignoring component snapshot with another format: " + file);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                loaded.put(key, bytes);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot read component snapshot, ignoring it: " + file, e);
+            loaded.clear();
+        }
+    }
+
+    /**
+     * Saves the descriptors deployed since the load, if they are not the loaded ones.
+     */
+    public void save() {
+        if (!changed && used.keySet().equals(loaded.keySet())) {
+            return;
+        }
+        Map<String, byte[]> entries = new ConcurrentHashMap<>(used);
+        file.getParentFile().mkdirs();
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cannot write component snapshot: " + file, e);
+            tmp.delete();
+            return;
+        }
+        loaded.clear();
+        loaded.putAll(entries);
+        changed = false;
+        log.debug("Component snapshot written with " + entries.size() + " descriptors: " + file);
+    }
+
+}
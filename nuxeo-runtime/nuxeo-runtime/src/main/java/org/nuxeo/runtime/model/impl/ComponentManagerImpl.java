@@ -130,6 +130,13 @@ public class ComponentManagerImpl implements ComponentManager {
      */
     protected volatile boolean changed = false;
 
+    /**
+     * The timeline of the components lifecycle while starting, or {@code null}.
+     *
+     * @since 9.10
+     */
+    protected volatile StartupTimeline timeline;
+
     public ComponentManagerImpl(RuntimeService runtime) {
         registry = new ComponentRegistry();
         pendingExtensions = new ConcurrentHashMap<>();
@@ -510,20 +517,29 @@ public class ComponentManagerImpl implements ComponentManager {
      * @since 9.2
      */
     protected List<RegistrationInfo> activateComponents() {
-        Watch watch = new Watch();
+        ParallelLifecycle parallelLifecycle = getParallelLifecycle();
+        // intervals are recorded concurrently when processing the components in parallel
+        Watch watch = parallelLifecycle == null ? new Watch() : new Watch(new ConcurrentHashMap<>());
         watch.start();
         listeners.beforeActivation();
         // make sure we start with a clean pending registry
         pendingExtensions.clear();
 
-        List<RegistrationInfo> ris = new ArrayList<>();
-        // first activate resolved components
-        for (RegistrationInfo ri : registry.getResolvedRegistrationInfo()) {
-            // TODO catch and handle errors
-            watch.start(ri.getName().getName());
-            activateComponent(ri);
-            ris.add(ri);
-            watch.stop(ri.getName().getName());
+        List<RegistrationInfo> ris = new ArrayList<>(registry.getResolvedRegistrationInfo());
+        if (parallelLifecycle != null) {
+            parallelLifecycle.activate(ris, ri -> {
+                watch.start(ri.getName().getName());
+                activateComponent(ri);
+                watch.stop(ri.getName().getName());
+            });
+        } else {
+            // first activate resolved components
+            for (RegistrationInfo ri : ris) {
+                // TODO catch and handle errors
+                watch.start(ri.getName().getName());
+                activateComponent(ri);
+                watch.stop(ri.getName().getName());
+            }
         }
         listeners.afterActivation();
         watch.stop();
@@ -553,9 +569,15 @@ public class ComponentManagerImpl implements ComponentManager {
         }
         ri.setState(RegistrationInfo.ACTIVATING);
 
+        StartupTimeline timeline = this.timeline;
+        long begin = System.nanoTime();
         ComponentInstance component = ri.getComponent();
         component.activate();
         log.info("Component activated: " + ri.getName());
+        if (timeline != null) {
+            timeline.record(StartupTimeline.ACTIVATE, ri, begin);
+            begin = System.nanoTime();
+        }
 
         // register contributed extensions if any
         Extension[] extensions = ri.getExtensions();
@@ -599,6 +621,9 @@ public class ComponentManagerImpl implements ComponentManager {
 
         // register services
         registerServices(ri);
+        if (timeline != null) {
+            timeline.record(StartupTimeline.REGISTER, ri, begin);
+        }
 
         ri.setState(RegistrationInfo.ACTIVATED);
     }
@@ -682,13 +707,22 @@ public class ComponentManagerImpl implements ComponentManager {
      * @since 9.2
      */
     protected void startComponents(List<RegistrationInfo> ris, boolean isResume) {
-        Watch watch = new Watch();
+        ParallelLifecycle parallelLifecycle = getParallelLifecycle();
+        Watch watch = parallelLifecycle == null ? new Watch() : new Watch(new ConcurrentHashMap<>());
         watch.start();
         listeners.beforeStart(isResume);
-        for (RegistrationInfo ri : ris) {
-            watch.start(ri.getName().getName());
-            startComponent(ri);
-            watch.stop(ri.getName().getName());
+        if (parallelLifecycle != null) {
+            parallelLifecycle.start(ris, ri -> {
+                watch.start(ri.getName().getName());
+                startComponent(ri);
+                watch.stop(ri.getName().getName());
+            });
+        } else {
+            for (RegistrationInfo ri : ris) {
+                watch.start(ri.getName().getName());
+                startComponent(ri);
+                watch.stop(ri.getName().getName());
+            }
         }
         this.started = ris;
         listeners.afterStart(isResume);
@@ -713,11 +747,16 @@ public class ComponentManagerImpl implements ComponentManager {
         if (ri.getState() != RegistrationInfo.ACTIVATED) {
             return;
         }
+        StartupTimeline timeline = this.timeline;
+        long begin = System.nanoTime();
         try {
             ri.setState(RegistrationInfo.STARTING);
             ComponentInstance component = ri.getComponent();
             component.start();
             ri.setState(RegistrationInfo.STARTED);
+            if (timeline != null) {
+                timeline.record(StartupTimeline.START, ri, begin);
+            }
         } catch (RuntimeException e) {
             log.error(String.format("Component %s notification of application started failed: %s", ri.getName(),
                     e.getMessage()), e);
@@ -784,17 +823,61 @@ public class ComponentManagerImpl implements ComponentManager {
 
         infoLog.info("Starting Nuxeo Components");
 
-        List<RegistrationInfo> ris = activateComponents();
+        timeline = new StartupTimeline();
+        try {
+            List<RegistrationInfo> ris = activateComponents();
+
+            // TODO we sort using the old start order sorter (see OSGiRuntimeService.RIApplicationStartedComparator)
+            Collections.sort(ris, new RIApplicationStartedComparator());
 
-        // TODO we sort using the old start order sorter (see OSGiRuntimeService.RIApplicationStartedComparator)
-        Collections.sort(ris, new RIApplicationStartedComparator());
+            // then start activated components
+            startComponents(ris, false);
 
-        // then start activated components
-        startComponents(ris, false);
+            writeTimeline(timeline);
+            ComponentDescriptorSnapshot snapshot = ComponentDescriptorSnapshot.getInstance();
+            if (snapshot != null) {
+                snapshot.save();
+            }
+        } finally {
+            timeline = null;
+        }
 
         return true;
     }
 
+    /**
+     * Gets the parallel lifecycle to use, or {@code null} to process the components sequentially.
+     *
+     * @since 9.10
+     */
+    protected ParallelLifecycle getParallelLifecycle() {
+        if (!Framework.isBooleanPropertyTrue(ParallelLifecycle.PARALLEL_PROPERTY)) {
+            return null;
+        }
+        int parallelism = Integer.parseInt(Framework.getProperty(ParallelLifecycle.PARALLELISM_PROPERTY,
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        // the components register their extensions and services through the synchronized methods of this manager
+        return parallelism > 1 ? new ParallelLifecycle(parallelism, this) : null;
+    }
+
+    /**
+     * Writes the startup timeline in dev mode or when the components are processed in parallel.
+     *
+     * @since 9.10
+     */
+    protected void writeTimeline(StartupTimeline timeline) {
+        if (!Framework.isDevModeSet() && !Framework.isBooleanPropertyTrue(ParallelLifecycle.PARALLEL_PROPERTY)) {
+            return;
+        }
+        File file = new File(Environment.getDefault().getTemp(), "startup-timeline.txt");
+        try {
+            timeline.write(file);
+            infoLog.info("Startup timeline written to: " + file);
+        } catch (IOException e) {
+            log.error("Failed to write startup timeline file: " + file, e);
+        }
+    }
+
     @Override
     public synchronized boolean stop() {
         if (this.started == null) {
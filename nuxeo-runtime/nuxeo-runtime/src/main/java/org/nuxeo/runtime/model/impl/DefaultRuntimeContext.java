@@ -220,9 +220,23 @@ public class DefaultRuntimeContext implements RuntimeContext {
     public RegistrationInfoImpl createRegistrationInfo(StreamRef ref) throws IOException {
         String source = IOUtils.toString(ref.getStream(), Charsets.UTF_8);
         String expanded = Framework.expandVars(source);
+        ComponentDescriptorSnapshot snapshot = ComponentDescriptorSnapshot.getInstance();
+        String key = null;
+        if (snapshot != null) {
+            key = ComponentDescriptorSnapshot.getKey(expanded);
+            RegistrationInfoImpl ri = snapshot.get(key, this);
+            if (ri != null) {
+                return ri;
+            }
+        }
+        RegistrationInfoImpl ri;
         try (InputStream in = new ByteArrayInputStream(expanded.getBytes())) {
-            return createRegistrationInfo(in);
+            ri = createRegistrationInfo(in);
         }
+        if (snapshot != null && ri != null) {
+            snapshot.put(key, ri);
+        }
+        return ri;
     }
 
     public RegistrationInfoImpl createRegistrationInfo(InputStream in) throws IOException {
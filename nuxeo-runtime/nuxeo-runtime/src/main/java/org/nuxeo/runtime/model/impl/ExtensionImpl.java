@@ -23,8 +23,14 @@ package org.nuxeo.runtime.model.impl;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.nuxeo.common.xmap.DOMSerializer;
+import org.nuxeo.common.xmap.XMap;
 import org.nuxeo.common.xmap.annotation.XContent;
 import org.nuxeo.common.xmap.annotation.XNode;
 import org.nuxeo.common.xmap.annotation.XObject;
@@ -33,6 +39,8 @@ import org.nuxeo.runtime.model.ComponentName;
 import org.nuxeo.runtime.model.Extension;
 import org.nuxeo.runtime.model.RuntimeContext;
 import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * @author <a href="mailto:bs@nuxeo.com">Bogdan Stefanescu</a>
@@ -163,6 +171,34 @@ public class ExtensionImpl implements Extension {
         }
     }
 
+    /**
+     * Writes the element as XML, for the component descriptor snapshot.
+     *
+     * @since 9.10
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(element == null ? null : DOMSerializer.toStringOmitXml(element));
+    }
+
+    /**
+     * @since 9.10
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        String xml = (String) in.readObject();
+        if (xml != null) {
+            try {
+                element = XMap.getFactory()
+                              .newDocumentBuilder()
+                              .parse(new InputSource(new StringReader(xml)))
+                              .getDocumentElement();
+            } catch (ParserConfigurationException | SAXException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
     public static ExtensionImpl fromXML(RuntimeContext context, String xml) throws IOException {
         return reader.read(context, new ByteArrayInputStream(xml.getBytes()));
     }
@@ -21,6 +21,9 @@
 
 package org.nuxeo.runtime.model.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 import org.nuxeo.common.xmap.XMap;
@@ -60,6 +63,13 @@ public class ExtensionPointImpl implements ExtensionPoint, Serializable {
     @XParent
     public transient RegistrationInfo ri;
 
+    /**
+     * The names of the contribution classes, when deserialized from the component descriptor snapshot.
+     *
+     * @since 9.10
+     */
+    protected transient String[] contributionNames;
+
     @Override
     public Class<?>[] getContributions() {
         return contributions;
@@ -80,6 +90,51 @@ public class ExtensionPointImpl implements ExtensionPoint, Serializable {
         return superComponent;
     }
 
+    /**
+     * Writes the names of the contribution classes, for the component descriptor snapshot.
+     *
+     * @since 9.10
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        String[] names = null;
+        if (contributions != null) {
+            names = new String[contributions.length];
+            for (int i = 0; i < contributions.length; i++) {
+                names[i] = contributions[i] == null ? null : contributions[i].getName();
+            }
+        }
+        out.writeObject(names);
+    }
+
+    /**
+     * @since 9.10
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        contributionNames = (String[]) in.readObject();
+    }
+
+    /**
+     * Loads the contribution classes deserialized from the component descriptor snapshot, the same way as when
+     * parsing the descriptor.
+     *
+     * @since 9.10
+     */
+    protected void loadContributionClasses(XMapContext context, RegistrationInfo owner) throws ClassNotFoundException {
+        ri = owner;
+        if (contributionNames == null) {
+            return;
+        }
+        contributions = new Class<?>[contributionNames.length];
+        for (int i = 0; i < contributionNames.length; i++) {
+            if (contributionNames[i] != null) {
+                contributions[i] = context.loadClass(contributionNames[i]);
+            }
+        }
+        contributionNames = null;
+    }
+
     public Extension createExtension(Element element) {
         return null;
     }
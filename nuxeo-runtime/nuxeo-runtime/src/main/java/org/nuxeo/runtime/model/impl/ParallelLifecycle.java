@@ -0,0 +1,296 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.runtime.model.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.nuxeo.runtime.model.ComponentName;
+import org.nuxeo.runtime.model.Extension;
+import org.nuxeo.runtime.model.RegistrationInfo;
+
+/**
+ * Runs a lifecycle step of many components on a fork-join pool, each component waiting for the components it depends
+ * on.
+ * <p>
+ * The dependencies only go from a component to the components before it in the sequential order, so that whenever
+ * two components are ordered by a dependency, they are processed in the same order as sequentially. For the
+ * activation, a component depends on:
+ * <ul>
+ * <li>the components it requires,</li>
+ * <li>the targets of its extensions, and the contributors of the extensions it is the target of,</li>
+ * <li>the previous contributor to each of its targets, to register the contributions in the same order.</li>
+ * </ul>
+ * For the start, the components are started by groups of same start order, and inside a group a component waits for
+ * the components it requires.
+ * <p>
+ * The calling thread usually holds the monitor of the component manager, whose registration methods are synchronized.
+ * It waits for the components on this monitor, releasing it for the threads processing the components.
+ *
+ * @since 9.10
+ */
+public class ParallelLifecycle {
+
+    /**
+     * Property enabling the parallel activation and start of the components.
+     */
+    public static final String PARALLEL_PROPERTY = "org.nuxeo.runtime.component.parallel";
+
+    /**
+     * Property for the number of threads activating and starting the components, defaults to the number of
+     * processors.
+     */
+    public static final String PARALLELISM_PROPERTY = "org.nuxeo.runtime.component.parallelism";
+
+    protected final int parallelism;
+
+    /** The monitor released while waiting for the components, or {@code null}. */
+    protected final Object monitor;
+
+    public ParallelLifecycle(int parallelism) {
+        this(parallelism, null);
+    }
+
+    /**
+     * @param monitor the monitor held by the calling thread and needed by the processing of the components, released
+     *            while waiting for them
+     */
+    public ParallelLifecycle(int parallelism, Object monitor) {
+        this.parallelism = parallelism;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Gets, for each component, the indexes of the components it must be activated after.
+     *
+     * @param ris the components in sequential activation order
+     */
+    public static List<Set<Integer>> getActivationDependencies(List<RegistrationInfo> ris) {
+        Map<ComponentName, Integer> indexes = getIndexes(ris);
+        List<Set<Integer>> dependencies = new ArrayList<>(ris.size());
+        for (int i = 0; i < ris.size(); i++) {
+            dependencies.add(new TreeSet<>());
+        }
+        Map<Integer, Integer> lastContributors = new HashMap<>();
+        for (int i = 0; i < ris.size(); i++) {
+            RegistrationInfo ri = ris.get(i);
+            Set<Integer> deps = dependencies.get(i);
+            for (ComponentName name : ri.getRequiredComponents()) {
+                addDependency(dependencies, indexes.get(name), i);
+            }
+            Extension[] extensions = ri.getExtensions();
+            if (extensions == null) {
+                continue;
+            }
+            for (Extension xt : extensions) {
+                Integer target = indexes.get(xt.getTargetComponent());
+                if (target == null) {
+                    continue;
+                }
+                addDependency(dependencies, target, i);
+                Integer previous = lastContributors.put(target, i);
+                if (previous != null && previous != i) {
+                    deps.add(previous);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Gets, for each component, the indexes of the components it must be started after.
+     *
+     * @param ris the components in sequential start order
+     */
+    public static List<Set<Integer>> getStartDependencies(List<RegistrationInfo> ris) {
+        Map<ComponentName, Integer> indexes = getIndexes(ris);
+        List<Set<Integer>> dependencies = new ArrayList<>(ris.size());
+        int groupStart = 0;
+        for (int i = 0; i < ris.size(); i++) {
+            RegistrationInfo ri = ris.get(i);
+            if (ri.getApplicationStartedOrder() != ris.get(groupStart).getApplicationStartedOrder()) {
+                groupStart = i;
+            }
+            Set<Integer> deps = new TreeSet<>();
+            for (ComponentName name : ri.getRequiredComponents()) {
+                Integer index = indexes.get(name);
+                if (index != null && index >= groupStart && index < i) {
+                    deps.add(index);
+                }
+            }
+            dependencies.add(deps);
+        }
+        return dependencies;
+    }
+
+    protected static Map<ComponentName, Integer> getIndexes(List<RegistrationInfo> ris) {
+        Map<ComponentName, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < ris.size(); i++) {
+            RegistrationInfo ri = ris.get(i);
+            indexes.put(ri.getName(), i);
+            for (ComponentName alias : ri.getAliases()) {
+                indexes.putIfAbsent(alias, i);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Makes the later of the two given components depend on the other one.
+     */
+    protected static void addDependency(List<Set<Integer>> dependencies, Integer index, int i) {
+        if (index == null || index == i) {
+            return;
+        }
+        if (index < i) {
+            dependencies.get(i).add(index);
+        } else {
+            dependencies.get(index).add(i);
+        }
+    }
+
+    /**
+     * Activates the given components.
+     *
+     * @param ris the components in sequential activation order
+     */
+    public void activate(List<RegistrationInfo> ris, Consumer<RegistrationInfo> activator) {
+        run(ris, getActivationDependencies(ris), activator);
+    }
+
+    /**
+     * Starts the given components, group of same start order after group.
+     *
+     * @param ris the components in sequential start order
+     */
+    public void start(List<RegistrationInfo> ris, Consumer<RegistrationInfo> starter) {
+        List<Set<Integer>> dependencies = getStartDependencies(ris);
+        int groupStart = 0;
+        for (int i = 1; i <= ris.size(); i++) {
+            if (i == ris.size()
+                    || ris.get(i).getApplicationStartedOrder() != ris.get(groupStart).getApplicationStartedOrder()) {
+                List<Set<Integer>> groupDependencies = new ArrayList<>(i - groupStart);
+                for (Set<Integer> deps : dependencies.subList(groupStart, i)) {
+                    Set<Integer> groupDeps = new TreeSet<>();
+                    for (Integer dep : deps) {
+                        groupDeps.add(dep - groupStart);
+                    }
+                    groupDependencies.add(groupDeps);
+                }
+                run(ris.subList(groupStart, i), groupDependencies, starter);
+                groupStart = i;
+            }
+        }
+    }
+
+    /**
+     * Runs the given task on all the components, each one after the components it depends on. If a task fails, the
+     * components depending on it are skipped and the failure of the first component in sequential order is thrown.
+     */
+    protected void run(List<RegistrationInfo> ris, List<Set<Integer>> dependencies, Consumer<RegistrationInfo> task) {
+        if (ris.isEmpty()) {
+            return;
+        }
+        ForkJoinPool pool = newPool();
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(ris.size());
+            for (int i = 0; i < ris.size(); i++) {
+                RegistrationInfo ri = ris.get(i);
+                CompletableFuture<?>[] deps = dependencies.get(i)
+                                                          .stream()
+                                                          .map(futures::get)
+                                                          .toArray(CompletableFuture[]::new);
+                futures.add(CompletableFuture.allOf(deps).thenRunAsync(() -> task.accept(ri), pool));
+            }
+            await(CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])));
+            for (CompletableFuture<Void> future : futures) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits for the given future on the monitor, if held by the current thread, so that the threads processing the
+     * components can acquire it meanwhile.
+     */
+    protected void await(CompletableFuture<?> future) {
+        if (monitor == null || !Thread.holdsLock(monitor)) {
+            // nothing to release, joining the futures is enough
+            return;
+        }
+        future.whenComplete((r, e) -> {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        });
+        synchronized (monitor) {
+            while (!future.isDone()) {
+                try {
+                    // releases all the holds of the monitor
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a pool whose threads use the context class loader of the current thread, as the components do when
+     * processed sequentially.
+     */
+    protected ForkJoinPool newPool() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Nuxeo-Components-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.runtime.model.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.nuxeo.runtime.model.RegistrationInfo;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * Timeline of the lifecycle steps of the components while the component manager starts.
+ * <p>
+ * Each step duration is also recorded in a {@code nuxeo.runtime.component.<step>} timer.
+ *
+ * @since 9.10
+ */
+public class StartupTimeline {
+
+    public static final String ACTIVATE = "activate";
+
+    public static final String REGISTER = "register";
+
+    public static final String START = "start";
+
+    /**
+     * The name of the registry used by the metrics service, which is not visible from this bundle.
+     */
+    protected static final String METRICS_REGISTRY_NAME = "org.nuxeo.runtime.metrics.MetricsService";
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(METRICS_REGISTRY_NAME);
+
+    protected final long t0 = System.nanoTime();
+
+    protected final Queue<Step> steps = new ConcurrentLinkedQueue<>();
+
+    protected static class Step {
+
+        protected final String name;
+
+        protected final String component;
+
+        protected final String thread;
+
+        protected final long begin;
+
+        protected final long end;
+
+        protected Step(String name, String component, String thread, long begin, long end) {
+            this.name = name;
+            this.component = component;
+            this.thread = thread;
+            this.begin = begin;
+            this.end = end;
+        }
+
+    }
+
+    /**
+     * Records the given step of the given component, which began at the given {@link System#nanoTime()} and ends now.
+     */
+    public void record(String step, RegistrationInfo ri, long begin) {
+        long end = System.nanoTime();
+        steps.add(new Step(step, ri.getName().getName(), Thread.currentThread().getName(), begin, end));
+        registry.timer(MetricRegistry.name("nuxeo", "runtime", "component", step))
+                .update(end - begin, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Writes the steps, in the order they began: their beginning and their duration in milliseconds, the thread, the
+     * step and the component.
+     */
+    public void write(File file) throws IOException {
+        List<Step> list = new ArrayList<>(steps);
+        list.sort(Comparator.comparingLong(step -> step.begin));
+        try (PrintStream ps = new PrintStream(new FileOutputStream(file), false, "UTF-8")) {
+            for (Step step : list) {
+                ps.println(String.format("%8d %6d %s %s %s", TimeUnit.NANOSECONDS.toMillis(step.begin - t0),
+                        TimeUnit.NANOSECONDS.toMillis(step.end - step.begin), step.thread, step.name,
+                        step.component));
+            }
+        }
+    }
+
+}
@@ -22,9 +22,11 @@ package org.nuxeo.ecm.directory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -345,6 +347,109 @@ public abstract class BaseSession implements Session, EntrySource {
         return query(Collections.emptyMap());
     }
 
+    @Override
+    public DocumentModelList getEntries(Collection<String> ids) throws DirectoryException {
+        return getEntries(ids, true);
+    }
+
+    @Override
+    public DocumentModelList getEntries(Collection<String> ids, boolean fetchReferences) throws DirectoryException {
+        DocumentModelList entries = new DocumentModelListImpl();
+        if (!hasPermission(SecurityConstants.READ) || ids.isEmpty()) {
+            return entries;
+        }
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        Map<String, DocumentModel> entriesById;
+        if (readAllColumns) {
+            // bypass cache when reading all columns
+            entriesById = getEntriesFromSource(distinctIds, fetchReferences);
+        } else {
+            entriesById = directory.getCache().getEntries(distinctIds, this, fetchReferences);
+        }
+        for (String id : distinctIds) {
+            DocumentModel entry = entriesById.get(id);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Sets the reference fields of entries fetched in batch, fetching the target ids of each reference for all the
+     * entries at once.
+     *
+     * @since 9.10
+     */
+    protected void setReferenceFields(List<DocumentModel> entries) throws DirectoryException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(entries.size());
+        for (DocumentModel entry : entries) {
+            ids.add(entry.getId());
+        }
+        Map<String, Map<String, List<String>>> targetIdsByEntry = new HashMap<>();
+        for (Reference reference : directory.getReferences()) {
+            Map<String, List<String>> targetIdsBySource = reference.getTargetIdsForSources(ids);
+            for (String id : ids) {
+                List<String> targetIds = new ArrayList<>(
+                        targetIdsBySource.getOrDefault(id, Collections.emptyList()));
+                Collections.sort(targetIds);
+                targetIdsByEntry.computeIfAbsent(id, k -> new HashMap<>())
+                                .computeIfAbsent(reference.getFieldName(), k -> new ArrayList<>())
+                                .addAll(targetIds);
+            }
+        }
+        for (DocumentModel entry : entries) {
+            Map<String, List<String>> targetIdsMap = targetIdsByEntry.get(entry.getId());
+            if (targetIdsMap == null) {
+                continue;
+            }
+            for (Map.Entry<String, List<String>> en : targetIdsMap.entrySet()) {
+                try {
+                    entry.setProperty(schemaName, en.getKey(), en.getValue());
+                } catch (PropertyException e) {
+                    throw new DirectoryException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keys the entries fetched for the given ids by requested id.
+     * <p>
+     * Entries whose id does not match exactly a requested id are matched ignoring case, as case-insensitive backends
+     * return the ids as stored.
+     *
+     * @since 9.10
+     */
+    protected static Map<String, DocumentModel> mapEntriesById(Collection<String> ids,
+            Collection<DocumentModel> entries) {
+        Set<String> requestedIds = new HashSet<>(ids);
+        Map<String, DocumentModel> entriesById = new HashMap<>();
+        Map<String, DocumentModel> entriesByLowerCaseId = new HashMap<>();
+        for (DocumentModel entry : entries) {
+            String id = entry.getId();
+            if (requestedIds.contains(id)) {
+                entriesById.put(id, entry);
+            } else if (id != null) {
+                entriesByLowerCaseId.put(id.toLowerCase(), entry);
+            }
+        }
+        if (!entriesByLowerCaseId.isEmpty()) {
+            for (String id : requestedIds) {
+                if (!entriesById.containsKey(id)) {
+                    DocumentModel entry = entriesByLowerCaseId.get(id.toLowerCase());
+                    if (entry != null) {
+                        entriesById.put(id, entry);
+                    }
+                }
+            }
+        }
+        return entriesById;
+    }
+
     @Override
     public DocumentModel getEntryFromSource(String id, boolean fetchReferences) throws DirectoryException {
         String idFieldName = directory.getSchemaFieldMap().get(getIdField()).getName().getPrefixedName();
@@ -20,8 +20,12 @@
 package org.nuxeo.ecm.directory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -120,27 +124,74 @@ public class DirectoryCache {
         if (dm == null) {
             // fetch the entry from the backend and cache it for later reuse
             dm = source.getEntryFromSource(entryId, fetchReferences);
-            if (dm != null) {
-                // DocumentModelImpl is not thread-safe and when we fetch and clone it when returning
-                // a value from the cache there may be concurrency.
-                // So we avoid thread-safety issues by exercising once the code paths that may do
-                // concurrent accesses to ComplexProperty (NXP-23458).
-                try {
-                    dm.clone();
-                } catch (CloneNotSupportedException e) {
-                    // ignore, no concurrency issues if not a DocumentModelImpl
-                }
-                ((CacheManagement) cache).putLocal(entryId, dm);
-                if (fetchReferences) {
-                    sizeCounter.inc();
-                }
-            } else if (negativeCaching) {
-                ((CacheManagement) cache).putLocal(entryId, CACHE_MISS);
-            }
+            putEntry(cache, entryId, dm, fetchReferences);
             missesCounter.inc();
         } else {
             hitsCounter.inc();
         }
+        return cloneEntry(dm);
+    }
+
+    /**
+     * Gets several entries, fetching all the ones missing from the cache with a single call to the source.
+     *
+     * @return the existing entries, keyed by requested id
+     * @since 9.10
+     */
+    public Map<String, DocumentModel> getEntries(Collection<String> entryIds, EntrySource source,
+            boolean fetchReferences) throws DirectoryException {
+        if (!isCacheEnabled() || getEntryCache() == null || getEntryCacheWithoutReferences() == null) {
+            return source.getEntriesFromSource(entryIds, fetchReferences);
+        }
+        Cache cache = fetchReferences ? getEntryCache() : getEntryCacheWithoutReferences();
+        Map<String, DocumentModel> entries = new HashMap<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String entryId : entryIds) {
+            Serializable entry = cache.get(entryId);
+            if (CACHE_MISS.equals(entry)) {
+                negativeHitsCounter.inc();
+            } else if (entry == null) {
+                missingIds.add(entryId);
+            } else {
+                hitsCounter.inc();
+                entries.put(entryId, cloneEntry((DocumentModel) entry));
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            Map<String, DocumentModel> fetched = source.getEntriesFromSource(missingIds, fetchReferences);
+            for (String entryId : missingIds) {
+                DocumentModel dm = fetched.get(entryId);
+                putEntry(cache, entryId, dm, fetchReferences);
+                if (dm != null) {
+                    entries.put(entryId, cloneEntry(dm));
+                }
+            }
+            missesCounter.inc(missingIds.size());
+        }
+        return entries;
+    }
+
+    protected void putEntry(Cache cache, String entryId, DocumentModel dm, boolean fetchReferences) {
+        if (dm != null) {
+            // DocumentModelImpl is not thread-safe and when we fetch and clone it when returning
+            // a value from the cache there may be concurrency.
+            // So we avoid thread-safety issues by exercising once the code paths that may do
+            // concurrent accesses to ComplexProperty (NXP-23458).
+            try {
+                dm.clone();
+            } catch (CloneNotSupportedException e) {
+                // ignore, no concurrency issues if not a DocumentModelImpl
+            }
+            ((CacheManagement) cache).putLocal(entryId, dm);
+            if (fetchReferences) {
+                sizeCounter.inc();
+            }
+        } else if (negativeCaching) {
+            ((CacheManagement) cache).putLocal(entryId, CACHE_MISS);
+        }
+    }
+
+    protected DocumentModel cloneEntry(DocumentModel dm) {
         try {
             if (dm == null) {
                 return null;
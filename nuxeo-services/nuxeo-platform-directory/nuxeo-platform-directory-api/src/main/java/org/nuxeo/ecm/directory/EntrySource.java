@@ -20,6 +20,10 @@
 
 package org.nuxeo.ecm.directory;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.nuxeo.ecm.core.api.DocumentModel;
 
 /**
@@ -31,4 +35,23 @@ public interface EntrySource {
 
     DocumentModel getEntryFromSource(String entryId, boolean fetchReferences) throws DirectoryException;
 
+    /**
+     * Gets several entries from the source. Sources able to fetch them with a single backend request override this
+     * method, which fetches them one by one.
+     *
+     * @return the existing entries, keyed by requested id
+     * @since 9.10
+     */
+    default Map<String, DocumentModel> getEntriesFromSource(Collection<String> entryIds, boolean fetchReferences)
+            throws DirectoryException {
+        Map<String, DocumentModel> entries = new HashMap<>();
+        for (String entryId : entryIds) {
+            DocumentModel entry = getEntryFromSource(entryId, fetchReferences);
+            if (entry != null) {
+                entries.put(entryId, entry);
+            }
+        }
+        return entries;
+    }
+
 }
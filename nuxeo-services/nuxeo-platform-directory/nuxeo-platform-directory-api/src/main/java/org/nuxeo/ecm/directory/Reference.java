@@ -21,7 +21,10 @@
 
 package org.nuxeo.ecm.directory;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base interface for references between directory fields.
@@ -59,6 +62,23 @@ public interface Reference {
 
     List<String> getTargetIdsForSource(String sourceId) throws DirectoryException;
 
+    /**
+     * Fetches the target ids of several source ids. References able to fetch them with a single backend request
+     * override this method, which fetches them one source id at a time.
+     *
+     * @param sourceIds the source ids
+     * @return the target ids keyed by source id
+     * @since 9.10
+     */
+    default Map<String, List<String>> getTargetIdsForSources(Collection<String> sourceIds)
+            throws DirectoryException {
+        Map<String, List<String>> targetIds = new HashMap<>();
+        for (String sourceId : sourceIds) {
+            targetIds.put(sourceId, getTargetIdsForSource(sourceId));
+        }
+        return targetIds;
+    }
+
     List<String> getSourceIdsForTarget(String targetId) throws DirectoryException;
 
     void setTargetIdsForSource(String sourceId, List<String> targetIds) throws DirectoryException;
@@ -21,6 +21,7 @@
 package org.nuxeo.ecm.directory;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -75,6 +76,31 @@ public interface Session extends AutoCloseable {
     @Deprecated
     DocumentModelList getEntries() throws DirectoryException;
 
+    /**
+     * Retrieves the directory entries with the given ids.
+     * <p>
+     * Directories able to do it fetch all the entries with a few backend requests instead of one request per id, and
+     * the fetched entries populate the directory cache like {@link #getEntry(String)} does.
+     *
+     * @param ids the entry ids
+     * @return the existing entries, in the order of the given ids
+     * @throws DirectoryException if a communication error occurs
+     * @since 9.10
+     */
+    DocumentModelList getEntries(Collection<String> ids) throws DirectoryException;
+
+    /**
+     * Retrieves the directory entries with the given ids.
+     *
+     * @param ids the entry ids
+     * @param fetchReferences boolean stating if references have to be fetched
+     * @return the existing entries, in the order of the given ids
+     * @throws DirectoryException if a communication error occurs
+     * @see #getEntries(Collection)
+     * @since 9.10
+     */
+    DocumentModelList getEntries(Collection<String> ids, boolean fetchReferences) throws DirectoryException;
+
     /**
      * Creates an entry in a directory.
      *
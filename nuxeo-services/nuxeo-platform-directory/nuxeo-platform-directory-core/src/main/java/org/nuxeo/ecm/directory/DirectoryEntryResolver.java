@@ -21,12 +21,16 @@ package org.nuxeo.ecm.directory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.DocumentModelList;
 import org.nuxeo.ecm.core.schema.types.resolver.AbstractObjectResolver;
 import org.nuxeo.ecm.core.schema.types.resolver.ObjectResolver;
 import org.nuxeo.ecm.directory.api.DirectoryEntry;
@@ -173,6 +177,48 @@ public class DirectoryEntryResolver extends AbstractObjectResolver implements Ob
         return null;
     }
 
+    @Override
+    public List<Object> fetchAll(List<?> values) throws IllegalStateException {
+        checkConfig();
+        List<String> ids = new ArrayList<>(values.size());
+        for (Object value : values) {
+            ids.add(getEntryId(value));
+        }
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        Map<String, DocumentModel> entries;
+        if (distinctIds.isEmpty()) {
+            entries = Collections.emptyMap();
+        } else {
+            try (Session session = getDirectory().getSession()) {
+                DocumentModelList docs = Framework.doPrivileged(() -> session.getEntries(distinctIds));
+                entries = BaseSession.mapEntriesById(distinctIds, docs);
+            }
+        }
+        List<Object> result = new ArrayList<>(values.size());
+        for (String id : ids) {
+            DocumentModel doc = id == null ? null : entries.get(id);
+            result.add(doc == null ? null : new DirectoryEntry(directoryName, doc));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the id of the entry referenced by the given value, the last segment of the path for hierarchical
+     * directories, or {@code null} if the value cannot reference an entry.
+     */
+    protected String getEntryId(Object value) {
+        if (!(value instanceof String)) {
+            return null;
+        }
+        String id = (String) value;
+        if (hierarchical) {
+            String[] ids = StringUtils.split(id, separator);
+            return ids.length > 0 ? ids[ids.length - 1] : null;
+        }
+        return id;
+    }
+
     @Override
     public <T> T fetch(Class<T> type, Object value) throws IllegalStateException {
         checkConfig();
@@ -82,6 +82,13 @@ public class LDAPDirectory extends AbstractDirectory {
 
     protected String baseFilter;
 
+    /**
+     * @since 9.10
+     */
+    protected LDAPStaleEntries staleEntries;
+
+    protected final Runnable staleEntriesRevalidator = this::revalidateStaleEntries;
+
     // the following attribute is only used for testing purpose
     protected ContextProvider testServer;
 
@@ -123,6 +130,11 @@ public class LDAPDirectory extends AbstractDirectory {
         fieldMapper = new DirectoryFieldMapper(ldapDirectoryDesc.fieldMapping);
         contextProperties = computeContextProperties();
         baseFilter = ldapDirectoryDesc.getAggregatedSearchFilter();
+        int staleEntriesMaxSize = ldapDirectoryDesc.getStaleEntriesMaxSize();
+        if (staleEntriesMaxSize > 0) {
+            staleEntries = new LDAPStaleEntries(getName(), staleEntriesMaxSize);
+            getServerHealth().addRecoveryListener(staleEntriesRevalidator);
+        }
 
         // register the references
         addReferences(ldapDirectoryDesc.getLdapReferences());
@@ -189,6 +201,10 @@ public class LDAPDirectory extends AbstractDirectory {
             props.put(Context.SECURITY_CREDENTIALS, serverConfig.getBindPassword());
         }
 
+        if (serverConfig.getReadTimeout() > -1) {
+            props.put("com.sun.jndi.ldap.read.timeout", Integer.toString(serverConfig.getReadTimeout()));
+        }
+
         if (serverConfig.isPoolingEnabled()) {
             // Enable connection pooling
             props.put("com.sun.jndi.ldap.connect.pool", "true");
@@ -197,6 +213,10 @@ public class LDAPDirectory extends AbstractDirectory {
             setSystemProperty("com.sun.jndi.ldap.connect.pool.authentication", "none simple DIGEST-MD5");
             setSystemProperty("com.sun.jndi.ldap.connect.pool.timeout",
                     Integer.toString(serverConfig.getPoolingTimeout())); // 1 min by default
+            if (serverConfig.getMaxConnections() > 0) {
+                setSystemProperty("com.sun.jndi.ldap.connect.pool.maxsize",
+                        Integer.toString(serverConfig.getMaxConnections()));
+            }
         }
 
         if (!serverConfig.isVerifyServerCert() && serverConfig.useSsl) {
@@ -315,6 +335,44 @@ public class LDAPDirectory extends AbstractDirectory {
         return factory.getServer(getDescriptor().getServerName());
     }
 
+    /**
+     * @since 9.10
+     * @return the health of the ldap server bound to this directory
+     */
+    public LDAPServerHealth getServerHealth() {
+        return factory.getServerHealth(getDescriptor().getServerName());
+    }
+
+    /**
+     * @since 9.10
+     * @return the last known entries served when the server is unavailable, or {@code null} if disabled
+     */
+    public LDAPStaleEntries getStaleEntries() {
+        return staleEntries;
+    }
+
+    /**
+     * Revalidates the last known entries served while the server was unavailable, by removing them from the cache so
+     * that they are fetched again from the server on next access.
+     *
+     * @since 9.10
+     */
+    protected void revalidateStaleEntries() {
+        List<String> ids = staleEntries.takeServedIds();
+        if (!ids.isEmpty()) {
+            log.debug("Revalidating " + ids.size() + " last known entries of directory " + getName());
+            getCache().invalidate(ids);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (staleEntries != null) {
+            getServerHealth().removeRecoveryListener(staleEntriesRevalidator);
+        }
+        super.shutdown();
+    }
+
     @Override
     public Session getSession() throws DirectoryException {
         initLDAPConfigIfNeeded();
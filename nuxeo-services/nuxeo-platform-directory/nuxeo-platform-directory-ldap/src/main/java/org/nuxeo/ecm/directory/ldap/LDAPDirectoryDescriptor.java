@@ -122,6 +122,14 @@ public class LDAPDirectoryDescriptor extends BaseDirectoryDescriptor {
     @XNode("followReferrals")
     protected Boolean followReferrals;
 
+    /**
+     * Maximum number of entries kept to be served while the LDAP server is unavailable, 0 to disable the fallback.
+     *
+     * @since 9.10
+     */
+    @XNode("staleEntriesMaxSize")
+    protected Integer staleEntriesMaxSize;
+
     public boolean getFollowReferrals() {
         return followReferrals == null ? DEFAULT_FOLLOW_REFERRALS : followReferrals.booleanValue();
     }
@@ -296,6 +304,13 @@ public class LDAPDirectoryDescriptor extends BaseDirectoryDescriptor {
         return queryTimeLimit == null ? DEFAULT_QUERY_TIME_LIMIT : queryTimeLimit.intValue();
     }
 
+    /**
+     * @since 9.10
+     */
+    public int getStaleEntriesMaxSize() {
+        return staleEntriesMaxSize == null ? 0 : staleEntriesMaxSize.intValue();
+    }
+
     public EntryAdaptor getEntryAdaptor() {
         return entryAdaptor;
     }
@@ -379,6 +394,9 @@ public class LDAPDirectoryDescriptor extends BaseDirectoryDescriptor {
         if (other.followReferrals != null) {
             followReferrals = other.followReferrals;
         }
+        if (other.staleEntriesMaxSize != null) {
+            staleEntriesMaxSize = other.staleEntriesMaxSize;
+        }
         if (other.entryAdaptor != null) {
             entryAdaptor = other.entryAdaptor;
         }
@@ -21,8 +21,12 @@
 
 package org.nuxeo.ecm.directory.ldap;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.nuxeo.ecm.core.api.NuxeoException;
 import org.nuxeo.ecm.directory.DefaultDirectoryFactory;
+import org.nuxeo.ecm.directory.DirectoryException;
 import org.nuxeo.ecm.directory.DirectoryServiceImpl;
 import org.nuxeo.ecm.directory.api.DirectoryService;
 import org.nuxeo.ecm.directory.ldap.registry.LDAPServerRegistry;
@@ -35,10 +39,27 @@ public class LDAPDirectoryFactory extends DefaultDirectoryFactory {
 
     protected LDAPServerRegistry servers = new LDAPServerRegistry();
 
+    protected final Map<String, LDAPServerHealth> serverHealths = new ConcurrentHashMap<>();
+
     public LDAPServerDescriptor getServer(String name) {
         return servers.getServer(name);
     }
 
+    /**
+     * Gets the health of the given server, shared by all the directories using it.
+     *
+     * @since 9.10
+     */
+    public LDAPServerHealth getServerHealth(String name) {
+        return serverHealths.computeIfAbsent(name, k -> {
+            LDAPServerDescriptor server = getServer(k);
+            if (server == null) {
+                throw new DirectoryException("LDAP server configuration not found: " + k);
+            }
+            return new LDAPServerHealth(server);
+        });
+    }
+
     protected static DirectoryServiceImpl getDirectoryService() {
         return (DirectoryServiceImpl) Framework.getService(DirectoryService.class);
     }
@@ -65,10 +86,12 @@ public class LDAPDirectoryFactory extends DefaultDirectoryFactory {
 
     public void registerServerContribution(LDAPServerDescriptor descriptor) {
         servers.addContribution(descriptor);
+        serverHealths.remove(descriptor.getName());
     }
 
     public void unregisterServerContribution(LDAPServerDescriptor descriptor) {
         servers.removeContribution(descriptor);
+        serverHealths.remove(descriptor.getName());
     }
 
 }
@@ -81,6 +81,46 @@ public class LDAPServerDescriptor {
     @XNode("poolingTimeout")
     protected int poolingTimeout = 60000;
 
+    /**
+     * Timeout in milliseconds of the reads of LDAP responses, -1 to wait indefinitely.
+     *
+     * @since 9.10
+     */
+    @XNode("readTimeout")
+    protected int readTimeout = -1;
+
+    /**
+     * Maximum number of concurrent LDAP operations on this server, 0 for no limit.
+     *
+     * @since 9.10
+     */
+    @XNode("maxConnections")
+    protected int maxConnections = 0;
+
+    /**
+     * Time in milliseconds to wait for a free connection when {@link #maxConnections} is reached.
+     *
+     * @since 9.10
+     */
+    @XNode("connectionWaitTimeout")
+    protected int connectionWaitTimeout = 5000;
+
+    /**
+     * Number of consecutive failed operations after which the server is considered unavailable, 0 to disable.
+     *
+     * @since 9.10
+     */
+    @XNode("circuitBreakerThreshold")
+    protected int circuitBreakerThreshold = 0;
+
+    /**
+     * Time in milliseconds during which no operation is sent to an unavailable server.
+     *
+     * @since 9.10
+     */
+    @XNode("circuitBreakerDelay")
+    protected int circuitBreakerDelay = 30000;
+
     protected LinkedHashSet<LdapEntry> ldapEntries;
 
     protected boolean isDynamicServerList = false;
@@ -319,6 +359,41 @@ public class LDAPServerDescriptor {
         return poolingTimeout;
     }
 
+    /**
+     * @since 9.10
+     */
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * @since 9.10
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @since 9.10
+     */
+    public int getConnectionWaitTimeout() {
+        return connectionWaitTimeout;
+    }
+
+    /**
+     * @since 9.10
+     */
+    public int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    /**
+     * @since 9.10
+     */
+    public int getCircuitBreakerDelay() {
+        return circuitBreakerDelay;
+    }
+
     public void setConnectionTimeout(int connectionTimeout) {
         this.connectionTimeout = connectionTimeout;
     }
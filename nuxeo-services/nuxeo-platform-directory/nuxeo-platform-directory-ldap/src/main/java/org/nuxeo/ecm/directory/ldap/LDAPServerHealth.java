@@ -0,0 +1,260 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.directory.ldap;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.CommunicationException;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
+/**
+ * Health of an LDAP server, shared by all the directories using it.
+ * <p>
+ * Bounds the number of concurrent operations on the server, and acts as a circuit breaker: after a configured number
+ * of consecutive failures, operations are rejected immediately instead of blocking the calling threads, until a single
+ * probe operation is allowed after the configured delay. The circuit closes again as soon as an operation succeeds.
+ * <p>
+ * The recovery listeners are notified when the server answers again after being unavailable, whether the circuit was
+ * open or not.
+ *
+ * @since 9.10
+ */
+public class LDAPServerHealth {
+
+    private static final Log log = LogFactory.getLog(LDAPServerHealth.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    protected final String serverName;
+
+    protected final Semaphore permits;
+
+    protected final long waitTimeout;
+
+    protected final int failureThreshold;
+
+    protected final long openDelay;
+
+    // the following fields are guarded by this
+
+    protected State state = State.CLOSED;
+
+    protected int consecutiveFailures;
+
+    protected long openedAt;
+
+    protected boolean probing;
+
+    protected final Timer waitTimer;
+
+    protected final Timer operationTimer;
+
+    protected final Counter rejectedCounter;
+
+    protected final Counter failureCounter;
+
+    protected final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+
+    public LDAPServerHealth(LDAPServerDescriptor server) {
+        this(server.getName(), server.getMaxConnections(), server.getConnectionWaitTimeout(),
+                server.getCircuitBreakerThreshold(), server.getCircuitBreakerDelay());
+    }
+
+    /**
+     * @param maxConnections the maximum number of concurrent operations, 0 for no limit
+     * @param waitTimeout the time in milliseconds to wait for a free connection
+     * @param failureThreshold the number of consecutive failures opening the circuit, 0 to disable
+     * @param openDelay the time in milliseconds before a probe operation is allowed on an open circuit
+     */
+    public LDAPServerHealth(String serverName, int maxConnections, long waitTimeout, int failureThreshold,
+            long openDelay) {
+        this.serverName = serverName;
+        permits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        this.waitTimeout = waitTimeout;
+        this.failureThreshold = failureThreshold;
+        this.openDelay = openDelay;
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        waitTimer = registry.timer(MetricRegistry.name("nuxeo", "directories", "ldap", serverName, "wait"));
+        operationTimer = registry.timer(MetricRegistry.name("nuxeo", "directories", "ldap", serverName, "operations"));
+        rejectedCounter = registry.counter(MetricRegistry.name("nuxeo", "directories", "ldap", serverName, "rejected"));
+        failureCounter = registry.counter(MetricRegistry.name("nuxeo", "directories", "ldap", serverName, "failures"));
+    }
+
+    public String getServerName() {
+        return serverName;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Acquires the right to send an operation to the server. Must be followed by a call to {@link #release}, and the
+     * outcome of the operation must be reported with {@link #record}.
+     *
+     * @throws ServiceUnavailableException if the circuit is open or no connection became free in time
+     */
+    public void acquire() throws ServiceUnavailableException {
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openDelay) {
+                    throw reject("circuit is open");
+                }
+                state = State.HALF_OPEN;
+                probing = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probing) {
+                    throw reject("circuit is half-open and a probe is in progress");
+                }
+                probing = true;
+            }
+        }
+        if (permits == null) {
+            return;
+        }
+        boolean acquired = false;
+        try (Timer.Context ignored = waitTimer.time()) {
+            acquired = permits.tryAcquire(waitTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            synchronized (this) {
+                probing = false;
+            }
+            throw reject("no free connection after " + waitTimeout + "ms");
+        }
+    }
+
+    /**
+     * Releases the right acquired by {@link #acquire}.
+     */
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Starts timing an operation on the server.
+     */
+    public Timer.Context time() {
+        return operationTimer.time();
+    }
+
+    /**
+     * Records the outcome of an operation. Only the errors due to the server unavailability count as failures, other
+     * errors show that the server is responding.
+     *
+     * @param error the error raised by the operation, or {@code null} if it succeeded
+     */
+    public void record(Throwable error) {
+        boolean recovered;
+        synchronized (this) {
+            probing = false;
+            if (error != null && isUnavailable(error)) {
+                failureCounter.inc();
+                consecutiveFailures++;
+                if (state == State.HALF_OPEN || failureThreshold > 0 && consecutiveFailures >= failureThreshold) {
+                    open();
+                }
+                return;
+            }
+            recovered = state != State.CLOSED || consecutiveFailures > 0;
+            if (state != State.CLOSED) {
+                log.info("LDAP server " + serverName + " is available again");
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        }
+        if (recovered) {
+            // outside the lock, listeners may send operations to the server
+            recoveryListeners.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Adds a listener called when the server answers again after being unavailable.
+     */
+    public void addRecoveryListener(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    public void removeRecoveryListener(Runnable listener) {
+        recoveryListeners.remove(listener);
+    }
+
+    /**
+     * Opens the circuit, rejecting the operations until the configured delay has elapsed.
+     */
+    public synchronized void open() {
+        if (state != State.OPEN) {
+            log.warn("LDAP server " + serverName + " is unavailable, rejecting operations for " + openDelay + "ms");
+        }
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Closes the circuit and forgets the previous failures.
+     */
+    public synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probing = false;
+    }
+
+    protected ServiceUnavailableException reject(String reason) {
+        rejectedCounter.inc();
+        return new ServiceUnavailableException("LDAP server " + serverName + " is unavailable: " + reason);
+    }
+
+    /**
+     * Checks whether the given error, or one of its causes, is due to an unavailable or unresponsive server.
+     */
+    public static boolean isUnavailable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ServiceUnavailableException || t instanceof CommunicationException) {
+                return true;
+            }
+            // JNDI reports read timeouts as a plain NamingException
+            if (t instanceof NamingException && t.getMessage() != null && t.getMessage().contains("timed out")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
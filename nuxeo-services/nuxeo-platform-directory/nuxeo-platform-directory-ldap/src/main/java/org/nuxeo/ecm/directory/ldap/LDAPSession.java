@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,7 @@ import javax.naming.LimitExceededException;
 import javax.naming.NameNotFoundException;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
 import javax.naming.SizeLimitExceededException;
 import javax.naming.directory.Attribute;
 import javax.naming.directory.Attributes;
@@ -92,6 +94,13 @@ public class LDAPSession extends BaseSession {
     // set to false for debugging
     private static final boolean HIDE_PASSWORD_IN_LOGS = true;
 
+    /**
+     * Maximum number of ids in the OR filter of a single search of {@link #getEntriesFromSource(Collection, boolean)}.
+     *
+     * @since 9.10
+     */
+    protected static final int GET_ENTRIES_BATCH_SIZE = 100;
+
     protected DirContext dirContext;
 
     protected final String idAttribute;
@@ -137,12 +146,38 @@ public class LDAPSession extends BaseSession {
             // Initialize directory context lazily
             LDAPDirectory ldapDirectory = (LDAPDirectory) directory;
             ContextProvider testServer = ldapDirectory.getTestServer();
-            DirContext context = testServer == null ? ldapDirectory.createContext() : testServer.getContext();
-            dirContext = LdapRetryHandler.wrap(context, ldapDirectory.getServer().getRetries());
+            LDAPServerHealth health = ldapDirectory.getServerHealth();
+            DirContext context = testServer == null ? createContext(health) : testServer.getContext();
+            context = LdapRetryHandler.wrap(context, ldapDirectory.getServer().getRetries());
+            dirContext = LdapCircuitBreakerHandler.wrap(context, health);
         }
         return dirContext;
     }
 
+    /**
+     * Connects to the server, unless it is known to be unavailable.
+     *
+     * @since 9.10
+     */
+    protected DirContext createContext(LDAPServerHealth health) {
+        try {
+            health.acquire();
+        } catch (ServiceUnavailableException e) {
+            throw new DirectoryException(
+                    "Cannot connect to LDAP directory '" + directory.getName() + "': " + e.getMessage(), e);
+        }
+        DirectoryException error = null;
+        try {
+            return getDirectory().createContext();
+        } catch (DirectoryException e) {
+            error = e;
+            throw e;
+        } finally {
+            health.release();
+            health.record(error);
+        }
+    }
+
     @Override
     protected DocumentModel createEntryWithoutReferences(Map<String, Object> fieldMap) {
         // Make a copy of fieldMap to avoid modifying it
@@ -305,6 +340,7 @@ public class LDAPSession extends BaseSession {
         } catch (NamingException e) {
             handleException(e, "updateEntry failed:");
         }
+        removeStaleEntry(docModel.getId());
         return referenceFieldList;
     }
 
@@ -321,6 +357,7 @@ public class LDAPSession extends BaseSession {
         } catch (NamingException e) {
             handleException(e, "deleteEntry failed for: " + id);
         }
+        removeStaleEntry(id);
     }
 
     @Override
@@ -422,17 +459,179 @@ public class LDAPSession extends BaseSession {
 
     @Override
     public DocumentModel getEntryFromSource(String id, boolean fetchReferences) throws DirectoryException {
+        LDAPStaleEntries staleEntries = getDirectory().getStaleEntries();
         try {
             SearchResult result = getLdapEntry(id, false);
             if (result == null) {
+                removeStaleEntry(id);
                 return null;
             }
-            return ldapResultToDocumentModel(result, id, fetchReferences);
+            DocumentModel entry = ldapResultToDocumentModel(result, id, fetchReferences);
+            if (staleEntries != null) {
+                staleEntries.put(id, fetchReferences, entry);
+            }
+            return entry;
         } catch (NamingException e) {
-            throw new DirectoryException("getEntry failed: " + e.getMessage(), e);
+            Map<String, DocumentModel> entries = getLastKnownEntries(Collections.singleton(id), fetchReferences, e);
+            if (entries == null) {
+                throw new DirectoryException("getEntry failed: " + e.getMessage(), e);
+            }
+            return entries.get(id);
+        } catch (DirectoryException e) {
+            Map<String, DocumentModel> entries = getLastKnownEntries(Collections.singleton(id), fetchReferences, e);
+            if (entries == null) {
+                throw e;
+            }
+            return entries.get(id);
+        }
+    }
+
+    /**
+     * Gets the last known copies of the given entries if the error shows that the server is unavailable.
+     *
+     * @return the entries keyed by id, or {@code null} if the error must be propagated
+     * @since 9.10
+     */
+    protected Map<String, DocumentModel> getLastKnownEntries(Collection<String> ids, boolean fetchReferences,
+            Exception e) {
+        LDAPStaleEntries staleEntries = getDirectory().getStaleEntries();
+        if (staleEntries == null || !LDAPServerHealth.isUnavailable(e)) {
+            return null;
+        }
+        Map<String, DocumentModel> entries = staleEntries.get(ids, fetchReferences);
+        if (entries != null && log.isDebugEnabled()) {
+            log.debug("Serving last known entries " + ids + " of directory " + directory.getName() + ": "
+                    + e.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Completes the entries fetched before a failure with the last known copies of the other ones.
+     *
+     * @return {@code false} if the error must be propagated
+     * @since 9.10
+     */
+    protected boolean addLastKnownEntries(Map<String, DocumentModel> entries, List<String> ids,
+            boolean fetchReferences, Exception e) {
+        List<String> missingIds = new ArrayList<>();
+        for (String id : ids) {
+            if (!entries.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        Map<String, DocumentModel> lastKnownEntries = getLastKnownEntries(missingIds, fetchReferences, e);
+        if (lastKnownEntries == null) {
+            return false;
+        }
+        entries.putAll(lastKnownEntries);
+        return true;
+    }
+
+    /**
+     * @since 9.10
+     */
+    protected void removeStaleEntry(String id) {
+        LDAPStaleEntries staleEntries = getDirectory().getStaleEntries();
+        if (staleEntries != null && id != null) {
+            staleEntries.remove(id);
         }
     }
 
+    @Override
+    public Map<String, DocumentModel> getEntriesFromSource(Collection<String> ids, boolean fetchReferences)
+            throws DirectoryException {
+        List<String> idList = new ArrayList<>();
+        for (String id : ids) {
+            if (StringUtils.isEmpty(id)) {
+                log.warn("The application should not query for entries with an empty id => return no results");
+            } else {
+                idList.add(id);
+            }
+        }
+        LDAPStaleEntries staleEntries = getDirectory().getStaleEntries();
+        Map<String, DocumentModel> entries = new HashMap<>();
+        try {
+            for (int i = 0; i < idList.size(); i += GET_ENTRIES_BATCH_SIZE) {
+                List<String> batch = idList.subList(i, Math.min(i + GET_ENTRIES_BATCH_SIZE, idList.size()));
+                List<DocumentModel> batchResults = getLdapEntries(batch, fetchReferences);
+                Map<String, DocumentModel> batchEntries = mapEntriesById(batch, batchResults);
+                if (staleEntries != null) {
+                    batchEntries.forEach((id, entry) -> staleEntries.put(id, fetchReferences, entry));
+                }
+                entries.putAll(batchEntries);
+            }
+        } catch (NamingException e) {
+            if (!addLastKnownEntries(entries, idList, fetchReferences, e)) {
+                throw new DirectoryException("getEntries failed: " + e.getMessage(), e);
+            }
+        } catch (DirectoryException e) {
+            if (!addLastKnownEntries(entries, idList, fetchReferences, e)) {
+                throw e;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Fetches the entries with the given ids using a single search with an OR filter on the id attribute.
+     * <p>
+     * Like {@link #getLdapEntry(String, boolean)}, ids matching more than one entry are ignored.
+     *
+     * @since 9.10
+     */
+    protected List<DocumentModel> getLdapEntries(List<String> ids, boolean fetchReferences)
+            throws NamingException {
+        StringBuilder idFilter = new StringBuilder("(|");
+        for (int i = 0; i < ids.size(); i++) {
+            idFilter.append('(').append(idAttribute).append("={").append(i).append("})");
+        }
+        idFilter.append(')');
+        String filterExpr;
+        String baseFilter = getDirectory().getBaseFilter();
+        if (baseFilter.startsWith("(")) {
+            filterExpr = String.format("(&%s%s)", idFilter, baseFilter);
+        } else {
+            filterExpr = String.format("(&%s(%s))", idFilter, baseFilter);
+        }
+        Object[] filterArgs = ids.toArray();
+        SearchControls scts = getDirectory().getSearchControls(false);
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(
+                    "LDAPSession.getLdapEntries(%s, %s): LDAP search base='%s' filter='%s' scope='%s' [%s]", ids,
+                    fetchReferences, searchBaseDn, filterExpr, scts.getSearchScope(), this));
+        }
+        NamingEnumeration<SearchResult> results;
+        try {
+            results = getContext().search(searchBaseDn, filterExpr, filterArgs, scts);
+        } catch (NameNotFoundException nnfe) {
+            // same as getLdapEntry: keep the application usable but log the error for the AD admin
+            log.error("Unexpected response from server while performing query: " + nnfe.getMessage(), nnfe);
+            return Collections.emptyList();
+        }
+        Map<String, DocumentModel> entries = new HashMap<>();
+        Set<String> ambiguousIds = new HashSet<>();
+        try {
+            while (results.hasMore()) {
+                DocumentModel entry = ldapResultToDocumentModel(results.next(), null, fetchReferences);
+                if (entry == null) {
+                    continue;
+                }
+                if (entries.put(entry.getId(), entry) != null) {
+                    // ignore entries that are ambiguous, the LDAP admin should fix them
+                    log.error(String.format("Unable to fetch entry for '%s': found more than one match",
+                            entry.getId()));
+                    ambiguousIds.add(entry.getId());
+                }
+            }
+        } finally {
+            results.close();
+        }
+        entries.keySet().removeAll(ambiguousIds);
+        return new ArrayList<>(entries.values());
+    }
+
     @Override
     public DocumentModelList query(Map<String, Serializable> filter, Set<String> fulltext, Map<String, String> orderBy,
             boolean fetchReferences, int limit, int offset) throws DirectoryException {
@@ -540,7 +739,10 @@ public class LDAPSession extends BaseSession {
     @Override
     public void close() throws DirectoryException {
         try {
-            getContext().close();
+            // don't connect just to close the connection
+            if (dirContext != null) {
+                dirContext.close();
+            }
         } catch (NamingException e) {
             throw new DirectoryException("close failed", e);
         } finally {
@@ -0,0 +1,138 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.directory.ldap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.directory.BaseSession;
+import org.nuxeo.ecm.directory.DirectoryCache;
+import org.nuxeo.runtime.metrics.MetricsService;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * Last known copies of the entries of an LDAP directory, served when its server is unavailable.
+ * <p>
+ * Unlike the {@link DirectoryCache}, entries don't expire: they are replaced each time they are fetched again from the
+ * server, and the least recently used ones are evicted when the maximum size is reached.
+ * <p>
+ * The ids of the entries served are kept until the server is available again, so that the copies kept by the
+ * {@link DirectoryCache} can be revalidated against the server.
+ *
+ * @since 9.10
+ */
+public class LDAPStaleEntries {
+
+    protected final Map<String, DocumentModel> entries;
+
+    protected final Counter fallbackCounter;
+
+    /** The ids of the entries served since the last revalidation, guarded by {@link #entries}. */
+    protected final Set<String> servedIds = new HashSet<>();
+
+    public LDAPStaleEntries(String directoryName, int maxSize) {
+        entries = new LinkedHashMap<String, DocumentModel>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DocumentModel> eldest) {
+                return size() > maxSize;
+            }
+        };
+        MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+        fallbackCounter = registry.counter(
+                MetricRegistry.name("nuxeo", "directories", directoryName, "ldap", "fallbacks"));
+    }
+
+    protected static String getKey(String id, boolean fetchReferences) {
+        return (fetchReferences ? "1:" : "0:") + id;
+    }
+
+    public void put(String id, boolean fetchReferences, DocumentModel entry) {
+        DocumentModel copy = copy(entry);
+        synchronized (entries) {
+            entries.put(getKey(id, fetchReferences), copy);
+        }
+    }
+
+    /**
+     * Gets copies of the last known entries for the given ids, counting them as fallbacks.
+     *
+     * @return the entries keyed by id, or {@code null} if one of them is unknown
+     */
+    public Map<String, DocumentModel> get(Collection<String> ids, boolean fetchReferences) {
+        Map<String, DocumentModel> result = new HashMap<>();
+        synchronized (entries) {
+            for (String id : ids) {
+                DocumentModel entry = entries.get(getKey(id, fetchReferences));
+                if (entry == null) {
+                    return null;
+                }
+                result.put(id, entry);
+            }
+            servedIds.addAll(ids);
+        }
+        result.replaceAll((id, entry) -> copy(entry));
+        fallbackCounter.inc(result.size());
+        return result;
+    }
+
+    /**
+     * Gets the ids of the entries served since the last call, to revalidate them.
+     */
+    public List<String> takeServedIds() {
+        synchronized (entries) {
+            List<String> ids = new ArrayList<>(servedIds);
+            servedIds.clear();
+            return ids;
+        }
+    }
+
+    public void remove(String id) {
+        synchronized (entries) {
+            entries.remove(getKey(id, true));
+            entries.remove(getKey(id, false));
+        }
+    }
+
+    protected static DocumentModel copy(DocumentModel entry) {
+        try {
+            DocumentModel copy = entry.clone();
+            // DocumentModelImpl#clone does not copy context data
+            if (BaseSession.isReadOnlyEntry(entry)) {
+                BaseSession.setReadOnlyEntry(copy);
+            }
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            // will never happen as long a DocumentModelImpl is used
+            return entry;
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.directory.ldap;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.naming.directory.DirContext;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * Guards the operations of a {@link DirContext} with the {@link LDAPServerHealth} of its server.
+ *
+ * @since 9.10
+ */
+public class LdapCircuitBreakerHandler implements InvocationHandler {
+
+    /** Methods not sending anything to the server. */
+    protected static final Set<String> LOCAL_METHODS = new HashSet<>(Arrays.asList("close", "getEnvironment",
+            "addToEnvironment", "removeFromEnvironment", "composeName", "getNameParser", "toString", "hashCode",
+            "equals"));
+
+    protected final DirContext dirContext;
+
+    protected final LDAPServerHealth health;
+
+    protected LdapCircuitBreakerHandler(DirContext dirContext, LDAPServerHealth health) {
+        this.dirContext = dirContext;
+        this.health = health;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (LOCAL_METHODS.contains(method.getName())) {
+            try {
+                return method.invoke(dirContext, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+        health.acquire();
+        Throwable error = null;
+        try (Timer.Context ignored = health.time()) {
+            return method.invoke(dirContext, args);
+        } catch (InvocationTargetException e) {
+            error = e.getTargetException();
+            throw error;
+        } finally {
+            health.release();
+            health.record(error);
+        }
+    }
+
+    public static DirContext wrap(DirContext dirContext, LDAPServerHealth health) {
+        LdapCircuitBreakerHandler handler = new LdapCircuitBreakerHandler(dirContext, health);
+        return (DirContext) Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
+                new Class<?>[] { DirContext.class }, handler);
+    }
+
+}
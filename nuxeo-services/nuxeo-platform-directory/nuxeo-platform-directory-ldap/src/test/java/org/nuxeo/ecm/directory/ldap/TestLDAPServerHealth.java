@@ -0,0 +1,127 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.directory.ldap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.CommunicationException;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+
+import org.junit.Test;
+import org.nuxeo.ecm.directory.DirectoryException;
+import org.nuxeo.ecm.directory.ldap.LDAPServerHealth.State;
+
+public class TestLDAPServerHealth {
+
+    protected static void assertRejected(LDAPServerHealth health) {
+        try {
+            health.acquire();
+            fail("operation should have been rejected");
+        } catch (ServiceUnavailableException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCircuitBreaker() throws Exception {
+        LDAPServerHealth health = new LDAPServerHealth("test-breaker", 0, 0, 2, 100);
+
+        health.acquire();
+        health.record(new CommunicationException());
+        assertEquals(State.CLOSED, health.getState());
+        // other errors show that the server is responding
+        health.acquire();
+        health.record(new NameNotFoundException());
+        health.acquire();
+        health.record(new CommunicationException());
+        assertEquals(State.CLOSED, health.getState());
+        health.acquire();
+        health.record(new CommunicationException());
+        assertEquals(State.OPEN, health.getState());
+        assertRejected(health);
+
+        Thread.sleep(150);
+        // a single probe is allowed after the delay
+        health.acquire();
+        assertEquals(State.HALF_OPEN, health.getState());
+        assertRejected(health);
+        health.record(new CommunicationException());
+        assertEquals(State.OPEN, health.getState());
+
+        Thread.sleep(150);
+        health.acquire();
+        health.record(null);
+        assertEquals(State.CLOSED, health.getState());
+        health.acquire();
+    }
+
+    @Test
+    public void testMaxConnections() throws Exception {
+        LDAPServerHealth health = new LDAPServerHealth("test-pool", 1, 10, 0, 100);
+        health.acquire();
+        assertRejected(health);
+        health.release();
+        health.acquire();
+        health.release();
+        // no circuit breaking when disabled
+        for (int i = 0; i < 10; i++) {
+            health.record(new CommunicationException());
+        }
+        assertEquals(State.CLOSED, health.getState());
+    }
+
+    @Test
+    public void testRecoveryListener() throws Exception {
+        LDAPServerHealth health = new LDAPServerHealth("test-recovery", 0, 0, 2, 100);
+        AtomicInteger recoveries = new AtomicInteger();
+        health.addRecoveryListener(recoveries::incrementAndGet);
+
+        health.record(null);
+        assertEquals(0, recoveries.get());
+        // the server answers again, without the circuit being open
+        health.record(new CommunicationException());
+        health.record(null);
+        assertEquals(1, recoveries.get());
+        // the circuit closes again
+        health.record(new CommunicationException());
+        health.record(new CommunicationException());
+        assertEquals(State.OPEN, health.getState());
+        health.record(null);
+        assertEquals(2, recoveries.get());
+        health.record(new NameNotFoundException());
+        assertEquals(2, recoveries.get());
+    }
+
+    @Test
+    public void testIsUnavailable() {
+        assertTrue(LDAPServerHealth.isUnavailable(new ServiceUnavailableException()));
+        assertTrue(LDAPServerHealth.isUnavailable(new NamingException("LDAP response read timed out")));
+        assertTrue(LDAPServerHealth.isUnavailable(new DirectoryException("failed", new CommunicationException())));
+        assertFalse(LDAPServerHealth.isUnavailable(new DirectoryException("failed", new NameNotFoundException())));
+        assertFalse(LDAPServerHealth.isUnavailable(new NamingException()));
+    }
+
+}
@@ -1077,4 +1077,39 @@ public class TestLDAPSession extends LDAPDirectoryTestCase {
             assertNotNull(session.dirContext);
         }
     }
+
+    @Test
+    public void testLastKnownEntriesWhenServerUnavailable() {
+        LDAPDirectory dir = getLDAPDirectory("userDirectory");
+        LDAPServerHealth health = dir.getServerHealth();
+        LDAPStaleEntries staleEntries = dir.staleEntries;
+        dir.staleEntries = new LDAPStaleEntries(dir.getName(), 10);
+        health.addRecoveryListener(dir.staleEntriesRevalidator);
+        try (LDAPSession session = (LDAPSession) dir.getSession()) {
+            assertNotNull(session.getEntryFromSource("Administrator", false));
+
+            health.open();
+            DocumentModel entry = session.getEntryFromSource("Administrator", false);
+            assertNotNull(entry);
+            assertEquals("Manager", entry.getProperty(USER_SCHEMANAME, "lastName"));
+            assertEquals(1, session.getEntriesFromSource(Collections.singleton("Administrator"), false).size());
+
+            // entries never fetched cannot be served
+            try {
+                session.getEntryFromSource("user1", false);
+                fail("Should fail while the server is unavailable");
+            } catch (DirectoryException e) {
+                assertTrue(LDAPServerHealth.isUnavailable(e));
+            }
+
+            // the entries served are revalidated once the server answers again
+            assertTrue(dir.staleEntries.servedIds.contains("Administrator"));
+            health.record(null);
+            assertTrue(dir.staleEntries.servedIds.isEmpty());
+        } finally {
+            health.removeRecoveryListener(dir.staleEntriesRevalidator);
+            health.reset();
+            dir.staleEntries = staleEntries;
+        }
+    }
 }
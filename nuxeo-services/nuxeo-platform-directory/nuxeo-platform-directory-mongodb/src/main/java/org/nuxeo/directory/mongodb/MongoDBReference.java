@@ -21,6 +21,7 @@
 package org.nuxeo.directory.mongodb;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -209,6 +210,22 @@ public class MongoDBReference extends AbstractReference {
         return getIdsFor(sourceField, sourceId, targetField, session);
     }
 
+    @Override
+    public Map<String, List<String>> getTargetIdsForSources(Collection<String> sourceIds) throws DirectoryException {
+        Map<String, List<String>> targetIds = new HashMap<>();
+        for (String sourceId : sourceIds) {
+            targetIds.put(sourceId, new ArrayList<>());
+        }
+        try (MongoDBSession session = getMongoDBSession()) {
+            Document filter = new Document(sourceField, new Document("$in", new ArrayList<>(sourceIds)));
+            for (Document doc : session.getCollection(collection).find(filter)) {
+                targetIds.computeIfAbsent(doc.getString(sourceField), k -> new ArrayList<>())
+                         .add(doc.getString(targetField));
+            }
+        }
+        return targetIds;
+    }
+
     @Override
     public List<String> getSourceIdsForTarget(String targetId) throws DirectoryException {
         try (MongoDBSession session = getMongoDBSession()) {
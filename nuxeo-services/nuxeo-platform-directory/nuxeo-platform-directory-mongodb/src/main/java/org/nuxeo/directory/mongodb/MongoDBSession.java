@@ -26,6 +26,7 @@ import static org.nuxeo.directory.mongodb.MongoDBSerializationHelper.MONGODB_SEQ
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -121,6 +122,27 @@ public class MongoDBSession extends BaseSession {
         return docModel;
     }
 
+    @Override
+    public Map<String, DocumentModel> getEntriesFromSource(Collection<String> ids, boolean fetchReferences)
+            throws DirectoryException {
+        if (!hasPermission(SecurityConstants.READ)) {
+            return Collections.emptyMap();
+        }
+        Type idFieldType = getIdFieldType();
+        List<Object> values = ids.stream()
+                                 .map(id -> MongoDBSerializationHelper.valueToBson(id, idFieldType))
+                                 .collect(Collectors.toList());
+        Document bson = new Document(getPrefixedIdField(), new Document("$in", values));
+        DocumentModelList entries = doQuery(bson, null, false, 0, 0);
+        if (isMultiTenant()) {
+            entries.removeIf(entry -> !checkEntryTenantId((String) entry.getProperty(schemaName, TENANT_ID_FIELD)));
+        }
+        if (fetchReferences) {
+            setReferenceFields(entries);
+        }
+        return mapEntriesById(ids, entries);
+    }
+
     @Override
     protected DocumentModel createEntryWithoutReferences(Map<String, Object> fieldMap) {
         // Make a copy of fieldMap to avoid modifying it
@@ -326,10 +348,17 @@ public class MongoDBSession extends BaseSession {
         }
 
         // Remove password as it is not possible to do queries with it
-        String passwordFieldName = getPrefixedPasswordField();
-        filterMap.remove(passwordFieldName);
+        filterMap.remove(getPrefixedPasswordField());
         Document bson = buildQuery(filterMap, fulltext);
+        return doQuery(bson, orderBy, fetchReferences, limit, offset);
+    }
 
+    /**
+     * @since 9.10
+     */
+    protected DocumentModelList doQuery(Document bson, Map<String, String> orderBy, boolean fetchReferences,
+            int limit, int offset) throws DirectoryException {
+        String passwordFieldName = getPrefixedPasswordField();
         DocumentModelList entries = new DocumentModelListImpl();
 
         FindIterable<Document> results = getCollection().find(bson).skip(offset);
@@ -23,14 +23,17 @@ package org.nuxeo.ecm.directory.multi;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -342,56 +345,119 @@ public class MultiDirectorySession extends BaseSession {
             return null;
         }
         init();
+        for (SourceInfo sourceInfo : sourceInfos) {
+            DocumentModel entry = getEntry(sourceInfo, id,
+                    dirInfo -> dirInfo.getSession().getEntry(id, fetchReferences));
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the entry of the given source from the entries of its sub-directories.
+     *
+     * @param subEntries the function returning the entry of a sub-directory, or {@code null} if it does not exist
+     * @return the entry, or {@code null} if it is not in this source
+     * @since 9.10
+     */
+    protected DocumentModel getEntry(SourceInfo sourceInfo, String id,
+            Function<SubDirectoryInfo, DocumentModel> subEntries) throws DirectoryException {
         String entryId = id;
-        source_loop: for (SourceInfo sourceInfo : sourceInfos) {
-            boolean isReadOnlyEntry = true;
-            final Map<String, Object> map = new HashMap<>();
+        boolean isReadOnlyEntry = true;
+        final Map<String, Object> map = new HashMap<>();
+
+        for (SubDirectoryInfo dirInfo : sourceInfo.subDirectoryInfos) {
+            final DocumentModel entry = subEntries.apply(dirInfo);
+            boolean isOptional = dirInfo.isOptional;
+            if (entry == null && !isOptional) {
+                // not in this source
+                return null;
+            }
+            if (entry != null && !isReadOnlyEntry(entry)) {
+                // set readonly to false if at least one source is writable
+                isReadOnlyEntry = false;
+            }
+            if (entry == null && isOptional && !dirInfo.getSession().isReadOnly()) {
+                // set readonly to false if null entry is from optional and writable directory
+                isReadOnlyEntry = false;
+            }
+            if (entry != null && StringUtils.isNotBlank(entry.getId())) {
+                entryId = entry.getId();
+            }
+            for (Entry<String, String> e : dirInfo.toSource.entrySet()) {
+                if (entry != null) {
+                    try {
+                        map.put(e.getValue(), entry.getProperty(dirInfo.dirSchemaName, e.getKey()));
+                    } catch (PropertyException e1) {
+                        throw new DirectoryException(e1);
+                    }
+                } else {
+                    // fill with default values for this directory
+                    if (!map.containsKey(e.getValue())) {
+                        map.put(e.getValue(), dirInfo.defaultEntry.get(e.getKey()));
+                    }
+                }
+            }
+        }
+        // force the entry in readonly if it's defined on the multidirectory
+        if (isReadOnly()) {
+            isReadOnlyEntry = true;
+        }
+        // ok we have the data
+        try {
+            return BaseSession.createEntryModel(null, schemaName, entryId, map, isReadOnlyEntry);
+        } catch (PropertyException e) {
+            throw new DirectoryException(e);
+        }
+    }
 
+    @Override
+    public DocumentModelList getEntries(Collection<String> ids, boolean fetchReferences) throws DirectoryException {
+        DocumentModelList entries = new DocumentModelListImpl();
+        if (!hasPermission(SecurityConstants.READ) || ids.isEmpty()) {
+            return entries;
+        }
+        init();
+        Set<String> distinctIds = new LinkedHashSet<>(ids);
+        Set<String> remainingIds = new LinkedHashSet<>(distinctIds);
+        Map<String, DocumentModel> entriesById = new HashMap<>();
+        for (SourceInfo sourceInfo : sourceInfos) {
+            if (remainingIds.isEmpty()) {
+                break;
+            }
+            // fetch the entries of each sub-directory with a single call, only asking the following sub-directories
+            // for the ids found in the required ones
+            Map<SubDirectoryInfo, Map<String, DocumentModel>> subEntries = new HashMap<>();
+            Set<String> candidateIds = new LinkedHashSet<>(remainingIds);
             for (SubDirectoryInfo dirInfo : sourceInfo.subDirectoryInfos) {
-                final DocumentModel entry = dirInfo.getSession().getEntry(id, fetchReferences);
-                boolean isOptional = dirInfo.isOptional;
-                if (entry == null && !isOptional) {
-                    // not in this source
-                    continue source_loop;
-                }
-                if (entry != null && !isReadOnlyEntry(entry)) {
-                    // set readonly to false if at least one source is writable
-                    isReadOnlyEntry = false;
-                }
-                if (entry == null && isOptional && !dirInfo.getSession().isReadOnly()) {
-                    // set readonly to false if null entry is from optional and writable directory
-                    isReadOnlyEntry = false;
+                if (candidateIds.isEmpty()) {
+                    break;
                 }
-                if (entry != null && StringUtils.isNotBlank(entry.getId())) {
-                    entryId = entry.getId();
-                }
-                for (Entry<String, String> e : dirInfo.toSource.entrySet()) {
-                    if (entry != null) {
-                        try {
-                            map.put(e.getValue(), entry.getProperty(dirInfo.dirSchemaName, e.getKey()));
-                        } catch (PropertyException e1) {
-                            throw new DirectoryException(e1);
-                        }
-                    } else {
-                        // fill with default values for this directory
-                        if (!map.containsKey(e.getValue())) {
-                            map.put(e.getValue(), dirInfo.defaultEntry.get(e.getKey()));
-                        }
-                    }
+                Map<String, DocumentModel> found = mapEntriesById(candidateIds,
+                        dirInfo.getSession().getEntries(candidateIds, fetchReferences));
+                subEntries.put(dirInfo, found);
+                if (!dirInfo.isOptional) {
+                    candidateIds.retainAll(found.keySet());
                 }
             }
-            // force the entry in readonly if it's defined on the multidirectory
-            if (isReadOnly()) {
-                isReadOnlyEntry = true;
+            for (String id : candidateIds) {
+                DocumentModel entry = getEntry(sourceInfo, id,
+                        dirInfo -> subEntries.getOrDefault(dirInfo, Collections.emptyMap()).get(id));
+                if (entry != null) {
+                    entriesById.put(id, entry);
+                    remainingIds.remove(id);
+                }
             }
-            // ok we have the data
-            try {
-                return BaseSession.createEntryModel(null, schemaName, entryId, map, isReadOnlyEntry);
-            } catch (PropertyException e) {
-                throw new DirectoryException(e);
+        }
+        for (String id : distinctIds) {
+            DocumentModel entry = entriesById.get(id);
+            if (entry != null) {
+                entries.add(entry);
             }
         }
-        return null;
+        return entries;
     }
 
     @Override
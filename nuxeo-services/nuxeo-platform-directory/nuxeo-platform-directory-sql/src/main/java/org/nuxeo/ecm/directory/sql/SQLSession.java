@@ -26,6 +26,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -76,6 +77,14 @@ public class SQLSession extends BaseSession {
     // set to false for debugging
     private static final boolean HIDE_PASSWORD_IN_LOGS = true;
 
+    /**
+     * Maximum number of ids in the {@code IN} clause of a single query of {@link #getEntriesFromSource(Collection,
+     * boolean)}.
+     *
+     * @since 9.10
+     */
+    protected static final int GET_ENTRIES_BATCH_SIZE = 500;
+
     final Table table;
 
     protected SQLStaticFilter[] staticFilters;
@@ -144,18 +153,8 @@ public class SQLSession extends BaseSession {
                 }
             }
 
-            if (isMultiTenant()) {
-                // check that the entry is from the current tenant, or no tenant
-                // at all
-                String tenantId = getCurrentTenantId();
-                if (!StringUtils.isBlank(tenantId)) {
-                    String entryTenantId = (String) fieldMap.get(TENANT_ID_FIELD);
-                    if (!StringUtils.isBlank(entryTenantId)) {
-                        if (!entryTenantId.equals(tenantId)) {
-                            return null;
-                        }
-                    }
-                }
+            if (!isEntryOfCurrentTenant(fieldMap)) {
+                return null;
             }
 
             DocumentModel entry = fieldMapToDocumentModel(fieldMap);
@@ -198,6 +197,98 @@ public class SQLSession extends BaseSession {
         }
     }
 
+    @Override
+    public Map<String, DocumentModel> getEntriesFromSource(Collection<String> ids, boolean fetchReferences)
+            throws DirectoryException {
+        List<String> idList = new ArrayList<>(ids);
+        Map<String, DocumentModel> entries = new HashMap<>();
+        for (int i = 0; i < idList.size(); i += GET_ENTRIES_BATCH_SIZE) {
+            List<String> batch = idList.subList(i, Math.min(i + GET_ENTRIES_BATCH_SIZE, idList.size()));
+            entries.putAll(mapEntriesById(batch, fetchEntries(batch, fetchReferences)));
+        }
+        return entries;
+    }
+
+    /**
+     * Fetches the entries with the given ids using a single {@code IN} query, and their references using one query per
+     * reference.
+     *
+     * @since 9.10
+     */
+    protected List<DocumentModel> fetchEntries(List<String> ids, boolean fetchReferences)
+            throws DirectoryException {
+        acquireConnection();
+        Select select = new Select(table);
+        select.setFrom(table.getQuotedName());
+        select.setWhat(getReadColumnsSQL());
+
+        String whereClause = table.getPrimaryColumn().getQuotedName() + " IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        whereClause = addFilterWhereClause(whereClause);
+
+        select.setWhere(whereClause);
+        String sql = select.getStatement();
+
+        if (logger.isLogEnabled()) {
+            List<Serializable> values = new ArrayList<>(ids);
+            addFilterValuesForLog(values);
+            logger.logSQL(sql, values);
+        }
+
+        List<DocumentModel> entries = new ArrayList<>(ids.size());
+        try (PreparedStatement ps = sqlConnection.prepareStatement(sql)) {
+            int index = 1;
+            for (String id : ids) {
+                setFieldValue(ps, index++, table.getPrimaryColumn(), id);
+            }
+            addFilterValues(ps, index);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> fieldMap = new HashMap<>();
+                    for (Column column : getReadColumns()) {
+                        fieldMap.put(column.getKey(), getFieldValue(rs, column));
+                    }
+                    if (!isEntryOfCurrentTenant(fieldMap)) {
+                        continue;
+                    }
+                    DocumentModel entry = fieldMapToDocumentModel(fieldMap);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+                if (logger.isLogEnabled()) {
+                    logger.logCount(entries.size());
+                }
+            }
+        } catch (SQLException e) {
+            throw new DirectoryException("getEntries failed", e);
+        }
+        if (fetchReferences) {
+            setReferenceFields(entries);
+        }
+        return entries;
+    }
+
+    /**
+     * Checks that the entry is from the current tenant, or no tenant at all.
+     *
+     * @since 9.10
+     */
+    protected boolean isEntryOfCurrentTenant(Map<String, Object> fieldMap) {
+        if (isMultiTenant()) {
+            String tenantId = getCurrentTenantId();
+            if (!StringUtils.isBlank(tenantId)) {
+                String entryTenantId = (String) fieldMap.get(TENANT_ID_FIELD);
+                if (!StringUtils.isBlank(entryTenantId)) {
+                    if (!entryTenantId.equals(tenantId)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
     protected List<Column> getReadColumns() {
         return readAllColumns ? getDirectory().readColumnsAll : getDirectory().readColumns;
     }
@@ -24,8 +24,11 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -314,6 +317,52 @@ public class TableReference extends AbstractReference {
         return getIdsFor(targetColumn, sourceColumn, sourceId);
     }
 
+    @Override
+    public Map<String, List<String>> getTargetIdsForSources(Collection<String> sourceIds) throws DirectoryException {
+        List<String> sourceIdList = new ArrayList<>(sourceIds);
+        Map<String, List<String>> targetIds = new HashMap<>();
+        if (sourceIdList.isEmpty()) {
+            return targetIds;
+        }
+        try (SQLSession session = getSQLSession()) {
+            Table table = getTable();
+            for (int i = 0; i < sourceIdList.size(); i += SQLSession.GET_ENTRIES_BATCH_SIZE) {
+                List<String> batch = sourceIdList.subList(i,
+                        Math.min(i + SQLSession.GET_ENTRIES_BATCH_SIZE, sourceIdList.size()));
+                Select select = new Select(table);
+                select.setWhat(table.getColumn(sourceColumn).getQuotedName() + ", "
+                        + table.getColumn(targetColumn).getQuotedName());
+                select.setFrom(table.getQuotedName());
+                select.setWhere(table.getColumn(sourceColumn).getQuotedName() + " IN ("
+                        + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")");
+
+                String sql = select.getStatement();
+                if (session.logger.isLogEnabled()) {
+                    session.logger.logSQL(sql, batch);
+                }
+
+                try (PreparedStatement ps = session.sqlConnection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (String sourceId : batch) {
+                        ps.setString(index++, sourceId);
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            targetIds.computeIfAbsent(rs.getString(sourceColumn), k -> new ArrayList<>())
+                                     .add(rs.getString(targetColumn));
+                        }
+                    }
+                } catch (SQLException e) {
+                    throw new DirectoryException("error fetching reference values: ", e);
+                }
+            }
+        }
+        for (String sourceId : sourceIdList) {
+            targetIds.putIfAbsent(sourceId, new ArrayList<>());
+        }
+        return targetIds;
+    }
+
     public void removeLinksFor(String column, String entryId, SQLSession session) throws DirectoryException {
         Table table = getTable();
         String sql = String.format("DELETE FROM %s WHERE %s = ?", table.getQuotedName(), table.getColumn(column)
@@ -322,6 +322,34 @@ public abstract class AbstractDirectoryTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetEntriesByIds() throws Exception {
+        try (Session session = getSession()) {
+            DocumentModelList entries = session.getEntries(
+                    Arrays.asList("user_3", "nosuchuser", "user_1", "user_3", "Administrator"));
+            assertEquals(3, entries.size());
+            assertEquals("user_3", entries.get(0).getId());
+            assertEquals("user_1", entries.get(1).getId());
+            assertEquals("Administrator", entries.get(2).getId());
+
+            // references are fetched like for getEntry
+            DocumentModel dm = entries.get(1);
+            assertEquals(3L, dm.getProperty(SCHEMA, "intField"));
+            List<String> groups = (List<String>) dm.getProperty(SCHEMA, "groups");
+            assertEquals(2, groups.size());
+            assertTrue(groups.contains("group_1"));
+            assertTrue(groups.contains("members"));
+
+            // same content as getEntry, which may now be served by the cache
+            assertEquals(session.getEntry("Administrator").getProperty(SCHEMA, "groups"),
+                    entries.get(2).getProperty(SCHEMA, "groups"));
+
+            assertTrue(session.getEntries(Collections.emptyList()).isEmpty());
+            assertTrue(session.getEntries(Collections.singletonList("nosuchuser")).isEmpty());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testUpdateEntry() throws Exception {
@@ -0,0 +1,239 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.NuxeoGroup;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+
+/**
+ * Transitive closure of the group hierarchy, persisted in a {@link KeyValueStore} shared by the cluster nodes.
+ * <p>
+ * For each group, the index stores its ancestor groups and its descendant groups. They are computed on first access
+ * from the group directory, reusing the closures of the related groups already indexed, so that a warm index resolves
+ * the whole hierarchy of a group with a single store access instead of one directory lookup per related group.
+ * <p>
+ * The user manager invalidates the entries affected by a group creation, modification or deletion. Entries also expire
+ * after a configurable time, to pick up the changes done directly in an external directory.
+ *
+ * @since 9.10
+ */
+public class GroupClosureIndex {
+
+    private static final Log log = LogFactory.getLog(GroupClosureIndex.class);
+
+    public static final String KV_STORE_NAME = "usermanager";
+
+    protected static final String ANCESTORS_PREFIX = "groupClosure.ancestors.";
+
+    protected static final String DESCENDANTS_PREFIX = "groupClosure.descendants.";
+
+    protected static final String SEPARATOR = "\n";
+
+    protected final Function<String, NuxeoGroup> groupLoader;
+
+    protected final long ttl;
+
+    /**
+     * @param groupLoader the function loading a group from the directory, returning {@code null} if it doesn't exist
+     * @param ttl the time to live of the index entries in seconds, or 0 for no expiration
+     */
+    public GroupClosureIndex(Function<String, NuxeoGroup> groupLoader, long ttl) {
+        this.groupLoader = groupLoader;
+        this.ttl = ttl;
+    }
+
+    protected KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(KV_STORE_NAME);
+    }
+
+    /**
+     * Gets the name of the given group as returned by the directory, followed by the names of its ancestor groups.
+     *
+     * @return the closure, or {@code null} if the group does not exist
+     */
+    public List<String> getAncestorClosure(String groupId) {
+        return getClosure(ANCESTORS_PREFIX, groupId, NuxeoGroup::getParentGroups);
+    }
+
+    /**
+     * Gets the ancestor closures already indexed for the given groups, with a single store access. The groups whose
+     * closure is not indexed yet are missing from the result, their closure is computed by
+     * {@link #getAncestorClosure}.
+     *
+     * @return the closures by group id
+     */
+    public Map<String, List<String>> getIndexedAncestorClosures(Collection<String> groupIds) {
+        Map<String, String> groupIdsByKey = new HashMap<>();
+        for (String groupId : groupIds) {
+            groupIdsByKey.put(ANCESTORS_PREFIX + groupId, groupId);
+        }
+        Map<String, List<String>> closures = new HashMap<>();
+        if (groupIdsByKey.isEmpty()) {
+            return closures;
+        }
+        getKeyValueStore().getStrings(groupIdsByKey.keySet()).forEach((key, value) -> {
+            if (value != null) {
+                closures.put(groupIdsByKey.get(key), decode(value));
+            }
+        });
+        return closures;
+    }
+
+    /**
+     * Gets the name of the given group as returned by the directory, followed by the names of its descendant groups.
+     *
+     * @return the closure, or {@code null} if the group does not exist
+     */
+    public List<String> getDescendantClosure(String groupId) {
+        return getClosure(DESCENDANTS_PREFIX, groupId, NuxeoGroup::getMemberGroups);
+    }
+
+    /**
+     * Gets the ancestor groups of the given group, or an empty list if the group does not exist.
+     */
+    public List<String> getAncestorGroups(String groupId) {
+        List<String> closure = getAncestorClosure(groupId);
+        return closure == null ? new ArrayList<>() : new ArrayList<>(closure.subList(1, closure.size()));
+    }
+
+    /**
+     * Gets the groups whose index entries depend on the given group: the group itself, its ancestors and its
+     * descendants.
+     */
+    public Set<String> getRelatedGroups(String groupId) {
+        Set<String> groups = new LinkedHashSet<>();
+        groups.add(groupId);
+        List<String> ancestors = getAncestorClosure(groupId);
+        if (ancestors != null) {
+            groups.addAll(ancestors);
+        }
+        List<String> descendants = getDescendantClosure(groupId);
+        if (descendants != null) {
+            groups.addAll(descendants);
+        }
+        return groups;
+    }
+
+    /**
+     * Removes the index entries of the given groups, they will be computed again on next access.
+     */
+    public void invalidate(Collection<String> groupIds) {
+        KeyValueStore store = getKeyValueStore();
+        for (String groupId : groupIds) {
+            store.put(ANCESTORS_PREFIX + groupId, (String) null);
+            store.put(DESCENDANTS_PREFIX + groupId, (String) null);
+        }
+    }
+
+    /**
+     * Computes the closures of all the given groups in memory and stores them, without any further directory lookup.
+     * <p>
+     * Used to refresh the whole index from a single directory query, which is much cheaper than computing each
+     * closure separately on large external directories.
+     *
+     * @return the number of indexed groups
+     */
+    public int rebuild(Collection<NuxeoGroup> groups) {
+        Map<String, NuxeoGroup> groupsByName = new HashMap<>();
+        for (NuxeoGroup group : groups) {
+            groupsByName.put(group.getName(), group);
+        }
+        KeyValueStore store = getKeyValueStore();
+        for (NuxeoGroup group : groups) {
+            store.put(ANCESTORS_PREFIX + group.getName(),
+                    encode(computeClosure(group, NuxeoGroup::getParentGroups, groupsByName::get, id -> null)), ttl);
+            store.put(DESCENDANTS_PREFIX + group.getName(),
+                    encode(computeClosure(group, NuxeoGroup::getMemberGroups, groupsByName::get, id -> null)), ttl);
+        }
+        log.debug("Rebuilt group closure index for " + groups.size() + " groups");
+        return groups.size();
+    }
+
+    protected List<String> getClosure(String prefix, String groupId, Function<NuxeoGroup, List<String>> relation) {
+        KeyValueStore store = getKeyValueStore();
+        List<String> closure = decode(store.getString(prefix + groupId));
+        if (closure == null) {
+            NuxeoGroup group = groupLoader.apply(groupId);
+            if (group == null) {
+                return null;
+            }
+            closure = computeClosure(group, relation, groupLoader, id -> decode(store.getString(prefix + id)));
+            store.put(prefix + groupId, encode(closure), ttl);
+        }
+        return closure;
+    }
+
+    /**
+     * Computes the closure of the given group for the given relation. Like {@link UserManagerImpl#getAncestorGroups},
+     * related groups are listed even if they don't exist in the directory, and a group in a cycle is its own relative.
+     *
+     * @param loader the function loading a related group
+     * @param indexed the function returning the already indexed closure of a related group, or {@code null}
+     */
+    protected List<String> computeClosure(NuxeoGroup group, Function<NuxeoGroup, List<String>> relation,
+            Function<String, NuxeoGroup> loader, Function<String, List<String>> indexed) {
+        Set<String> related = new LinkedHashSet<>();
+        Deque<String> toProcess = new ArrayDeque<>(relation.apply(group));
+        while (!toProcess.isEmpty()) {
+            String id = toProcess.poll();
+            // avoid infinite loop in case of cycle in the group hierarchy
+            if (!related.add(id)) {
+                continue;
+            }
+            List<String> closure = indexed.apply(id);
+            if (closure != null) {
+                related.addAll(closure.subList(1, closure.size()));
+                continue;
+            }
+            NuxeoGroup relatedGroup = loader.apply(id);
+            if (relatedGroup != null) {
+                toProcess.addAll(relation.apply(relatedGroup));
+            }
+        }
+        List<String> closure = new ArrayList<>(related.size() + 1);
+        closure.add(group.getName());
+        closure.addAll(related);
+        return closure;
+    }
+
+    protected static String encode(List<String> closure) {
+        return String.join(SEPARATOR, closure);
+    }
+
+    protected static List<String> decode(String value) {
+        return value == null ? null : Arrays.asList(value.split(SEPARATOR, -1));
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.apache.commons.lang.SerializationException;
+import org.apache.commons.lang.SerializationUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.kv.KeyValueService;
+import org.nuxeo.runtime.kv.KeyValueStore;
+
+/**
+ * Serialized principals, persisted in a {@link KeyValueStore} shared by the cluster nodes.
+ * <p>
+ * It is a second level behind the node-local principal cache: a principal computed by a node is reused by the other
+ * ones, and survives restarts when the store is persistent. Usernames that don't exist are also stored, for a shorter
+ * time, so that repeated logins with unknown usernames don't query the directories each time.
+ * <p>
+ * The entries of all the principals are invalidated at once by changing the generation included in their keys.
+ *
+ * @since 9.10
+ */
+public class PrincipalStore {
+
+    private static final Log log = LogFactory.getLog(PrincipalStore.class);
+
+    public static final String KV_STORE_NAME = GroupClosureIndex.KV_STORE_NAME;
+
+    protected static final String PREFIX = "principal.";
+
+    protected static final String GENERATION_KEY = PREFIX + "generation";
+
+    /**
+     * Value stored for an unknown username, a Java serialization stream is never a single byte.
+     */
+    protected static final byte[] UNKNOWN = { 0 };
+
+    protected final long ttl;
+
+    protected final long unknownTtl;
+
+    /**
+     * @param ttl the time to live of the principals in seconds, or 0 for no expiration
+     * @param unknownTtl the time to live of the unknown usernames in seconds, or 0 to not store them
+     */
+    public PrincipalStore(long ttl, long unknownTtl) {
+        this.ttl = ttl;
+        this.unknownTtl = unknownTtl;
+    }
+
+    protected KeyValueStore getKeyValueStore() {
+        return Framework.getService(KeyValueService.class).getKeyValueStore(KV_STORE_NAME);
+    }
+
+    protected String getKey(KeyValueStore store, String username) {
+        String generation = store.getString(GENERATION_KEY);
+        return PREFIX + (generation == null ? "" : generation + ".") + username;
+    }
+
+    /**
+     * Gets the stored principal with the given username.
+     *
+     * @return the principal, an empty optional if the username is known not to exist, or {@code null} if nothing is
+     *         stored for this username
+     */
+    public Optional<NuxeoPrincipal> get(String username) {
+        KeyValueStore store = getKeyValueStore();
+        byte[] value = store.get(getKey(store, username));
+        if (value == null) {
+            return null;
+        }
+        if (Arrays.equals(UNKNOWN, value)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((NuxeoPrincipal) SerializationUtils.deserialize(value));
+        } catch (SerializationException | ClassCastException e) {
+            log.debug("Cannot deserialize principal: " + username, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the given principal, or records that the username doesn't exist if the principal is {@code null}.
+     */
+    public void put(String username, NuxeoPrincipal principal) {
+        KeyValueStore store = getKeyValueStore();
+        if (principal == null) {
+            if (unknownTtl > 0) {
+                store.put(getKey(store, username), UNKNOWN, unknownTtl);
+            }
+            return;
+        }
+        byte[] value;
+        try {
+            value = SerializationUtils.serialize(principal);
+        } catch (SerializationException e) {
+            log.debug("Cannot serialize principal: " + username, e);
+            return;
+        }
+        store.put(getKey(store, username), value, ttl);
+    }
+
+    /**
+     * Removes the entry of the given username.
+     */
+    public void invalidate(String username) {
+        KeyValueStore store = getKeyValueStore();
+        store.put(getKey(store, username), (byte[]) null);
+    }
+
+    /**
+     * Removes the entries of all the usernames. They expire by themselves from the store.
+     */
+    public void invalidateAll() {
+        getKeyValueStore().put(GENERATION_KEY, UUID.randomUUID().toString());
+    }
+
+}
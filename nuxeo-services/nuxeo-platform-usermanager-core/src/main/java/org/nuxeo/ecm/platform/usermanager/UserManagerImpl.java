@@ -26,16 +26,22 @@ import static org.nuxeo.ecm.platform.usermanager.UserConfig.GROUPS_COLUMN;
 
 import java.io.Serializable;
 import java.security.Principal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -74,10 +80,16 @@ import org.nuxeo.ecm.platform.usermanager.exceptions.GroupAlreadyExistsException
 import org.nuxeo.ecm.platform.usermanager.exceptions.InvalidPasswordException;
 import org.nuxeo.ecm.platform.usermanager.exceptions.UserAlreadyExistsException;
 import org.nuxeo.runtime.api.Framework;
+import org.nuxeo.runtime.metrics.MetricsService;
 import org.nuxeo.runtime.services.config.ConfigurationService;
 import org.nuxeo.runtime.services.event.Event;
 import org.nuxeo.runtime.services.event.EventService;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.codahale.metrics.Timer;
+
 /**
  * Standard implementation of the Nuxeo UserManager.
  */
@@ -138,12 +150,99 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
      */
     public static final String ANCESTOR_GROUPS_PROPERTY_KEY = "ancestorGroups";
 
+    /**
+     * Configuration property enabling the {@link GroupClosureIndex}.
+     *
+     * @since 9.10
+     */
+    public static final String GROUP_CLOSURE_ENABLED_PROPERTY = "nuxeo.usermanager.groupClosure.enabled";
+
+    /**
+     * Configuration property for the time to live in seconds of the {@link GroupClosureIndex} entries.
+     *
+     * @since 9.10
+     */
+    public static final String GROUP_CLOSURE_TTL_PROPERTY = "nuxeo.usermanager.groupClosure.ttl";
+
+    public static final long DEFAULT_GROUP_CLOSURE_TTL = 3600;
+
+    /**
+     * Configuration property enabling the {@link PrincipalStore}.
+     *
+     * @since 9.10
+     */
+    public static final String PRINCIPAL_STORE_ENABLED_PROPERTY = "nuxeo.usermanager.principalStore.enabled";
+
+    /**
+     * Configuration property for the time to live in seconds of the {@link PrincipalStore} principals.
+     *
+     * @since 9.10
+     */
+    public static final String PRINCIPAL_STORE_TTL_PROPERTY = "nuxeo.usermanager.principalStore.ttl";
+
+    public static final long DEFAULT_PRINCIPAL_STORE_TTL = 1200;
+
+    /**
+     * Configuration property for the time to live in seconds of the {@link PrincipalStore} unknown usernames.
+     *
+     * @since 9.10
+     */
+    public static final String PRINCIPAL_STORE_UNKNOWN_TTL_PROPERTY = "nuxeo.usermanager.principalStore.unknownTtl";
+
+    public static final long DEFAULT_PRINCIPAL_STORE_UNKNOWN_TTL = 60;
+
+    /**
+     * Above this number of users affected by a group change, all the principals are invalidated at once.
+     *
+     * @since 9.10
+     */
+    public static final int MAX_PRINCIPALS_TO_INVALIDATE = 1000;
+
     protected final DirectoryService dirService;
 
     protected final CacheService cacheService;
 
     protected Cache principalCache = null;
 
+    /**
+     * @since 9.10
+     */
+    protected GroupClosureIndex groupClosureIndex;
+
+    /**
+     * @since 9.10
+     */
+    protected PrincipalStore principalStore;
+
+    protected final MetricRegistry registry = SharedMetricRegistries.getOrCreate(MetricsService.class.getName());
+
+    protected final Timer principalTimer = registry.timer(
+            MetricRegistry.name("nuxeo", "usermanager", "principal", "resolution"));
+
+    /**
+     * @since 9.10
+     */
+    protected final Counter principalCacheHits = registry.counter(
+            MetricRegistry.name("nuxeo", "usermanager", "principal", "cache", "hit"));
+
+    /**
+     * @since 9.10
+     */
+    protected final Counter principalStoreHits = registry.counter(
+            MetricRegistry.name("nuxeo", "usermanager", "principal", "store", "hit"));
+
+    /**
+     * @since 9.10
+     */
+    protected final Counter principalStoreUnknownHits = registry.counter(
+            MetricRegistry.name("nuxeo", "usermanager", "principal", "store", "unknown"));
+
+    /**
+     * @since 9.10
+     */
+    protected final Counter principalCacheMisses = registry.counter(
+            MetricRegistry.name("nuxeo", "usermanager", "principal", "cache", "miss"));
+
     public UserMultiTenantManagement multiTenantManagement = new DefaultUserMultiTenantManagement();
 
     /**
@@ -269,11 +368,30 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
         groupConfig.subGroupsField = groupSubGroupsField;
         groupConfig.parentGroupsField = groupParentGroupsField;
 
+        ConfigurationService configurationService = Framework.getService(ConfigurationService.class);
+        if (configurationService.isBooleanPropertyTrue(PRINCIPAL_STORE_ENABLED_PROPERTY)) {
+            long ttl = Long.parseLong(configurationService.getProperty(PRINCIPAL_STORE_TTL_PROPERTY,
+                    String.valueOf(DEFAULT_PRINCIPAL_STORE_TTL)));
+            long unknownTtl = Long.parseLong(configurationService.getProperty(PRINCIPAL_STORE_UNKNOWN_TTL_PROPERTY,
+                    String.valueOf(DEFAULT_PRINCIPAL_STORE_UNKNOWN_TTL)));
+            principalStore = new PrincipalStore(ttl, unknownTtl);
+        } else {
+            principalStore = null;
+        }
+
         if (cacheService != null && descriptor.userCacheName != null) {
             principalCache = cacheService.getCache(descriptor.userCacheName);
-            invalidateAllPrincipals();
+            // the shared principal store is left to its TTL, other nodes may be using it
+            ((CacheManagement) principalCache).invalidateLocalAll();
         }
 
+        if (configurationService.isBooleanPropertyTrue(GROUP_CLOSURE_ENABLED_PROPERTY)) {
+            long ttl = Long.parseLong(configurationService.getProperty(GROUP_CLOSURE_TTL_PROPERTY,
+                    String.valueOf(DEFAULT_GROUP_CLOSURE_TTL)));
+            groupClosureIndex = new GroupClosureIndex(groupId -> getGroup(groupId, null), ttl);
+        } else {
+            groupClosureIndex = null;
+        }
     }
 
     protected void setUserDirectoryName(String userDirectoryName) {
@@ -545,6 +663,13 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
 
     protected NuxeoPrincipal makePrincipal(DocumentModel userEntry, boolean anonymous, boolean isTransient,
             List<String> groups) {
+        try (Timer.Context ignored = principalTimer.time()) {
+            return doMakePrincipal(userEntry, anonymous, isTransient, groups);
+        }
+    }
+
+    protected NuxeoPrincipal doMakePrincipal(DocumentModel userEntry, boolean anonymous, boolean isTransient,
+            List<String> groups) {
         boolean admin = false;
         String username = userEntry.getId();
 
@@ -569,7 +694,12 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
         principal.setConfig(userConfig);
 
         principal.setModel(userEntry, false);
-        principal.setVirtualGroups(virtualGroups, true);
+        if (groupClosureIndex == null) {
+            principal.setVirtualGroups(virtualGroups, true);
+        } else {
+            principal.setVirtualGroups(virtualGroups, false);
+            updateAllGroups(principal);
+        }
 
         // TODO: reenable roles initialization once we have a use case for
         // a role directory. In the mean time we only set the JBOSS role
@@ -580,6 +710,133 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
         return principal;
     }
 
+    /**
+     * Computes all the groups of the principal from the {@link GroupClosureIndex}, like
+     * {@link NuxeoPrincipalImpl#updateAllGroups} does from the group directory: the groups are listed with their name
+     * as returned by the directory, and the groups missing from the directory are skipped unless they are virtual.
+     *
+     * @since 9.10
+     */
+    protected void updateAllGroups(NuxeoPrincipalImpl principal) {
+        List<String> virtualGroups = principal.getVirtualGroups();
+        Set<String> resultingGroups = new LinkedHashSet<>();
+        Set<String> directGroups = new LinkedHashSet<>(principal.getGroups());
+        Set<String> ancestors = new LinkedHashSet<>();
+        for (List<String> closure : getAncestorClosures(principal, directGroups, virtualGroups)) {
+            resultingGroups.add(closure.get(0));
+            ancestors.addAll(closure.subList(1, closure.size()));
+        }
+        // the closures list the ancestors as referenced, resolve them to skip the missing ones and get their name
+        // from the directory, their own closures are kept in the index once computed
+        ancestors.removeAll(directGroups);
+        for (List<String> closure : getAncestorClosures(principal, ancestors, virtualGroups)) {
+            resultingGroups.add(closure.get(0));
+        }
+        principal.allGroups = new ArrayList<>(resultingGroups);
+        if (!principal.isAdministrator()) {
+            principal.isAdministrator = administratorGroups.stream().anyMatch(resultingGroups::contains);
+        }
+    }
+
+    /**
+     * Gets the ancestor closures of groups of the principal, reading the indexed ones with a single store access. The
+     * groups missing from the directory are skipped, as done by {@link #getAncestorClosure}.
+     *
+     * @since 9.10
+     */
+    protected List<List<String>> getAncestorClosures(NuxeoPrincipal principal, Collection<String> groupNames,
+            List<String> virtualGroups) {
+        Map<String, List<String>> indexed = groupClosureIndex.getIndexedAncestorClosures(groupNames);
+        List<List<String>> closures = new ArrayList<>(groupNames.size());
+        for (String groupName : groupNames) {
+            List<String> closure = indexed.get(groupName);
+            if (closure == null) {
+                closure = getAncestorClosure(principal, groupName, virtualGroups);
+            }
+            if (closure != null) {
+                closures.add(closure);
+            }
+        }
+        return closures;
+    }
+
+    /**
+     * Gets the ancestor closure of a group of the principal.
+     *
+     * @return the closure, a singleton list if the group is a virtual group missing from the directory, or {@code null}
+     *         if the group is missing from the directory
+     * @since 9.10
+     */
+    protected List<String> getAncestorClosure(NuxeoPrincipal principal, String groupName,
+            List<String> virtualGroups) {
+        List<String> closure;
+        try {
+            closure = groupClosureIndex.getAncestorClosure(groupName);
+        } catch (DirectoryException de) {
+            if (!virtualGroups.contains(groupName)) {
+                throw de;
+            }
+            // do not fail while retrieving a virtual group
+            log.warn("Failed to get group '" + groupName + "' due to '" + de.getMessage()
+                    + "': permission resolution involving groups may not be correct");
+            closure = null;
+        }
+        if (closure == null) {
+            if (virtualGroups.contains(groupName)) {
+                // just add the virtual group as is
+                return Collections.singletonList(groupName);
+            }
+            // XXX this should only happens in case of inconsistency in DB
+            log.error("User " + principal.getName() + " references the " + groupName + " group that does not exists");
+        }
+        return closure;
+    }
+
+    /**
+     * Recomputes the whole {@link GroupClosureIndex} from a single query on the group directory, instead of computing
+     * the closures lazily group by group. Useful after a bulk synchronization of an external directory.
+     *
+     * @return the number of indexed groups, or -1 if the index is not enabled
+     * @since 9.10
+     */
+    public int rebuildGroupClosureIndex() {
+        if (groupClosureIndex == null) {
+            return -1;
+        }
+        List<NuxeoGroup> groups = new ArrayList<>();
+        try (Session groupDir = dirService.open(groupDirectoryName)) {
+            // XXX retrieve all entries with references, can be costly but done once for all groups
+            for (DocumentModel groupEntry : groupDir.query(Collections.emptyMap(), null, null, true)) {
+                groups.add(makeGroup(groupEntry));
+            }
+        }
+        int count = groupClosureIndex.rebuild(groups);
+        invalidateAllPrincipals();
+        return count;
+    }
+
+    /**
+     * Gets the groups whose {@link GroupClosureIndex} entries depend on the given group, to invalidate them once it is
+     * modified.
+     *
+     * @since 9.10
+     */
+    protected Set<String> getClosureRelatedGroups(String groupName) {
+        if (groupClosureIndex == null) {
+            return Collections.emptySet();
+        }
+        return groupClosureIndex.getRelatedGroups(groupName);
+    }
+
+    /**
+     * @since 9.10
+     */
+    protected void invalidateGroupClosures(Collection<String> groupNames) {
+        if (groupClosureIndex != null && !groupNames.isEmpty()) {
+            groupClosureIndex.invalidate(groupNames);
+        }
+    }
+
     protected boolean useCache() {
         return principalCache != null;
     }
@@ -601,10 +858,29 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
 
     protected NuxeoPrincipal getPrincipalUsingCache(String username) {
         NuxeoPrincipal ret = (NuxeoPrincipal) principalCache.get(username);
-        if (ret == null) {
-            ret = getPrincipal(username, null);
+        if (ret != null) {
+            principalCacheHits.inc();
+        } else {
+            if (principalStore != null && username != null) {
+                Optional<NuxeoPrincipal> stored = principalStore.get(username);
+                if (stored != null && !stored.isPresent()) {
+                    principalStoreUnknownHits.inc();
+                    return null;
+                }
+                if (stored != null) {
+                    principalStoreHits.inc();
+                    ret = stored.get();
+                }
+            }
             if (ret == null) {
-                return ret;
+                principalCacheMisses.inc();
+                ret = getPrincipal(username, null);
+                if (principalStore != null && username != null) {
+                    principalStore.put(username, ret);
+                }
+                if (ret == null) {
+                    return ret;
+                }
             }
             ((CacheManagement) principalCache).putLocal(username, ret);
         }
@@ -794,12 +1070,83 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
     protected void invalidatePrincipal(String userName) {
         if (useCache()) {
             principalCache.invalidate(userName);
+            if (principalStore != null && userName != null) {
+                principalStore.invalidate(userName);
+            }
+        }
+    }
+
+    /**
+     * Gets the users whose principal depends on the given group: the members of the group and of its sub-groups.
+     *
+     * @return the users, or {@code null} if all the principals must be invalidated
+     * @since 9.10
+     */
+    protected Set<String> getPrincipalsToInvalidate(String groupName, DocumentModel context) {
+        if (principalStore == null || !useCache()) {
+            return null;
         }
+        Set<String> users = new HashSet<>();
+        Set<String> groups = new HashSet<>();
+        Deque<String> toProcess = new ArrayDeque<>();
+        toProcess.add(groupName);
+        while (!toProcess.isEmpty()) {
+            String groupId = toProcess.poll();
+            // avoid infinite loop in case of cycle in the group hierarchy
+            if (!groups.add(groupId)) {
+                continue;
+            }
+            NuxeoGroup group = getGroup(groupId, context);
+            if (group != null) {
+                users.addAll(group.getMemberUsers());
+                toProcess.addAll(group.getMemberGroups());
+            }
+            if (users.size() > MAX_PRINCIPALS_TO_INVALIDATE) {
+                return null;
+            }
+        }
+        return users;
     }
 
     @Override
     public void notifyGroupChanged(String groupName, String eventId, List<String> ancestorGroupNames) {
-        invalidateAllPrincipals();
+        // the members before the change are unknown
+        notifyGroupChanged(groupName, eventId, ancestorGroupNames, null);
+    }
+
+    /**
+     * Notifies that the given group changed.
+     *
+     * @param users the users whose principal depended on the group before the change, or {@code null} to invalidate
+     *            all the principals
+     * @since 9.10
+     */
+    protected void notifyGroupChanged(String groupName, String eventId, List<String> ancestorGroupNames,
+            Set<String> users) {
+        if (groupClosureIndex != null) {
+            // the entry of the group itself may be stale, compute its relations from the directory
+            groupClosureIndex.invalidate(Collections.singleton(groupName));
+            Set<String> groupNames = getClosureRelatedGroups(groupName);
+            if (ancestorGroupNames != null) {
+                groupNames.addAll(ancestorGroupNames);
+            }
+            invalidateGroupClosures(groupNames);
+        }
+        if (users != null) {
+            // the members after the change
+            Set<String> newUsers = getPrincipalsToInvalidate(groupName, null);
+            if (newUsers != null) {
+                users.addAll(newUsers);
+            }
+            if (newUsers == null || users.size() > MAX_PRINCIPALS_TO_INVALIDATE) {
+                users = null;
+            }
+        }
+        if (users == null) {
+            invalidateAllPrincipals();
+        } else {
+            users.forEach(this::invalidatePrincipal);
+        }
         notifyRuntime(groupName, GROUPCHANGED_EVENT_ID);
         if (eventId != null) {
             notifyRuntime(groupName, eventId);
@@ -810,6 +1157,9 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
     protected void invalidateAllPrincipals() {
         if (useCache()) {
             principalCache.invalidateAll();
+            if (principalStore != null) {
+                principalStore.invalidateAll();
+            }
         }
     }
 
@@ -1083,8 +1433,9 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
             if (groupDir.hasEntry(groupId)) {
                 throw new GroupAlreadyExistsException();
             }
+            Set<String> users = principalStore == null ? null : new HashSet<>();
             groupModel = groupDir.createEntry(groupModel);
-            notifyGroupChanged(groupId, GROUPCREATED_EVENT_ID);
+            notifyGroupChanged(groupId, GROUPCREATED_EVENT_ID, null, users);
             return groupModel;
 
         }
@@ -1328,8 +1679,12 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
             if (!groupDir.hasEntry(groupId)) {
                 throw new DirectoryException("group does not exist: " + groupId);
             }
+            // relations before the update, they may no longer be related afterwards
+            Set<String> relatedGroups = getClosureRelatedGroups(groupId);
+            Set<String> users = getPrincipalsToInvalidate(groupId, context);
             groupDir.updateEntry(groupModel);
-            notifyGroupChanged(groupId, GROUPMODIFIED_EVENT_ID);
+            invalidateGroupClosures(relatedGroups);
+            notifyGroupChanged(groupId, GROUPMODIFIED_EVENT_ID, null, users);
         }
     }
 
@@ -1347,8 +1702,11 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
             }
             // Get ancestor group names before deletion to pass them as a property of the core event
             List<String> ancestorGroupNames = getAncestorGroups(groupId);
+            Set<String> relatedGroups = getClosureRelatedGroups(groupId);
+            Set<String> users = getPrincipalsToInvalidate(groupId, context);
             groupDir.deleteEntry(groupId);
-            notifyGroupChanged(groupId, GROUPDELETED_EVENT_ID, ancestorGroupNames);
+            invalidateGroupClosures(relatedGroups);
+            notifyGroupChanged(groupId, GROUPDELETED_EVENT_ID, ancestorGroupNames, users);
         }
     }
 
@@ -1377,6 +1735,19 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
 
     @Override
     public List<String> getUsersInGroupAndSubGroups(String groupId, DocumentModel context) {
+        if (groupClosureIndex != null && context == null) {
+            List<String> closure = groupClosureIndex.getDescendantClosure(groupId);
+            if (closure != null) {
+                Set<String> users = new HashSet<>();
+                for (String groupName : closure) {
+                    NuxeoGroup group = getGroup(groupName, null);
+                    if (group != null) {
+                        users.addAll(group.getMemberUsers());
+                    }
+                }
+                return new ArrayList<>(users);
+            }
+        }
         Set<String> groups = new HashSet<>();
         groups.add(groupId);
         appendSubgroups(groupId, groups, context);
@@ -1456,6 +1827,9 @@ public class UserManagerImpl implements UserManager, MultiTenantUserManager, Adm
 
     @Override
     public List<String> getAncestorGroups(String groupId) {
+        if (groupClosureIndex != null) {
+            return groupClosureIndex.getAncestorGroups(groupId);
+        }
         List<String> ancestorGroups = new ArrayList<>();
         populateAncestorGroups(groupId, ancestorGroups);
         return ancestorGroups;
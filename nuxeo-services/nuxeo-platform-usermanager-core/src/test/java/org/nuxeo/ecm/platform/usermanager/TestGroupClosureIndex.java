@@ -0,0 +1,251 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.runtime.kv.KeyValueStore;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+
+/**
+ * @since 9.10
+ */
+@LocalDeploy({ "org.nuxeo.ecm.platform.usermanager.tests:test-usermanagerimpl/directory-config.xml", //
+        "org.nuxeo.ecm.platform.usermanager.tests:test-usermanagerimpl/group-closure-config.xml", //
+})
+public class TestGroupClosureIndex extends UserManagerTestCase {
+
+    protected void createGroup(String groupId, String... subGroups) {
+        DocumentModel group = userManager.getBareGroupModel();
+        group.setProperty("group", "groupname", groupId);
+        group.setPropertyValue("group:subGroups", (Serializable) Arrays.asList(subGroups));
+        userManager.createGroup(group);
+    }
+
+    protected void createUser(String userId, String... groups) {
+        DocumentModel user = userManager.getBareUserModel();
+        user.setProperty("user", "username", userId);
+        user.setProperty("user", "groups", Arrays.asList(groups));
+        userManager.createUser(user);
+    }
+
+    @After
+    public void deleteGroups() {
+        for (String groupId : userManager.getGroupIds()) {
+            if (groupId.startsWith("closure_")) {
+                userManager.deleteGroup(groupId);
+            }
+        }
+    }
+
+    /**
+     * Creates the following hierarchy, closure_u1 being a member of closure_ABCD and closure_u2 of closure_AB.
+     *
+     * <pre>
+     * A    B  C    D
+     *  \  /    \  /
+     *   AB      CD
+     *     \    /
+     *      ABCD
+     * </pre>
+     */
+    protected void createHierarchy() {
+        createGroup("closure_ABCD");
+        createGroup("closure_AB", "closure_ABCD");
+        createGroup("closure_CD", "closure_ABCD");
+        createGroup("closure_A", "closure_AB");
+        createGroup("closure_B", "closure_AB");
+        createGroup("closure_C", "closure_CD");
+        createGroup("closure_D", "closure_CD");
+        createUser("closure_u1", "closure_ABCD");
+        createUser("closure_u2", "closure_AB");
+    }
+
+    @Test
+    public void testAncestorsAndDescendants() {
+        createHierarchy();
+
+        List<String> expected = Arrays.asList("closure_AB", "closure_A", "closure_B", "closure_CD", "closure_C",
+                "closure_D");
+        assertTrue(CollectionUtils.isEqualCollection(expected, userManager.getAncestorGroups("closure_ABCD")));
+        // served from the index the second time
+        assertTrue(CollectionUtils.isEqualCollection(expected, userManager.getAncestorGroups("closure_ABCD")));
+
+        List<String> users = userManager.getUsersInGroupAndSubGroups("closure_A");
+        assertTrue(CollectionUtils.isEqualCollection(Arrays.asList("closure_u1", "closure_u2"), users));
+        users = userManager.getUsersInGroupAndSubGroups("closure_CD");
+        assertEquals(Collections.singletonList("closure_u1"), users);
+
+        NuxeoPrincipal principal = userManager.getPrincipal("closure_u1");
+        assertNotNull(principal);
+        for (String group : expected) {
+            assertTrue(group, principal.isMemberOf(group));
+        }
+        assertTrue(principal.isMemberOf("closure_ABCD"));
+    }
+
+    @Test
+    public void testSameGroupsAsDirectoryResolution() {
+        createHierarchy();
+        createUser("closure_u3", "closure_ABCD", "closure_missing");
+
+        NuxeoPrincipalImpl principal = (NuxeoPrincipalImpl) userManager.getPrincipal("closure_u3");
+        assertFalse(principal.isMemberOf("closure_missing"));
+        assertTrue(principal.isMemberOf("closure_A"));
+
+        // same groups as resolved group by group from the directory
+        NuxeoPrincipalImpl resolved = new NuxeoPrincipalImpl(principal);
+        resolved.updateAllGroups();
+        assertTrue(CollectionUtils.isEqualCollection(resolved.getAllGroups(), principal.getAllGroups()));
+    }
+
+    /**
+     * Counts the reads of the store, to compare the cost of the group resolution with the size of the hierarchy.
+     */
+    protected static class CountingGroupClosureIndex extends GroupClosureIndex {
+
+        protected final AtomicInteger reads = new AtomicInteger();
+
+        protected CountingGroupClosureIndex(GroupClosureIndex index) {
+            super(index.groupLoader, index.ttl);
+        }
+
+        @Override
+        protected KeyValueStore getKeyValueStore() {
+            KeyValueStore store = super.getKeyValueStore();
+            return (KeyValueStore) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { KeyValueStore.class }, (proxy, method, args) -> {
+                        if (method.getName().startsWith("get")) {
+                            reads.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(store, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+    }
+
+    @Test
+    public void testBatchedReads() {
+        createHierarchy();
+        createUser("closure_u4", "closure_ABCD", "closure_C", "closure_missing");
+        UserManagerImpl userManagerImpl = (UserManagerImpl) userManager;
+        GroupClosureIndex groupClosureIndex = userManagerImpl.groupClosureIndex;
+        CountingGroupClosureIndex index = new CountingGroupClosureIndex(groupClosureIndex);
+        userManagerImpl.groupClosureIndex = index;
+        try {
+            // warm up the index
+            NuxeoPrincipalImpl principal = (NuxeoPrincipalImpl) userManager.getPrincipal("closure_u4");
+            List<String> expected = Arrays.asList("closure_ABCD", "closure_C", "closure_AB", "closure_A", "closure_B",
+                    "closure_CD", "closure_D");
+            assertTrue(CollectionUtils.isEqualCollection(expected, principal.getAllGroups()));
+
+            // one read for the direct groups, one for the missing group which is not indexed, one for the ancestors
+            index.reads.set(0);
+            userManagerImpl.updateAllGroups(principal);
+            assertTrue(CollectionUtils.isEqualCollection(expected, principal.getAllGroups()));
+            assertEquals(3, index.reads.get());
+
+            // same count with a deeper hierarchy, where a lookup per group would read once per ancestor
+            createGroup("closure_top", "closure_A");
+            createGroup("closure_root", "closure_top");
+            principal = (NuxeoPrincipalImpl) userManager.getPrincipal("closure_u4");
+            assertTrue(principal.isMemberOf("closure_root"));
+            index.reads.set(0);
+            userManagerImpl.updateAllGroups(principal);
+            assertTrue(principal.isMemberOf("closure_root"));
+            assertEquals(3, index.reads.get());
+
+            // same groups as resolved group by group from the directory
+            NuxeoPrincipalImpl resolved = new NuxeoPrincipalImpl(principal);
+            resolved.updateAllGroups();
+            assertTrue(CollectionUtils.isEqualCollection(resolved.getAllGroups(), principal.getAllGroups()));
+        } finally {
+            userManagerImpl.groupClosureIndex = groupClosureIndex;
+        }
+    }
+
+    @Test
+    public void testInvalidationOnUpdate() {
+        createHierarchy();
+        assertTrue(userManager.getAncestorGroups("closure_ABCD").contains("closure_A"));
+        assertTrue(userManager.getPrincipal("closure_u1").isMemberOf("closure_A"));
+
+        // detach AB from A
+        DocumentModel groupA = userManager.getGroupModel("closure_A");
+        groupA.setPropertyValue("group:subGroups", (Serializable) Collections.emptyList());
+        userManager.updateGroup(groupA);
+
+        assertFalse(userManager.getAncestorGroups("closure_ABCD").contains("closure_A"));
+        assertTrue(userManager.getAncestorGroups("closure_ABCD").contains("closure_B"));
+        assertTrue(userManager.getUsersInGroupAndSubGroups("closure_A").isEmpty());
+        assertFalse(userManager.getPrincipal("closure_u1").isMemberOf("closure_A"));
+
+        // attach a new group above A
+        createGroup("closure_top", "closure_A", "closure_D");
+        assertTrue(userManager.getAncestorGroups("closure_ABCD").contains("closure_top"));
+        assertFalse(userManager.getAncestorGroups("closure_AB").contains("closure_top"));
+        assertTrue(userManager.getPrincipal("closure_u1").isMemberOf("closure_top"));
+    }
+
+    @Test
+    public void testCycle() {
+        createGroup("closure_g1");
+        createGroup("closure_g2", "closure_g1");
+        DocumentModel g1 = userManager.getGroupModel("closure_g1");
+        g1.setPropertyValue("group:subGroups", (Serializable) Collections.singletonList("closure_g2"));
+        userManager.updateGroup(g1);
+
+        assertTrue(CollectionUtils.isEqualCollection(Arrays.asList("closure_g2", "closure_g1"),
+                userManager.getAncestorGroups("closure_g1")));
+        assertTrue(CollectionUtils.isEqualCollection(Arrays.asList("closure_g1", "closure_g2"),
+                userManager.getAncestorGroups("closure_g2")));
+    }
+
+    @Test
+    public void testRebuild() {
+        createHierarchy();
+        int count = ((UserManagerImpl) userManager).rebuildGroupClosureIndex();
+        assertEquals(userManager.getGroupIds().size(), count);
+        List<String> expected = Arrays.asList("closure_AB", "closure_A", "closure_B", "closure_CD", "closure_C",
+                "closure_D");
+        assertTrue(CollectionUtils.isEqualCollection(expected, userManager.getAncestorGroups("closure_ABCD")));
+        assertTrue(userManager.getPrincipal("closure_u2").isMemberOf("closure_B"));
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright 2026 Nuxeo (http://nuxeo.com/) and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Contributors:
+ *     Nuxeo - initial API and implementation
+ */
+package org.nuxeo.ecm.platform.usermanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.inject.Inject;
+
+import org.junit.Test;
+import org.nuxeo.ecm.core.api.DocumentModel;
+import org.nuxeo.ecm.core.api.NuxeoPrincipal;
+import org.nuxeo.ecm.core.cache.Cache;
+import org.nuxeo.ecm.core.cache.CacheManagement;
+import org.nuxeo.ecm.core.cache.CacheService;
+import org.nuxeo.runtime.test.runner.LocalDeploy;
+
+/**
+ * @since 9.10
+ */
+@LocalDeploy({ "org.nuxeo.ecm.platform.usermanager.tests:test-usermanagerimpl/directory-config.xml", //
+        "org.nuxeo.ecm.platform.usermanager.tests:test-usermanagerimpl/principal-store-config.xml", //
+})
+public class TestPrincipalStore extends UserManagerTestCase {
+
+    @Inject
+    protected CacheService cacheService;
+
+    protected Cache getPrincipalCache() {
+        return cacheService.getCache("userManagerCache");
+    }
+
+    protected void createUser(String userId, String... groups) {
+        DocumentModel user = userManager.getBareUserModel();
+        user.setProperty("user", "username", userId);
+        user.setProperty("user", "groups", Arrays.asList(groups));
+        userManager.createUser(user);
+    }
+
+    protected void createGroup(String groupId) {
+        DocumentModel group = userManager.getBareGroupModel();
+        group.setProperty("group", "groupname", groupId);
+        userManager.createGroup(group);
+    }
+
+    @Test
+    public void testSharedPrincipal() {
+        createUser("storeUser");
+        UserManagerImpl um = (UserManagerImpl) userManager;
+        long hits = um.principalStoreHits.getCount();
+        assertNotNull(userManager.getPrincipal("storeUser"));
+        // another node without the principal in its cache gets it from the store
+        ((CacheManagement) getPrincipalCache()).invalidateLocalAll();
+        NuxeoPrincipal principal = userManager.getPrincipal("storeUser");
+        assertNotNull(principal);
+        assertEquals("storeUser", principal.getName());
+        assertEquals(hits + 1, um.principalStoreHits.getCount());
+    }
+
+    @Test
+    public void testUnknownUsername() {
+        UserManagerImpl um = (UserManagerImpl) userManager;
+        long unknownHits = um.principalStoreUnknownHits.getCount();
+        assertNull(userManager.getPrincipal("storeUnknown"));
+        assertNull(userManager.getPrincipal("storeUnknown"));
+        assertEquals(unknownHits + 1, um.principalStoreUnknownHits.getCount());
+        // the creation of the user invalidates the unknown username
+        createUser("storeUnknown");
+        assertNotNull(userManager.getPrincipal("storeUnknown"));
+    }
+
+    @Test
+    public void testGroupChangeInvalidatesItsMembersOnly() {
+        createGroup("group1");
+        createGroup("group2");
+        createUser("storeUser1", "group1");
+        createUser("storeUser2", "group2");
+        assertTrue(userManager.getPrincipal("storeUser1").isMemberOf("group1"));
+        assertTrue(userManager.getPrincipal("storeUser2").isMemberOf("group2"));
+        Cache cache = getPrincipalCache();
+        assertNotNull(cache.get("storeUser1"));
+        assertNotNull(cache.get("storeUser2"));
+
+        // remove storeUser1 from group1
+        DocumentModel group1 = userManager.getGroupModel("group1");
+        group1.setPropertyValue("group:members", (Serializable) Collections.emptyList());
+        userManager.updateGroup(group1);
+
+        assertNull(cache.get("storeUser1"));
+        assertNotNull(cache.get("storeUser2"));
+        assertFalse(userManager.getPrincipal("storeUser1").isMemberOf("group1"));
+
+        // add storeUser2 to group1
+        group1 = userManager.getGroupModel("group1");
+        group1.setPropertyValue("group:members", (Serializable) Collections.singletonList("storeUser2"));
+        userManager.updateGroup(group1);
+        assertTrue(userManager.getPrincipal("storeUser2").isMemberOf("group1"));
+    }
+
+}
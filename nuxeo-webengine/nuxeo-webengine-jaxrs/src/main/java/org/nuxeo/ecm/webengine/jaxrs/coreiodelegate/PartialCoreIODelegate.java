@@ -19,6 +19,7 @@
 
 package org.nuxeo.ecm.webengine.jaxrs.coreiodelegate;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -116,12 +117,66 @@ public abstract class PartialCoreIODelegate implements MessageBodyWriter<Object>
         RenderingContext ctx = RenderingContextWebUtils.getContext(request);
         Writer<?> writer = getRegistry().getWriter(ctx, type, genericType, mediaType);
         if (writer != null) {
-            ((Writer<Object>) writer).write(t, type, genericType, mediaType, entityStream);
+            OutputStream out = new EntityTypeHeaderOutputStream(entityStream, ctx, mediaType, httpHeaders);
+            ((Writer<Object>) writer).write(t, type, genericType, mediaType, out);
         }
         response.setHeader(CONTENT_TYPE,
                 mediaType + NUXEO_ENTITY + ctx.getParameter(RenderingContext.RESPONSE_HEADER_ENTITY_TYPE_KEY));
     }
 
+    /**
+     * Puts the entity type in the response headers before the first bytes are sent, as the headers are committed at
+     * that time and streaming writers flush the response while writing it.
+     *
+     * @since 9.10
+     */
+    protected static class EntityTypeHeaderOutputStream extends FilterOutputStream {
+
+        protected final RenderingContext ctx;
+
+        protected final MediaType mediaType;
+
+        protected final MultivaluedMap<String, Object> httpHeaders;
+
+        protected boolean headerSet;
+
+        protected EntityTypeHeaderOutputStream(OutputStream out, RenderingContext ctx, MediaType mediaType,
+                MultivaluedMap<String, Object> httpHeaders) {
+            super(out);
+            this.ctx = ctx;
+            this.mediaType = mediaType;
+            this.httpHeaders = httpHeaders;
+        }
+
+        protected void setHeader() {
+            if (!headerSet) {
+                headerSet = true;
+                Object entityType = ctx.getParameter(RenderingContext.RESPONSE_HEADER_ENTITY_TYPE_KEY);
+                if (entityType != null) {
+                    httpHeaders.putSingle(CONTENT_TYPE, mediaType + NUXEO_ENTITY + entityType);
+                }
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            setHeader();
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            setHeader();
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            setHeader();
+            out.flush();
+        }
+    }
+
     @Override
     public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
             MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException,